@@ -23,4 +23,12 @@ public interface Page<T> {
 
     int getTotalItems();
 
+    /**
+     * The cursor to read the next page with {@link Pageable#after(String, int)}, or null when this page was not read
+     * with a cursor.
+     */
+    default String getNextCursor() {
+        return null;
+    }
+
 }
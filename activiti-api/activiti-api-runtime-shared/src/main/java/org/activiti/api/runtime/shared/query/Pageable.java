@@ -20,6 +20,8 @@ public class Pageable {
     private int startIndex;
     private int maxItems;
     private Order order;
+    private String after;
+    private boolean keysetPaging;
 
     private Pageable(int startIndex,
                     int maxItems,
@@ -29,6 +31,13 @@ public class Pageable {
         this.order = order;
     }
 
+    private Pageable(String after,
+                     int maxItems) {
+        this(0, maxItems, null);
+        this.after = after;
+        this.keysetPaging = true;
+    }
+
     public static Pageable of(int startIndex,
                               int maxItems){
         return new Pageable(startIndex, maxItems, null);
@@ -40,6 +49,17 @@ public class Pageable {
         return new Pageable(startIndex, maxItems, order);
     }
 
+    /**
+     * Pages by seeking past a cursor instead of skipping a number of items, which keeps deep pages as fast as the first
+     * one.
+     *
+     * @param after the {@link Page#getNextCursor() next cursor} of the previous page, or null for the first page
+     */
+    public static Pageable after(String after,
+                                 int maxItems) {
+        return new Pageable(after, maxItems);
+    }
+
     public int getStartIndex() {
         return startIndex;
     }
@@ -52,4 +72,12 @@ public class Pageable {
         return order;
     }
 
+    public String getAfter() {
+        return after;
+    }
+
+    public boolean isKeysetPaging() {
+        return keysetPaging;
+    }
+
 }
@@ -45,6 +45,7 @@ import org.activiti.api.runtime.shared.query.Pageable;
 import org.activiti.engine.ActivitiObjectNotFoundException;
 import org.activiti.engine.RepositoryService;
 import org.activiti.engine.RuntimeService;
+import org.activiti.engine.query.KeysetPage;
 import org.activiti.engine.repository.ProcessDefinitionQuery;
 import org.activiti.runtime.api.model.impl.APIProcessDefinitionConverter;
 import org.activiti.runtime.api.model.impl.APIProcessInstanceConverter;
@@ -205,6 +206,12 @@ public class ProcessAdminRuntimeImpl implements ProcessAdminRuntime {
                 internalQuery.superProcessInstanceId(getProcessInstancesPayload.getParentProcessInstanceId());
             }
         }
+        if (pageable.isKeysetPaging()) {
+            KeysetPage<org.activiti.engine.runtime.ProcessInstance> page = internalQuery.pageAfter(pageable.getAfter(), pageable.getMaxItems());
+            return new PageImpl<>(processInstanceConverter.from(page.getResults()),
+                    Math.toIntExact(internalQuery.count()),
+                    page.getNextCursor());
+        }
         return new PageImpl<>(processInstanceConverter.from(internalQuery.listPage(pageable.getStartIndex(),
                 pageable.getMaxItems())),
                 Math.toIntExact(internalQuery.count()));
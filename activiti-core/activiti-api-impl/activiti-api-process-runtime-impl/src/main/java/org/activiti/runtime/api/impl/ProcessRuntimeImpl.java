@@ -59,6 +59,7 @@ import org.activiti.core.common.spring.security.policies.SecurityPolicyAccess;
 import org.activiti.engine.ActivitiObjectNotFoundException;
 import org.activiti.engine.RepositoryService;
 import org.activiti.engine.RuntimeService;
+import org.activiti.engine.query.KeysetPage;
 import org.activiti.engine.TaskService;
 import org.activiti.engine.repository.ProcessDefinitionQuery;
 import org.activiti.engine.runtime.ProcessInstanceBuilder;
@@ -273,6 +274,12 @@ public class ProcessRuntimeImpl implements ProcessRuntime {
             internalQuery.superProcessInstanceId(getProcessInstancesPayload.getParentProcessInstanceId());
         }
 
+        if (pageable.isKeysetPaging()) {
+            KeysetPage<org.activiti.engine.runtime.ProcessInstance> page = internalQuery.pageAfter(pageable.getAfter(), pageable.getMaxItems());
+            return new PageImpl<>(processInstanceConverter.from(page.getResults()),
+                    Math.toIntExact(internalQuery.count()),
+                    page.getNextCursor());
+        }
         return new PageImpl<>(processInstanceConverter.from(internalQuery.listPage(pageable.getStartIndex(),
                 pageable.getMaxItems())),
                 Math.toIntExact(internalQuery.count()));
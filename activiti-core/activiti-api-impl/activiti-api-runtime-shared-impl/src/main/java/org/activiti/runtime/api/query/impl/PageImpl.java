@@ -23,6 +23,7 @@ public class PageImpl<T> implements Page<T> {
 
     private List<T> content;
     private int totalItems;
+    private String nextCursor;
 
     public PageImpl(List<T> content,
                     int totalItems) {
@@ -30,6 +31,13 @@ public class PageImpl<T> implements Page<T> {
         this.totalItems = totalItems;
     }
 
+    public PageImpl(List<T> content,
+                    int totalItems,
+                    String nextCursor) {
+        this(content, totalItems);
+        this.nextCursor = nextCursor;
+    }
+
     @Override
     public List<T> getContent() {
         return content;
@@ -39,4 +47,9 @@ public class PageImpl<T> implements Page<T> {
     public int getTotalItems() {
         return totalItems;
     }
+
+    @Override
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
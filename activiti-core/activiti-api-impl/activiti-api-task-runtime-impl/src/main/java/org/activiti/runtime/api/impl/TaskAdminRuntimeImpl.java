@@ -37,6 +37,7 @@ import org.activiti.api.task.model.payloads.UpdateTaskPayload;
 import org.activiti.api.task.model.payloads.UpdateTaskVariablePayload;
 import org.activiti.api.task.runtime.TaskAdminRuntime;
 import org.activiti.engine.TaskService;
+import org.activiti.engine.query.KeysetPage;
 import org.activiti.engine.task.IdentityLink;
 import org.activiti.engine.task.IdentityLinkType;
 import org.activiti.engine.task.TaskQuery;
@@ -98,6 +99,12 @@ public class TaskAdminRuntimeImpl implements TaskAdminRuntime {
             taskQuery = taskQuery.taskParentTaskId(getTasksPayload.getParentTaskId());
         }
 
+        if (pageable.isKeysetPaging()) {
+            KeysetPage<org.activiti.engine.task.Task> page = taskQuery.pageAfter(pageable.getAfter(), pageable.getMaxItems());
+            return new PageImpl<>(taskConverter.from(page.getResults()),
+                    Math.toIntExact(taskQuery.count()),
+                    page.getNextCursor());
+        }
         List<Task> tasks = taskConverter.from(taskQuery.listPage(pageable.getStartIndex(),
                 pageable.getMaxItems()));
         return new PageImpl<>(tasks,
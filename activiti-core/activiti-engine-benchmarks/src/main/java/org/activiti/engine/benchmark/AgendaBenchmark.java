@@ -0,0 +1,120 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.EndEvent;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.ImplementationType;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.ServiceTask;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.engine.impl.agenda.DefaultActivitiEngineAgendaFactory;
+import org.activiti.engine.impl.agenda.PooledActivitiEngineAgendaFactory;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a straight-through process with a long chain of service tasks, all executed in one
+ * transaction, on the default agenda and on the agenda that reuses its operations. Every service
+ * task plans a continue process and a take outgoing sequence flows operation, so the numbers are
+ * dominated by the agenda loop itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AgendaBenchmark {
+
+    protected static final String PROCESS_KEY_PREFIX = "serviceTaskChain";
+
+    @Param({"default", "pooled"})
+    public String agenda;
+
+    @Param({"100", "500"})
+    public int serviceTasks;
+
+    protected String processKey;
+
+    @Setup(Level.Iteration)
+    public void deployServiceTaskChain(ProcessEngineState engine) {
+        engine.getProcessEngineConfiguration().setEngineAgendaFactory("pooled".equals(agenda)
+            ? new PooledActivitiEngineAgendaFactory()
+            : new DefaultActivitiEngineAgendaFactory());
+
+        processKey = PROCESS_KEY_PREFIX + serviceTasks;
+        engine.getRepositoryService()
+            .createDeployment()
+            .addBpmnModel(processKey + ".bpmn20.xml", createServiceTaskChainModel(processKey, serviceTasks))
+            .deploy();
+    }
+
+    @Benchmark
+    public ProcessInstance runServiceTaskChain(ProcessEngineState engine) {
+        return engine.getRuntimeService().startProcessInstanceByKey(processKey);
+    }
+
+    protected BpmnModel createServiceTaskChainModel(String processKey, int serviceTasks) {
+        Process process = new Process();
+        process.setId(processKey);
+
+        process.addFlowElement(createElement(new StartEvent(), "start"));
+        process.addFlowElement(createElement(new EndEvent(), "end"));
+
+        String previous = "start";
+        for (int i = 0; i < serviceTasks; i++) {
+            ServiceTask serviceTask = createElement(new ServiceTask(), "serviceTask" + i);
+            serviceTask.setImplementationType(ImplementationType.IMPLEMENTATION_TYPE_CLASS);
+            serviceTask.setImplementation(NoOpDelegate.class.getName());
+            process.addFlowElement(serviceTask);
+            process.addFlowElement(createSequenceFlow(previous, serviceTask.getId()));
+            previous = serviceTask.getId();
+        }
+        process.addFlowElement(createSequenceFlow(previous, "end"));
+
+        BpmnModel model = new BpmnModel();
+        model.addProcess(process);
+        return model;
+    }
+
+    protected <T extends FlowElement> T createElement(T element, String id) {
+        element.setId(id);
+        return element;
+    }
+
+    protected SequenceFlow createSequenceFlow(String sourceRef, String targetRef) {
+        SequenceFlow sequenceFlow = new SequenceFlow(sourceRef, targetRef);
+        sequenceFlow.setId(sourceRef + "-" + targetRef);
+        return sequenceFlow;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.asyncexecutor.AcquiredJobEntities;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.ResetExpiredJobsCmd;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one round of async job acquisition, as done by the acquisition thread of the async executor,
+ * for different page sizes ({@code maxAsyncJobsDuePerAcquisition}).
+ *
+ * The async executor itself is not started: a pool of async jobs is created up front and the acquired
+ * jobs are unlocked again after every invocation, so every round sees the same amount of due jobs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AsyncJobAcquisitionBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int maxAsyncJobsDuePerAcquisition;
+
+    @Param({"500"})
+    public int jobs;
+
+    protected AsyncExecutor asyncExecutor;
+
+    protected List<String> acquiredJobIds = new ArrayList<>();
+
+    @Setup(Level.Iteration)
+    public void createAsyncJobs(ProcessEngineState engine) {
+        asyncExecutor = engine.getProcessEngineConfiguration().getAsyncExecutor();
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(maxAsyncJobsDuePerAcquisition);
+
+        for (int i = 0; i < jobs; i++) {
+            engine.getRuntimeService().startProcessInstanceByKey(ProcessEngineState.ASYNC_SERVICE_TASK_PROCESS);
+        }
+    }
+
+    @Benchmark
+    public AcquiredJobEntities acquireJobs(ProcessEngineState engine) {
+        AcquiredJobEntities acquiredJobs = engine.getManagementService().executeCommand(new AcquireJobsCmd(asyncExecutor));
+        for (JobEntity job : acquiredJobs.getJobs()) {
+            acquiredJobIds.add(job.getId());
+        }
+        return acquiredJobs;
+    }
+
+    @TearDown(Level.Invocation)
+    public void unlockAcquiredJobs(ProcessEngineState engine) {
+        if (!acquiredJobIds.isEmpty()) {
+            engine.getManagementService().executeCommand(new ResetExpiredJobsCmd(acquiredJobIds));
+            acquiredJobIds.clear();
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.EndEvent;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.ImplementationType;
+import org.activiti.bpmn.model.ParallelGateway;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.ServiceTask;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a parallel gateway fork/join with a configurable number of branches, each branch
+ * containing a single service task. The whole process instance runs in one transaction, so the
+ * numbers are dominated by the agenda loop, the join bookkeeping on the child executions and the flush.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParallelGatewayBenchmark {
+
+    protected static final String PROCESS_KEY_PREFIX = "forkJoinProcess";
+
+    @Param({"2", "10", "50"})
+    public int branches;
+
+    protected String processKey;
+
+    @Setup(Level.Iteration)
+    public void deployForkJoinProcess(ProcessEngineState engine) {
+        processKey = PROCESS_KEY_PREFIX + branches;
+        engine.getRepositoryService()
+            .createDeployment()
+            .addBpmnModel(processKey + ".bpmn20.xml", createForkJoinModel(processKey, branches))
+            .deploy();
+    }
+
+    @Benchmark
+    public ProcessInstance forkAndJoin(ProcessEngineState engine) {
+        return engine.getRuntimeService().startProcessInstanceByKey(processKey);
+    }
+
+    protected BpmnModel createForkJoinModel(String processKey, int branches) {
+        Process process = new Process();
+        process.setId(processKey);
+
+        process.addFlowElement(createElement(new StartEvent(), "start"));
+        process.addFlowElement(createElement(new ParallelGateway(), "fork"));
+        process.addFlowElement(createElement(new ParallelGateway(), "join"));
+        process.addFlowElement(createElement(new EndEvent(), "end"));
+        process.addFlowElement(createSequenceFlow("start", "fork"));
+        process.addFlowElement(createSequenceFlow("join", "end"));
+
+        for (int i = 0; i < branches; i++) {
+            ServiceTask serviceTask = createElement(new ServiceTask(), "serviceTask" + i);
+            serviceTask.setImplementationType(ImplementationType.IMPLEMENTATION_TYPE_CLASS);
+            serviceTask.setImplementation(NoOpDelegate.class.getName());
+            process.addFlowElement(serviceTask);
+            process.addFlowElement(createSequenceFlow("fork", serviceTask.getId()));
+            process.addFlowElement(createSequenceFlow(serviceTask.getId(), "join"));
+        }
+
+        BpmnModel model = new BpmnModel();
+        model.addProcess(process);
+        return model;
+    }
+
+    protected <T extends FlowElement> T createElement(T element, String id) {
+        element.setId(id);
+        return element;
+    }
+
+    protected SequenceFlow createSequenceFlow(String sourceRef, String targetRef) {
+        SequenceFlow sequenceFlow = new SequenceFlow(sourceRef, targetRef);
+        sequenceFlow.setId(sourceRef + "-" + targetRef);
+        return sequenceFlow;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.benchmark;
+
+import java.util.UUID;
+
+import org.activiti.engine.HistoryService;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared JMH state holding a process engine backed by an embedded H2 database.
+ *
+ * A fresh engine (and database) is built for every measurement iteration, so that the
+ * runtime and history tables do not keep growing across iterations and skew the numbers,
+ * while the JIT state of the forked JVM is kept between iterations.
+ */
+@State(Scope.Benchmark)
+public class ProcessEngineState {
+
+    public static final String STRAIGHT_THROUGH_PROCESS = "straightThroughProcess";
+    public static final String USER_TASK_PROCESS = "userTaskProcess";
+    public static final String ASYNC_SERVICE_TASK_PROCESS = "asyncServiceTaskProcess";
+
+    protected static final String RESOURCE_PATH = "org/activiti/engine/benchmark/";
+
+    /**
+     * History level of the engine, see {@link org.activiti.engine.impl.history.HistoryLevel}.
+     */
+    @Param({"audit", "full"})
+    public String history;
+
+    protected ProcessEngine processEngine;
+
+    @Setup(Level.Iteration)
+    public void buildProcessEngine() {
+        processEngine = ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+            .setJdbcUrl("jdbc:h2:mem:activiti-benchmark-" + UUID.randomUUID())
+            .setHistory(history)
+            .setAsyncExecutorActivate(false)
+            .buildProcessEngine();
+
+        processEngine.getRepositoryService()
+            .createDeployment()
+            .name("activiti-engine-benchmarks")
+            .addClasspathResource(RESOURCE_PATH + STRAIGHT_THROUGH_PROCESS + ".bpmn20.xml")
+            .addClasspathResource(RESOURCE_PATH + USER_TASK_PROCESS + ".bpmn20.xml")
+            .addClasspathResource(RESOURCE_PATH + ASYNC_SERVICE_TASK_PROCESS + ".bpmn20.xml")
+            .deploy();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeProcessEngine() {
+        if (processEngine != null) {
+            processEngine.close();
+            processEngine = null;
+        }
+    }
+
+    public ProcessEngine getProcessEngine() {
+        return processEngine;
+    }
+
+    public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
+        return (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+    }
+
+    public RepositoryService getRepositoryService() {
+        return processEngine.getRepositoryService();
+    }
+
+    public RuntimeService getRuntimeService() {
+        return processEngine.getRuntimeService();
+    }
+
+    public TaskService getTaskService() {
+        return processEngine.getTaskService();
+    }
+
+    public HistoryService getHistoryService() {
+        return processEngine.getHistoryService();
+    }
+
+    public ManagementService getManagementService() {
+        return processEngine.getManagementService();
+    }
+
+}
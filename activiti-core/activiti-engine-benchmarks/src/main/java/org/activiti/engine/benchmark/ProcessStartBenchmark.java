@@ -0,0 +1,56 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures process instance start throughput, covering the {@code CommandExecutor} interceptor chain,
+ * the agenda loop and the {@code DbSqlSession} flush of a single transaction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProcessStartBenchmark {
+
+    /**
+     * Start a process that runs from start to end event through a series of service tasks and an exclusive gateway in one transaction.
+     */
+    @Benchmark
+    public ProcessInstance startStraightThroughProcess(ProcessEngineState engine) {
+        return engine.getRuntimeService().startProcessInstanceByKey(ProcessEngineState.STRAIGHT_THROUGH_PROCESS);
+    }
+
+    /**
+     * Start a process that stops in a user task, which leaves an execution, a task and its identity links behind.
+     */
+    @Benchmark
+    public ProcessInstance startProcessWaitingInUserTask(ProcessEngineState engine) {
+        return engine.getRuntimeService().startProcessInstanceByKey(ProcessEngineState.USER_TASK_PROCESS);
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the completion of a user task, after which the process continues through a service task to its end.
+ *
+ * A new process instance is started before every invocation (outside of the measurement),
+ * which is why this benchmark reports the average time of a single completion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserTaskCompletionBenchmark {
+
+    protected String taskId;
+
+    @Setup(Level.Invocation)
+    public void startProcessInstance(ProcessEngineState engine) {
+        ProcessInstance processInstance = engine.getRuntimeService().startProcessInstanceByKey(ProcessEngineState.USER_TASK_PROCESS);
+        taskId = engine.getTaskService()
+            .createTaskQuery()
+            .processInstanceId(processInstance.getId())
+            .singleResult()
+            .getId();
+    }
+
+    @Benchmark
+    public void completeUserTask(ProcessEngineState engine) {
+        engine.getTaskService().complete(taskId);
+    }
+
+}
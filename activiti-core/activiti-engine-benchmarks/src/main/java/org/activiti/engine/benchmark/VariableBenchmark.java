@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading and writing process variables of a process instance waiting in a user task.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VariableBenchmark {
+
+    protected static final int NUMBER_OF_VARIABLES = 10;
+
+    protected String processInstanceId;
+
+    protected HashMap<String, Object> serializableValue;
+
+    protected long counter;
+
+    @Setup(Level.Iteration)
+    public void startProcessInstance(ProcessEngineState engine) {
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < NUMBER_OF_VARIABLES; i++) {
+            variables.put("stringVar" + i, "value" + i);
+        }
+        variables.put("longVar", 0L);
+
+        serializableValue = new HashMap<>();
+        for (int i = 0; i < NUMBER_OF_VARIABLES; i++) {
+            serializableValue.put("key" + i, "value" + i);
+        }
+        variables.put("serializableVar", serializableValue);
+
+        processInstanceId = engine.getRuntimeService()
+            .startProcessInstanceByKey(ProcessEngineState.USER_TASK_PROCESS, variables)
+            .getId();
+    }
+
+    @Benchmark
+    public Object readVariable(ProcessEngineState engine) {
+        return engine.getRuntimeService().getVariable(processInstanceId, "stringVar0");
+    }
+
+    @Benchmark
+    public Map<String, Object> readAllVariables(ProcessEngineState engine) {
+        return engine.getRuntimeService().getVariables(processInstanceId);
+    }
+
+    @Benchmark
+    public void updateLongVariable(ProcessEngineState engine) {
+        engine.getRuntimeService().setVariable(processInstanceId, "longVar", counter++);
+    }
+
+    @Benchmark
+    public void updateSerializableVariable(ProcessEngineState engine) {
+        serializableValue.put("counter", counter++);
+        engine.getRuntimeService().setVariable(processInstanceId, "serializableVar", serializableValue);
+    }
+
+}
@@ -17,9 +17,12 @@
 
 package org.activiti.engine;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.history.ArchivedHistoricProcessInstanceQuery;
 import org.activiti.engine.history.HistoricActivityInstance;
 import org.activiti.engine.history.HistoricActivityInstanceQuery;
 import org.activiti.engine.history.HistoricDetail;
@@ -92,6 +95,36 @@ public interface HistoryService {
    */
   void deleteHistoricProcessInstance(String processInstanceId);
 
+  /**
+   * Deletes historic process instances, with all their historic activities, historic tasks, historic details, comments and attachments,
+   * using set-based deletes instead of deleting every historic process instance one by one. Historic sub process instances are deleted
+   * as well. Ids for which no historic process instance exists are ignored.
+   *
+   * @throws ActivitiException
+   *           when one of the process instances is still running.
+   */
+  void deleteHistoricProcessInstances(Collection<String> processInstanceIds);
+
+  /**
+   * Moves the historic process instances that ended before the given date, with their historic activities, historic tasks,
+   * historic variables and historic identity links, from the database to compressed files in the history archive directory
+   * of the process engine configuration. Historic sub process instances are archived with their super process instance.
+   * Historic details, comments and attachments are deleted without being archived.
+   *
+   * Every batch of process instances is archived in its own transaction and written to its own file.
+   *
+   * @return the number of archived historic process instances, without the sub process instances.
+   * @throws ActivitiIllegalArgumentException
+   *           when no history archive directory is configured.
+   */
+  long archiveHistoricProcessInstances(Date finishedBefore);
+
+  /**
+   * Creates a read-only query on the historic process instances in the history archive, see
+   * {@link #archiveHistoricProcessInstances(Date)}.
+   */
+  ArchivedHistoricProcessInstanceQuery createArchivedHistoricProcessInstanceQuery();
+
   /**
    * creates a native query to search for {@link HistoricProcessInstance}s via SQL
    */
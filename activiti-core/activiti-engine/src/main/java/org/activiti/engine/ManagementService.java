@@ -31,6 +31,7 @@ import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.management.TableMetaData;
 import org.activiti.engine.management.TablePage;
 import org.activiti.engine.management.TablePageQuery;
+import org.activiti.engine.runtime.Batch;
 import org.activiti.engine.runtime.DeadLetterJobQuery;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.JobQuery;
@@ -129,6 +130,33 @@ public interface ManagementService {
    */
   Job moveDeadLetterJobToExecutableJob(String jobId, int retries);
 
+  /**
+   * Moves all dead letter jobs matched by the given query back to be executable jobs, with a {@link Batch} of async
+   * jobs. Use this to retry many failed jobs, eg after an outage of a system the jobs depend on.
+   *
+   * @param query
+   *          a query created by this service, cannot be null.
+   * @param retries
+   *          the number of retries (value greater than 0) which will be set on the jobs.
+   * @return the batch, its progress can be fetched with {@link #getBatch(String)}.
+   */
+  Batch moveDeadLetterJobsToExecutableJobs(DeadLetterJobQuery query, int retries);
+
+  /**
+   * Returns the batch with the given id and its progress, or null when there is no such batch. Completed batches are
+   * kept until they are deleted with {@link #deleteBatch(String)} or by the next run of the history cleanup job, see
+   * {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#setHistoryCleanupEnabled(boolean)}.
+   */
+  Batch getBatch(String batchId);
+
+  /**
+   * Deletes the batch with the given id. Chunks that haven't been processed yet are not processed anymore.
+   *
+   * @throws ActivitiObjectNotFoundException
+   *           when there is no batch with the given id.
+   */
+  void deleteBatch(String batchId);
+
   /**
    * Delete the job with the provided id.
    *
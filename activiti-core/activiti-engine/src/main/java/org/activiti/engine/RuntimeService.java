@@ -29,6 +29,7 @@ import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
 import org.activiti.engine.delegate.event.ActivitiEventListener;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.impl.persistence.entity.VariableInstance;
+import org.activiti.engine.runtime.Batch;
 import org.activiti.engine.runtime.DataObject;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ExecutionQuery;
@@ -1011,6 +1012,37 @@ public interface RuntimeService {
    */
   void activateProcessInstanceById(String processInstanceId);
 
+  /**
+   * Suspends all process instances matched by the given query, with a {@link Batch} of async jobs. Process instances
+   * that are suspended already when their chunk is processed are skipped.
+   *
+   * @param query
+   *          a query created by this service, cannot be null.
+   * @return the batch, its progress can be fetched with {@link ManagementService#getBatch(String)}.
+   */
+  Batch suspendProcessInstances(ProcessInstanceQuery query);
+
+  /**
+   * Activates all process instances matched by the given query, with a {@link Batch} of async jobs. Process instances
+   * that are active when their chunk is processed are skipped.
+   *
+   * @param query
+   *          a query created by this service, cannot be null.
+   * @return the batch, its progress can be fetched with {@link ManagementService#getBatch(String)}.
+   */
+  Batch activateProcessInstances(ProcessInstanceQuery query);
+
+  /**
+   * Deletes all process instances matched by the given query, with a {@link Batch} of async jobs.
+   *
+   * @param query
+   *          a query created by this service, cannot be null.
+   * @param deleteReason
+   *          reason for deleting, can be null.
+   * @return the batch, its progress can be fetched with {@link ManagementService#getBatch(String)}.
+   */
+  Batch deleteProcessInstances(ProcessInstanceQuery query, String deleteReason);
+
   // Events
   // ////////////////////////////////////////////////////////////////////////
 
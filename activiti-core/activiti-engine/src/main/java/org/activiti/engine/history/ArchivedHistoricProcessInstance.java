@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.history;
+
+import java.util.List;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * A {@link HistoricProcessInstance} that has been moved to the history archive by
+ * {@link org.activiti.engine.HistoryService#archiveHistoricProcessInstances(java.util.Date)}, together with the
+ * history that was archived with it. {@link #getProcessVariables()} returns the process instance variables.
+ */
+@Internal
+public interface ArchivedHistoricProcessInstance extends HistoricProcessInstance {
+
+  List<HistoricActivityInstance> getActivityInstances();
+
+  List<HistoricTaskInstance> getTaskInstances();
+
+  /**
+   * The process instance variables and the task local variables.
+   */
+  List<HistoricVariableInstance> getVariableInstances();
+
+  /**
+   * The identity links of the process instance and of its tasks.
+   */
+  List<HistoricIdentityLink> getIdentityLinks();
+
+}
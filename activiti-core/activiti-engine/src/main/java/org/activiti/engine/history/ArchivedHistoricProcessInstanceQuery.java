@@ -0,0 +1,74 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.history;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * Read-only query for {@link ArchivedHistoricProcessInstance}s, which are read from the files of the history archive
+ * instead of the database.
+ *
+ * The files are skipped on their index when they can't contain a match on process instance id, process definition key,
+ * tenant id or end time, so these criteria are cheap; the other criteria are checked on every process instance of the
+ * remaining files. Results are ordered by end time and process instance id.
+ */
+@Internal
+public interface ArchivedHistoricProcessInstanceQuery {
+
+  ArchivedHistoricProcessInstanceQuery processInstanceId(String processInstanceId);
+
+  ArchivedHistoricProcessInstanceQuery processInstanceIds(Set<String> processInstanceIds);
+
+  ArchivedHistoricProcessInstanceQuery processInstanceBusinessKey(String processInstanceBusinessKey);
+
+  ArchivedHistoricProcessInstanceQuery processDefinitionId(String processDefinitionId);
+
+  ArchivedHistoricProcessInstanceQuery processDefinitionKey(String processDefinitionKey);
+
+  ArchivedHistoricProcessInstanceQuery processInstanceTenantId(String tenantId);
+
+  ArchivedHistoricProcessInstanceQuery superProcessInstanceId(String superProcessInstanceId);
+
+  ArchivedHistoricProcessInstanceQuery startedBy(String userId);
+
+  /**
+   * Only select process instances that ended after (or at) the given date.
+   */
+  ArchivedHistoricProcessInstanceQuery finishedAfter(Date date);
+
+  /**
+   * Only select process instances that ended before (or at) the given date.
+   */
+  ArchivedHistoricProcessInstanceQuery finishedBefore(Date date);
+
+  long count();
+
+  List<ArchivedHistoricProcessInstance> list();
+
+  List<ArchivedHistoricProcessInstance> listPage(int firstResult, int maxResults);
+
+  /**
+   * @throws org.activiti.engine.ActivitiException
+   *           when the query results in more than one process instance.
+   */
+  ArchivedHistoricProcessInstance singleResult();
+
+}
@@ -17,7 +17,10 @@
 package org.activiti.engine.impl;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
@@ -28,6 +31,8 @@ import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.query.KeysetPage;
 import org.activiti.engine.query.Query;
 import org.activiti.engine.query.QueryProperty;
 
@@ -64,6 +69,14 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
 
   protected NullHandlingOnOrder nullHandlingOnOrder;
 
+  protected String firstOrderColumn;
+  protected String firstOrderDirection;
+  protected NullHandlingOnOrder firstOrderNullHandling;
+  protected int orderCount;
+
+  protected KeysetCursor keysetCursor;
+  protected boolean keysetPaging;
+
   protected AbstractQuery() {
     parameter = this;
   }
@@ -114,6 +127,12 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
       throw new ActivitiIllegalArgumentException("You should call any of the orderBy methods first before specifying a direction");
     }
     addOrder(orderProperty.getName(), direction.getName(), nullHandlingOnOrder);
+    if (orderCount == 0) {
+      firstOrderColumn = orderProperty.getName();
+      firstOrderDirection = direction.getName();
+      firstOrderNullHandling = nullHandlingOnOrder;
+    }
+    orderCount++;
     orderProperty = null;
     nullHandlingOnOrder = null;
     return (T) this;
@@ -154,6 +173,70 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     return executeList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
 
+  public KeysetPage<U> pageAfter(String cursor, int maxResults) {
+    if (getKeysetTable() == null) {
+      throw new ActivitiException(getClass().getSimpleName() + " does not support keyset paging");
+    }
+    if (orderCount > 1 || (firstOrderColumn != null && !firstOrderColumn.startsWith("RES."))) {
+      throw new ActivitiIllegalArgumentException("Keyset paging needs the query to be ordered by at most one property of the result");
+    }
+    KeysetCursor afterCursor = cursor != null ? KeysetCursor.parse(cursor) : null;
+    if (commandExecutor != null) {
+      return commandExecutor.execute(commandContext -> executePageAfter(commandContext, afterCursor, maxResults));
+    }
+    return executePageAfter(Context.getCommandContext(), afterCursor, maxResults);
+  }
+
+  protected KeysetPage<U> executePageAfter(CommandContext commandContext, KeysetCursor cursor, int maxResults) {
+    this.firstResult = 0;
+    this.maxResults = maxResults;
+    this.keysetCursor = cursor;
+    this.keysetPaging = true;
+    try {
+      List<U> results = executeList(commandContext, new Page(0, maxResults));
+      if (results.isEmpty()) {
+        return new KeysetPageImpl<U>(results, cursor != null ? cursor.format() : null);
+      }
+      Object lastResult = results.get(results.size() - 1);
+      if (!(lastResult instanceof Entity)) {
+        throw new ActivitiException(getClass().getSimpleName() + " does not support keyset paging");
+      }
+      String lastId = ((Entity) lastResult).getId();
+      return new KeysetPageImpl<U>(results, new KeysetCursor(selectKeysetSortValue(commandContext, lastId), lastId).format());
+    } finally {
+      this.keysetCursor = null;
+      this.keysetPaging = false;
+    }
+  }
+
+  /**
+   * Reads the value the result with the given id is sorted on, which goes into the cursor so that the next page does
+   * not depend on that result still being there.
+   */
+  protected Object selectKeysetSortValue(CommandContext commandContext, String id) {
+    if (getKeysetSortColumn() == null) {
+      return null;
+    }
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("table", getKeysetTable());
+    parameters.put("column", getKeysetSortColumn());
+    parameters.put("id", id);
+    List<?> values = commandContext.getDbSqlSession().selectListWithRawParameterWithoutFilter("selectKeysetSortValue", parameters, 0, 1);
+    if (values.isEmpty()) {
+      throw new ActivitiException("Result " + id + " was deleted while its page was read, read the page again");
+    }
+    return values.get(0);
+  }
+
+  public Stream<U> stream() {
+    this.firstResult = 0;
+    this.maxResults = Integer.MAX_VALUE;
+    if (commandExecutor != null) {
+      return commandExecutor.execute(this::executeStream);
+    }
+    return executeStream(Context.getCommandContext());
+  }
+
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor != null) {
@@ -184,6 +267,13 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
    */
   public abstract List<U> executeList(CommandContext commandContext, Page page);
 
+  /**
+   * Opens the stream of results of the query. Query types that can be streamed override this.
+   */
+  public Stream<U> executeStream(CommandContext commandContext) {
+    throw new ActivitiException(getClass().getSimpleName() + " does not support streaming");
+  }
+
   public U executeSingleResult(CommandContext commandContext) {
     List<U> results = executeList(commandContext, null);
     if (results.size() == 1) {
@@ -202,6 +292,11 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
       orderBy = orderBy + ", ";
     }
 
+    orderBy = orderBy + getOrderByClause(column, sortOrder, nullHandlingOnOrder);
+  }
+
+  protected String getOrderByClause(String column, String sortOrder, NullHandlingOnOrder nullHandlingOnOrder) {
+
     String defaultOrderByClause = column + " " + sortOrder;
 
     if (nullHandlingOnOrder != null) {
@@ -210,44 +305,82 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
 
         if (ProcessEngineConfigurationImpl.DATABASE_TYPE_H2.equals(databaseType) || ProcessEngineConfigurationImpl.DATABASE_TYPE_HSQL.equals(databaseType)
             || ProcessEngineConfigurationImpl.DATABASE_TYPE_POSTGRES.equals(databaseType) || ProcessEngineConfigurationImpl.DATABASE_TYPE_ORACLE.equals(databaseType)) {
-          orderBy = orderBy + defaultOrderByClause + " NULLS FIRST";
+          return defaultOrderByClause + " NULLS FIRST";
         } else if (isMysqlOrCompatible(databaseType)) {
-          orderBy = orderBy + "isnull(" + column + ") desc," + defaultOrderByClause;
+          return "isnull(" + column + ") desc," + defaultOrderByClause;
         } else if (ProcessEngineConfigurationImpl.DATABASE_TYPE_DB2.equals(databaseType) || ProcessEngineConfigurationImpl.DATABASE_TYPE_MSSQL.equals(databaseType)) {
-          orderBy = orderBy + "case when " + column + " is null then 0 else 1 end," + defaultOrderByClause;
-        } else {
-          orderBy = orderBy + defaultOrderByClause;
+          return "case when " + column + " is null then 0 else 1 end," + defaultOrderByClause;
         }
 
       } else if (nullHandlingOnOrder.equals(NullHandlingOnOrder.NULLS_LAST)) {
 
         if (ProcessEngineConfigurationImpl.DATABASE_TYPE_H2.equals(databaseType) || ProcessEngineConfigurationImpl.DATABASE_TYPE_HSQL.equals(databaseType)
             || ProcessEngineConfigurationImpl.DATABASE_TYPE_POSTGRES.equals(databaseType) || ProcessEngineConfigurationImpl.DATABASE_TYPE_ORACLE.equals(databaseType)) {
-          orderBy = orderBy + column + " " + sortOrder + " NULLS LAST";
+          return column + " " + sortOrder + " NULLS LAST";
         } else if (isMysqlOrCompatible(databaseType)) {
-          orderBy = orderBy + "isnull(" + column + ") asc," + defaultOrderByClause;
+          return "isnull(" + column + ") asc," + defaultOrderByClause;
         } else if (ProcessEngineConfigurationImpl.DATABASE_TYPE_DB2.equals(databaseType) || ProcessEngineConfigurationImpl.DATABASE_TYPE_MSSQL.equals(databaseType)) {
-          orderBy = orderBy + "case when " + column + " is null then 1 else 0 end," + defaultOrderByClause;
-        } else {
-          orderBy = orderBy + defaultOrderByClause;
+          return "case when " + column + " is null then 1 else 0 end," + defaultOrderByClause;
         }
 
       }
 
-    } else {
-      orderBy = orderBy + defaultOrderByClause;
     }
 
+    return defaultOrderByClause;
   }
 
   public String getOrderBy() {
     if (orderBy == null) {
       return super.getOrderBy();
+    } else if (keysetPaging && getKeysetSortColumn() != null) {
+      // null values need a fixed position, which the keyset condition depends on
+      return getOrderByClause(firstOrderColumn, firstOrderDirection, getKeysetNullHandling()) + ", RES.ID_ " + firstOrderDirection;
     } else {
       return orderBy;
     }
   }
 
+  /**
+   * The table of the query results, which needs to be set for the query to support {@link #pageAfter(String, int)}.
+   */
+  public String getKeysetTable() {
+    return null;
+  }
+
+  public String getKeysetCursorId() {
+    return keysetCursor != null ? keysetCursor.getId() : null;
+  }
+
+  public Object getKeysetSortValue() {
+    return keysetCursor != null ? keysetCursor.getSortValue() : null;
+  }
+
+  /**
+   * Where null sort values go in keyset paging: as asked when the query was ordered, and last otherwise.
+   */
+  public NullHandlingOnOrder getKeysetNullHandling() {
+    return firstOrderNullHandling != null ? firstOrderNullHandling : NullHandlingOnOrder.NULLS_LAST;
+  }
+
+  public boolean isKeysetNullsFirst() {
+    return getKeysetNullHandling() == NullHandlingOnOrder.NULLS_FIRST;
+  }
+
+  /**
+   * The column that is seeked on besides the id, or null when the results are ordered by id.
+   */
+  public String getKeysetSortColumn() {
+    if (firstOrderColumn == null || "RES.ID_".equals(firstOrderColumn)) {
+      return null;
+    }
+    return firstOrderColumn.substring("RES.".length());
+  }
+
+  public String getKeysetOperator() {
+    return SORTORDER_DESC.equals(firstOrderDirection) ? "<" : ">";
+  }
+
   public String getOrderByColumns() {
       return getOrderBy();
   }
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.ArchivedHistoricProcessInstance;
+import org.activiti.engine.history.ArchivedHistoricProcessInstanceQuery;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.history.archive.HistoryArchive;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Reads the matching process instances from the {@link HistoryArchive} in a command, so variable values are
+ * deserialized with the class loader of the process engine.
+ */
+public class ArchivedHistoricProcessInstanceQueryImpl implements ArchivedHistoricProcessInstanceQuery, Command<List<ArchivedHistoricProcessInstance>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected transient CommandExecutor commandExecutor;
+
+  protected String processInstanceId;
+  protected Set<String> processInstanceIds;
+  protected String businessKey;
+  protected String processDefinitionId;
+  protected String processDefinitionKey;
+  protected String tenantId;
+  protected String superProcessInstanceId;
+  protected String startedBy;
+  protected Date finishedAfter;
+  protected Date finishedBefore;
+
+  public ArchivedHistoricProcessInstanceQueryImpl(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl processInstanceId(String processInstanceId) {
+    this.processInstanceId = processInstanceId;
+    return this;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl processInstanceIds(Set<String> processInstanceIds) {
+    if (processInstanceIds == null) {
+      throw new ActivitiIllegalArgumentException("Set of process instance ids is null");
+    }
+    if (processInstanceIds.isEmpty()) {
+      throw new ActivitiIllegalArgumentException("Set of process instance ids is empty");
+    }
+    this.processInstanceIds = processInstanceIds;
+    return this;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl processInstanceBusinessKey(String businessKey) {
+    this.businessKey = businessKey;
+    return this;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl processDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+    return this;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl processDefinitionKey(String processDefinitionKey) {
+    this.processDefinitionKey = processDefinitionKey;
+    return this;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl processInstanceTenantId(String tenantId) {
+    if (tenantId == null) {
+      throw new ActivitiIllegalArgumentException("process instance tenant id is null");
+    }
+    this.tenantId = tenantId;
+    return this;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl superProcessInstanceId(String superProcessInstanceId) {
+    this.superProcessInstanceId = superProcessInstanceId;
+    return this;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl startedBy(String startedBy) {
+    this.startedBy = startedBy;
+    return this;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl finishedAfter(Date finishedAfter) {
+    this.finishedAfter = finishedAfter;
+    return this;
+  }
+
+  public ArchivedHistoricProcessInstanceQueryImpl finishedBefore(Date finishedBefore) {
+    this.finishedBefore = finishedBefore;
+    return this;
+  }
+
+  public long count() {
+    return list().size();
+  }
+
+  public List<ArchivedHistoricProcessInstance> list() {
+    return commandExecutor.execute(this);
+  }
+
+  public List<ArchivedHistoricProcessInstance> listPage(int firstResult, int maxResults) {
+    List<ArchivedHistoricProcessInstance> processInstances = list();
+    int fromIndex = Math.min(Math.max(firstResult, 0), processInstances.size());
+    int toIndex = Math.min(fromIndex + Math.max(maxResults, 0), processInstances.size());
+    return processInstances.subList(fromIndex, toIndex);
+  }
+
+  public ArchivedHistoricProcessInstance singleResult() {
+    List<ArchivedHistoricProcessInstance> processInstances = list();
+    if (processInstances.size() == 1) {
+      return processInstances.get(0);
+    } else if (processInstances.size() > 1) {
+      throw new ActivitiException("Query return " + processInstances.size() + " results instead of max 1");
+    }
+    return null;
+  }
+
+  public List<ArchivedHistoricProcessInstance> execute(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.getHistoryArchiveDirectory() == null) {
+      throw new ActivitiIllegalArgumentException("No history archive directory is configured");
+    }
+    return new HistoryArchive(processEngineConfiguration.getHistoryArchiveDirectory()).find(this, processEngineConfiguration.getVariableTypes());
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public Set<String> getProcessInstanceIds() {
+    return processInstanceIds;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public String getSuperProcessInstanceId() {
+    return superProcessInstanceId;
+  }
+
+  public String getStartedBy() {
+    return startedBy;
+  }
+
+  public Date getFinishedAfter() {
+    return finishedAfter;
+  }
+
+  public Date getFinishedBefore() {
+    return finishedBefore;
+  }
+
+}
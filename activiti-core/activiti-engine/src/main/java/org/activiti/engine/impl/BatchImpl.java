@@ -0,0 +1,157 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.activiti.engine.runtime.Batch;
+
+/**
+ * A {@link Batch}, which is stored as the json bytes of a {@link org.activiti.engine.impl.persistence.entity.ByteArrayEntity}
+ * with the same id. The progress is not stored, but counted from the remaining chunks when the batch is fetched.
+ */
+public class BatchImpl implements Batch, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected String type;
+  protected Date createTime;
+  protected int total;
+  protected int chunks;
+  protected int remainingChunks;
+  protected int failedChunks;
+  protected String deleteReason;
+  protected int retries;
+
+  public static BatchImpl fromBytes(String id, byte[] bytes) {
+    JSONObject json = new JSONObject(new String(bytes, StandardCharsets.UTF_8));
+    BatchImpl batch = new BatchImpl();
+    batch.id = id;
+    batch.type = json.getString("type");
+    batch.createTime = new Date(json.getLong("createTime"));
+    batch.total = json.getInt("total");
+    batch.chunks = json.getInt("chunks");
+    batch.deleteReason = json.optString("deleteReason", null);
+    batch.retries = json.optInt("retries");
+    return batch;
+  }
+
+  public byte[] toBytes() {
+    JSONObject json = new JSONObject();
+    json.put("type", type);
+    json.put("createTime", createTime.getTime());
+    json.put("total", total);
+    json.put("chunks", chunks);
+    if (deleteReason != null) {
+      json.put("deleteReason", deleteReason);
+    }
+    json.put("retries", retries);
+    return json.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
+  public int getTotal() {
+    return total;
+  }
+
+  public void setTotal(int total) {
+    this.total = total;
+  }
+
+  public int getChunks() {
+    return chunks;
+  }
+
+  public void setChunks(int chunks) {
+    this.chunks = chunks;
+  }
+
+  public int getRemainingChunks() {
+    return remainingChunks;
+  }
+
+  public void setRemainingChunks(int remainingChunks) {
+    this.remainingChunks = remainingChunks;
+  }
+
+  public int getFailedChunks() {
+    return failedChunks;
+  }
+
+  public void setFailedChunks(int failedChunks) {
+    this.failedChunks = failedChunks;
+  }
+
+  public boolean isCompleted() {
+    return remainingChunks == 0;
+  }
+
+  /**
+   * The delete reason of a {@link Batch#TYPE_DELETE_PROCESS_INSTANCES} batch.
+   */
+  public String getDeleteReason() {
+    return deleteReason;
+  }
+
+  public void setDeleteReason(String deleteReason) {
+    this.deleteReason = deleteReason;
+  }
+
+  /**
+   * The retries of the jobs of a {@link Batch#TYPE_MOVE_DEAD_LETTER_JOBS} batch.
+   */
+  public int getRetries() {
+    return retries;
+  }
+
+  public void setRetries(int retries) {
+    this.retries = retries;
+  }
+
+  @Override
+  public String toString() {
+    return "Batch[id=" + id + ", type=" + type + ", total=" + total + ", remainingChunks=" + remainingChunks + "]";
+  }
+
+}
@@ -18,6 +18,7 @@
 package org.activiti.engine.impl;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.history.HistoricActivityInstance;
@@ -70,6 +71,12 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
     return commandContext.getHistoricActivityInstanceEntityManager().findHistoricActivityInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  public Stream<HistoricActivityInstance> executeStream(CommandContext commandContext) {
+    checkQueryOk();
+    return commandContext.getHistoricActivityInstanceEntityManager().streamHistoricActivityInstancesByQueryCriteria(this);
+  }
+
   public HistoricActivityInstanceQueryImpl processInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
     return this;
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
@@ -575,6 +576,11 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return orderBy(HistoricProcessInstanceQueryProperty.TENANT_ID);
   }
 
+  @Override
+  public String getKeysetTable() {
+    return "ACT_HI_PROCINST";
+  }
+
   public String getMssqlOrDB2OrderBy() {
     String specialOrderBy = super.getOrderBy();
     if (specialOrderBy != null && specialOrderBy.length() > 0) {
@@ -609,6 +615,16 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return results;
   }
 
+  @Override
+  public Stream<HistoricProcessInstance> executeStream(CommandContext commandContext) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    if (includeProcessVariables) {
+      throw new ActivitiIllegalArgumentException("Process variables can't be included when streaming historic process instances");
+    }
+    return commandContext.getHistoricProcessInstanceEntityManager().streamHistoricProcessInstancesByQueryCriteria(this);
+  }
+
   protected void localize(HistoricProcessInstance processInstance, CommandContext commandContext) {
     HistoricProcessInstanceEntity processInstanceEntity = (HistoricProcessInstanceEntity) processInstance;
     processInstanceEntity.setLocalizedName(null);
@@ -1290,6 +1290,11 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
     }
   }
 
+  @Override
+  public String getKeysetTable() {
+    return "ACT_HI_TASKINST";
+  }
+
   public String getMssqlOrDB2OrderBy() {
     String specialOrderBy = super.getOrderBy();
     if (specialOrderBy != null && specialOrderBy.length() > 0) {
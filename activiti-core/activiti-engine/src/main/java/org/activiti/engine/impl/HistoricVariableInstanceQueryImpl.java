@@ -19,6 +19,7 @@ package org.activiti.engine.impl;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.history.HistoricVariableInstance;
@@ -243,6 +244,13 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
     return historicVariableInstances;
   }
 
+  @Override
+  public Stream<HistoricVariableInstance> executeStream(CommandContext commandContext) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    return commandContext.getHistoricVariableInstanceEntityManager().streamHistoricVariableInstancesByQueryCriteria(this);
+  }
+
   // order by
   // /////////////////////////////////////////////////////////////////
 
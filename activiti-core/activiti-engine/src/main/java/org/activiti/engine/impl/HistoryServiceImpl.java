@@ -17,9 +17,12 @@
 
 package org.activiti.engine.impl;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.HistoryService;
+import org.activiti.engine.history.ArchivedHistoricProcessInstanceQuery;
 import org.activiti.engine.history.HistoricActivityInstanceQuery;
 import org.activiti.engine.history.HistoricDetailQuery;
 import org.activiti.engine.history.HistoricIdentityLink;
@@ -33,7 +36,9 @@ import org.activiti.engine.history.NativeHistoricTaskInstanceQuery;
 import org.activiti.engine.history.NativeHistoricVariableInstanceQuery;
 import org.activiti.engine.history.ProcessInstanceHistoryLogQuery;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cmd.ArchiveHistoricProcessInstancesCmd;
 import org.activiti.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
+import org.activiti.engine.impl.cmd.DeleteHistoricProcessInstancesCmd;
 import org.activiti.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.activiti.engine.impl.cmd.GetHistoricIdentityLinksForTaskCmd;
 
@@ -87,6 +92,25 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     commandExecutor.execute(new DeleteHistoricProcessInstanceCmd(processInstanceId));
   }
 
+  public void deleteHistoricProcessInstances(Collection<String> processInstanceIds) {
+    commandExecutor.execute(new DeleteHistoricProcessInstancesCmd(processInstanceIds));
+  }
+
+  public long archiveHistoricProcessInstances(Date finishedBefore) {
+    int batchSize = processEngineConfiguration.getHistoryArchiveBatchSize();
+    long archived = 0;
+    int batch;
+    do {
+      batch = commandExecutor.execute(new ArchiveHistoricProcessInstancesCmd(finishedBefore, batchSize));
+      archived += batch;
+    } while (batch == batchSize);
+    return archived;
+  }
+
+  public ArchivedHistoricProcessInstanceQuery createArchivedHistoricProcessInstanceQuery() {
+    return new ArchivedHistoricProcessInstanceQueryImpl(commandExecutor);
+  }
+
   public NativeHistoricProcessInstanceQuery createNativeHistoricProcessInstanceQuery() {
     return new NativeHistoricProcessInstanceQueryImpl(commandExecutor);
   }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+
+/**
+ * Position of keyset paging: the sort value and the id of the last result of a page. It is passed around as an opaque
+ * token, the URL safe Base64 encoding of <code>&lt;type&gt;&lt;value&gt;|&lt;id&gt;</code>, where the type is
+ * <code>n</code> for null, <code>s</code> for a string, <code>N</code> for a number and <code>d</code> for a date
+ * (in milliseconds).
+ */
+public class KeysetCursor {
+
+  protected static final char SEPARATOR = '|';
+
+  protected Object sortValue;
+  protected String id;
+
+  public KeysetCursor(Object sortValue, String id) {
+    this.sortValue = sortValue;
+    this.id = id;
+  }
+
+  public static KeysetCursor parse(String token) {
+    String cursor;
+    try {
+      cursor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new ActivitiIllegalArgumentException("Invalid keyset cursor " + token, e);
+    }
+    int separatorIndex = cursor.lastIndexOf(SEPARATOR);
+    if (separatorIndex < 1 || separatorIndex == cursor.length() - 1) {
+      throw new ActivitiIllegalArgumentException("Invalid keyset cursor " + token);
+    }
+    String value = cursor.substring(1, separatorIndex);
+    String id = cursor.substring(separatorIndex + 1);
+    try {
+      switch (cursor.charAt(0)) {
+        case 'n':
+          return new KeysetCursor(null, id);
+        case 's':
+          return new KeysetCursor(value, id);
+        case 'N':
+          return new KeysetCursor(new BigDecimal(value), id);
+        case 'd':
+          return new KeysetCursor(new Date(Long.parseLong(value)), id);
+        default:
+          throw new ActivitiIllegalArgumentException("Invalid keyset cursor " + token);
+      }
+    } catch (NumberFormatException e) {
+      throw new ActivitiIllegalArgumentException("Invalid keyset cursor " + token, e);
+    }
+  }
+
+  public String format() {
+    StringBuilder cursor = new StringBuilder();
+    if (sortValue == null) {
+      cursor.append('n');
+    } else if (sortValue instanceof String) {
+      cursor.append('s').append(sortValue);
+    } else if (sortValue instanceof Number) {
+      cursor.append('N').append(new BigDecimal(sortValue.toString()).toPlainString());
+    } else if (sortValue instanceof Date) {
+      cursor.append('d').append(((Date) sortValue).getTime());
+    } else {
+      throw new ActivitiException("Keyset paging does not support sort values of type " + sortValue.getClass().getName());
+    }
+    cursor.append(SEPARATOR).append(id);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  public Object getSortValue() {
+    return sortValue;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+}
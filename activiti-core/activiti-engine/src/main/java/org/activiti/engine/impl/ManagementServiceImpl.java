@@ -24,13 +24,16 @@ import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.ManagementService;
 import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.cmd.CreateBatchCmd;
 import org.activiti.engine.impl.cmd.CustomSqlExecution;
+import org.activiti.engine.impl.cmd.DeleteBatchCmd;
 import org.activiti.engine.impl.cmd.DeleteDeadLetterJobCmd;
 import org.activiti.engine.impl.cmd.DeleteEventLogEntry;
 import org.activiti.engine.impl.cmd.DeleteJobCmd;
 import org.activiti.engine.impl.cmd.DeleteTimerJobCmd;
 import org.activiti.engine.impl.cmd.ExecuteCustomSqlCmd;
 import org.activiti.engine.impl.cmd.ExecuteJobCmd;
+import org.activiti.engine.impl.cmd.GetBatchCmd;
 import org.activiti.engine.impl.cmd.GetEventLogEntriesCmd;
 import org.activiti.engine.impl.cmd.GetJobExceptionStacktraceCmd;
 import org.activiti.engine.impl.cmd.GetPropertiesCmd;
@@ -50,6 +53,7 @@ import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.management.TableMetaData;
 import org.activiti.engine.management.TablePageQuery;
+import org.activiti.engine.runtime.Batch;
 import org.activiti.engine.runtime.DeadLetterJobQuery;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.JobQuery;
@@ -106,6 +110,24 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     return commandExecutor.execute(new MoveDeadLetterJobToExecutableJobCmd(jobId, retries));
   }
 
+  public Batch moveDeadLetterJobsToExecutableJobs(DeadLetterJobQuery query, int retries) {
+    if (retries <= 0) {
+      throw new ActivitiIllegalArgumentException("The number of retries must be greater than 0");
+    }
+    BatchImpl batch = new BatchImpl();
+    batch.setType(Batch.TYPE_MOVE_DEAD_LETTER_JOBS);
+    batch.setRetries(retries);
+    return commandExecutor.execute(new CreateBatchCmd(batch, query));
+  }
+
+  public Batch getBatch(String batchId) {
+    return commandExecutor.execute(new GetBatchCmd(batchId));
+  }
+
+  public void deleteBatch(String batchId) {
+    commandExecutor.execute(new DeleteBatchCmd(batchId));
+  }
+
   public void deleteJob(String jobId) {
     commandExecutor.execute(new DeleteJobCmd(jobId));
   }
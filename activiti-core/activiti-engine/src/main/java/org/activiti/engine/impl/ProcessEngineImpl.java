@@ -31,8 +31,11 @@ import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.TransactionContextFactory;
+import org.activiti.engine.impl.cmd.ScheduleHistoryCleanupJobCmd;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.interceptor.SessionFactory;
+import org.activiti.engine.impl.persistence.deploy.DeploymentCacheInvalidationChannel;
+import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,6 +75,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       commandExecutor.execute(processEngineConfiguration.getSchemaCommandConfig(), new SchemaOperationsProcessEngineBuild());
     }
 
+    if (processEngineConfiguration.isHistoryCleanupEnabled()) {
+      scheduleHistoryCleanupJob();
+    }
+
     if (name == null) {
       log.info("default activiti ProcessEngine created");
     } else {
@@ -84,6 +91,15 @@ public class ProcessEngineImpl implements ProcessEngine {
       asyncExecutor.start();
     }
 
+    DeploymentManager deploymentManager = processEngineConfiguration.getDeploymentManager();
+    if (deploymentManager.getCacheInvalidationChannel() != null) {
+      deploymentManager.getCacheInvalidationChannel().start(deploymentManager);
+    }
+
+    if (processEngineConfiguration.getAsyncHistoryWriter() != null) {
+      processEngineConfiguration.getAsyncHistoryWriter().start();
+    }
+
     if (processEngineConfiguration.getProcessEngineLifecycleListener() != null) {
       processEngineConfiguration.getProcessEngineLifecycleListener().onProcessEngineBuilt(this);
     }
@@ -91,12 +107,31 @@ public class ProcessEngineImpl implements ProcessEngine {
     processEngineConfiguration.getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createGlobalEvent(ActivitiEventType.ENGINE_CREATED));
   }
 
+  protected void scheduleHistoryCleanupJob() {
+    try {
+      commandExecutor.execute(new ScheduleHistoryCleanupJobCmd());
+    } catch (RuntimeException e) {
+      // another engine inserted the timer with the same id at the same time, its timer is found now
+      log.debug("Could not schedule the history cleanup job, checking again", e);
+      commandExecutor.execute(new ScheduleHistoryCleanupJobCmd());
+    }
+  }
+
   public void close() {
     ProcessEngines.unregister(this);
     if (asyncExecutor != null && asyncExecutor.isActive()) {
       asyncExecutor.shutdown();
     }
 
+    DeploymentCacheInvalidationChannel cacheInvalidationChannel = processEngineConfiguration.getDeploymentManager().getCacheInvalidationChannel();
+    if (cacheInvalidationChannel != null) {
+      cacheInvalidationChannel.stop();
+    }
+
+    if (processEngineConfiguration.getAsyncHistoryWriter() != null) {
+      processEngineConfiguration.getAsyncHistoryWriter().stop();
+    }
+
     commandExecutor.execute(processEngineConfiguration.getSchemaCommandConfig(), new SchemaOperationProcessEngineClose());
 
     if (processEngineConfiguration.getProcessEngineLifecycleListener() != null) {
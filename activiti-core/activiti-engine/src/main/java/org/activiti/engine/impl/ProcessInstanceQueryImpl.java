@@ -19,8 +19,12 @@ package org.activiti.engine.impl;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.activiti.engine.ActivitiException;
@@ -31,7 +35,10 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.SuspensionState;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.query.QueryProperty;
 import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.runtime.ProcessInstanceProjection;
 import org.activiti.engine.runtime.ProcessInstanceQuery;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -97,6 +104,10 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
   protected String rootProcessInstanceId;
   protected List<String> involvedGroups;
 
+  protected List<String> projectionColumns;
+  protected List<String> projectionVariableNames;
+  protected boolean selectingProjections;
+
   public ProcessInstanceQueryImpl() {
   }
 
@@ -386,6 +397,27 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     return processInstanceVariablesLimit;
   }
 
+  public ProcessInstanceQuery projection(QueryProperty... properties) {
+    projectionColumns = new ArrayList<String>();
+    for (QueryProperty property : properties) {
+      if (property == null || ProcessInstanceQueryProperty.findByName(property.getName()) == null) {
+        throw new ActivitiIllegalArgumentException("Unknown process instance property " + property);
+      }
+      if (property.getName().startsWith("RES.")) {
+        projectionColumns.add(property.getName());
+      }
+    }
+    return this;
+  }
+
+  public ProcessInstanceQuery projectionVariables(String... variableNames) {
+    if (variableNames == null) {
+      throw new ActivitiIllegalArgumentException("variableNames is null");
+    }
+    this.projectionVariableNames = Arrays.asList(variableNames);
+    return this;
+  }
+
   public ProcessInstanceQuery withJobException() {
     this.withJobException = true;
     return this;
@@ -608,6 +640,11 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     return this;
   }
 
+  @Override
+  public String getKeysetTable() {
+    return "ACT_RU_EXECUTION";
+  }
+
   public String getMssqlOrDB2OrderBy() {
     String specialOrderBy = super.getOrderBy();
     if (specialOrderBy != null && specialOrderBy.length() > 0) {
@@ -645,6 +682,61 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     return processInstances;
   }
 
+  public List<ProcessInstanceProjection> listProjections() {
+    return listProjectionsPage(0, Integer.MAX_VALUE);
+  }
+
+  public List<ProcessInstanceProjection> listProjectionsPage(int firstResult, int maxResults) {
+    this.firstResult = firstResult;
+    this.maxResults = maxResults;
+    if (commandExecutor != null) {
+      return commandExecutor.execute(this::executeProjections);
+    }
+    return executeProjections(Context.getCommandContext());
+  }
+
+  public List<ProcessInstanceProjection> executeProjections(CommandContext commandContext) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    List<ProcessInstanceProjection> projections;
+    selectingProjections = true;
+    try {
+      projections = commandContext.getExecutionEntityManager().findProcessInstanceProjectionsByQueryCriteria(this);
+    } finally {
+      selectingProjections = false;
+    }
+
+    if (projectionVariableNames != null && !projectionVariableNames.isEmpty() && !projections.isEmpty()) {
+      Map<String, ProcessInstanceProjection> projectionsById = new HashMap<String, ProcessInstanceProjection>();
+      for (ProcessInstanceProjection projection : projections) {
+        projectionsById.put(projection.getId(), projection);
+      }
+      for (VariableInstanceEntity variable : commandContext.getVariableInstanceEntityManager()
+          .findVariableInstancesByExecutionIdsAndNames(projectionsById.keySet(), projectionVariableNames)) {
+        projectionsById.get(variable.getExecutionId()).getVariables().put(variable.getName(), variable.getValue());
+      }
+    }
+    return projections;
+  }
+
+  /**
+   * The columns of the process instance executions that are selected: all of them, unless projections are selected.
+   */
+  public String getSelectColumns() {
+    if (!selectingProjections || projectionColumns == null) {
+      return "RES.*";
+    }
+    Set<String> columns = new LinkedHashSet<String>();
+    columns.add(ProcessInstanceQueryProperty.PROCESS_INSTANCE_ID.getName());
+    columns.addAll(projectionColumns);
+    for (ProcessInstanceQueryProperty property : ProcessInstanceQueryProperty.values()) {
+      if (property.getName().startsWith("RES.") && getOrderBy().contains(property.getName())) {
+        columns.add(property.getName());
+      }
+    }
+    return String.join(", ", columns);
+  }
+
   @Override
   protected void ensureVariablesInitialized() {
     super.ensureVariablesInitialized();
@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,6 +39,10 @@ public class ProcessInstanceQueryProperty implements QueryProperty {
   public static final ProcessInstanceQueryProperty PROCESS_DEFINITION_KEY = new ProcessInstanceQueryProperty("ProcessDefinitionKey");
   public static final ProcessInstanceQueryProperty PROCESS_DEFINITION_ID = new ProcessInstanceQueryProperty("ProcessDefinitionId");
   public static final ProcessInstanceQueryProperty TENANT_ID = new ProcessInstanceQueryProperty("RES.TENANT_ID_");
+  public static final ProcessInstanceQueryProperty NAME = new ProcessInstanceQueryProperty("RES.NAME_");
+  public static final ProcessInstanceQueryProperty BUSINESS_KEY = new ProcessInstanceQueryProperty("RES.BUSINESS_KEY_");
+  public static final ProcessInstanceQueryProperty START_TIME = new ProcessInstanceQueryProperty("RES.START_TIME_");
+  public static final ProcessInstanceQueryProperty START_USER_ID = new ProcessInstanceQueryProperty("RES.START_USER_ID_");
 
   private String name;
 
@@ -54,4 +59,8 @@ public class ProcessInstanceQueryProperty implements QueryProperty {
     return properties.get(propertyName);
   }
 
+  public static Collection<ProcessInstanceQueryProperty> values() {
+    return properties.values();
+  }
+
 }
@@ -32,6 +32,7 @@ import org.activiti.engine.impl.cmd.ActivateProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.AddEventListenerCommand;
 import org.activiti.engine.impl.cmd.AddIdentityLinkForProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.CompleteAdhocSubProcessCmd;
+import org.activiti.engine.impl.cmd.CreateBatchCmd;
 import org.activiti.engine.impl.cmd.CreateProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.DeleteIdentityLinkForProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.DeleteProcessInstanceCmd;
@@ -63,6 +64,7 @@ import org.activiti.engine.impl.cmd.SuspendProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.TriggerCmd;
 import org.activiti.engine.impl.persistence.entity.VariableInstance;
 import org.activiti.engine.impl.runtime.ProcessInstanceBuilderImpl;
+import org.activiti.engine.runtime.Batch;
 import org.activiti.engine.runtime.DataObject;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ExecutionQuery;
@@ -397,6 +399,26 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
         commandExecutor.execute(new ActivateProcessInstanceCmd(processInstanceId));
     }
 
+    public Batch suspendProcessInstances(ProcessInstanceQuery query) {
+        return commandExecutor.execute(new CreateBatchCmd(createBatch(Batch.TYPE_SUSPEND_PROCESS_INSTANCES), query));
+    }
+
+    public Batch activateProcessInstances(ProcessInstanceQuery query) {
+        return commandExecutor.execute(new CreateBatchCmd(createBatch(Batch.TYPE_ACTIVATE_PROCESS_INSTANCES), query));
+    }
+
+    public Batch deleteProcessInstances(ProcessInstanceQuery query, String deleteReason) {
+        BatchImpl batch = createBatch(Batch.TYPE_DELETE_PROCESS_INSTANCES);
+        batch.setDeleteReason(deleteReason);
+        return commandExecutor.execute(new CreateBatchCmd(batch, query));
+    }
+
+    protected BatchImpl createBatch(String type) {
+        BatchImpl batch = new BatchImpl();
+        batch.setType(type);
+        return batch;
+    }
+
     public ProcessInstance startProcessInstanceByMessage(String messageName) {
         return commandExecutor.execute(new StartProcessInstanceByMessageCmd(messageName, null, null, null));
     }
@@ -17,8 +17,15 @@
 package org.activiti.engine.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -30,9 +37,12 @@ import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.SuspensionState;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.activiti.engine.impl.variable.VariableTypes;
+import org.activiti.engine.query.QueryProperty;
 import org.activiti.engine.task.DelegationState;
 import org.activiti.engine.task.Task;
+import org.activiti.engine.task.TaskProjection;
 import org.activiti.engine.task.TaskQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -119,6 +129,9 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
   protected boolean orActive;
   protected List<TaskQueryImpl> orQueryObjects = new ArrayList<TaskQueryImpl>();
   protected TaskQueryImpl currentOrQueryObject = null;
+  protected List<String> projectionColumns;
+  protected List<String> projectionVariableNames;
+  protected boolean selectingProjections;
 
   public TaskQueryImpl() {
   }
@@ -1204,6 +1217,25 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return taskVariablesLimit;
   }
 
+  public TaskQuery projection(QueryProperty... properties) {
+    projectionColumns = new ArrayList<String>();
+    for (QueryProperty property : properties) {
+      if (property == null || TaskQueryProperty.findByName(property.getName()) == null) {
+        throw new ActivitiIllegalArgumentException("Unknown task property " + property);
+      }
+      projectionColumns.add(property.getName());
+    }
+    return this;
+  }
+
+  public TaskQuery projectionVariables(String... variableNames) {
+    if (variableNames == null) {
+      throw new ActivitiIllegalArgumentException("variableNames is null");
+    }
+    this.projectionVariableNames = Arrays.asList(variableNames);
+    return this;
+  }
+
   public List<String> getCandidateGroups(){
     if (candidateGroup != null) {
       List<String> candidateGroupList = new ArrayList<String>(1);
@@ -1341,6 +1373,11 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return orderBy(TaskQueryProperty.TENANT_ID);
   }
 
+  @Override
+  public String getKeysetTable() {
+    return "ACT_RU_TASK";
+  }
+
   public String getMssqlOrDB2OrderBy() {
     String specialOrderBy = super.getOrderBy();
     if (specialOrderBy != null && specialOrderBy.length() > 0) {
@@ -1376,6 +1413,111 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return commandContext.getTaskEntityManager().findTaskCountByQueryCriteria(this);
   }
 
+  @Override
+  public Stream<Task> executeStream(CommandContext commandContext) {
+    ensureVariablesInitialized();
+    checkQueryOk();
+    if (includeTaskLocalVariables || includeProcessVariables) {
+      throw new ActivitiIllegalArgumentException("Variables can't be included when streaming tasks");
+    }
+    return commandContext.getTaskEntityManager().streamTasksByQueryCriteria(this);
+  }
+
+  public List<TaskProjection> listProjections() {
+    return listProjectionsPage(0, Integer.MAX_VALUE);
+  }
+
+  public List<TaskProjection> listProjectionsPage(int firstResult, int maxResults) {
+    this.firstResult = firstResult;
+    this.maxResults = maxResults;
+    if (commandExecutor != null) {
+      return commandExecutor.execute(this::executeProjections);
+    }
+    return executeProjections(Context.getCommandContext());
+  }
+
+  public List<TaskProjection> executeProjections(CommandContext commandContext) {
+    ensureVariablesInitialized();
+    checkQueryOk();
+    List<TaskProjection> projections;
+    selectingProjections = true;
+    try {
+      projections = commandContext.getTaskEntityManager().findTaskProjectionsByQueryCriteria(this);
+    } finally {
+      selectingProjections = false;
+    }
+
+    if (projectionVariableNames != null && !projectionVariableNames.isEmpty() && !projections.isEmpty()) {
+      addProjectionVariables(commandContext, projections);
+    }
+    return projections;
+  }
+
+  protected void addProjectionVariables(CommandContext commandContext, List<TaskProjection> projections) {
+    Set<String> taskIds = new HashSet<String>();
+    Set<String> processInstanceIds = new HashSet<String>();
+    for (TaskProjection projection : projections) {
+      taskIds.add(projection.getId());
+      if (projection.getProcessInstanceId() != null) {
+        processInstanceIds.add(projection.getProcessInstanceId());
+      }
+    }
+
+    Map<String, Map<String, Object>> processVariables = new HashMap<String, Map<String, Object>>();
+    if (!processInstanceIds.isEmpty()) {
+      for (VariableInstanceEntity variable : commandContext.getVariableInstanceEntityManager()
+          .findVariableInstancesByExecutionIdsAndNames(processInstanceIds, projectionVariableNames)) {
+        getVariables(processVariables, variable.getExecutionId()).put(variable.getName(), variable.getValue());
+      }
+    }
+    Map<String, Map<String, Object>> taskVariables = new HashMap<String, Map<String, Object>>();
+    for (VariableInstanceEntity variable : commandContext.getVariableInstanceEntityManager()
+        .findVariableInstancesByTaskIdsAndNames(taskIds, projectionVariableNames)) {
+      getVariables(taskVariables, variable.getTaskId()).put(variable.getName(), variable.getValue());
+    }
+
+    for (TaskProjection projection : projections) {
+      Map<String, Object> variables = projection.getVariables();
+      if (processVariables.containsKey(projection.getProcessInstanceId())) {
+        variables.putAll(processVariables.get(projection.getProcessInstanceId()));
+      }
+      if (taskVariables.containsKey(projection.getId())) {
+        variables.putAll(taskVariables.get(projection.getId()));
+      }
+    }
+  }
+
+  protected Map<String, Object> getVariables(Map<String, Map<String, Object>> variablesById, String id) {
+    Map<String, Object> variables = variablesById.get(id);
+    if (variables == null) {
+      variables = new HashMap<String, Object>();
+      variablesById.put(id, variables);
+    }
+    return variables;
+  }
+
+  /**
+   * The columns selected for the tasks: all of them, unless projections are selected. The process instance id is
+   * part of every projection that selects variables, as are the columns the tasks are ordered by.
+   */
+  public String getSelectColumns() {
+    if (!selectingProjections || projectionColumns == null) {
+      return "RES.*";
+    }
+    Set<String> columns = new LinkedHashSet<String>();
+    columns.add(TaskQueryProperty.TASK_ID.getName());
+    columns.addAll(projectionColumns);
+    if (projectionVariableNames != null && !projectionVariableNames.isEmpty()) {
+      columns.add(TaskQueryProperty.PROCESS_INSTANCE_ID.getName());
+    }
+    for (TaskQueryProperty property : TaskQueryProperty.values()) {
+      if (getOrderBy().contains(property.getName())) {
+        columns.add(property.getName());
+      }
+    }
+    return String.join(", ", columns);
+  }
+
   protected void localize(Task task) {
     task.setLocalizedName(null);
     task.setLocalizedDescription(null);
@@ -19,6 +19,7 @@
 
 package org.activiti.engine.impl;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -65,4 +66,8 @@ public class TaskQueryProperty implements QueryProperty {
     return properties.get(propertyName);
   }
 
+  public static Collection<TaskQueryProperty> values() {
+    return properties.values();
+  }
+
 }
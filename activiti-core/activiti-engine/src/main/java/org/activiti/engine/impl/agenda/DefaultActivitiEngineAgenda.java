@@ -16,7 +16,7 @@
 
 package org.activiti.engine.impl.agenda;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 
 import org.activiti.engine.ActivitiEngineAgenda;
 import org.activiti.engine.impl.interceptor.CommandContext;
@@ -33,9 +33,15 @@ public class DefaultActivitiEngineAgenda implements ActivitiEngineAgenda {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultActivitiEngineAgenda.class);
 
-    protected LinkedList<Runnable> operations = new LinkedList<Runnable>();
+    protected ArrayDeque<Runnable> operations = new ArrayDeque<Runnable>();
     protected CommandContext commandContext;
 
+    /**
+     * The execution that was last added to the involved executions of the command context. Consecutive operations
+     * mostly work on the same execution, which then doesn't need to be added again.
+     */
+    protected ExecutionEntity lastInvolvedExecution;
+
     public DefaultActivitiEngineAgenda(CommandContext commandContext) {
       this.commandContext = commandContext;
     }
@@ -58,13 +64,21 @@ public class DefaultActivitiEngineAgenda implements ActivitiEngineAgenda {
         operations.add(operation);
 
         if (operation instanceof AbstractOperation) {
-            ExecutionEntity execution = ((AbstractOperation) operation).getExecution();
-            if (execution != null) {
-                commandContext.addInvolvedExecution(execution);
-            }
+            addInvolvedExecution(((AbstractOperation) operation).getExecution());
         }
 
-        logger.debug("Operation {} added to agenda", operation.getClass());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Operation {} added to agenda", operation.getClass());
+        }
+    }
+
+    protected void addInvolvedExecution(ExecutionEntity execution) {
+        if (execution != null && execution != lastInvolvedExecution) {
+            commandContext.addInvolvedExecution(execution);
+            if (execution.getId() != null) {
+                lastInvolvedExecution = execution;
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.agenda;
+
+import java.util.ArrayDeque;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Agenda that reuses the {@link ContinueProcessOperation} and {@link TakeOutgoingSequenceFlowsOperation} instances,
+ * which are planned for every step of a process, instead of creating new ones.
+ *
+ * An operation goes back to the pool when it has run, so an operation that is still running (eg one that executes a
+ * nested command on the same agenda) is never handed out again. Operations that are skipped because their execution
+ * has ended are not returned and are simply garbage collected.
+ *
+ * Operations planned by this agenda must not be kept after they have run.
+ */
+public class PooledActivitiEngineAgenda extends DefaultActivitiEngineAgenda {
+
+    protected static final int MAX_POOL_SIZE = 16;
+
+    protected ArrayDeque<PooledContinueProcessOperation> continueProcessOperations = new ArrayDeque<PooledContinueProcessOperation>();
+    protected ArrayDeque<PooledTakeOutgoingSequenceFlowsOperation> takeOutgoingSequenceFlowsOperations = new ArrayDeque<PooledTakeOutgoingSequenceFlowsOperation>();
+
+    public PooledActivitiEngineAgenda(CommandContext commandContext) {
+        super(commandContext);
+    }
+
+    @Override
+    public void planContinueProcessOperation(ExecutionEntity execution) {
+        planOperation(getContinueProcessOperation(execution, false, false));
+    }
+
+    @Override
+    public void planContinueProcessSynchronousOperation(ExecutionEntity execution) {
+        planOperation(getContinueProcessOperation(execution, true, false));
+    }
+
+    @Override
+    public void planContinueProcessInCompensation(ExecutionEntity execution) {
+        planOperation(getContinueProcessOperation(execution, false, true));
+    }
+
+    @Override
+    public void planTakeOutgoingSequenceFlowsOperation(ExecutionEntity execution, boolean evaluateConditions) {
+        PooledTakeOutgoingSequenceFlowsOperation operation = takeOutgoingSequenceFlowsOperations.poll();
+        if (operation == null) {
+            operation = new PooledTakeOutgoingSequenceFlowsOperation(commandContext, this);
+        }
+        operation.execution = execution;
+        operation.evaluateConditions = evaluateConditions;
+        planOperation(operation);
+    }
+
+    protected ContinueProcessOperation getContinueProcessOperation(ExecutionEntity execution, boolean forceSynchronousOperation, boolean inCompensation) {
+        PooledContinueProcessOperation operation = continueProcessOperations.poll();
+        if (operation == null) {
+            operation = new PooledContinueProcessOperation(commandContext, this);
+        }
+        operation.execution = execution;
+        operation.forceSynchronousOperation = forceSynchronousOperation;
+        operation.inCompensation = inCompensation;
+        return operation;
+    }
+
+    protected void release(PooledContinueProcessOperation operation) {
+        operation.execution = null;
+        if (continueProcessOperations.size() < MAX_POOL_SIZE) {
+            continueProcessOperations.push(operation);
+        }
+    }
+
+    protected void release(PooledTakeOutgoingSequenceFlowsOperation operation) {
+        operation.execution = null;
+        if (takeOutgoingSequenceFlowsOperations.size() < MAX_POOL_SIZE) {
+            takeOutgoingSequenceFlowsOperations.push(operation);
+        }
+    }
+
+    protected static class PooledContinueProcessOperation extends ContinueProcessOperation {
+
+        protected PooledActivitiEngineAgenda pool;
+
+        public PooledContinueProcessOperation(CommandContext commandContext, PooledActivitiEngineAgenda pool) {
+            super(commandContext, null);
+            this.pool = pool;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                pool.release(this);
+            }
+        }
+
+    }
+
+    protected static class PooledTakeOutgoingSequenceFlowsOperation extends TakeOutgoingSequenceFlowsOperation {
+
+        protected PooledActivitiEngineAgenda pool;
+
+        public PooledTakeOutgoingSequenceFlowsOperation(CommandContext commandContext, PooledActivitiEngineAgenda pool) {
+            super(commandContext, null, true);
+            this.pool = pool;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                pool.release(this);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.agenda;
+
+import org.activiti.engine.ActivitiEngineAgenda;
+import org.activiti.engine.ActivitiEngineAgendaFactory;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Creates a {@link PooledActivitiEngineAgenda} for every command context.
+ */
+public class PooledActivitiEngineAgendaFactory implements ActivitiEngineAgendaFactory {
+
+  @Override
+  public ActivitiEngineAgenda createAgenda(CommandContext commandContext) {
+    return new PooledActivitiEngineAgenda(commandContext);
+  }
+
+}
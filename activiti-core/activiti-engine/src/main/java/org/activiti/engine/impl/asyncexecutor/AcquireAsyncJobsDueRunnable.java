@@ -16,12 +16,14 @@
 
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cmd.AcquireJobsCmd;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
-import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +43,8 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
   protected long millisToWait;
 
+  protected volatile AdaptiveAcquireWaitTime adaptiveAcquireWaitTime;
+
   public AcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor) {
     this.asyncExecutor = asyncExecutor;
   }
@@ -50,35 +54,39 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     Thread.currentThread().setName("activiti-acquire-async-jobs");
 
     final CommandExecutor commandExecutor = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor();
+    adaptiveAcquireWaitTime = createAdaptiveAcquireWaitTime();
 
     while (!isInterrupted) {
 
       try {
         AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
 
-        boolean allJobsSuccessfullyOffered = true;
-        for (JobEntity job : acquiredJobs.getJobs()) {
-          boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
-          if (!jobSuccessFullyOffered) {
-            allJobsSuccessfullyOffered = false;
-          }
-        }
+        boolean allJobsSuccessfullyOffered = asyncExecutor.executeAsyncJobs(acquiredJobs.getJobs());
 
-        // If all jobs are executed, we check if we got back the amount we expected
-        // If not, we will wait, as to not query the database needlessly.
-        // Otherwise, we set the wait time to 0, as to query again immediately.
-        millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
-        int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
-          millisToWait = 0;
-        }
+        if (adaptiveAcquireWaitTime != null) {
+          millisToWait = adaptiveAcquireWaitTime.afterAcquisition(System.currentTimeMillis(), acquiredJobs.size(),
+              asyncExecutor.getMaxAsyncJobsDuePerAcquisition(), allJobsSuccessfullyOffered, getQueueFillRatio());
+
+        } else {
+          // If all jobs are executed, we check if we got back the amount we expected
+          // If not, we will wait, as to not query the database needlessly.
+          // Otherwise, we set the wait time to 0, as to query again immediately.
+          millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+          int jobsAcquired = acquiredJobs.size();
+          if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
+            millisToWait = 0;
+          }
 
-        // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
-        if (millisToWait == 0 && !allJobsSuccessfullyOffered) {
-          millisToWait = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+          // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
+          if (millisToWait == 0 && !allJobsSuccessfullyOffered) {
+            millisToWait = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+          }
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+        if (adaptiveAcquireWaitTime != null) {
+          millisToWait = adaptiveAcquireWaitTime.afterLockCollision(System.currentTimeMillis());
+        }
         if (log.isDebugEnabled()) {
           log.debug("Optimistic locking exception during async job acquisition. If you have multiple async executors running against the same database, "
               + "this exception means that this thread tried to acquire a due async job, which already was acquired by another async executor acquisition thread."
@@ -88,7 +96,11 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
       } catch (Throwable e) {
         log.error("exception during async job acquisition: {}", e.getMessage(), e);
-        millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+        if (adaptiveAcquireWaitTime != null) {
+          millisToWait = adaptiveAcquireWaitTime.afterFailure();
+        } else {
+          millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+        }
       }
 
       if (millisToWait > 0) {
@@ -128,6 +140,43 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     }
   }
 
+  protected AdaptiveAcquireWaitTime createAdaptiveAcquireWaitTime() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = asyncExecutor.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.isAsyncExecutorAdaptiveAcquireWaitTime()) {
+      return null;
+    }
+    return new AdaptiveAcquireWaitTime(processEngineConfiguration.getAsyncExecutorMinAsyncJobAcquireWaitTime(),
+        asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis(), asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis());
+  }
+
+  protected double getQueueFillRatio() {
+    if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+      ExecutorService executorService = ((DefaultAsyncJobExecutor) asyncExecutor).getExecutorService();
+      if (executorService instanceof BoundedVirtualThreadExecutorService) {
+        BoundedVirtualThreadExecutorService virtualThreadExecutorService = (BoundedVirtualThreadExecutorService) executorService;
+        return (double) virtualThreadExecutorService.getActiveCount() / virtualThreadExecutorService.getMaxConcurrentTasks();
+      }
+
+      BlockingQueue<Runnable> threadPoolQueue = ((DefaultAsyncJobExecutor) asyncExecutor).getThreadPoolQueue();
+      if (threadPoolQueue != null) {
+        long queueSize = threadPoolQueue.size();
+        long capacity = queueSize + threadPoolQueue.remainingCapacity();
+        if (capacity > 0) {
+          return (double) queueSize / capacity;
+        }
+      }
+    }
+    return 0.0;
+  }
+
+  /**
+   * @return the adaptive wait time calculation and its metrics, or null when the
+   *         adaptive acquire wait time is not enabled or the acquisition was not started yet.
+   */
+  public AdaptiveAcquireWaitTime getAdaptiveAcquireWaitTime() {
+    return adaptiveAcquireWaitTime;
+  }
+
   public long getMillisToWait() {
     return millisToWait;
   }
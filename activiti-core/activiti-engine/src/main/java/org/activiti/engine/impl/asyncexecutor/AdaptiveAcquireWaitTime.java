@@ -0,0 +1,202 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calculates how long the async job acquisition thread waits before the next acquisition,
+ * based on what was observed during the previous acquisitions instead of always
+ * waiting the default async job acquire wait time:
+ *
+ * <ul>
+ * <li>when a full page of jobs was acquired, the next acquisition happens immediately;</li>
+ * <li>when only a part of a page was acquired, the wait time is derived from the observed job arrival rate;</li>
+ * <li>when no jobs were acquired, the wait time doubles on each acquisition, up to the maximum wait time;</li>
+ * <li>when the job execution queue is (almost) full, the acquisition waits to give the threads time to catch up;</li>
+ * <li>when the jobs were concurrently acquired by another async executor, an increasing and randomized wait time is used,
+ * so that the acquisition threads of the different nodes get out of step.</li>
+ * </ul>
+ *
+ * The observed values are exposed as metrics through the getters of this class.
+ */
+public class AdaptiveAcquireWaitTime {
+
+  /** Weight of the latest observation in the moving averages */
+  protected static final double SMOOTHING_FACTOR = 0.2;
+
+  /** Queue fill ratio from which the job execution queue is considered saturated */
+  protected static final double QUEUE_HIGH_WATERMARK = 0.8;
+
+  protected static final int MAX_BACKOFF_EXPONENT = 10;
+
+  protected final long minWaitTimeInMillis;
+  protected final long maxWaitTimeInMillis;
+  protected final long queueFullWaitTimeInMillis;
+
+  protected long lastAcquisitionTime = -1L;
+  protected int consecutiveLockCollisions;
+
+  protected volatile long currentWaitTimeInMillis;
+  protected volatile double jobArrivalRate;
+  protected volatile double queueFillRatio;
+  protected volatile double lockCollisionRate;
+
+  protected final AtomicLong acquisitionCount = new AtomicLong();
+  protected final AtomicLong emptyAcquisitionCount = new AtomicLong();
+  protected final AtomicLong acquiredJobCount = new AtomicLong();
+  protected final AtomicLong lockCollisionCount = new AtomicLong();
+
+  public AdaptiveAcquireWaitTime(long minWaitTimeInMillis, long maxWaitTimeInMillis, long queueFullWaitTimeInMillis) {
+    this.minWaitTimeInMillis = Math.max(0L, minWaitTimeInMillis);
+    this.maxWaitTimeInMillis = Math.max(this.minWaitTimeInMillis, maxWaitTimeInMillis);
+    this.queueFullWaitTimeInMillis = queueFullWaitTimeInMillis;
+  }
+
+  /**
+   * @return the time to wait before the next acquisition, after an acquisition that succeeded.
+   */
+  public long afterAcquisition(long currentTimeInMillis, int jobsAcquired, int maxJobsPerAcquisition,
+      boolean allJobsOffered, double currentQueueFillRatio) {
+
+    acquisitionCount.incrementAndGet();
+    acquiredJobCount.addAndGet(jobsAcquired);
+    if (jobsAcquired == 0) {
+      emptyAcquisitionCount.incrementAndGet();
+    }
+
+    updateJobArrivalRate(currentTimeInMillis, jobsAcquired);
+    lockCollisionRate = average(lockCollisionRate, 0.0);
+    consecutiveLockCollisions = 0;
+    queueFillRatio = currentQueueFillRatio;
+
+    long waitTime;
+    if (!allJobsOffered || currentQueueFillRatio >= QUEUE_HIGH_WATERMARK) {
+      // The executor can't keep up: fetching more jobs now would only lock jobs that can't be executed
+      waitTime = queueFullWaitTimeInMillis > 0 ? queueFullWaitTimeInMillis : minWaitTimeInMillis;
+
+    } else if (jobsAcquired >= maxJobsPerAcquisition) {
+      // There are probably more jobs waiting
+      waitTime = 0L;
+
+    } else if (jobsAcquired > 0 && jobArrivalRate > 0) {
+      // Wait approximately the time needed for a full page of jobs to arrive
+      waitTime = limit((long) (maxJobsPerAcquisition * 1000L / jobArrivalRate));
+
+    } else {
+      // Nothing to do: poll the database less and less often
+      waitTime = limit(currentWaitTimeInMillis > 0 ? currentWaitTimeInMillis * 2 : minWaitTimeInMillis);
+    }
+
+    currentWaitTimeInMillis = waitTime;
+    return waitTime;
+  }
+
+  /**
+   * @return the time to wait before the next acquisition, after the acquired jobs turned out
+   * to be acquired by another async executor already.
+   */
+  public long afterLockCollision(long currentTimeInMillis) {
+    acquisitionCount.incrementAndGet();
+    lockCollisionCount.incrementAndGet();
+    lockCollisionRate = average(lockCollisionRate, 1.0);
+    lastAcquisitionTime = currentTimeInMillis;
+
+    consecutiveLockCollisions = Math.min(consecutiveLockCollisions + 1, MAX_BACKOFF_EXPONENT);
+    long backoff = limit(Math.max(1L, minWaitTimeInMillis) << consecutiveLockCollisions);
+
+    // Randomize between half and the full back-off time, so the competing nodes don't retry at the same moment
+    long waitTime = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    currentWaitTimeInMillis = waitTime;
+    return waitTime;
+  }
+
+  /**
+   * @return the time to wait before the next acquisition, after an acquisition failed unexpectedly.
+   */
+  public long afterFailure() {
+    currentWaitTimeInMillis = maxWaitTimeInMillis;
+    return maxWaitTimeInMillis;
+  }
+
+  protected void updateJobArrivalRate(long currentTimeInMillis, int jobsAcquired) {
+    if (lastAcquisitionTime >= 0L) {
+      long elapsedTime = Math.max(1L, currentTimeInMillis - lastAcquisitionTime);
+      jobArrivalRate = average(jobArrivalRate, jobsAcquired * 1000.0 / elapsedTime);
+    }
+    lastAcquisitionTime = currentTimeInMillis;
+  }
+
+  protected double average(double currentAverage, double observation) {
+    return SMOOTHING_FACTOR * observation + (1 - SMOOTHING_FACTOR) * currentAverage;
+  }
+
+  protected long limit(long waitTime) {
+    return Math.max(minWaitTimeInMillis, Math.min(maxWaitTimeInMillis, waitTime));
+  }
+
+  public long getMinWaitTimeInMillis() {
+    return minWaitTimeInMillis;
+  }
+
+  public long getMaxWaitTimeInMillis() {
+    return maxWaitTimeInMillis;
+  }
+
+  public long getCurrentWaitTimeInMillis() {
+    return currentWaitTimeInMillis;
+  }
+
+  /**
+   * @return the moving average of the number of jobs acquired per second.
+   */
+  public double getJobArrivalRate() {
+    return jobArrivalRate;
+  }
+
+  /**
+   * @return the fill ratio (between 0 and 1) of the job execution queue during the last acquisition.
+   */
+  public double getQueueFillRatio() {
+    return queueFillRatio;
+  }
+
+  /**
+   * @return the moving average (between 0 and 1) of the acquisitions that collided with another async executor.
+   */
+  public double getLockCollisionRate() {
+    return lockCollisionRate;
+  }
+
+  public long getAcquisitionCount() {
+    return acquisitionCount.get();
+  }
+
+  public long getEmptyAcquisitionCount() {
+    return emptyAcquisitionCount.get();
+  }
+
+  public long getAcquiredJobCount() {
+    return acquiredJobCount.get();
+  }
+
+  public long getLockCollisionCount() {
+    return lockCollisionCount.get();
+  }
+
+}
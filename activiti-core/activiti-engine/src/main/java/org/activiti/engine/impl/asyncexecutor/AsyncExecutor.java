@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.Collection;
+
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
@@ -44,6 +46,21 @@ public interface AsyncExecutor {
    */
   boolean executeAsyncJob(Job job);
 
+  /**
+   * Offers all provided jobs (typically the jobs acquired in one acquisition round)
+   * to this {@link AsyncExecutor} instance to execute. Returns false if not all
+   * jobs could be offered, for example when the job queue got full.
+   */
+  default boolean executeAsyncJobs(Collection<? extends Job> jobs) {
+    boolean allJobsSuccessfullyOffered = true;
+    for (Job job : jobs) {
+      if (!executeAsyncJob(job)) {
+        allJobsSuccessfullyOffered = false;
+      }
+    }
+    return allJobsSuccessfullyOffered;
+  }
+
 
   /* Getters and Setters */
 
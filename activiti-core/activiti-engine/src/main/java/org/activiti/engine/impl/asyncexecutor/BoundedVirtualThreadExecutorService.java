@@ -0,0 +1,106 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExecutorService} that runs every task on its own virtual thread.
+ *
+ * The number of tasks running at the same time is bounded, typically to the size of the
+ * connection pool of the DataSource, as every job execution needs a database connection.
+ * When all permits are in use, new tasks are rejected with a {@link RejectedExecutionException},
+ * the same way a full thread pool queue rejects them, so the async executor unacquires the job.
+ */
+public class BoundedVirtualThreadExecutorService extends AbstractExecutorService {
+
+  protected final int maxConcurrentTasks;
+  protected final Semaphore permits;
+  protected final ExecutorService virtualThreadExecutorService;
+
+  public BoundedVirtualThreadExecutorService(int maxConcurrentTasks, String threadNamePrefix) {
+    if (maxConcurrentTasks <= 0) {
+      throw new IllegalArgumentException("maxConcurrentTasks must be greater than 0, but was " + maxConcurrentTasks);
+    }
+    this.maxConcurrentTasks = maxConcurrentTasks;
+    this.permits = new Semaphore(maxConcurrentTasks);
+    this.virtualThreadExecutorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException("All " + maxConcurrentTasks + " permits to run a task are in use");
+    }
+
+    try {
+      virtualThreadExecutorService.execute(() -> {
+        try {
+          command.run();
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    virtualThreadExecutorService.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return virtualThreadExecutorService.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return virtualThreadExecutorService.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return virtualThreadExecutorService.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return virtualThreadExecutorService.awaitTermination(timeout, unit);
+  }
+
+  public int getMaxConcurrentTasks() {
+    return maxConcurrentTasks;
+  }
+
+  /**
+   * @return the number of tasks that are currently running.
+   */
+  public int getActiveCount() {
+    return maxConcurrentTasks - permits.availablePermits();
+  }
+
+}
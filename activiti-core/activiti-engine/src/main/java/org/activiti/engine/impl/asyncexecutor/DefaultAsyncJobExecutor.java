@@ -16,7 +16,12 @@
 
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -31,6 +36,7 @@ import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.runtime.Job;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +58,18 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
    */
   protected int maxPoolSize = 10;
 
+  /**
+   * When true, every job is executed on its own virtual thread instead of on the threadpool.
+   * The core pool size, max pool size, keep alive time and queue size are not used then.
+   */
+  protected boolean useVirtualThreads;
+
+  /**
+   * The maximum number of jobs that are executed concurrently on virtual threads. As every job execution
+   * needs a database connection, by default (0) this is the maximum size of the connection pool of the DataSource.
+   */
+  protected int maxConcurrentVirtualThreadJobs;
+
   /**
    * The time (in milliseconds) a thread used for job execution must be kept alive before it is destroyed. Default setting is 0. Having a non-default setting of 0 takes resources, but in the case of
    * many job executions it avoids creating new threads all the time.
@@ -132,18 +150,7 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
         // after the async executor has been hinted that a new async job is created)
         // or not (when executed in the acquire thread runnable)
 
-        CommandContext commandContext = Context.getCommandContext();
-        if (commandContext != null) {
-          commandContext.getJobManager().unacquire(job);
-
-        } else {
-          processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
-            public Void execute(CommandContext commandContext) {
-              commandContext.getJobManager().unacquire(job);
-              return null;
-            }
-          });
-        }
+        unacquireJobs(Collections.singletonList(job));
 
         // Job queue full, returning true so (if wanted) the acquiring can be throttled
         return false;
@@ -156,6 +163,56 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     return true;
   }
 
+  @Override
+  public boolean executeAsyncJobs(Collection<? extends Job> jobs) {
+
+    if (isMessageQueueMode) {
+      return true;
+    }
+
+    if (!isActive) {
+      temporaryJobQueue.addAll(jobs);
+      return true;
+    }
+
+    // Once the queue is full, the remaining jobs of the batch are not offered anymore
+    // but unacquired together, in one transaction, instead of one transaction per job.
+    Iterator<? extends Job> jobIterator = jobs.iterator();
+    while (jobIterator.hasNext()) {
+      if (!executeAsyncJob(jobIterator.next())) {
+        List<Job> remainingJobs = new ArrayList<Job>();
+        while (jobIterator.hasNext()) {
+          remainingJobs.add(jobIterator.next());
+        }
+        if (!remainingJobs.isEmpty()) {
+          unacquireJobs(remainingJobs);
+        }
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  protected void unacquireJobs(final List<Job> jobs) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      for (Job job : jobs) {
+        commandContext.getJobManager().unacquire(job);
+      }
+
+    } else {
+      processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          for (Job job : jobs) {
+            commandContext.getJobManager().unacquire(job);
+          }
+          return null;
+        }
+      });
+    }
+  }
+
   protected Runnable createRunnableForJob(final Job job) {
     if (executeAsyncRunnableFactory == null) {
       return new ExecuteAsyncRunnable(job, processEngineConfiguration);
@@ -234,6 +291,11 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   }
 
   protected void initAsyncJobExecutionThreadPool() {
+    if (useVirtualThreads) {
+      initAsyncJobExecutionVirtualThreads();
+      return;
+    }
+
     if (threadPoolQueue == null) {
       log.info("Creating thread pool queue of size {}", queueSize);
       threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
@@ -247,6 +309,34 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
 
+  protected void initAsyncJobExecutionVirtualThreads() {
+    if (executorService == null) {
+      int maxConcurrentJobs = determineMaxConcurrentVirtualThreadJobs();
+      log.info("Creating virtual thread executor service running at most {} jobs concurrently", maxConcurrentJobs);
+      executorService = new BoundedVirtualThreadExecutorService(maxConcurrentJobs, "activiti-async-job-executor-virtual-thread-");
+    }
+  }
+
+  /**
+   * Every job holds a connection of the pool while it is executed. So by default only half of the connections are used
+   * for jobs, and the other half stays available for the job acquisition and for the API calls of the application.
+   */
+  protected int determineMaxConcurrentVirtualThreadJobs() {
+    if (maxConcurrentVirtualThreadJobs > 0) {
+      return maxConcurrentVirtualThreadJobs;
+    }
+
+    if (processEngineConfiguration != null) {
+      if (processEngineConfiguration.getDataSource() instanceof PooledDataSource) {
+        return Math.max(1, ((PooledDataSource) processEngineConfiguration.getDataSource()).getPoolMaximumActiveConnections() / 2);
+      }
+      if (processEngineConfiguration.getJdbcMaxActiveConnections() > 0) {
+        return Math.max(1, processEngineConfiguration.getJdbcMaxActiveConnections() / 2);
+      }
+    }
+    return maxPoolSize;
+  }
+
   protected void stopExecutingAsyncJobs() {
     if (executorService != null) {
 
@@ -366,6 +456,8 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     corePoolSize = processEngineConfiguration.getAsyncExecutorCorePoolSize();
     maxPoolSize = processEngineConfiguration.getAsyncExecutorMaxPoolSize();
     keepAliveTime = processEngineConfiguration.getAsyncExecutorThreadKeepAliveTime();
+    useVirtualThreads = processEngineConfiguration.isAsyncExecutorUseVirtualThreads();
+    maxConcurrentVirtualThreadJobs = processEngineConfiguration.getAsyncExecutorMaxConcurrentVirtualThreadJobs();
   }
 
   /* getters and setters */
@@ -447,6 +539,22 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.maxPoolSize = maxPoolSize;
   }
 
+  public boolean isUseVirtualThreads() {
+    return useVirtualThreads;
+  }
+
+  public void setUseVirtualThreads(boolean useVirtualThreads) {
+    this.useVirtualThreads = useVirtualThreads;
+  }
+
+  public int getMaxConcurrentVirtualThreadJobs() {
+    return maxConcurrentVirtualThreadJobs;
+  }
+
+  public void setMaxConcurrentVirtualThreadJobs(int maxConcurrentVirtualThreadJobs) {
+    this.maxConcurrentVirtualThreadJobs = maxConcurrentVirtualThreadJobs;
+  }
+
   public long getKeepAliveTime() {
     return keepAliveTime;
   }
@@ -547,6 +655,10 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.defaultQueueSizeFullWaitTime = defaultQueueSizeFullWaitTime;
   }
 
+  public AcquireAsyncJobsDueRunnable getAsyncJobsDueRunnable() {
+    return asyncJobsDueRunnable;
+  }
+
   public void setAsyncJobsDueRunnable(AcquireAsyncJobsDueRunnable asyncJobsDueRunnable) {
     this.asyncJobsDueRunnable = asyncJobsDueRunnable;
   }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+/**
+ * Determines how the async executor makes sure that a job is acquired by one async executor only.
+ */
+public enum JobAcquisitionStrategy {
+
+  /**
+   * The acquisition query selects the first jobs that are not locked and locks them with an update
+   * that checks the revision of the job. When several async executors select the same jobs,
+   * all but one of them fail with an optimistic locking exception. Works on all databases.
+   */
+  OPTIMISTIC_LOCKING,
+
+  /**
+   * The acquisition query locks the selected rows with <code>FOR UPDATE SKIP LOCKED</code>, so
+   * concurrent async executors skip the rows locked by each other and each of them acquires a
+   * distinct set of jobs. Only supported on PostgreSQL, MySQL 8 and Oracle; on other databases the
+   * engine falls back to {@link #OPTIMISTIC_LOCKING}.
+   */
+  SKIP_LOCKED
+
+}
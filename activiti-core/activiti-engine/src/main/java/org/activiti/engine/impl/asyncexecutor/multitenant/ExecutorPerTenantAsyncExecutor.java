@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.asyncexecutor.multitenant;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -103,6 +104,11 @@ public class ExecutorPerTenantAsyncExecutor implements TenantAwareAsyncExecutor
     return determineAsyncExecutor().executeAsyncJob(job);
   }
 
+  @Override
+  public boolean executeAsyncJobs(Collection<? extends Job> jobs) {
+    return determineAsyncExecutor().executeAsyncJobs(jobs);
+  }
+
   public JobManager getJobManager() {
     // Should never be accessed on this class, should be accessed on the actual AsyncExecutor
     throw new UnsupportedOperationException();
@@ -19,11 +19,19 @@ package org.activiti.engine.impl.bpmn.deployer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.activiti.bpmn.constants.BpmnXMLConstants;
 import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.ExtensionElement;
 import org.activiti.bpmn.model.Process;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
@@ -33,6 +41,7 @@ import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntityManager;
+import org.apache.commons.lang3.StringUtils;
 
 /**
  * Updates caches and artifacts for a deployment, its process definitions,
@@ -40,6 +49,18 @@ import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntityMa
  */
 public class CachingAndArtifactsManager {
 
+  /**
+   * Process extension element holding the history level of the process definition, e.g.
+   * <code>&lt;activiti:historyLevel&gt;none&lt;/activiti:historyLevel&gt;</code>.
+   */
+  public static final String HISTORY_LEVEL_EXTENSION_ELEMENT = "historyLevel";
+
+  /**
+   * Process extension element holding the comma separated activity types for which no historic activity instances are
+   * recorded, e.g. <code>&lt;activiti:historyExcludedActivityTypes&gt;exclusiveGateway,parallelGateway&lt;/activiti:historyExcludedActivityTypes&gt;</code>.
+   */
+  public static final String HISTORY_EXCLUDED_ACTIVITY_TYPES_EXTENSION_ELEMENT = "historyExcludedActivityTypes";
+
   /**
    * Ensures that the process definition is cached in the appropriate places, including the
    * deployment's collection of deployed artifacts and the deployment manager's cache, as well
@@ -56,6 +77,7 @@ public class CachingAndArtifactsManager {
       BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
       Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
       ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+      resolveHistorySettings(cacheEntry, process);
       processDefinitionCache.add(processDefinition.getId(), cacheEntry);
       addDefinitionInfoToCache(processDefinition, processEngineConfiguration, commandContext);
 
@@ -64,6 +86,44 @@ public class CachingAndArtifactsManager {
     }
   }
 
+  /**
+   * Resolves the history level and the excluded activity types of the process definition from the extension elements
+   * of the process, so they don't have to be looked up every time history is recorded.
+   */
+  protected void resolveHistorySettings(ProcessDefinitionCacheEntry cacheEntry, Process process) {
+    if (process == null) {
+      return;
+    }
+
+    String historyLevel = getExtensionElementText(process, HISTORY_LEVEL_EXTENSION_ELEMENT);
+    if (historyLevel != null) {
+      cacheEntry.setHistoryLevel(HistoryLevel.getHistoryLevelForKey(historyLevel));
+    }
+
+    String excludedActivityTypes = getExtensionElementText(process, HISTORY_EXCLUDED_ACTIVITY_TYPES_EXTENSION_ELEMENT);
+    if (excludedActivityTypes != null) {
+      Set<String> activityTypes = new HashSet<>();
+      for (String activityType : excludedActivityTypes.split(",")) {
+        if (StringUtils.isNotBlank(activityType)) {
+          activityTypes.add(activityType.trim());
+        }
+      }
+      cacheEntry.setHistoryExcludedActivityTypes(Collections.unmodifiableSet(activityTypes));
+    }
+  }
+
+  protected String getExtensionElementText(Process process, String name) {
+    List<ExtensionElement> extensionElements = process.getExtensionElements().get(name);
+    if (extensionElements != null) {
+      for (ExtensionElement extensionElement : extensionElements) {
+        if (BpmnXMLConstants.ACTIVITI_EXTENSIONS_PREFIX.equals(extensionElement.getNamespacePrefix())) {
+          return StringUtils.trimToNull(extensionElement.getElementText());
+        }
+      }
+    }
+    return null;
+  }
+
   protected void addDefinitionInfoToCache(ProcessDefinitionEntity processDefinition,
       ProcessEngineConfigurationImpl processEngineConfiguration, CommandContext commandContext) {
 
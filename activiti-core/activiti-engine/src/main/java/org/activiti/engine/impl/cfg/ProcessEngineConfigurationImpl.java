@@ -39,6 +39,8 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
@@ -47,6 +49,7 @@ import javax.xml.namespace.QName;
 import org.activiti.api.runtime.shared.identity.UserGroupManager;
 import org.activiti.core.el.CustomFunctionProvider;
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.DynamicBpmnService;
 import org.activiti.engine.HistoryService;
 import org.activiti.engine.ManagementService;
@@ -70,10 +73,12 @@ import org.activiti.engine.impl.RuntimeServiceImpl;
 import org.activiti.engine.impl.ServiceImpl;
 import org.activiti.engine.impl.TaskServiceImpl;
 import org.activiti.engine.impl.agenda.DefaultActivitiEngineAgendaFactory;
+import org.activiti.engine.impl.asyncexecutor.AdaptiveAcquireWaitTime;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.asyncexecutor.DefaultJobManager;
 import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+import org.activiti.engine.impl.asyncexecutor.JobAcquisitionStrategy;
 import org.activiti.engine.impl.asyncexecutor.JobManager;
 import org.activiti.engine.impl.bpmn.data.ItemInstance;
 import org.activiti.engine.impl.bpmn.deployer.BpmnDeployer;
@@ -142,6 +147,8 @@ import org.activiti.engine.impl.event.logger.EventLogger;
 import org.activiti.engine.impl.history.DefaultHistoryManager;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.history.HistoryManager;
+import org.activiti.engine.impl.history.async.AsyncHistorySerializer;
+import org.activiti.engine.impl.history.async.AsyncHistoryWriter;
 import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContextFactory;
 import org.activiti.engine.impl.interceptor.CommandContextInterceptor;
@@ -154,8 +161,10 @@ import org.activiti.engine.impl.interceptor.LogInterceptor;
 import org.activiti.engine.impl.interceptor.SessionFactory;
 import org.activiti.engine.impl.interceptor.TransactionContextInterceptor;
 import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.activiti.engine.impl.jobexecutor.BatchOperationJobHandler;
 import org.activiti.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.activiti.engine.impl.jobexecutor.HistoryCleanupJobHandler;
 import org.activiti.engine.impl.jobexecutor.JobHandler;
 import org.activiti.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.activiti.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
@@ -165,12 +174,16 @@ import org.activiti.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
 import org.activiti.engine.impl.persistence.GenericManagerFactory;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.Deployer;
+import org.activiti.engine.impl.persistence.deploy.DeploymentCacheInvalidationChannel;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntryWeigher;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
+import org.activiti.engine.impl.persistence.deploy.VersionCounterDeploymentCacheInvalidationChannel;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManager;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
@@ -287,6 +300,7 @@ import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ProcessInstanceHelper;
 import org.activiti.engine.impl.util.ReflectUtil;
 import org.activiti.engine.impl.variable.BigDecimalType;
+import org.activiti.engine.impl.variable.BinaryJsonType;
 import org.activiti.engine.impl.variable.BooleanType;
 import org.activiti.engine.impl.variable.ByteArrayType;
 import org.activiti.engine.impl.variable.CustomObjectType;
@@ -478,6 +492,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DeploymentManager deploymentManager;
 
   protected int processDefinitionCacheLimit = -1; // By default, no limit
+  protected long processDefinitionCacheMaxWeight = -1; // When set, a concurrent cache weighted by BPMN model size is used
   protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
   protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
@@ -486,6 +501,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int knowledgeBaseCacheLimit = -1;
   protected DeploymentCache<Object> knowledgeBaseCache;
 
+  /**
+   * Keeps the deployment caches of the engines of a cluster coherent. When enabled without a custom channel, a
+   * {@link VersionCounterDeploymentCacheInvalidationChannel} checking every deploymentCacheInvalidationCheckInterval
+   * milliseconds is used. The process definition info cache then no longer checks the database on every access.
+   */
+  protected boolean enableDeploymentCacheInvalidation;
+  protected DeploymentCacheInvalidationChannel deploymentCacheInvalidationChannel;
+  protected long deploymentCacheInvalidationCheckInterval = 5000L;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -528,6 +552,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected long asyncExecutorThreadKeepAliveTime = 5000L;
 
+  /**
+   * When true, the async executor executes every job on its own virtual thread, instead of
+   * using a threadpool. This allows many jobs that block on I/O (for example http calls) to
+   * be executed concurrently, without sizing the threadpool for it.
+   * The number of jobs executed concurrently is bounded by {@link #asyncExecutorMaxConcurrentVirtualThreadJobs}.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorUseVirtualThreads;
+
+  /**
+   * The maximum number of jobs that are executed concurrently when {@link #asyncExecutorUseVirtualThreads} is enabled.
+   * Jobs offered to the async executor above this limit are rejected, the same way as with a full threadpool queue.
+   * By default (0), half of the maximum number of active connections of the DataSource connection pool is used, so the
+   * jobs can't take all connections of the pool.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected int asyncExecutorMaxConcurrentVirtualThreadJobs;
+
   /**
    * The size of the queue on which jobs to be executed are placed, before they
    * are actually executed. Default value = 100. (This property is only
@@ -586,6 +632,30 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorMaxAsyncJobsDuePerAcquisition = 1;
 
+  /**
+   * When true, the async jobs fetched during one acquisition are locked with one
+   * single update statement, instead of one optimistically locked update per job.
+   * Jobs of the page that were concurrently locked by another async executor are
+   * skipped, instead of failing the whole acquisition with an optimistic locking exception.
+   *
+   * Only makes a difference when {@link #asyncExecutorMaxAsyncJobsDuePerAcquisition} is bigger than 1.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorBulkLockJobs;
+
+  /**
+   * How the async and timer jobs are acquired by the async executor.
+   * With {@link JobAcquisitionStrategy#SKIP_LOCKED}, concurrent async executors each acquire a distinct set of jobs
+   * instead of competing for the same jobs. Only supported on PostgreSQL, MySQL 8, MariaDB 10.6 and Oracle: on other databases
+   * {@link JobAcquisitionStrategy#OPTIMISTIC_LOCKING} is used. Default value = OPTIMISTIC_LOCKING
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected JobAcquisitionStrategy asyncExecutorJobAcquisitionStrategy = JobAcquisitionStrategy.OPTIMISTIC_LOCKING;
+
   /**
    * The time (in milliseconds) the timer acquisition thread will wait to
    * execute the next acquirement query. This happens when no new timer jobs
@@ -610,6 +680,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorDefaultAsyncJobAcquireWaitTime = 10 * 1000;
 
+  /**
+   * When true, the async job acquisition thread adapts the time it waits between two acquisitions
+   * to the observed job arrival rate, the fill level of the job execution queue and the rate of
+   * lock collisions with other async executors, see {@link AdaptiveAcquireWaitTime}.
+   * The wait time then varies between {@link #asyncExecutorMinAsyncJobAcquireWaitTime} and
+   * {@link #asyncExecutorDefaultAsyncJobAcquireWaitTime}. Default value = false
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorAdaptiveAcquireWaitTime;
+
+  /**
+   * The minimal time (in milliseconds) the async job acquisition thread waits when
+   * {@link #asyncExecutorAdaptiveAcquireWaitTime} is enabled and fewer async jobs were
+   * found than requested. Default value = 100 milliseconds.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected int asyncExecutorMinAsyncJobAcquireWaitTime = 100;
+
   /**
    * The time (in milliseconds) the async job (both timer and async continuations) acquisition thread will
    * wait when the queueu is full to execute the next query. By default set to 0 (for backwards compatibility)
@@ -741,6 +833,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean serializePOJOsInVariablesToJson = false;
   protected String javaClassFieldForJackson = JsonTypeInfo.Id.CLASS.getDefaultPropertyName();
 
+  /**
+   * If set to true, json variables too long for a text column are stored with the {@link BinaryJsonType} instead of
+   * the {@link LongJsonType}. Variables stored before keep being read with the {@link LongJsonType}, and variables
+   * stored with the {@link BinaryJsonType} can still be read after disabling it.
+   *
+   * The bytes are written with binaryJsonObjectMapper, eg. new ObjectMapper(new CBORFactory()) or
+   * new ObjectMapper(new SmileFactory()) for a compact binary encoding. By default the objectMapper is used, writing
+   * plain json. Values of at least binaryJsonCompressionThreshold bytes are gzipped (a negative threshold disables it).
+   */
+  protected boolean binaryJsonVariableTypeEnabled;
+  protected ObjectMapper binaryJsonObjectMapper;
+  protected int binaryJsonCompressionThreshold = 8192;
+
+  /**
+   * If set to true, variables fetched by queries with includeProcessVariables() or includeTaskLocalVariables() don't
+   * load their byte array when the query is executed, but when their value is read. Values read after the query has
+   * returned are loaded in a command of their own.
+   */
+  protected boolean lazyQueryVariableBytesEnabled;
+
   protected ExpressionManager expressionManager;
   protected List<String> customScriptingEngineClasses;
   protected ScriptingEngines scriptingEngines;
@@ -825,10 +937,156 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * Tweak this parameter in case of exceptions indicating too much is being put into one bulk insert,
    * or make it higher if your database can cope with it and there are inserts with a huge amount of data.
    *
-   * By default: 100 (75 for mssql server as it has a hard limit of 2000 parameters in a statement)
+   * By default: 100. The number is lowered per entity type when the rows of one bulk insert would exceed the
+   * parameter limit of the database, see {@link #maxNrOfParametersInStatement}.
    */
   protected int maxNrOfStatementsInBulkInsert = 100;
 
+  /**
+   * The maximum number of parameters the JDBC driver accepts in one statement, used to size the bulk inserts of each entity type.
+   *
+   * By default: 0, meaning the known limit of the database type is used (eg 2000 for mssql server, which has a hard limit of 2100).
+   */
+  protected int maxNrOfParametersInStatement;
+
+  /**
+   * If set to true, the updates and deletes of a flush are grouped by statement and sent to the database
+   * as JDBC batches, instead of one round trip per entity. Optimistic locking is still verified for every entity
+   * using the row counts reported for the batch.
+   *
+   * Default false. Some JDBC drivers don't report row counts for batched statements (Statement.SUCCESS_NO_INFO),
+   * in which case the optimistic locking checks of batched statements can't be done.
+   */
+  protected boolean isBatchedFlushEnabled;
+
+  /**
+   * The number of rows the JDBC driver fetches per round trip when the results of a query are streamed.
+   *
+   * Default 1000. Not used on MySQL and MariaDB: their drivers buffer the whole result set for a positive fetch size
+   * (unless useCursorFetch=true is set on the jdbc url), so Integer.MIN_VALUE is used there, which streams the rows
+   * one by one.
+   */
+  protected int queryStreamFetchSize = 1000;
+
+  /**
+   * The data source the cursors of streamed query results take their connection from. As a stream can still be read
+   * after the command that opened it has ended, its connection must not be bound to the transaction of that command.
+   *
+   * Defaults to the data source of the engine when the engine manages its transactions. When transactions are managed
+   * externally (Spring, JTA), the data source of the engine hands out the connection of the current transaction, so
+   * streaming needs this to be set, eg to the target data source of a TransactionAwareDataSourceProxy.
+   */
+  protected DataSource queryStreamDataSource;
+
+  /**
+   * If set to true, deleting all process instances of a process definition with cascade (eg when a deployment is deleted
+   * with cascade) removes the runtime and history data with set-based sql deletes, instead of loading and deleting
+   * every process instance one by one. No execution listeners are executed and no events are dispatched for the
+   * deleted process instances.
+   *
+   * Default false.
+   */
+  protected boolean isBulkDeleteEnabled;
+
+  /**
+   * The maximum number of process instance ids in one set-based delete, see {@link #isBulkDeleteEnabled} and
+   * {@link org.activiti.engine.HistoryService#deleteHistoricProcessInstances(java.util.Collection)}. Also the maximum
+   * number of ids in one select of the projection variables, see
+   * {@link org.activiti.engine.task.TaskQuery#projectionVariables(String...)}.
+   *
+   * Default 500. Oracle doesn't accept more than 1000 expressions in one IN list.
+   */
+  protected int bulkDeleteChunkSize = 500;
+
+  /**
+   * If set to true, a repeating timer job with a {@link HistoryCleanupJobHandler} is scheduled when the process engine
+   * is built. The job deletes the history of process instances that have ended longer than their time to live ago, see
+   * {@link #historyTimeToLive} and {@link #historyTimeToLives}.
+   *
+   * Default false.
+   */
+  protected boolean isHistoryCleanupEnabled;
+
+  /**
+   * When the history cleanup job runs: a cron expression or an ISO-8601 repeating interval, like the time cycle of a
+   * timer event. Default every night at 1 am.
+   */
+  protected String historyCleanupCycle = "0 0 1 * * ?";
+
+  /**
+   * The ISO-8601 duration (eg P30D) history is kept after a process instance has ended, for process definitions
+   * without an entry in {@link #historyTimeToLives}. Default null: history is kept forever.
+   */
+  protected String historyTimeToLive;
+
+  /**
+   * The ISO-8601 duration history is kept after a process instance has ended, by process definition key. Overrides
+   * {@link #historyTimeToLive}.
+   */
+  protected Map<String, String> historyTimeToLives = new HashMap<String, String>();
+
+  /**
+   * The number of historic process instances one execution of the history cleanup job deletes, in a transaction of its
+   * own.
+   */
+  protected int historyCleanupBatchSize = 100;
+
+  /**
+   * The time in milliseconds between two batches of the history cleanup job, to leave room for the regular load on the
+   * database. It is the delay of the follow-up timer job that deletes the next batch, so no job waits holding its lock.
+   */
+  protected long historyCleanupBatchPause = 500;
+
+  /**
+   * The maximum number of batches one run of the history cleanup job deletes. What is left is deleted by the next run.
+   */
+  protected int historyCleanupMaxBatchesPerRun = 100;
+
+  /**
+   * The directory of the history archive, see
+   * {@link org.activiti.engine.HistoryService#archiveHistoricProcessInstances(java.util.Date)}. When set, the history
+   * cleanup job archives the expired historic process instances instead of only deleting them. When several engines
+   * archive, the directory should be shared storage, otherwise every engine queries only what it has archived itself.
+   *
+   * Default null: no history archive.
+   */
+  protected String historyArchiveDirectory;
+
+  /**
+   * The maximum number of top level historic process instances that are archived in one transaction, and so in one
+   * file of the history archive.
+   */
+  protected int historyArchiveBatchSize = 1000;
+
+  /**
+   * The number of ids one async job of a batch operation processes, eg
+   * {@link org.activiti.engine.RuntimeService#suspendProcessInstances(org.activiti.engine.runtime.ProcessInstanceQuery)}.
+   * Every chunk is processed in its own transaction, by whichever async executor of the cluster acquires its job.
+   */
+  protected int batchOperationChunkSize = 100;
+
+  /**
+   * If set to true, ended activity instances and historic details are not inserted by the command that creates them,
+   * but by an {@link AsyncHistoryWriter} after the transaction of the command has committed.
+   *
+   * When asyncHistoryDurable (default true), the deferred history is buffered in a byte array in the transaction of
+   * the command, so it survives a crash: buffers that are left behind are written at start and every
+   * asyncHistoryRecoveryInterval milliseconds. When not durable, history that is still pending when the engine stops
+   * abruptly is lost.
+   *
+   * At most asyncHistoryMaxPendingBatches (default 10000) command batches wait for the writer; when it falls behind
+   * further, the committing threads write their history themselves.
+   */
+  protected boolean asyncHistoryEnabled;
+  protected boolean asyncHistoryDurable = true;
+  protected long asyncHistoryRecoveryInterval = 60000L;
+  protected int asyncHistoryMaxPendingBatches = 10000;
+  protected AsyncHistoryWriter asyncHistoryWriter;
+
+  /**
+   * @deprecated bulk inserts are sized per entity type using {@link #maxNrOfParametersInStatement}
+   */
+  @Deprecated
   public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 70; // currently Execution has most params (28). 2000 / 28 = 71.
 
   protected ObjectMapper objectMapper = new ObjectMapper();
@@ -900,8 +1158,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initProcessDefinitionInfoCache();
     initKnowledgeBaseCache();
     initJobHandlers();
+    initHistoryCleanup();
     initJobManager();
     initAsyncExecutor();
+    initAsyncHistoryWriter();
 
     initTransactionFactory();
 
@@ -1106,6 +1366,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   public static final String DATABASE_TYPE_MARIADB = "mariadb";
   public static final String DATABASE_TYPE_DB2 = "db2";
 
+  protected static final Pattern MARIADB_VERSION_PATTERN = Pattern.compile("(\\d+)\\.(\\d+)\\.\\d+-MariaDB", Pattern.CASE_INSENSITIVE);
+
   public static Properties getDefaultDatabaseTypeMappings() {
     Properties databaseTypeMappings = new Properties();
     databaseTypeMappings.setProperty("H2", DATABASE_TYPE_H2);
@@ -1165,11 +1427,6 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                   databaseType = DATABASE_TYPE_MARIADB;
               }
               break;
-          // Special care for MSSQL, as it has a hard limit of 2000 params per statement (incl bulk statement).
-          // Especially with executions, with 100 as default, this limit is passed.
-          case DATABASE_TYPE_MSSQL:
-              maxNrOfStatementsInBulkInsert = DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER;
-              break;
       }
       log.debug("using database type: {}", databaseType);
     } catch (SQLException e) {
@@ -1521,6 +1778,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
     dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled, databaseType);
     dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+    dbSqlSessionFactory.setMaxNrOfParametersInStatement(maxNrOfParametersInStatement);
+    dbSqlSessionFactory.setBatchedFlushEnabled(isBatchedFlushEnabled);
+    dbSqlSessionFactory.setStreamFetchSize(queryStreamFetchSize);
+    if (queryStreamDataSource != null) {
+      dbSqlSessionFactory.setStreamDataSource(queryStreamDataSource);
+    } else if (!transactionsExternallyManaged) {
+      dbSqlSessionFactory.setStreamDataSource(dataSource);
+    }
+    dbSqlSessionFactory.setAsyncHistoryWriter(asyncHistoryWriter);
     addSessionFactory(dbSqlSessionFactory);
   }
 
@@ -1610,7 +1876,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDefinitionCache() {
     if (processDefinitionCache == null) {
-      if (processDefinitionCacheLimit <= 0) {
+      if (processDefinitionCacheMaxWeight > 0) {
+        processDefinitionCache = new ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheMaxWeight, new ProcessDefinitionCacheEntryWeigher());
+      } else if (processDefinitionCacheLimit <= 0) {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>();
       } else {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit);
@@ -1638,6 +1906,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  public void initAsyncHistoryWriter() {
+    if (asyncHistoryWriter == null && asyncHistoryEnabled) {
+      asyncHistoryWriter = new AsyncHistoryWriter(commandExecutor, new AsyncHistorySerializer(objectMapper, variableTypes));
+      asyncHistoryWriter.setDurable(asyncHistoryDurable);
+      asyncHistoryWriter.setRecoveryIntervalInMillis(asyncHistoryRecoveryInterval);
+      asyncHistoryWriter.setMaxPendingBatches(asyncHistoryMaxPendingBatches);
+    }
+  }
+
+  public DeploymentCacheInvalidationChannel initDeploymentCacheInvalidationChannel() {
+    if (deploymentCacheInvalidationChannel == null && enableDeploymentCacheInvalidation) {
+      deploymentCacheInvalidationChannel = new VersionCounterDeploymentCacheInvalidationChannel(commandExecutor, deploymentCacheInvalidationCheckInterval);
+    }
+    if (deploymentCacheInvalidationChannel != null) {
+      processDefinitionInfoCache.setCheckRevisionOnAccess(false);
+    }
+    return deploymentCacheInvalidationChannel;
+  }
+
   public void initDeployers() {
     if (this.deployers == null) {
       this.deployers = new ArrayList<Deployer>();
@@ -1657,6 +1944,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       deploymentManager.setProcessDefinitionCache(processDefinitionCache);
       deploymentManager.setProcessDefinitionInfoCache(processDefinitionInfoCache);
       deploymentManager.setKnowledgeBaseCache(knowledgeBaseCache);
+      deploymentManager.setCacheInvalidationChannel(initDeploymentCacheInvalidationChannel());
       deploymentManager.setProcessEngineConfiguration(this);
       deploymentManager.setProcessDefinitionEntityManager(processDefinitionEntityManager);
       deploymentManager.setDeploymentEntityManager(deploymentEntityManager);
@@ -1864,6 +2152,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
     jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+    HistoryCleanupJobHandler historyCleanupJobHandler = new HistoryCleanupJobHandler();
+    jobHandlers.put(historyCleanupJobHandler.getType(), historyCleanupJobHandler);
+
+    BatchOperationJobHandler batchOperationJobHandler = new BatchOperationJobHandler();
+    jobHandlers.put(batchOperationJobHandler.getType(), batchOperationJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers() != null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1876,6 +2170,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // /////////////////////////////////////////////////////////////
 
   public void initAsyncExecutor() {
+    initAsyncExecutorJobAcquisitionStrategy();
+
     if (asyncExecutor == null) {
       DefaultAsyncJobExecutor defaultAsyncExecutor = new DefaultAsyncJobExecutor();
       defaultAsyncExecutor.applyConfig(this);
@@ -1886,6 +2182,71 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     asyncExecutor.setAutoActivate(asyncExecutorActivate);
   }
 
+  public void initAsyncExecutorJobAcquisitionStrategy() {
+    if (asyncExecutorJobAcquisitionStrategy == null) {
+      asyncExecutorJobAcquisitionStrategy = JobAcquisitionStrategy.OPTIMISTIC_LOCKING;
+
+    } else if (asyncExecutorJobAcquisitionStrategy == JobAcquisitionStrategy.SKIP_LOCKED && !isSkipLockedSupported()) {
+      log.warn("Job acquisition strategy {} is not supported for database type '{}', using {} instead",
+          JobAcquisitionStrategy.SKIP_LOCKED, databaseType, JobAcquisitionStrategy.OPTIMISTIC_LOCKING);
+      asyncExecutorJobAcquisitionStrategy = JobAcquisitionStrategy.OPTIMISTIC_LOCKING;
+    }
+  }
+
+  protected boolean isSkipLockedSupported() {
+    if (!usingRelationalDatabase || databaseType == null) {
+      return false;
+    }
+
+    switch (databaseType) {
+      case DATABASE_TYPE_POSTGRES:
+      case DATABASE_TYPE_ORACLE:
+        return true;
+      case DATABASE_TYPE_MYSQL:
+      case DATABASE_TYPE_MARIADB:
+        return isMySqlSkipLockedSupported();
+      default:
+        return false;
+    }
+  }
+
+  protected boolean isMySqlSkipLockedSupported() {
+    Connection connection = null;
+    try {
+      connection = dataSource.getConnection();
+      DatabaseMetaData databaseMetaData = connection.getMetaData();
+      return isMySqlSkipLockedSupported(databaseMetaData.getDatabaseProductName(), databaseMetaData.getDatabaseProductVersion(),
+          databaseMetaData.getDatabaseMajorVersion(), databaseMetaData.getDatabaseMinorVersion());
+    } catch (SQLException e) {
+      log.error("Exception while determining the database version", e);
+      return false;
+    } finally {
+      try {
+        if (connection != null) {
+          connection.close();
+        }
+      } catch (SQLException e) {
+        log.error("Exception while closing the Database connection", e);
+      }
+    }
+  }
+
+  /**
+   * SKIP LOCKED is available as of MySQL 8 and MariaDB 10.6. MariaDB uses the mysql database type and reports major
+   * version 10, so it is recognized by its product name, or by its product version when it is accessed with the MySQL
+   * driver, which reports eg '5.5.5-10.4.12-MariaDB' and major version 5.
+   */
+  public static boolean isMySqlSkipLockedSupported(String productName, String productVersion, int majorVersion, int minorVersion) {
+    Matcher mariaDbVersion = MARIADB_VERSION_PATTERN.matcher(productVersion != null ? productVersion : "");
+    if (mariaDbVersion.find()) {
+      majorVersion = Integer.parseInt(mariaDbVersion.group(1));
+      minorVersion = Integer.parseInt(mariaDbVersion.group(2));
+    } else if (productName == null || !productName.toLowerCase().contains("mariadb")) {
+      return majorVersion >= 8;
+    }
+    return majorVersion > 10 || (majorVersion == 10 && minorVersion >= 6);
+  }
+
   // history
   // //////////////////////////////////////////////////////////////////
 
@@ -1895,6 +2256,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  /**
+   * Validates the history time to lives, so an invalid one fails the build of the engine instead of the history
+   * cleanup job.
+   */
+  public void initHistoryCleanup() {
+    if (historyTimeToLive != null) {
+      HistoryCleanupJobHandler.parseTimeToLive(historyTimeToLive);
+    }
+    if (historyTimeToLives != null) {
+      for (Map.Entry<String, String> timeToLive : historyTimeToLives.entrySet()) {
+        if (timeToLive.getValue() == null) {
+          throw new ActivitiIllegalArgumentException("History time to live of process definition key '" + timeToLive.getKey() + "' is null");
+        }
+        HistoryCleanupJobHandler.parseTimeToLive(timeToLive.getValue());
+      }
+    }
+  }
+
   // id generator
   // /////////////////////////////////////////////////////////////
 
@@ -1980,8 +2359,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             javaClassFieldForJackson);
       variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper,serializePOJOsInVariablesToJson,
             jsonTypeConverter));
+      // registered after the long json type when disabled, so variables stored while it was enabled can still be read
+      BinaryJsonType binaryJsonType = new BinaryJsonType(binaryJsonObjectMapper != null ? binaryJsonObjectMapper : objectMapper,
+          serializePOJOsInVariablesToJson, jsonTypeConverter, binaryJsonCompressionThreshold);
+      if (binaryJsonVariableTypeEnabled) {
+        variableTypes.addType(binaryJsonType);
+      }
       variableTypes.addType(new LongJsonType(getMaxLengthString() + 1, objectMapper,serializePOJOsInVariablesToJson,
           jsonTypeConverter));
+      if (!binaryJsonVariableTypeEnabled) {
+        variableTypes.addType(binaryJsonType);
+      }
 
       //java serialization only supported OOTB if not defaulting to json
       //if java serliazation needed together with json defaulting then add to customPostVariableTypes
@@ -2507,6 +2895,42 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     this.javaClassFieldForJackson = javaClassFieldForJackson;
   }
 
+  public boolean isBinaryJsonVariableTypeEnabled() {
+    return binaryJsonVariableTypeEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBinaryJsonVariableTypeEnabled(boolean binaryJsonVariableTypeEnabled) {
+    this.binaryJsonVariableTypeEnabled = binaryJsonVariableTypeEnabled;
+    return this;
+  }
+
+  public ObjectMapper getBinaryJsonObjectMapper() {
+    return binaryJsonObjectMapper;
+  }
+
+  public ProcessEngineConfigurationImpl setBinaryJsonObjectMapper(ObjectMapper binaryJsonObjectMapper) {
+    this.binaryJsonObjectMapper = binaryJsonObjectMapper;
+    return this;
+  }
+
+  public int getBinaryJsonCompressionThreshold() {
+    return binaryJsonCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setBinaryJsonCompressionThreshold(int binaryJsonCompressionThreshold) {
+    this.binaryJsonCompressionThreshold = binaryJsonCompressionThreshold;
+    return this;
+  }
+
+  public boolean isLazyQueryVariableBytesEnabled() {
+    return lazyQueryVariableBytesEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setLazyQueryVariableBytesEnabled(boolean lazyQueryVariableBytesEnabled) {
+    this.lazyQueryVariableBytesEnabled = lazyQueryVariableBytesEnabled;
+    return this;
+  }
+
   public ExpressionManager getExpressionManager() {
     return expressionManager;
   }
@@ -2879,6 +3303,42 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public long getProcessDefinitionCacheMaxWeight() {
+    return processDefinitionCacheMaxWeight;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDefinitionCacheMaxWeight(long processDefinitionCacheMaxWeight) {
+    this.processDefinitionCacheMaxWeight = processDefinitionCacheMaxWeight;
+    return this;
+  }
+
+  public boolean isEnableDeploymentCacheInvalidation() {
+    return enableDeploymentCacheInvalidation;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableDeploymentCacheInvalidation(boolean enableDeploymentCacheInvalidation) {
+    this.enableDeploymentCacheInvalidation = enableDeploymentCacheInvalidation;
+    return this;
+  }
+
+  public DeploymentCacheInvalidationChannel getDeploymentCacheInvalidationChannel() {
+    return deploymentCacheInvalidationChannel;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheInvalidationChannel(DeploymentCacheInvalidationChannel deploymentCacheInvalidationChannel) {
+    this.deploymentCacheInvalidationChannel = deploymentCacheInvalidationChannel;
+    return this;
+  }
+
+  public long getDeploymentCacheInvalidationCheckInterval() {
+    return deploymentCacheInvalidationCheckInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheInvalidationCheckInterval(long deploymentCacheInvalidationCheckInterval) {
+    this.deploymentCacheInvalidationCheckInterval = deploymentCacheInvalidationCheckInterval;
+    return this;
+  }
+
   public DeploymentCache<ProcessDefinitionCacheEntry> getProcessDefinitionCache() {
     return processDefinitionCache;
   }
@@ -2996,6 +3456,195 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public int getMaxNrOfParametersInStatement() {
+    return maxNrOfParametersInStatement;
+  }
+
+  public ProcessEngineConfigurationImpl setMaxNrOfParametersInStatement(int maxNrOfParametersInStatement) {
+    this.maxNrOfParametersInStatement = maxNrOfParametersInStatement;
+    return this;
+  }
+
+  public boolean isBatchedFlushEnabled() {
+    return isBatchedFlushEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchedFlushEnabled(boolean isBatchedFlushEnabled) {
+    this.isBatchedFlushEnabled = isBatchedFlushEnabled;
+    return this;
+  }
+
+  public int getQueryStreamFetchSize() {
+    return queryStreamFetchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setQueryStreamFetchSize(int queryStreamFetchSize) {
+    this.queryStreamFetchSize = queryStreamFetchSize;
+    return this;
+  }
+
+  public DataSource getQueryStreamDataSource() {
+    return queryStreamDataSource;
+  }
+
+  public ProcessEngineConfigurationImpl setQueryStreamDataSource(DataSource queryStreamDataSource) {
+    this.queryStreamDataSource = queryStreamDataSource;
+    return this;
+  }
+
+  public boolean isBulkDeleteEnabled() {
+    return isBulkDeleteEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBulkDeleteEnabled(boolean isBulkDeleteEnabled) {
+    this.isBulkDeleteEnabled = isBulkDeleteEnabled;
+    return this;
+  }
+
+  public int getBulkDeleteChunkSize() {
+    return bulkDeleteChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setBulkDeleteChunkSize(int bulkDeleteChunkSize) {
+    this.bulkDeleteChunkSize = bulkDeleteChunkSize;
+    return this;
+  }
+
+  public boolean isHistoryCleanupEnabled() {
+    return isHistoryCleanupEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupEnabled(boolean isHistoryCleanupEnabled) {
+    this.isHistoryCleanupEnabled = isHistoryCleanupEnabled;
+    return this;
+  }
+
+  public String getHistoryCleanupCycle() {
+    return historyCleanupCycle;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupCycle(String historyCleanupCycle) {
+    this.historyCleanupCycle = historyCleanupCycle;
+    return this;
+  }
+
+  public String getHistoryTimeToLive() {
+    return historyTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryTimeToLive(String historyTimeToLive) {
+    this.historyTimeToLive = historyTimeToLive;
+    return this;
+  }
+
+  public Map<String, String> getHistoryTimeToLives() {
+    return historyTimeToLives;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryTimeToLives(Map<String, String> historyTimeToLives) {
+    this.historyTimeToLives = historyTimeToLives;
+    return this;
+  }
+
+  public int getHistoryCleanupBatchSize() {
+    return historyCleanupBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchSize(int historyCleanupBatchSize) {
+    this.historyCleanupBatchSize = historyCleanupBatchSize;
+    return this;
+  }
+
+  public long getHistoryCleanupBatchPause() {
+    return historyCleanupBatchPause;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchPause(long historyCleanupBatchPause) {
+    this.historyCleanupBatchPause = historyCleanupBatchPause;
+    return this;
+  }
+
+  public int getHistoryCleanupMaxBatchesPerRun() {
+    return historyCleanupMaxBatchesPerRun;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupMaxBatchesPerRun(int historyCleanupMaxBatchesPerRun) {
+    this.historyCleanupMaxBatchesPerRun = historyCleanupMaxBatchesPerRun;
+    return this;
+  }
+
+  public String getHistoryArchiveDirectory() {
+    return historyArchiveDirectory;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryArchiveDirectory(String historyArchiveDirectory) {
+    this.historyArchiveDirectory = historyArchiveDirectory;
+    return this;
+  }
+
+  public int getHistoryArchiveBatchSize() {
+    return historyArchiveBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryArchiveBatchSize(int historyArchiveBatchSize) {
+    this.historyArchiveBatchSize = historyArchiveBatchSize;
+    return this;
+  }
+
+  public int getBatchOperationChunkSize() {
+    return batchOperationChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchOperationChunkSize(int batchOperationChunkSize) {
+    this.batchOperationChunkSize = batchOperationChunkSize;
+    return this;
+  }
+
+  public boolean isAsyncHistoryEnabled() {
+    return asyncHistoryEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEnabled(boolean asyncHistoryEnabled) {
+    this.asyncHistoryEnabled = asyncHistoryEnabled;
+    return this;
+  }
+
+  public boolean isAsyncHistoryDurable() {
+    return asyncHistoryDurable;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryDurable(boolean asyncHistoryDurable) {
+    this.asyncHistoryDurable = asyncHistoryDurable;
+    return this;
+  }
+
+  public long getAsyncHistoryRecoveryInterval() {
+    return asyncHistoryRecoveryInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryRecoveryInterval(long asyncHistoryRecoveryInterval) {
+    this.asyncHistoryRecoveryInterval = asyncHistoryRecoveryInterval;
+    return this;
+  }
+
+  public int getAsyncHistoryMaxPendingBatches() {
+    return asyncHistoryMaxPendingBatches;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryMaxPendingBatches(int asyncHistoryMaxPendingBatches) {
+    this.asyncHistoryMaxPendingBatches = asyncHistoryMaxPendingBatches;
+    return this;
+  }
+
+  public AsyncHistoryWriter getAsyncHistoryWriter() {
+    return asyncHistoryWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryWriter(AsyncHistoryWriter asyncHistoryWriter) {
+    this.asyncHistoryWriter = asyncHistoryWriter;
+    return this;
+  }
+
   public boolean isUsingRelationalDatabase() {
     return usingRelationalDatabase;
   }
@@ -3590,6 +4239,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isAsyncExecutorUseVirtualThreads() {
+    return asyncExecutorUseVirtualThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorUseVirtualThreads(boolean asyncExecutorUseVirtualThreads) {
+    this.asyncExecutorUseVirtualThreads = asyncExecutorUseVirtualThreads;
+    return this;
+  }
+
+  public int getAsyncExecutorMaxConcurrentVirtualThreadJobs() {
+    return asyncExecutorMaxConcurrentVirtualThreadJobs;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMaxConcurrentVirtualThreadJobs(int asyncExecutorMaxConcurrentVirtualThreadJobs) {
+    this.asyncExecutorMaxConcurrentVirtualThreadJobs = asyncExecutorMaxConcurrentVirtualThreadJobs;
+    return this;
+  }
+
   public int getAsyncExecutorThreadPoolQueueSize() {
     return asyncExecutorThreadPoolQueueSize;
   }
@@ -3635,6 +4302,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isAsyncExecutorBulkLockJobs() {
+    return asyncExecutorBulkLockJobs;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorBulkLockJobs(boolean asyncExecutorBulkLockJobs) {
+    this.asyncExecutorBulkLockJobs = asyncExecutorBulkLockJobs;
+    return this;
+  }
+
+  public JobAcquisitionStrategy getAsyncExecutorJobAcquisitionStrategy() {
+    return asyncExecutorJobAcquisitionStrategy;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorJobAcquisitionStrategy(JobAcquisitionStrategy asyncExecutorJobAcquisitionStrategy) {
+    this.asyncExecutorJobAcquisitionStrategy = asyncExecutorJobAcquisitionStrategy;
+    return this;
+  }
+
   public int getAsyncExecutorDefaultTimerJobAcquireWaitTime() {
     return asyncExecutorDefaultTimerJobAcquireWaitTime;
   }
@@ -3653,6 +4338,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isAsyncExecutorAdaptiveAcquireWaitTime() {
+    return asyncExecutorAdaptiveAcquireWaitTime;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAcquireWaitTime(boolean asyncExecutorAdaptiveAcquireWaitTime) {
+    this.asyncExecutorAdaptiveAcquireWaitTime = asyncExecutorAdaptiveAcquireWaitTime;
+    return this;
+  }
+
+  public int getAsyncExecutorMinAsyncJobAcquireWaitTime() {
+    return asyncExecutorMinAsyncJobAcquireWaitTime;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMinAsyncJobAcquireWaitTime(int asyncExecutorMinAsyncJobAcquireWaitTime) {
+    this.asyncExecutorMinAsyncJobAcquireWaitTime = asyncExecutorMinAsyncJobAcquireWaitTime;
+    return this;
+  }
+
   public int getAsyncExecutorDefaultQueueSizeFullWaitTime() {
     return asyncExecutorDefaultQueueSizeFullWaitTime;
   }
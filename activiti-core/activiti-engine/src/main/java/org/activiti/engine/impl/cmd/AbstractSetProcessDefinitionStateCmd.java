@@ -168,6 +168,7 @@ public abstract class AbstractSetProcessDefinitionStateCmd implements Command<Vo
 
       // Evict cache
       commandContext.getProcessEngineConfiguration().getDeploymentManager().getProcessDefinitionCache().remove(processDefinition.getId());
+      commandContext.getProcessEngineConfiguration().getDeploymentManager().publishCacheInvalidation(processDefinition.getId());
 
       // Suspend process instances (if needed)
       if (includeProcessInstances) {
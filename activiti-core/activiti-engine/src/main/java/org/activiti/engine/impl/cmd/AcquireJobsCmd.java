@@ -17,6 +17,7 @@
 package org.activiti.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -42,19 +43,32 @@ public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
     AcquiredJobEntities acquiredJobs = new AcquiredJobEntities();
     List<JobEntity> jobs = commandContext.getJobEntityManager().findJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
 
-    for (JobEntity job : jobs) {
-      lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
-      acquiredJobs.addJob(job);
+    if (commandContext.getProcessEngineConfiguration().isAsyncExecutorBulkLockJobs() && jobs.size() > 1) {
+      List<JobEntity> lockedJobs = commandContext.getJobEntityManager().bulkLockJobs(jobs, asyncExecutor.getLockOwner(),
+          getLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis()));
+      for (JobEntity job : lockedJobs) {
+        acquiredJobs.addJob(job);
+      }
+
+    } else {
+      for (JobEntity job : jobs) {
+        lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
+        acquiredJobs.addJob(job);
+      }
     }
 
     return acquiredJobs;
   }
 
   protected void lockJob(CommandContext commandContext, JobEntity job, int lockTimeInMillis) {
+    job.setLockOwner(asyncExecutor.getLockOwner());
+    job.setLockExpirationTime(getLockExpirationTime(commandContext, lockTimeInMillis));
+  }
+
+  protected Date getLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
     GregorianCalendar gregorianCalendar = new GregorianCalendar();
     gregorianCalendar.setTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
     gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-    job.setLockOwner(asyncExecutor.getLockOwner());
-    job.setLockExpirationTime(gregorianCalendar.getTime());
+    return gregorianCalendar.getTime();
   }
 }
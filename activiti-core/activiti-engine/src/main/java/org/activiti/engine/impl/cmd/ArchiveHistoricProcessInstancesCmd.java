@@ -0,0 +1,191 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.HistoricActivityInstance;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.history.HistoricTaskInstance;
+import org.activiti.engine.history.HistoricVariableInstance;
+import org.activiti.engine.impl.HistoricActivityInstanceQueryImpl;
+import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.activiti.engine.impl.HistoricTaskInstanceQueryImpl;
+import org.activiti.engine.impl.HistoricVariableInstanceQueryImpl;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.history.archive.HistoryArchive;
+import org.activiti.engine.impl.history.archive.HistoryArchiveRecords;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.HistoricIdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricIdentityLinkEntityManager;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+
+/**
+ * Moves historic process instances, with their sub process instances, to one new file of the {@link HistoryArchive}
+ * and deletes them from the database with set-based deletes, see
+ * {@link org.activiti.engine.HistoryService#archiveHistoricProcessInstances(Date)}.
+ *
+ * The file is written before the deletes are flushed and is removed again when the transaction fails, so a process
+ * instance is never deleted without being archived. Historic details, comments and attachments are deleted without
+ * being archived.
+ *
+ * Returns the number of archived process instances, without their sub process instances.
+ */
+public class ArchiveHistoricProcessInstancesCmd implements Command<Integer>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected Date finishedBefore;
+  protected int batchSize;
+  protected Collection<String> processInstanceIds;
+
+  /**
+   * Archives the first batchSize top level process instances that ended before the given date.
+   */
+  public ArchiveHistoricProcessInstancesCmd(Date finishedBefore, int batchSize) {
+    this.finishedBefore = finishedBefore;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Archives the given historic process instances, eg for the history cleanup job.
+   */
+  public ArchiveHistoricProcessInstancesCmd(Collection<String> processInstanceIds) {
+    this.processInstanceIds = processInstanceIds;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.getHistoryArchiveDirectory() == null) {
+      throw new ActivitiIllegalArgumentException("No history archive directory is configured");
+    }
+    if (processInstanceIds == null && finishedBefore == null) {
+      throw new ActivitiIllegalArgumentException("finishedBefore is null");
+    }
+    if (!commandContext.getHistoryManager().isHistoryEnabled()) {
+      return 0;
+    }
+
+    List<HistoricProcessInstance> processInstances = findProcessInstances(commandContext);
+    if (processInstances.isEmpty()) {
+      return 0;
+    }
+
+    List<JSONObject> records = new ArrayList<JSONObject>();
+    Set<String> archivedIds = new HashSet<String>();
+    Deque<HistoricProcessInstance> pendingProcessInstances = new ArrayDeque<HistoricProcessInstance>(processInstances);
+    while (!pendingProcessInstances.isEmpty()) {
+      HistoricProcessInstance processInstance = pendingProcessInstances.poll();
+      if (archivedIds.add(processInstance.getId())) {
+        records.add(createRecord(processInstance, commandContext));
+
+        // sub process instances are deleted with their super process instance, so they are archived with it
+        HistoricProcessInstanceQueryImpl subProcessInstanceQuery = new HistoricProcessInstanceQueryImpl(commandContext);
+        pendingProcessInstances.addAll(subProcessInstanceQuery.superProcessInstanceId(processInstance.getId()).list());
+      }
+    }
+
+    final HistoryArchive historyArchive = new HistoryArchive(processEngineConfiguration.getHistoryArchiveDirectory());
+    final String fileName = historyArchive.write(processEngineConfiguration.getClock().getCurrentTime(),
+        processEngineConfiguration.getIdGenerator().getNextId(), records);
+    commandContext.addCloseListener(new CommandContextCloseListener() {
+
+      public void closing(CommandContext commandContext) {
+      }
+
+      public void afterSessionsFlush(CommandContext commandContext) {
+      }
+
+      public void closed(CommandContext commandContext) {
+      }
+
+      public void closeFailure(CommandContext commandContext) {
+        historyArchive.delete(fileName);
+      }
+    });
+
+    List<String> ids = new ArrayList<String>();
+    for (HistoricProcessInstance processInstance : processInstances) {
+      ids.add(processInstance.getId());
+    }
+    commandContext.getHistoricProcessInstanceEntityManager().deleteHistoricProcessInstances(ids);
+    return ids.size();
+  }
+
+  protected List<HistoricProcessInstance> findProcessInstances(CommandContext commandContext) {
+    HistoricProcessInstanceQueryImpl query = new HistoricProcessInstanceQueryImpl(commandContext);
+    if (processInstanceIds != null) {
+      if (processInstanceIds.isEmpty()) {
+        return new ArrayList<HistoricProcessInstance>();
+      }
+      return query.processInstanceIds(new HashSet<String>(processInstanceIds)).list();
+    }
+
+    query.finished().finishedBefore(finishedBefore).excludeSubprocesses(true).orderByProcessInstanceEndTime().asc();
+    return query.listPage(0, batchSize);
+  }
+
+  protected JSONObject createRecord(HistoricProcessInstance processInstance, CommandContext commandContext) {
+    String processInstanceId = processInstance.getId();
+
+    List<HistoricActivityInstance> activityInstances = new HistoricActivityInstanceQueryImpl(commandContext)
+        .processInstanceId(processInstanceId)
+        .orderByHistoricActivityInstanceStartTime().asc()
+        .list();
+
+    HistoricTaskInstanceQueryImpl taskInstanceQuery = new HistoricTaskInstanceQueryImpl();
+    taskInstanceQuery.processInstanceId(processInstanceId).orderByHistoricTaskInstanceStartTime().asc();
+    List<HistoricTaskInstance> taskInstances = taskInstanceQuery.list();
+
+    // the raw fields are archived, so the values don't need to be deserialized
+    List<HistoricVariableInstanceEntity> variableInstances = new ArrayList<HistoricVariableInstanceEntity>();
+    HistoricVariableInstanceQueryImpl variableInstanceQuery = new HistoricVariableInstanceQueryImpl(commandContext);
+    variableInstanceQuery.processInstanceId(processInstanceId).excludeVariableInitialization();
+    for (HistoricVariableInstance variableInstance : variableInstanceQuery.list()) {
+      variableInstances.add((HistoricVariableInstanceEntity) variableInstance);
+    }
+
+    HistoricIdentityLinkEntityManager identityLinkEntityManager = commandContext.getHistoricIdentityLinkEntityManager();
+    Map<String, HistoricIdentityLinkEntity> identityLinks = new LinkedHashMap<String, HistoricIdentityLinkEntity>();
+    for (HistoricIdentityLinkEntity identityLink : identityLinkEntityManager.findHistoricIdentityLinksByProcessInstanceId(processInstanceId)) {
+      identityLinks.put(identityLink.getId(), identityLink);
+    }
+    for (HistoricTaskInstance taskInstance : taskInstances) {
+      for (HistoricIdentityLinkEntity identityLink : identityLinkEntityManager.findHistoricIdentityLinksByTaskId(taskInstance.getId())) {
+        identityLinks.put(identityLink.getId(), identityLink);
+      }
+    }
+
+    return HistoryArchiveRecords.toRecord(processInstance, activityInstances, taskInstances, variableInstances,
+        new ArrayList<HistoricIdentityLinkEntity>(identityLinks.values()));
+  }
+
+}
@@ -82,6 +82,7 @@ public class ChangeDeploymentTenantIdCmd implements Command<Void>, Serializable
 
       // Clear process definition cache
       commandContext.getProcessEngineConfiguration().getProcessDefinitionCache().clear();
+      commandContext.getProcessEngineConfiguration().getDeploymentManager().publishCacheInvalidationOfAll();
 
   }
 
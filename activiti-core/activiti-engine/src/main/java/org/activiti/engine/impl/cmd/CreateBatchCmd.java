@@ -0,0 +1,111 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.BatchImpl;
+import org.activiti.engine.impl.DeadLetterJobQueryImpl;
+import org.activiti.engine.impl.ProcessInstanceQueryImpl;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.BatchOperationJobHandler;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.query.Query;
+import org.activiti.engine.runtime.Batch;
+
+/**
+ * Creates a {@link Batch} for the process instances or jobs matched by a query: the matching ids are split in chunks
+ * of {@link ProcessEngineConfigurationImpl#getBatchOperationChunkSize()} and every chunk gets an async job that is
+ * executed by a {@link BatchOperationJobHandler}.
+ *
+ * The jobs are not handed to the async executor of this engine, but acquired like other waiting jobs, so the chunks are
+ * spread over all engines of a cluster.
+ */
+public class CreateBatchCmd implements Command<Batch>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected BatchImpl batch;
+  protected Query<?, ?> query;
+
+  public CreateBatchCmd(BatchImpl batch, Query<?, ?> query) {
+    this.batch = batch;
+    this.query = query;
+  }
+
+  public Batch execute(CommandContext commandContext) {
+    if (query == null) {
+      throw new ActivitiIllegalArgumentException("query is null");
+    }
+
+    List<String> ids = findIds(commandContext);
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    int chunkSize = processEngineConfiguration.getBatchOperationChunkSize();
+    batch.setCreateTime(processEngineConfiguration.getClock().getCurrentTime());
+    batch.setTotal(ids.size());
+    batch.setChunks((ids.size() + chunkSize - 1) / chunkSize);
+    batch.setRemainingChunks(batch.getChunks());
+
+    ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+    ByteArrayEntity batchByteArray = byteArrayEntityManager.create();
+    batchByteArray.setName(BatchOperationJobHandler.BATCH_BYTE_ARRAY_NAME);
+    batchByteArray.setBytes(batch.toBytes());
+    byteArrayEntityManager.insert(batchByteArray);
+    batch.setId(batchByteArray.getId());
+
+    for (int i = 0; i < ids.size(); i += chunkSize) {
+      ByteArrayEntity chunk = byteArrayEntityManager.create();
+      chunk.setName(BatchOperationJobHandler.getChunkByteArrayName(batch.getId()));
+      chunk.setBytes(String.join(",", ids.subList(i, Math.min(ids.size(), i + chunkSize))).getBytes(StandardCharsets.UTF_8));
+      byteArrayEntityManager.insert(chunk);
+
+      JobEntity job = commandContext.getJobEntityManager().create();
+      job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+      job.setRevision(1);
+      job.setRetries(processEngineConfiguration.getAsyncExecutorNumberOfRetries());
+      job.setExclusive(false);
+      job.setJobHandlerType(BatchOperationJobHandler.TYPE);
+      job.setJobHandlerConfiguration(chunk.getId());
+      commandContext.getJobEntityManager().insert(job);
+    }
+
+    return batch;
+  }
+
+  /**
+   * Selects only the ids of the matching process instances or jobs, so they are not loaded in the entity cache of
+   * this command. The query of the caller is left as it is.
+   */
+  protected List<String> findIds(CommandContext commandContext) {
+    if (query instanceof ProcessInstanceQueryImpl) {
+      return commandContext.getExecutionEntityManager().findProcessInstanceIdsByQueryCriteria((ProcessInstanceQueryImpl) query);
+
+    } else if (query instanceof DeadLetterJobQueryImpl) {
+      return commandContext.getDeadLetterJobEntityManager().findJobIdsByQueryCriteria((DeadLetterJobQueryImpl) query);
+    }
+    throw new ActivitiIllegalArgumentException("Batches are not supported for " + query.getClass().getName());
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Deletes many historic process instances with set-based deletes, see {@link org.activiti.engine.HistoryService#deleteHistoricProcessInstances(Collection)}.
+ */
+public class DeleteHistoricProcessInstancesCmd implements Command<Void>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+  protected Collection<String> processInstanceIds;
+
+  public DeleteHistoricProcessInstancesCmd(Collection<String> processInstanceIds) {
+    this.processInstanceIds = processInstanceIds;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    if (processInstanceIds == null) {
+      throw new ActivitiIllegalArgumentException("processInstanceIds is null");
+    }
+    if (processInstanceIds.contains(null)) {
+      throw new ActivitiIllegalArgumentException("processInstanceIds contains null");
+    }
+
+    List<String> ids = new ArrayList<String>(processInstanceIds);
+    int chunkSize = commandContext.getProcessEngineConfiguration().getBulkDeleteChunkSize();
+    for (int i = 0; i < ids.size(); i += chunkSize) {
+      HistoricProcessInstanceQueryImpl runningProcessInstanceQuery = new HistoricProcessInstanceQueryImpl();
+      runningProcessInstanceQuery.processInstanceIds(new HashSet<String>(ids.subList(i, Math.min(ids.size(), i + chunkSize)))).unfinished();
+      if (commandContext.getHistoricProcessInstanceEntityManager().findHistoricProcessInstanceCountByQueryCriteria(runningProcessInstanceQuery) > 0) {
+        throw new ActivitiException("At least one of the process instances is still running, cannot delete historic process instances");
+      }
+    }
+
+    commandContext.getHistoricProcessInstanceEntityManager().deleteHistoricProcessInstances(ids);
+    return null;
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.util.List;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Returns the ids of the byte arrays with the given name that don't belong to a deployment.
+ */
+public class FindByteArrayIdsByNameCmd implements Command<List<String>> {
+
+  protected String name;
+
+  public FindByteArrayIdsByNameCmd(String name) {
+    this.name = name;
+  }
+
+  public List<String> execute(CommandContext commandContext) {
+    return commandContext.getByteArrayEntityManager().findByteArrayIdsByName(name);
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.PropertyEntity;
+
+/**
+ * Reads a version counter stored in the property table, 0 when the counter has never been incremented.
+ */
+public class GetPropertyVersionCounterCmd implements Command<Long> {
+
+  protected String propertyName;
+
+  public GetPropertyVersionCounterCmd(String propertyName) {
+    this.propertyName = propertyName;
+  }
+
+  public Long execute(CommandContext commandContext) {
+    PropertyEntity property = commandContext.getPropertyEntityManager().findById(propertyName);
+    return property != null ? Long.valueOf(property.getValue()) : 0L;
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.PropertyEntity;
+import org.activiti.engine.impl.persistence.entity.PropertyEntityManager;
+
+/**
+ * Increments a version counter stored in the property table, creating it on first use, and returns the new value.
+ * Concurrent increments are detected through the revision of the property row.
+ */
+public class IncrementPropertyVersionCounterCmd implements Command<Long> {
+
+  protected String propertyName;
+
+  public IncrementPropertyVersionCounterCmd(String propertyName) {
+    this.propertyName = propertyName;
+  }
+
+  public Long execute(CommandContext commandContext) {
+    PropertyEntityManager propertyEntityManager = commandContext.getPropertyEntityManager();
+    PropertyEntity property = propertyEntityManager.findById(propertyName);
+    if (property == null) {
+      property = propertyEntityManager.create();
+      property.setName(propertyName);
+      property.setValue("1");
+      propertyEntityManager.insert(property);
+      return 1L;
+    }
+
+    long newValue = Long.parseLong(property.getValue()) + 1;
+    property.setValue(Long.toString(newValue));
+    return newValue;
+  }
+}
@@ -70,6 +70,8 @@ public class SaveProcessDefinitionInfoCmd implements Command<Void>, Serializable
       }
     }
 
+    commandContext.getProcessEngineConfiguration().getDeploymentManager().publishCacheInvalidation(processDefinitionId);
+
     return null;
   }
 
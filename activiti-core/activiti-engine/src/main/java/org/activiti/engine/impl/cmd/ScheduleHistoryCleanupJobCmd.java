@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.calendar.CycleBusinessCalendar;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.HistoryCleanupJobHandler;
+import org.activiti.engine.impl.persistence.entity.AbstractJobEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntityManager;
+
+/**
+ * Schedules the repeating timer job of the {@link HistoryCleanupJobHandler}, unless a timer with the configured
+ * cycle is scheduled already. A timer with another cycle is replaced. Nothing is scheduled while a run is executing
+ * or has been moved to the dead letter jobs, as that job schedules the next run itself. The non-repeating follow-up
+ * timers that continue a run are left alone.
+ *
+ * The id of the timer is derived from the cycle, so when several engines schedule it at the same time only one of
+ * them can insert it.
+ */
+public class ScheduleHistoryCleanupJobCmd implements Command<TimerJobEntity>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static String getTimerId(String cycle) {
+    return HistoryCleanupJobHandler.TYPE + "-" + Integer.toHexString(cycle.hashCode());
+  }
+
+  public TimerJobEntity execute(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    String cycle = processEngineConfiguration.getHistoryCleanupCycle();
+    if (cycle == null) {
+      throw new ActivitiIllegalArgumentException("historyCleanupCycle is null");
+    }
+
+    if (containsRepeatingJob(commandContext.getJobEntityManager().findJobsByType(HistoryCleanupJobHandler.TYPE))
+        || containsRepeatingJob(commandContext.getDeadLetterJobEntityManager().findJobsByType(HistoryCleanupJobHandler.TYPE))) {
+      return null;
+    }
+
+    TimerJobEntityManager timerJobEntityManager = commandContext.getTimerJobEntityManager();
+    List<TimerJobEntity> timers = timerJobEntityManager.findJobsByType(HistoryCleanupJobHandler.TYPE);
+    TimerJobEntity scheduledTimer = null;
+    for (TimerJobEntity timer : timers) {
+      if (timer.getRepeat() == null) {
+        continue;
+      }
+      if (scheduledTimer == null && cycle.equals(timer.getRepeat())) {
+        scheduledTimer = timer;
+      } else {
+        timerJobEntityManager.delete(timer);
+      }
+    }
+    if (scheduledTimer != null) {
+      return scheduledTimer;
+    }
+
+    TimerJobEntity timer = timerJobEntityManager.create();
+    timer.setId(getTimerId(cycle));
+    timer.setJobType(JobEntity.JOB_TYPE_TIMER);
+    timer.setRevision(1);
+    timer.setRetries(processEngineConfiguration.getAsyncExecutorNumberOfRetries());
+    timer.setRepeat(cycle);
+    timer.setDuedate(processEngineConfiguration.getBusinessCalendarManager().getBusinessCalendar(CycleBusinessCalendar.NAME).resolveDuedate(cycle));
+    timer.setJobHandlerType(HistoryCleanupJobHandler.TYPE);
+    timer.setJobHandlerConfiguration(HistoryCleanupJobHandler.createJobHandlerConfiguration());
+    commandContext.getJobManager().scheduleTimerJob(timer);
+    return timer;
+  }
+
+  protected boolean containsRepeatingJob(List<? extends AbstractJobEntity> jobs) {
+    for (AbstractJobEntity job : jobs) {
+      if (job.getRepeat() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -65,6 +65,7 @@ public class SetProcessDefinitionCategoryCmd implements Command<Void> {
       if (processDefinitionCache != null) {
           processDefinitionCache.remove(processDefinitionId);
       }
+      commandContext.getProcessEngineConfiguration().getDeploymentManager().publishCacheInvalidation(processDefinitionId);
 
       if (commandContext.getEventDispatcher().isEnabled()) {
           commandContext.getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_UPDATED, processDefinition));
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.impl.db.DbSqlSession;
+import org.activiti.engine.impl.history.async.AsyncHistoryBatch;
+import org.activiti.engine.impl.history.async.AsyncHistorySerializer;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * Inserts the historic entities of the given async history batches and removes their durable buffers.
+ *
+ * A batch with a buffer is only written when its buffer can still be found: a missing buffer was either already
+ * written by another engine, or the transaction that created it hasn't committed yet, in which case the recovery of
+ * the buffers will write it later. Deleting the buffer is revision checked, so engines writing the same buffer at
+ * the same time can't both insert its entities.
+ *
+ * Entities of a historic process instance that no longer exists are skipped: its history was deleted, cleaned up or
+ * archived between the commit of the command that created them and this write. History of a process instance that
+ * is removed while this command runs can still be left behind.
+ */
+public class WriteAsyncHistoryCmd implements Command<Void> {
+
+  protected List<AsyncHistoryBatch> batches;
+  protected AsyncHistorySerializer serializer;
+
+  public WriteAsyncHistoryCmd(List<AsyncHistoryBatch> batches, AsyncHistorySerializer serializer) {
+    this.batches = batches;
+    this.serializer = serializer;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    DbSqlSession dbSqlSession = commandContext.getDbSqlSession();
+    dbSqlSession.setAsyncHistoryWriter(null); // the entities are written now, not deferred again
+
+    ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+    Map<String, Boolean> existingProcessInstances = new HashMap<String, Boolean>();
+    for (AsyncHistoryBatch batch : batches) {
+      List<Entity> entities = batch.getEntities();
+      if (batch.getBufferId() != null) {
+        ByteArrayEntity buffer = byteArrayEntityManager.findById(batch.getBufferId());
+        if (buffer == null) {
+          continue;
+        }
+        if (entities == null) {
+          entities = serializer.deserialize(buffer.getBytes());
+        }
+        byteArrayEntityManager.delete(buffer, false);
+      }
+
+      for (Entity entity : entities) {
+        String processInstanceId = getProcessInstanceId(entity);
+        if (processInstanceId == null || existingProcessInstances.computeIfAbsent(processInstanceId,
+            id -> commandContext.getHistoricProcessInstanceEntityManager().findById(id) != null)) {
+          dbSqlSession.insert(entity);
+        }
+      }
+    }
+    return null;
+  }
+
+  protected String getProcessInstanceId(Entity entity) {
+    if (entity instanceof HistoricActivityInstanceEntity) {
+      return ((HistoricActivityInstanceEntity) entity).getProcessInstanceId();
+    } else if (entity instanceof HistoricDetailEntity) {
+      return ((HistoricDetailEntity) entity).getProcessInstanceId();
+    }
+    return null;
+  }
+}
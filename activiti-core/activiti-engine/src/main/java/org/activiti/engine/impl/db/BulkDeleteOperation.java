@@ -36,8 +36,11 @@ public class BulkDeleteOperation  {
     this.parameter = parameter;
   }
 
-  public void execute(SqlSession sqlSession) {
-    sqlSession.delete(statement, parameter);
+  /**
+   * @return the number of deleted rows
+   */
+  public int execute(SqlSession sqlSession) {
+    return sqlSession.delete(statement, parameter);
   }
 
   @Override
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.context.Context;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * Reads the rows of a MyBatis {@link Cursor} one at a time, from a {@link SqlSession} that is owned by the cursor.
+ * The cursor and its session are closed once the last row has been read, or when {@link #close()} is called.
+ *
+ * The rows are mapped outside of any command, so the process engine configuration is made available to the type
+ * handlers while a row is read.
+ */
+public class CursorSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+  protected SqlSession sqlSession;
+  protected Cursor<T> cursor;
+  protected Iterator<T> iterator;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected boolean closed;
+
+  public CursorSpliterator(SqlSession sqlSession, Cursor<T> cursor, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    this.sqlSession = sqlSession;
+    this.cursor = cursor;
+    this.iterator = cursor.iterator();
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (closed) {
+      return false;
+    }
+
+    T next;
+    Context.setProcessEngineConfiguration(processEngineConfiguration);
+    try {
+      if (!iterator.hasNext()) {
+        close();
+        return false;
+      }
+      next = iterator.next();
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    } finally {
+      Context.removeProcessEngineConfiguration();
+    }
+
+    action.accept(next);
+    return true;
+  }
+
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      cursor.close();
+    } catch (IOException e) {
+      throw new ActivitiException("Could not close cursor", e);
+    } finally {
+      sqlSession.close();
+    }
+  }
+
+}
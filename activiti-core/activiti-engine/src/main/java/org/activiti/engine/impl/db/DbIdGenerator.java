@@ -14,38 +14,99 @@
  * limitations under the License.
  */
 
-
 package org.activiti.engine.impl.db;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.activiti.engine.impl.cfg.IdGenerator;
 import org.activiti.engine.impl.cmd.GetNextIdBlockCmd;
 import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
-
+ * {@link IdGenerator} handing out ids from blocks of ids reserved in the database.
+ *
+ * Ids are taken from the current block with an atomic counter, so {@link #getNextId()} doesn't need a lock.
+ * When half of the current block is used, the next block is fetched in the background, so
+ * that threads don't have to wait for the database when the current block runs out.
  */
 public class DbIdGenerator implements IdGenerator {
 
+  private static final Logger log = LoggerFactory.getLogger(DbIdGenerator.class);
+
   protected int idBlockSize;
-  protected long nextId;
-  protected long lastId = -1;
+  protected boolean prefetchIdBlocks = true;
 
   protected CommandExecutor commandExecutor;
   protected CommandConfig commandConfig;
 
-  public synchronized String getNextId() {
-    if (lastId < nextId) {
-      getNewBlock();
+  protected Executor prefetchExecutor = runnable -> Thread.ofVirtual().name("activiti-id-block-prefetch").start(runnable);
+
+  protected volatile ActiveIdBlock currentIdBlock;
+  protected CompletableFuture<IdBlock> nextIdBlock;
+  protected final Object idBlockLock = new Object();
+
+  public String getNextId() {
+    while (true) {
+      ActiveIdBlock idBlock = currentIdBlock;
+      if (idBlock != null) {
+        long id = idBlock.nextId.getAndIncrement();
+        if (id <= idBlock.lastId) {
+          if (id == idBlock.prefetchId) {
+            prefetchNewBlock();
+          }
+          return Long.toString(id);
+        }
+      }
+      switchToNewBlock(idBlock);
     }
-    long _nextId = nextId++;
-    return Long.toString(_nextId);
   }
 
-  protected synchronized void getNewBlock() {
-    IdBlock idBlock = commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(idBlockSize));
-    this.nextId = idBlock.getNextId();
-    this.lastId = idBlock.getLastId();
+  protected void switchToNewBlock(ActiveIdBlock exhaustedIdBlock) {
+    synchronized (idBlockLock) {
+      if (currentIdBlock != exhaustedIdBlock) {
+        // Another thread switched to a new block already
+        return;
+      }
+
+      IdBlock idBlock = takePrefetchedBlock();
+      if (idBlock == null) {
+        idBlock = getNewBlock();
+      }
+      currentIdBlock = new ActiveIdBlock(idBlock, prefetchIdBlocks);
+    }
+  }
+
+  protected void prefetchNewBlock() {
+    synchronized (idBlockLock) {
+      if (nextIdBlock == null) {
+        nextIdBlock = CompletableFuture.supplyAsync(this::getNewBlock, prefetchExecutor);
+      }
+    }
+  }
+
+  protected IdBlock takePrefetchedBlock() {
+    CompletableFuture<IdBlock> prefetchedIdBlock = nextIdBlock;
+    nextIdBlock = null;
+    if (prefetchedIdBlock == null) {
+      return null;
+    }
+
+    try {
+      return prefetchedIdBlock.join();
+    } catch (CompletionException e) {
+      log.warn("Prefetching the next id block failed, fetching a new id block", e.getCause());
+      return null;
+    }
+  }
+
+  protected IdBlock getNewBlock() {
+    return commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(idBlockSize));
   }
 
   public int getIdBlockSize() {
@@ -56,6 +117,22 @@ public class DbIdGenerator implements IdGenerator {
     this.idBlockSize = idBlockSize;
   }
 
+  public boolean isPrefetchIdBlocks() {
+    return prefetchIdBlocks;
+  }
+
+  public void setPrefetchIdBlocks(boolean prefetchIdBlocks) {
+    this.prefetchIdBlocks = prefetchIdBlocks;
+  }
+
+  public Executor getPrefetchExecutor() {
+    return prefetchExecutor;
+  }
+
+  public void setPrefetchExecutor(Executor prefetchExecutor) {
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
   public CommandExecutor getCommandExecutor() {
     return commandExecutor;
   }
@@ -71,4 +148,19 @@ public class DbIdGenerator implements IdGenerator {
   public void setCommandConfig(CommandConfig commandConfig) {
     this.commandConfig = commandConfig;
   }
+
+  protected static class ActiveIdBlock {
+
+    protected final AtomicLong nextId;
+    protected final long lastId;
+
+    /** The id that triggers fetching the next block in the background, -1 if no prefetching is done */
+    protected final long prefetchId;
+
+    protected ActiveIdBlock(IdBlock idBlock, boolean prefetch) {
+      this.nextId = new AtomicLong(idBlock.getNextId());
+      this.lastId = idBlock.getLastId();
+      this.prefetchId = prefetch ? idBlock.getNextId() + (idBlock.getLastId() - idBlock.getNextId()) / 2 : -1L;
+    }
+  }
 }
@@ -26,7 +26,9 @@ import java.io.InputStream;
 import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -37,6 +39,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiOptimisticLockingException;
 import org.activiti.engine.ActivitiWrongDbException;
@@ -58,6 +62,7 @@ import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.upgrade.DbUpgradeStep;
+import org.activiti.engine.impl.history.async.AsyncHistoryWriter;
 import org.activiti.engine.impl.interceptor.Session;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
@@ -66,6 +71,11 @@ import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.PropertyEntity;
 import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ReflectUtil;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -161,6 +171,10 @@ public class DbSqlSession implements Session {
     protected Map<Class<? extends Entity>, List<BulkDeleteOperation>> bulkDeleteOperations
             = new HashMap<Class<? extends Entity>, List<BulkDeleteOperation>>();
     protected List<Entity> updatedObjects = new ArrayList<Entity>();
+    protected long bulkDeletedRowCount;
+    protected boolean batchedStatementsExecuted;
+    protected AsyncHistoryWriter asyncHistoryWriter;
+    protected List<ResultSetBinaryStream> binaryStreams = new ArrayList<ResultSetBinaryStream>();
 
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
@@ -172,6 +186,7 @@ public class DbSqlSession implements Session {
         this.entityCache = entityCache;
         this.connectionMetadataDefaultCatalog = dbSqlSessionFactory.getDatabaseCatalog();
         this.connectionMetadataDefaultSchema = dbSqlSessionFactory.getDatabaseSchema();
+        this.asyncHistoryWriter = dbSqlSessionFactory.getAsyncHistoryWriter();
     }
 
     public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory,
@@ -184,6 +199,7 @@ public class DbSqlSession implements Session {
         this.entityCache = entityCache;
         this.connectionMetadataDefaultCatalog = catalog;
         this.connectionMetadataDefaultSchema = schema;
+        this.asyncHistoryWriter = dbSqlSessionFactory.getAsyncHistoryWriter();
     }
 
     // insert ///////////////////////////////////////////////////////////////////
@@ -446,6 +462,78 @@ public class DbSqlSession implements Session {
         return result;
     }
 
+    /**
+     * Executes the given select statement, of which the first column of the first row is binary, and returns that
+     * column as a stream read from the open result set. Returns null when no row or a null value was selected.
+     *
+     * The stream is only valid while this session is open: streams that are still open when the session is closed
+     * are closed along with it.
+     */
+    public InputStream selectBinaryStream(String statement,
+                                          Object parameter) {
+        statement = dbSqlSessionFactory.mapStatement(statement);
+        Configuration configuration = sqlSession.getConfiguration();
+        MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+        BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+
+        PreparedStatement preparedStatement = null;
+        try {
+            preparedStatement = sqlSession.getConnection().prepareStatement(boundSql.getSql());
+            configuration.newParameterHandler(mappedStatement,
+                                              parameter,
+                                              boundSql).setParameters(preparedStatement);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            InputStream binaryStream = resultSet.next() ? resultSet.getBinaryStream(1) : null;
+            if (binaryStream == null) {
+                resultSet.close();
+                preparedStatement.close();
+                return null;
+            }
+
+            ResultSetBinaryStream resultSetBinaryStream = new ResultSetBinaryStream(preparedStatement,
+                                                                                    resultSet,
+                                                                                    binaryStream);
+            binaryStreams.add(resultSetBinaryStream);
+            return resultSetBinaryStream;
+
+        } catch (SQLException e) {
+            if (preparedStatement != null) {
+                try {
+                    preparedStatement.close();
+                } catch (SQLException ignore) {
+                    // the select failed already
+                }
+            }
+            throw new PersistenceException("Error selecting binary stream with " + statement,
+                                           e);
+        }
+    }
+
+    /**
+     * Opens a cursor for the given select statement and returns its rows as a stream, read one at a time.
+     *
+     * The cursor uses a connection of its own, so the stream can still be read after the current command has ended,
+     * and the rows are not put in the entity cache. The cursor and its connection are closed when the last row has
+     * been read, or when the stream is closed.
+     */
+    public <T> Stream<T> selectStream(String statement,
+                                      Object parameter) {
+        statement = dbSqlSessionFactory.getStreamStatement(dbSqlSessionFactory.mapStatement(statement));
+        SqlSession streamSqlSession = dbSqlSessionFactory.openDetachedSqlSession();
+        try {
+            Cursor<T> cursor = streamSqlSession.selectCursor(statement,
+                                                             parameter);
+            CursorSpliterator<T> spliterator = new CursorSpliterator<T>(streamSqlSession,
+                                                                        cursor,
+                                                                        Context.getProcessEngineConfiguration());
+            return StreamSupport.stream(spliterator,
+                                        false).onClose(spliterator::close);
+        } catch (RuntimeException e) {
+            streamSqlSession.close();
+            throw e;
+        }
+    }
+
     public <T extends Entity> T selectById(Class<T> entityClass,
                                            String id) {
         return selectById(entityClass,
@@ -521,6 +609,7 @@ public class DbSqlSession implements Session {
     public void flush() {
         determineUpdatedObjects(); // Needs to be done before the removeUnnecessaryOperations, as removeUnnecessaryOperations will remove stuff from the cache
         removeUnnecessaryOperations();
+        deferAsyncHistoryInserts();
 
         if (log.isDebugEnabled()) {
             debugFlush();
@@ -563,6 +652,38 @@ public class DbSqlSession implements Session {
         }
     }
 
+    /**
+     * Takes the inserts of historic entities that can be written after the transaction
+     * out of this flush, and hands them to the {@link AsyncHistoryWriter}.
+     */
+    protected void deferAsyncHistoryInserts() {
+        if (asyncHistoryWriter == null) {
+            return;
+        }
+
+        List<Entity> deferredEntities = new ArrayList<Entity>();
+        Iterator<Map<String, Entity>> insertedObjectsIterator = insertedObjects.values().iterator();
+        while (insertedObjectsIterator.hasNext()) {
+            Map<String, Entity> insertedObjectsOfClass = insertedObjectsIterator.next();
+            Iterator<Entity> entityIterator = insertedObjectsOfClass.values().iterator();
+            while (entityIterator.hasNext()) {
+                Entity entity = entityIterator.next();
+                if (asyncHistoryWriter.isDeferrable(entity)) {
+                    deferredEntities.add(entity);
+                    entityIterator.remove();
+                }
+            }
+            if (insertedObjectsOfClass.isEmpty()) {
+                insertedObjectsIterator.remove();
+            }
+        }
+
+        if (!deferredEntities.isEmpty()) {
+            asyncHistoryWriter.defer(this,
+                                     deferredEntities);
+        }
+    }
+
     public void determineUpdatedObjects() {
         updatedObjects = new ArrayList<Entity>();
         Map<Class<?>, Map<String, CachedEntity>> cachedObjects = entityCache.getAllCachedEntities();
@@ -799,6 +920,10 @@ public class DbSqlSession implements Session {
 
     protected void flushBulkInsert(Collection<Entity> entities,
                                    Class<? extends Entity> clazz) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
         String insertStatement = dbSqlSessionFactory.getBulkInsertStatement(clazz);
         insertStatement = dbSqlSessionFactory.mapStatement(insertStatement);
 
@@ -808,11 +933,14 @@ public class DbSqlSession implements Session {
 
         Iterator<Entity> entityIterator = entities.iterator();
         Boolean hasRevision = null;
+        int maxNrOfEntitiesInBulkInsert = dbSqlSessionFactory.getMaxNrOfEntitiesInBulkInsert(clazz,
+                                                                                             insertStatement,
+                                                                                             entities.iterator().next());
 
         while (entityIterator.hasNext()) {
             List<Entity> subList = new ArrayList<Entity>();
             int index = 0;
-            while (entityIterator.hasNext() && index < dbSqlSessionFactory.getMaxNrOfStatementsInBulkInsert()) {
+            while (entityIterator.hasNext() && index < maxNrOfEntitiesInBulkInsert) {
                 Entity entity = entityIterator.next();
                 subList.add(entity);
 
@@ -841,6 +969,7 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
+        DbStatementBatch statementBatch = isBatchedFlush(updatedObjects.size()) ? new DbStatementBatch(sqlSession) : null;
         for (Entity updatedObject : updatedObjects) {
             String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
             updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
@@ -851,6 +980,13 @@ public class DbSqlSession implements Session {
 
             log.debug("updating: {}",
                       updatedObject);
+            if (statementBatch != null) {
+                statementBatch.add(updateStatement,
+                                   updatedObject,
+                                   true);
+                continue;
+            }
+
             int updatedRecords = sqlSession.update(updateStatement,
                                                    updatedObject);
             if (updatedRecords == 0) {
@@ -862,9 +998,26 @@ public class DbSqlSession implements Session {
                 ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
             }
         }
+
+        if (statementBatch != null) {
+            batchedStatementsExecuted = true;
+            statementBatch.execute();
+            for (Entity updatedObject : updatedObjects) {
+                if (updatedObject instanceof HasRevision) {
+                    ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+                }
+            }
+        }
         updatedObjects.clear();
     }
 
+    /**
+     * Whether the given number of updates or deletes of one flush step should be sent as a JDBC batch.
+     */
+    protected boolean isBatchedFlush(int nrOfStatements) {
+        return dbSqlSessionFactory.isBatchedFlushEnabled() && nrOfStatements > 1;
+    }
+
     protected void flushDeletes() {
 
         if (deletedObjects.size() == 0 && bulkDeleteOperations.size() == 0) {
@@ -897,13 +1050,14 @@ public class DbSqlSession implements Session {
         // Bulk deletes
         if (bulkDeleteOperations.containsKey(entityClass)) {
             for (BulkDeleteOperation bulkDeleteOperation : bulkDeleteOperations.get(entityClass)) {
-                bulkDeleteOperation.execute(sqlSession);
+                bulkDeletedRowCount += bulkDeleteOperation.execute(sqlSession);
             }
         }
     }
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass,
                                        Collection<Entity> entitiesToDelete) {
+        DbStatementBatch statementBatch = isBatchedFlush(entitiesToDelete.size()) ? new DbStatementBatch(sqlSession) : null;
         for (Entity entity : entitiesToDelete) {
             String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
             deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
@@ -913,7 +1067,11 @@ public class DbSqlSession implements Session {
 
             // It only makes sense to check for optimistic locking exceptions
             // for objects that actually have a revision
-            if (entity instanceof HasRevision) {
+            if (statementBatch != null) {
+                statementBatch.add(deleteStatement,
+                                   entity,
+                                   entity instanceof HasRevision);
+            } else if (entity instanceof HasRevision) {
                 int nrOfRowsDeleted = sqlSession.delete(deleteStatement,
                                                         entity);
                 if (nrOfRowsDeleted == 0) {
@@ -924,18 +1082,35 @@ public class DbSqlSession implements Session {
                                   entity);
             }
         }
+
+        if (statementBatch != null) {
+            batchedStatementsExecuted = true;
+            statementBatch.execute();
+        }
     }
 
     public void close() {
+        for (ResultSetBinaryStream binaryStream : binaryStreams) {
+            IoUtil.closeSilently(binaryStream);
+        }
+        binaryStreams.clear();
         sqlSession.close();
     }
 
     public void commit() {
-        sqlSession.commit();
+        // MyBatis doesn't know about statements executed in a batch, so the commit is forced after those
+        sqlSession.commit(batchedStatementsExecuted);
+    }
+
+    /**
+     * The number of rows deleted by the {@link BulkDeleteOperation}s that have been flushed by this session.
+     */
+    public long getBulkDeletedRowCount() {
+        return bulkDeletedRowCount;
     }
 
     public void rollback() {
-        sqlSession.rollback();
+        sqlSession.rollback(batchedStatementsExecuted);
     }
 
     // schema operations
@@ -1550,4 +1725,12 @@ public class DbSqlSession implements Session {
     public DbSqlSessionFactory getDbSqlSessionFactory() {
         return dbSqlSessionFactory;
     }
+
+    public AsyncHistoryWriter getAsyncHistoryWriter() {
+        return asyncHistoryWriter;
+    }
+
+    public void setAsyncHistoryWriter(AsyncHistoryWriter asyncHistoryWriter) {
+        this.asyncHistoryWriter = asyncHistoryWriter;
+    }
 }
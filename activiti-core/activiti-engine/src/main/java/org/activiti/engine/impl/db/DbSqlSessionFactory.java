@@ -18,18 +18,30 @@
 package org.activiti.engine.impl.db;
 
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.sql.DataSource;
+
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.cfg.IdGenerator;
+import org.activiti.engine.impl.history.async.AsyncHistoryWriter;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.Session;
 import org.activiti.engine.impl.interceptor.SessionFactory;
 import org.activiti.engine.impl.persistence.entity.Entity;
-import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
 
 /**
 
@@ -44,6 +56,21 @@ public class DbSqlSessionFactory implements SessionFactory {
    */
   protected static Map<Class<? extends Entity>, Boolean> bulkInsertableMap;
 
+  /**
+   * The maximum number of parameters the JDBC driver of a database type accepts in one statement.
+   * Database types not in this map have no practical limit.
+   */
+  protected static final Map<String, Integer> databaseMaxNrOfParametersInStatement = new HashMap<String, Integer>();
+
+  static {
+    databaseMaxNrOfParametersInStatement.put("mssql", 2000); // hard limit of 2100, keeping some room
+    databaseMaxNrOfParametersInStatement.put("oracle", 65535);
+    databaseMaxNrOfParametersInStatement.put("postgres", 32767);
+    databaseMaxNrOfParametersInStatement.put("mysql", 65535);
+    databaseMaxNrOfParametersInStatement.put("mariadb", 65535);
+    databaseMaxNrOfParametersInStatement.put("db2", 32767);
+  }
+
   protected String databaseType;
   protected String databaseTablePrefix = "";
   private boolean tablePrefixIsSchema;
@@ -70,6 +97,13 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   protected boolean isDbHistoryUsed = true;
   protected int maxNrOfStatementsInBulkInsert = 100;
+  protected int maxNrOfParametersInStatement;
+  protected Map<Class<?>, Integer> maxNrOfEntitiesInBulkInsert = new ConcurrentHashMap<Class<?>, Integer>();
+  protected boolean isBatchedFlushEnabled;
+  protected AsyncHistoryWriter asyncHistoryWriter;
+  protected int streamFetchSize = 1000;
+  protected DataSource streamDataSource;
+  protected Map<String, String> streamStatements = new ConcurrentHashMap<String, String>();
 
   public Class<?> getSessionType() {
     return DbSqlSession.class;
@@ -77,21 +111,46 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   public Session openSession(CommandContext commandContext) {
     DbSqlSession dbSqlSession = new DbSqlSession(this, commandContext.getEntityCache());
+    initSqlSession(dbSqlSession.getSqlSession());
+    return dbSqlSession;
+  }
+
+  /**
+   * Opens a session with a connection of its own, taken from the stream data source, that isn't bound to any command
+   * or transaction. The caller needs to close it.
+   */
+  public SqlSession openDetachedSqlSession() {
+    if (streamDataSource == null) {
+      throw new ActivitiException("Streaming query results needs a queryStreamDataSource to be configured when transactions are managed externally");
+    }
+    // a plain jdbc transaction, even when the engine takes part in managed transactions
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    Transaction transaction = new JdbcTransactionFactory().newTransaction(streamDataSource, null, false);
+    SqlSession sqlSession = new DefaultSqlSession(configuration, configuration.newExecutor(transaction, ExecutorType.SIMPLE), false);
+    try {
+      initSqlSession(sqlSession);
+    } catch (RuntimeException e) {
+      sqlSession.close();
+      throw e;
+    }
+    return sqlSession;
+  }
+
+  protected void initSqlSession(SqlSession sqlSession) {
     if (getDatabaseSchema() != null && getDatabaseSchema().length() > 0) {
       try {
-        dbSqlSession.getSqlSession().getConnection().setSchema(getDatabaseSchema());
+        sqlSession.getConnection().setSchema(getDatabaseSchema());
       } catch (SQLException e) {
         throw new ActivitiException("Could not set database schema on connection", e);
       }
     }
     if (getDatabaseCatalog() != null && getDatabaseCatalog().length() > 0) {
       try {
-        dbSqlSession.getSqlSession().getConnection().setCatalog(getDatabaseCatalog());
+        sqlSession.getConnection().setCatalog(getDatabaseCatalog());
       } catch (SQLException e) {
         throw new ActivitiException("Could not set database catalog on connection", e);
       }
     }
-    return dbSqlSession;
   }
 
   // insert, update and delete statements
@@ -162,6 +221,53 @@ public class DbSqlSessionFactory implements SessionFactory {
     return (mappedStatement != null ? mappedStatement : statement);
   }
 
+  /**
+   * Returns a copy of the given select statement that reads its rows forward only, fetching streamFetchSize rows
+   * per round trip. The copy is registered in the MyBatis configuration the first time it is asked for.
+   */
+  public String getStreamStatement(String statement) {
+    String streamStatement = streamStatements.get(statement);
+    if (streamStatement == null) {
+      streamStatement = registerStreamStatement(statement);
+      streamStatements.put(statement, streamStatement);
+    }
+    return streamStatement;
+  }
+
+  protected synchronized String registerStreamStatement(String statement) {
+    String streamStatement = statement + "Stream";
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    if (!configuration.hasStatement(streamStatement, false)) {
+      MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+      configuration.addMappedStatement(new MappedStatement.Builder(configuration, streamStatement, mappedStatement.getSqlSource(), mappedStatement.getSqlCommandType())
+          .resource(mappedStatement.getResource())
+          .databaseId(mappedStatement.getDatabaseId())
+          .lang(mappedStatement.getLang())
+          .statementType(mappedStatement.getStatementType())
+          .parameterMap(mappedStatement.getParameterMap())
+          .resultMaps(mappedStatement.getResultMaps())
+          .resultOrdered(mappedStatement.isResultOrdered())
+          .timeout(mappedStatement.getTimeout())
+          .resultSetType(ResultSetType.FORWARD_ONLY)
+          .fetchSize(getStatementStreamFetchSize())
+          .useCache(false)
+          .build());
+    }
+    return streamStatement;
+  }
+
+  /**
+   * MySQL Connector/J ignores a positive fetch size unless useCursorFetch=true is set on the jdbc url, and reads the
+   * whole result set into memory instead. Integer.MIN_VALUE makes it stream the rows one by one, which MariaDB
+   * Connector/J supports as well.
+   */
+  protected int getStatementStreamFetchSize() {
+    if ("mysql".equals(databaseType) || "mariadb".equals(databaseType)) {
+      return Integer.MIN_VALUE;
+    }
+    return streamFetchSize;
+  }
+
   // customized getters and setters
   // ///////////////////////////////////////////
 
@@ -183,17 +289,43 @@ public class DbSqlSessionFactory implements SessionFactory {
   	for (Class<? extends Entity> clazz : EntityDependencyOrder.INSERT_ORDER) {
   		bulkInsertableMap.put(clazz, Boolean.TRUE);
   	}
-
-  	// Only Oracle is making a fuss in one specific case right now
-		if ("oracle".equals(databaseType)) {
-			bulkInsertableMap.put(EventLogEntryEntityImpl.class, Boolean.FALSE);
-		}
   }
 
   public Boolean isBulkInsertable(Class<? extends Entity> entityClass) {
   	return bulkInsertableMap != null && bulkInsertableMap.containsKey(entityClass) && bulkInsertableMap.get(entityClass);
   }
 
+  /**
+   * Returns how many entities of the given class can be put in one bulk insert statement: the configured
+   * maximum, lowered when the rows wouldn't fit in the parameter limit of the database.
+   * Calculated once per entity class, using the given entity to count the parameters of one row.
+   */
+  public int getMaxNrOfEntitiesInBulkInsert(Class<? extends Entity> entityClass, String bulkInsertStatement, Entity entity) {
+    Integer maxNrOfEntities = maxNrOfEntitiesInBulkInsert.get(entityClass);
+    if (maxNrOfEntities == null) {
+      maxNrOfEntities = determineMaxNrOfEntitiesInBulkInsert(bulkInsertStatement, entity);
+      maxNrOfEntitiesInBulkInsert.put(entityClass, maxNrOfEntities);
+    }
+    return maxNrOfEntities;
+  }
+
+  protected int determineMaxNrOfEntitiesInBulkInsert(String bulkInsertStatement, Entity entity) {
+    int maxNrOfParameters = getMaxNrOfParametersInStatement();
+    if (maxNrOfParameters <= 0) {
+      return maxNrOfStatementsInBulkInsert;
+    }
+
+    int nrOfParametersPerEntity = sqlSessionFactory.getConfiguration()
+        .getMappedStatement(bulkInsertStatement)
+        .getBoundSql(ParamNameResolver.wrapToMapIfCollection(Collections.singletonList(entity), null))
+        .getParameterMappings()
+        .size();
+    if (nrOfParametersPerEntity == 0) {
+      return maxNrOfStatementsInBulkInsert;
+    }
+    return Math.max(1, Math.min(maxNrOfStatementsInBulkInsert, maxNrOfParameters / nrOfParametersPerEntity));
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
   public SqlSessionFactory getSqlSessionFactory() {
@@ -321,6 +453,55 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   public void setMaxNrOfStatementsInBulkInsert(int maxNrOfStatementsInBulkInsert) {
     this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
+    this.maxNrOfEntitiesInBulkInsert.clear();
+  }
+
+  /**
+   * The configured maximum number of parameters in one statement, or the known limit of the database type if none was configured.
+   */
+  public int getMaxNrOfParametersInStatement() {
+    if (maxNrOfParametersInStatement > 0) {
+      return maxNrOfParametersInStatement;
+    }
+    Integer databaseMaxNrOfParameters = databaseType != null ? databaseMaxNrOfParametersInStatement.get(databaseType) : null;
+    return databaseMaxNrOfParameters != null ? databaseMaxNrOfParameters : 0;
+  }
+
+  public void setMaxNrOfParametersInStatement(int maxNrOfParametersInStatement) {
+    this.maxNrOfParametersInStatement = maxNrOfParametersInStatement;
+    this.maxNrOfEntitiesInBulkInsert.clear();
+  }
+
+  public boolean isBatchedFlushEnabled() {
+    return isBatchedFlushEnabled;
+  }
+
+  public void setBatchedFlushEnabled(boolean isBatchedFlushEnabled) {
+    this.isBatchedFlushEnabled = isBatchedFlushEnabled;
+  }
+
+  public int getStreamFetchSize() {
+    return streamFetchSize;
+  }
+
+  public void setStreamFetchSize(int streamFetchSize) {
+    this.streamFetchSize = streamFetchSize;
+  }
+
+  public DataSource getStreamDataSource() {
+    return streamDataSource;
+  }
+
+  public void setStreamDataSource(DataSource streamDataSource) {
+    this.streamDataSource = streamDataSource;
+  }
+
+  public AsyncHistoryWriter getAsyncHistoryWriter() {
+    return asyncHistoryWriter;
+  }
+
+  public void setAsyncHistoryWriter(AsyncHistoryWriter asyncHistoryWriter) {
+    this.asyncHistoryWriter = asyncHistoryWriter;
   }
 
 }
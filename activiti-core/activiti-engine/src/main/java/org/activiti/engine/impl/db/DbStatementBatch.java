@@ -0,0 +1,125 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * Groups update and delete statements of a flush by their generated sql and sends each group to the database as one
+ * JDBC batch, instead of doing a round trip per entity.
+ *
+ * The parameters are bound by the MyBatis {@link ParameterHandler} of the mapped statement, so the statements are the
+ * same as the ones executed through {@link SqlSession#update(String, Object)} or {@link SqlSession#delete(String, Object)}.
+ * The affected row count of every entity is verified after the batch has been executed, unless the driver reports
+ * {@link Statement#SUCCESS_NO_INFO} for it.
+ */
+public class DbStatementBatch {
+
+  protected SqlSession sqlSession;
+  protected Map<String, List<BatchedStatement>> batchedStatements = new LinkedHashMap<String, List<BatchedStatement>>();
+
+  public DbStatementBatch(SqlSession sqlSession) {
+    this.sqlSession = sqlSession;
+  }
+
+  /**
+   * Adds the execution of the given statement for the given entity to this batch.
+   *
+   * @param verifyRowCount whether to throw an {@link ActivitiOptimisticLockingException} when no row was affected
+   */
+  public void add(String statement, Entity entity, boolean verifyRowCount) {
+    Configuration configuration = sqlSession.getConfiguration();
+    MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+    BoundSql boundSql = mappedStatement.getBoundSql(entity);
+
+    List<BatchedStatement> statements = batchedStatements.get(boundSql.getSql());
+    if (statements == null) {
+      statements = new ArrayList<BatchedStatement>();
+      batchedStatements.put(boundSql.getSql(), statements);
+    }
+    statements.add(new BatchedStatement(configuration.newParameterHandler(mappedStatement, entity, boundSql), entity, verifyRowCount));
+  }
+
+  public boolean isEmpty() {
+    return batchedStatements.isEmpty();
+  }
+
+  public void execute() {
+    if (batchedStatements.isEmpty()) {
+      return;
+    }
+
+    // Statements executed directly on the connection bypass the local cache invalidation of MyBatis
+    sqlSession.clearCache();
+
+    Connection connection = sqlSession.getConnection();
+    for (Map.Entry<String, List<BatchedStatement>> entry : batchedStatements.entrySet()) {
+      String sql = entry.getKey();
+      List<BatchedStatement> statements = entry.getValue();
+
+      int[] rowCounts;
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        for (BatchedStatement statement : statements) {
+          statement.parameterHandler.setParameters(preparedStatement);
+          preparedStatement.addBatch();
+        }
+        rowCounts = preparedStatement.executeBatch();
+      } catch (SQLException e) {
+        throw new PersistenceException("Error executing batch of " + statements.size() + " statements: " + sql, e);
+      }
+
+      for (int i = 0; i < statements.size(); i++) {
+        BatchedStatement statement = statements.get(i);
+        if (statement.verifyRowCount && i < rowCounts.length && (rowCounts[i] == 0 || rowCounts[i] == Statement.EXECUTE_FAILED)) {
+          throw new ActivitiOptimisticLockingException(statement.entity + " was updated by another transaction concurrently");
+        }
+      }
+    }
+    batchedStatements.clear();
+  }
+
+  protected static class BatchedStatement {
+
+    protected ParameterHandler parameterHandler;
+    protected Entity entity;
+    protected boolean verifyRowCount;
+
+    public BatchedStatement(ParameterHandler parameterHandler, Entity entity, boolean verifyRowCount) {
+      this.parameterHandler = parameterHandler;
+      this.entity = entity;
+      this.verifyRowCount = verifyRowCount;
+    }
+
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads a binary column straight from an open {@link ResultSet}, so the value is never materialised as a byte[] by
+ * the engine. Closing the stream closes the result set and its statement.
+ */
+public class ResultSetBinaryStream extends FilterInputStream {
+
+  protected PreparedStatement statement;
+  protected ResultSet resultSet;
+  protected boolean closed;
+
+  public ResultSetBinaryStream(PreparedStatement statement, ResultSet resultSet, InputStream binaryStream) {
+    super(binaryStream);
+    this.statement = statement;
+    this.resultSet = resultSet;
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      super.close();
+    } finally {
+      try {
+        resultSet.close();
+        statement.close();
+      } catch (SQLException e) {
+        throw new IOException("Could not close binary stream result set", e);
+      }
+    }
+  }
+
+}
@@ -19,6 +19,7 @@ package org.activiti.engine.impl.history;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import org.activiti.bpmn.model.FlowElement;
 import org.activiti.bpmn.model.FlowNode;
 import org.activiti.bpmn.model.SequenceFlow;
@@ -30,6 +31,8 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.identity.Authentication;
 import org.activiti.engine.impl.persistence.AbstractManager;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
+import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.activiti.engine.impl.persistence.entity.CommentEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
@@ -39,6 +42,7 @@ import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntity
 import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.activiti.engine.impl.persistence.entity.TaskEntity;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.activiti.engine.task.Event;
@@ -75,6 +79,18 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
     return historyLevel.isAtLeast(level);
   }
 
+  @Override
+  public boolean isHistoryLevelAtLeast(HistoryLevel level, String processDefinitionId) {
+    if (processDefinitionId == null || !historyLevel.isAtLeast(level)) {
+      return isHistoryLevelAtLeast(level);
+    }
+    HistoryLevel processDefinitionHistoryLevel = getHistoryLevel(getProcessDefinitionCacheEntry(processDefinitionId));
+    if (log.isDebugEnabled()) {
+      log.debug("History level of process definition {}: {}, level required: {}", processDefinitionId, processDefinitionHistoryLevel, level);
+    }
+    return processDefinitionHistoryLevel.isAtLeast(level);
+  }
+
   /*
    * (non-Javadoc)
    *
@@ -98,7 +114,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   @Override
   public void recordProcessInstanceEnd(String processInstanceId, String deleteReason, String activityId) {
 
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getProcessDefinitionIdOfProcessInstance(processInstanceId))) {
       HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().findById(processInstanceId);
 
       if (historicProcessInstance != null) {
@@ -118,7 +134,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   @Override
   public void recordProcessInstanceNameChange(String processInstanceId, String newName) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getProcessDefinitionIdOfProcessInstance(processInstanceId))) {
       HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().findById(processInstanceId);
 
       if (historicProcessInstance != null) {
@@ -134,7 +150,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordProcessInstanceStart(ExecutionEntity processInstance, FlowElement startElement) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processInstance.getProcessDefinitionId())) {
       HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().create(processInstance);
       historicProcessInstance.setStartActivityId(startElement.getId());
 
@@ -159,7 +175,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordSubProcessInstanceStart(ExecutionEntity parentExecution, ExecutionEntity subProcessInstance, FlowElement initialElement) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, subProcessInstance.getProcessDefinitionId())) {
 
       HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().create(subProcessInstance);
 
@@ -175,12 +191,13 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         activitiEventDispatcher.dispatchEvent(
             ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance));
       }
+    }
 
+    if (isActivityHistoryEnabled(parentExecution)) {
       HistoricActivityInstanceEntity activitiyInstance = findActivityInstance(parentExecution, false, true);
       if (activitiyInstance != null) {
         activitiyInstance.setCalledProcessInstanceId(subProcessInstance.getProcessInstanceId());
       }
-
     }
   }
 
@@ -193,7 +210,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordActivityStart(ExecutionEntity executionEntity) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isActivityHistoryEnabled(executionEntity)) {
       if (executionEntity.getActivityId() != null && executionEntity.getCurrentFlowElement() != null) {
 
         HistoricActivityInstanceEntity historicActivityInstanceEntity = null;
@@ -226,7 +243,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordActivityEnd(ExecutionEntity executionEntity, String deleteReason) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isActivityHistoryEnabled(executionEntity)) {
       HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(executionEntity, false, true);
       if (historicActivityInstance != null) {
         historicActivityInstance.markEnded(deleteReason);
@@ -374,7 +391,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskCreated(TaskEntity task, ExecutionEntity execution) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, task.getProcessDefinitionId())) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().create(task, execution);
       getHistoricTaskInstanceEntityManager().insert(historicTaskInstance, false);
     }
@@ -391,7 +408,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   public void recordTaskAssignment(TaskEntity task) {
     ExecutionEntity executionEntity = task.getExecution();
     if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
-      if (executionEntity != null) {
+      if (executionEntity != null && isActivityHistoryEnabled(executionEntity)) {
         HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(executionEntity, false, true);
         if (historicActivityInstance != null) {
           historicActivityInstance.setAssignee(task.getAssignee());
@@ -425,7 +442,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   public void recordTaskId(TaskEntity task) {
     if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
       ExecutionEntity execution = task.getExecution();
-      if (execution != null) {
+      if (execution != null && isActivityHistoryEnabled(execution)) {
         HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(execution, false, true);
         if (historicActivityInstance != null) {
           historicActivityInstance.setTaskId(task.getId());
@@ -632,7 +649,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   @Override
   public void recordVariableCreate(VariableInstanceEntity variable) {
     // Historic variables
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getProcessDefinitionId(variable))) {
      getHistoricVariableInstanceEntityManager().copyAndInsert(variable);
     }
   }
@@ -645,11 +662,11 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordHistoricDetailVariableCreate(VariableInstanceEntity variable, ExecutionEntity sourceActivityExecution, boolean useActivityId) {
-    if (isHistoryLevelAtLeast(HistoryLevel.FULL)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.FULL, getProcessDefinitionId(variable))) {
 
       HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = getHistoricDetailEntityManager().copyAndInsertHistoricDetailVariableInstanceUpdateEntity(variable);
 
-      if (useActivityId && sourceActivityExecution != null) {
+      if (useActivityId && sourceActivityExecution != null && isActivityHistoryEnabled(sourceActivityExecution)) {
         HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(sourceActivityExecution, false, false);
         if (historicActivityInstance != null) {
           historicVariableUpdate.setActivityInstanceId(historicActivityInstance.getId());
@@ -665,7 +682,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordVariableUpdate(VariableInstanceEntity variable) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getProcessDefinitionId(variable))) {
       HistoricVariableInstanceEntity historicProcessVariable = getEntityCache().findInCache(HistoricVariableInstanceEntity.class, variable.getId());
       if (historicProcessVariable == null) {
         historicProcessVariable = getHistoricVariableInstanceEntityManager().findHistoricVariableInstanceByVariableInstanceId(variable.getId());
@@ -811,7 +828,8 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
     // It makes no sense storing historic counterpart for an identity-link
     // that is related
     // to a process-definition only as this is never kept in history
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT) && (identityLink.getProcessInstanceId() != null || identityLink.getTaskId() != null)) {
+    if ((identityLink.getProcessInstanceId() != null || identityLink.getTaskId() != null)
+        && isHistoryLevelAtLeast(HistoryLevel.AUDIT, getProcessDefinitionId(identityLink))) {
       HistoricIdentityLinkEntity historicIdentityLinkEntity = getHistoricIdentityLinkEntityManager().create();
       historicIdentityLinkEntity.setId(identityLink.getId());
       historicIdentityLinkEntity.setGroupId(identityLink.getGroupId());
@@ -859,7 +877,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   @Override
   public void recordVariableRemoved(VariableInstanceEntity variable) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getProcessDefinitionId(variable))) {
       HistoricVariableInstanceEntity historicProcessVariable = getEntityCache()
           .findInCache(HistoricVariableInstanceEntity.class, variable.getId());
       if (historicProcessVariable == null) {
@@ -873,6 +891,84 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
     }
   }
 
+  /**
+   * Activity history is recorded when the history level of the process definition of the execution is at least
+   * {@link HistoryLevel#ACTIVITY} and the type of the current activity isn't excluded by the process definition.
+   */
+  protected boolean isActivityHistoryEnabled(ExecutionEntity execution) {
+    if (!isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+      return false;
+    }
+    if (execution.getProcessDefinitionId() == null) {
+      return true;
+    }
+
+    ProcessDefinitionCacheEntry cacheEntry = getProcessDefinitionCacheEntry(execution.getProcessDefinitionId());
+    if (cacheEntry == null) {
+      return true;
+    }
+    if (!getHistoryLevel(cacheEntry).isAtLeast(HistoryLevel.ACTIVITY)) {
+      return false;
+    }
+
+    Set<String> excludedActivityTypes = cacheEntry.getHistoryExcludedActivityTypes();
+    if (excludedActivityTypes.isEmpty()) {
+      return true;
+    }
+    FlowElement flowElement = execution.getCurrentFlowElement();
+    if (flowElement instanceof SequenceFlow) {
+      flowElement = ((SequenceFlow) flowElement).getSourceFlowElement();
+    }
+    return flowElement == null || !excludedActivityTypes.contains(parseActivityType(flowElement));
+  }
+
+  /**
+   * The history level of a process definition is the lower of the configured history level and the history level defined by the
+   * process definition.
+   */
+  protected HistoryLevel getHistoryLevel(ProcessDefinitionCacheEntry cacheEntry) {
+    if (cacheEntry == null || cacheEntry.getHistoryLevel() == null || cacheEntry.getHistoryLevel().isAtLeast(historyLevel)) {
+      return historyLevel;
+    }
+    return cacheEntry.getHistoryLevel();
+  }
+
+  protected ProcessDefinitionCacheEntry getProcessDefinitionCacheEntry(String processDefinitionId) {
+    DeploymentManager deploymentManager = getProcessEngineConfiguration().getDeploymentManager();
+    ProcessDefinitionCacheEntry cacheEntry = deploymentManager.getProcessDefinitionCache().get(processDefinitionId);
+    if (cacheEntry == null) {
+      // The process definition has been evicted from the cache, resolving it adds it again
+      ProcessDefinitionEntity processDefinition = getProcessDefinitionEntityManager().findById(processDefinitionId);
+      if (processDefinition != null) {
+        cacheEntry = deploymentManager.resolveProcessDefinition(processDefinition);
+      }
+    }
+    return cacheEntry;
+  }
+
+  protected String getProcessDefinitionIdOfProcessInstance(String processInstanceId) {
+    if (processInstanceId != null && isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+      ExecutionEntity processInstance = getExecutionEntityManager().findById(processInstanceId);
+      if (processInstance != null) {
+        return processInstance.getProcessDefinitionId();
+      }
+    }
+    return null;
+  }
+
+  protected String getProcessDefinitionId(VariableInstanceEntity variable) {
+    return getProcessDefinitionIdOfProcessInstance(variable.getProcessInstanceId());
+  }
+
+  protected String getProcessDefinitionId(IdentityLinkEntity identityLink) {
+    if (identityLink.getProcessInstanceId() != null) {
+      ExecutionEntity processInstance = identityLink.getProcessInstance();
+      return processInstance != null ? processInstance.getProcessDefinitionId() : null;
+    }
+    TaskEntity task = identityLink.getTask();
+    return task != null ? task.getProcessDefinitionId() : null;
+  }
+
   protected String parseActivityType(FlowElement element) {
     String elementType = element.getClass().getSimpleName();
     elementType = elementType.substring(0, 1).toLowerCase() + elementType.substring(1);
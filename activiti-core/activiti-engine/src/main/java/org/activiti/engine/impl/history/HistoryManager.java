@@ -34,6 +34,12 @@ public interface HistoryManager {
    */
   boolean isHistoryLevelAtLeast(HistoryLevel level);
 
+  /**
+   * @return true, if the history-level of the given process definition is equal to OR set to a higher value than the given level. A process definition can only
+   *         lower the configured history-level; when it doesn't define one, or when the process definition id is null, the configured history-level is used.
+   */
+  boolean isHistoryLevelAtLeast(HistoryLevel level, String processDefinitionId);
+
   /**
    * @return true, if history-level is configured to level other than "none".
    */
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history.archive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.history.ArchivedHistoricProcessInstance;
+import org.activiti.engine.history.HistoricActivityInstance;
+import org.activiti.engine.history.HistoricIdentityLink;
+import org.activiti.engine.history.HistoricTaskInstance;
+import org.activiti.engine.history.HistoricVariableInstance;
+import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+
+/**
+ * An {@link ArchivedHistoricProcessInstance} read from a file of the {@link HistoryArchive}. It is never persisted.
+ */
+public class ArchivedHistoricProcessInstanceImpl extends HistoricProcessInstanceEntityImpl implements ArchivedHistoricProcessInstance {
+
+  private static final long serialVersionUID = 1L;
+
+  protected List<HistoricActivityInstance> activityInstances = new ArrayList<HistoricActivityInstance>();
+  protected List<HistoricTaskInstance> taskInstances = new ArrayList<HistoricTaskInstance>();
+  protected List<HistoricVariableInstance> variableInstances = new ArrayList<HistoricVariableInstance>();
+  protected List<HistoricIdentityLink> identityLinks = new ArrayList<HistoricIdentityLink>();
+
+  public List<HistoricActivityInstance> getActivityInstances() {
+    return activityInstances;
+  }
+
+  public List<HistoricTaskInstance> getTaskInstances() {
+    return taskInstances;
+  }
+
+  public List<HistoricVariableInstance> getVariableInstances() {
+    return variableInstances;
+  }
+
+  public void addVariableInstance(HistoricVariableInstanceEntity variableInstance) {
+    variableInstances.add(variableInstance);
+    if (variableInstance.getTaskId() == null) {
+      // used by getProcessVariables()
+      if (queryVariables == null) {
+        queryVariables = new ArrayList<HistoricVariableInstanceEntity>();
+      }
+      queryVariables.add(variableInstance);
+    }
+  }
+
+  public List<HistoricIdentityLink> getIdentityLinks() {
+    return identityLinks;
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntityImpl;
+
+/**
+ * A historic variable read from a file of the {@link HistoryArchive}. The bytes of the value are kept in memory
+ * instead of in a byte array entity, so the value can be deserialized without the database.
+ */
+public class ArchivedHistoricVariableInstanceImpl extends HistoricVariableInstanceEntityImpl {
+
+  private static final long serialVersionUID = 1L;
+
+  protected byte[] bytes;
+
+  @Override
+  public byte[] getBytes() {
+    return bytes;
+  }
+
+  @Override
+  public InputStream getBytesAsStream() {
+    return bytes != null ? new ByteArrayInputStream(bytes) : null;
+  }
+
+  @Override
+  public void setBytes(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+}
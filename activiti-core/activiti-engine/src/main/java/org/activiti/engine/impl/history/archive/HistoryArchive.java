@@ -0,0 +1,287 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history.archive;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.history.ArchivedHistoricProcessInstance;
+import org.activiti.engine.impl.ArchivedHistoricProcessInstanceQueryImpl;
+import org.activiti.engine.impl.util.json.JSONArray;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.activiti.engine.impl.variable.VariableTypes;
+
+/**
+ * The files of the history archive in one directory, see
+ * {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#setHistoryArchiveDirectory(String)}.
+ *
+ * Every archiving transaction writes one new data file, which is never changed afterwards: a gzip compressed file
+ * with one {@link HistoryArchiveRecords json record} per line, each holding a historic process instance with its
+ * activities, tasks, variables and identity links. Next to it a small uncompressed index file lists the process
+ * instance ids, process definition keys and tenant ids of the data file and the range of its end times, so a query
+ * only decompresses the data files that can contain a match. A data file without index (eg when writing the index
+ * failed) is always scanned.
+ *
+ * Files are written under a temporary name and renamed when they are complete, so readers never see partial files.
+ * A process instance that ends up in more than one file (eg when the engine stopped between writing a file and
+ * committing the delete of the archived rows) is returned once.
+ */
+public class HistoryArchive {
+
+  protected static final String FILE_PREFIX = "history-";
+  protected static final String DATA_FILE_SUFFIX = ".jsonl.gz";
+  protected static final String INDEX_FILE_SUFFIX = ".index.json";
+  protected static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  protected static final String INDEX_PROCESS_INSTANCE_IDS = "processInstanceIds";
+  protected static final String INDEX_PROCESS_DEFINITION_KEYS = "processDefinitionKeys";
+  protected static final String INDEX_TENANT_IDS = "tenantIds";
+  protected static final String INDEX_MIN_END_TIME = "minEndTime";
+  protected static final String INDEX_MAX_END_TIME = "maxEndTime";
+
+  protected Path directory;
+
+  public HistoryArchive(String directory) {
+    this.directory = Paths.get(directory);
+  }
+
+  /**
+   * Writes the records to a new data file and its index.
+   *
+   * @param fileId
+   *          a unique id, which becomes part of the file name.
+   * @return the name of the file, to pass to {@link #delete(String)}.
+   */
+  public String write(Date archiveTime, String fileId, List<JSONObject> records) {
+    String fileName = FILE_PREFIX + archiveTime.getTime() + "-" + fileId;
+    try {
+      Files.createDirectories(directory);
+
+      Path dataFile = directory.resolve(fileName + DATA_FILE_SUFFIX + TEMP_FILE_SUFFIX);
+      try (Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(dataFile)), StandardCharsets.UTF_8))) {
+        for (JSONObject record : records) {
+          writer.write(record.toString());
+          writer.write('\n');
+        }
+      }
+      moveToFinalName(dataFile, fileName + DATA_FILE_SUFFIX);
+
+      Path indexFile = directory.resolve(fileName + INDEX_FILE_SUFFIX + TEMP_FILE_SUFFIX);
+      Files.write(indexFile, createIndex(records).toString().getBytes(StandardCharsets.UTF_8));
+      moveToFinalName(indexFile, fileName + INDEX_FILE_SUFFIX);
+
+    } catch (IOException e) {
+      delete(fileName);
+      throw new ActivitiException("Could not write history archive file " + fileName + " in " + directory, e);
+    }
+    return fileName;
+  }
+
+  protected void moveToFinalName(Path tempFile, String finalName) throws IOException {
+    try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+      channel.force(true);
+    }
+    Files.move(tempFile, directory.resolve(finalName), StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  protected JSONObject createIndex(List<JSONObject> records) {
+    Set<String> processDefinitionKeys = new HashSet<String>();
+    Set<String> tenantIds = new HashSet<String>();
+    List<String> processInstanceIds = new ArrayList<String>();
+    long minEndTime = Long.MAX_VALUE;
+    long maxEndTime = Long.MIN_VALUE;
+    for (JSONObject record : records) {
+      processInstanceIds.add(record.getString(HistoryArchiveRecords.ID));
+      processDefinitionKeys.add(record.optString(HistoryArchiveRecords.PROCESS_DEFINITION_KEY, ""));
+      tenantIds.add(record.optString(HistoryArchiveRecords.TENANT_ID, ""));
+      if (record.has(HistoryArchiveRecords.END_TIME)) {
+        long endTime = record.getLong(HistoryArchiveRecords.END_TIME);
+        minEndTime = Math.min(minEndTime, endTime);
+        maxEndTime = Math.max(maxEndTime, endTime);
+      }
+    }
+
+    JSONObject index = new JSONObject();
+    index.put(INDEX_PROCESS_INSTANCE_IDS, processInstanceIds);
+    index.put(INDEX_PROCESS_DEFINITION_KEYS, processDefinitionKeys);
+    index.put(INDEX_TENANT_IDS, tenantIds);
+    index.put(INDEX_MIN_END_TIME, minEndTime);
+    index.put(INDEX_MAX_END_TIME, maxEndTime);
+    return index;
+  }
+
+  /**
+   * Deletes a file written by {@link #write(Date, String, List)}, eg because the transaction that archived its process
+   * instances was rolled back. Failures are ignored.
+   */
+  public void delete(String fileName) {
+    for (String suffix : new String[] { DATA_FILE_SUFFIX, INDEX_FILE_SUFFIX }) {
+      try {
+        Files.deleteIfExists(directory.resolve(fileName + suffix + TEMP_FILE_SUFFIX));
+        Files.deleteIfExists(directory.resolve(fileName + suffix));
+      } catch (IOException e) {
+        // the process instances stay in the database, so the file only holds duplicates
+      }
+    }
+  }
+
+  public List<ArchivedHistoricProcessInstance> find(ArchivedHistoricProcessInstanceQueryImpl query, VariableTypes variableTypes) {
+    Map<String, ArchivedHistoricProcessInstance> processInstances = new LinkedHashMap<String, ArchivedHistoricProcessInstance>();
+    for (String fileName : getFileNames()) {
+      JSONObject index = readIndex(fileName);
+      if (index != null && !matchesIndex(index, query)) {
+        continue;
+      }
+
+      for (JSONObject record : readRecords(fileName)) {
+        String id = record.getString(HistoryArchiveRecords.ID);
+        if (!processInstances.containsKey(id) && matches(record, query)) {
+          processInstances.put(id, HistoryArchiveRecords.fromRecord(record, variableTypes));
+        }
+      }
+    }
+
+    List<ArchivedHistoricProcessInstance> result = new ArrayList<ArchivedHistoricProcessInstance>(processInstances.values());
+    Collections.sort(result, Comparator.comparing(ArchivedHistoricProcessInstance::getEndTime, Comparator.nullsLast(Comparator.<Date>naturalOrder()))
+        .thenComparing(ArchivedHistoricProcessInstance::getId));
+    return result;
+  }
+
+  protected List<String> getFileNames() {
+    if (!Files.isDirectory(directory)) {
+      return Collections.emptyList();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.map(file -> file.getFileName().toString())
+          .filter(name -> name.startsWith(FILE_PREFIX) && name.endsWith(DATA_FILE_SUFFIX))
+          .map(name -> name.substring(0, name.length() - DATA_FILE_SUFFIX.length()))
+          .sorted()
+          .collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new ActivitiException("Could not list the history archive files in " + directory, e);
+    }
+  }
+
+  protected JSONObject readIndex(String fileName) {
+    Path indexFile = directory.resolve(fileName + INDEX_FILE_SUFFIX);
+    if (!Files.exists(indexFile)) {
+      return null;
+    }
+    try {
+      return new JSONObject(new String(Files.readAllBytes(indexFile), StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new ActivitiException("Could not read history archive index " + indexFile, e);
+    }
+  }
+
+  protected List<JSONObject> readRecords(String fileName) {
+    Path dataFile = directory.resolve(fileName + DATA_FILE_SUFFIX);
+    List<JSONObject> records = new ArrayList<JSONObject>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(dataFile)), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isEmpty()) {
+          records.add(new JSONObject(line));
+        }
+      }
+    } catch (IOException e) {
+      throw new ActivitiException("Could not read history archive file " + dataFile, e);
+    }
+    return records;
+  }
+
+  protected boolean matchesIndex(JSONObject index, ArchivedHistoricProcessInstanceQueryImpl query) {
+    Set<String> processInstanceIds = toSet(index.getJSONArray(INDEX_PROCESS_INSTANCE_IDS));
+    if (query.getProcessInstanceId() != null && !processInstanceIds.contains(query.getProcessInstanceId())) {
+      return false;
+    }
+    if (query.getProcessInstanceIds() != null && Collections.disjoint(processInstanceIds, query.getProcessInstanceIds())) {
+      return false;
+    }
+    if (query.getProcessDefinitionKey() != null && !toSet(index.getJSONArray(INDEX_PROCESS_DEFINITION_KEYS)).contains(query.getProcessDefinitionKey())) {
+      return false;
+    }
+    if (query.getTenantId() != null && !toSet(index.getJSONArray(INDEX_TENANT_IDS)).contains(query.getTenantId())) {
+      return false;
+    }
+    if (query.getFinishedAfter() != null && index.getLong(INDEX_MAX_END_TIME) < query.getFinishedAfter().getTime()) {
+      return false;
+    }
+    if (query.getFinishedBefore() != null && index.getLong(INDEX_MIN_END_TIME) > query.getFinishedBefore().getTime()) {
+      return false;
+    }
+    return true;
+  }
+
+  protected boolean matches(JSONObject record, ArchivedHistoricProcessInstanceQueryImpl query) {
+    if (query.getProcessInstanceIds() != null && !query.getProcessInstanceIds().contains(record.getString(HistoryArchiveRecords.ID))) {
+      return false;
+    }
+    Date endTime = HistoryArchiveRecords.getDate(record, HistoryArchiveRecords.END_TIME);
+    if (query.getFinishedAfter() != null && (endTime == null || endTime.before(query.getFinishedAfter()))) {
+      return false;
+    }
+    if (query.getFinishedBefore() != null && (endTime == null || endTime.after(query.getFinishedBefore()))) {
+      return false;
+    }
+    return matches(record, HistoryArchiveRecords.ID, query.getProcessInstanceId())
+        && matches(record, HistoryArchiveRecords.BUSINESS_KEY, query.getBusinessKey())
+        && matches(record, HistoryArchiveRecords.PROCESS_DEFINITION_ID, query.getProcessDefinitionId())
+        && matches(record, HistoryArchiveRecords.PROCESS_DEFINITION_KEY, query.getProcessDefinitionKey())
+        && matches(record, HistoryArchiveRecords.TENANT_ID, query.getTenantId())
+        && matches(record, HistoryArchiveRecords.SUPER_PROCESS_INSTANCE_ID, query.getSuperProcessInstanceId())
+        && matches(record, HistoryArchiveRecords.START_USER_ID, query.getStartedBy());
+  }
+
+  protected boolean matches(JSONObject record, String key, String value) {
+    return value == null || value.equals(record.optString(key, null));
+  }
+
+  protected Set<String> toSet(JSONArray array) {
+    Set<String> values = new HashSet<String>();
+    for (int i = 0; i < array.length(); i++) {
+      values.add(array.getString(i));
+    }
+    return values;
+  }
+
+}
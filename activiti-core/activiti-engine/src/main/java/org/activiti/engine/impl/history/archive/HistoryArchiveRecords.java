@@ -0,0 +1,329 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history.archive;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.history.HistoricActivityInstance;
+import org.activiti.engine.history.HistoricIdentityLink;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.history.HistoricTaskInstance;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricIdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricIdentityLinkEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.activiti.engine.impl.util.json.JSONArray;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.activiti.engine.impl.variable.VariableType;
+import org.activiti.engine.impl.variable.VariableTypes;
+
+/**
+ * Converts a historic process instance and the history that belongs to it to the json record that is stored in the
+ * {@link HistoryArchive}, and back. Dates are stored as milliseconds, byte values as base64 and null values are left
+ * out. Variables are stored with the raw fields of their {@link VariableType}, so they are deserialized the same way
+ * as from the database.
+ */
+public class HistoryArchiveRecords {
+
+  public static final String ID = "id";
+  public static final String BUSINESS_KEY = "businessKey";
+  public static final String PROCESS_DEFINITION_ID = "processDefinitionId";
+  public static final String PROCESS_DEFINITION_KEY = "processDefinitionKey";
+  public static final String PROCESS_INSTANCE_ID = "processInstanceId";
+  public static final String SUPER_PROCESS_INSTANCE_ID = "superProcessInstanceId";
+  public static final String START_USER_ID = "startUserId";
+  public static final String END_TIME = "endTime";
+  public static final String TENANT_ID = "tenantId";
+
+  protected static final String ACTIVITY_INSTANCES = "activityInstances";
+  protected static final String TASK_INSTANCES = "taskInstances";
+  protected static final String VARIABLE_INSTANCES = "variableInstances";
+  protected static final String IDENTITY_LINKS = "identityLinks";
+
+  public static JSONObject toRecord(HistoricProcessInstance processInstance, List<HistoricActivityInstance> activityInstances, List<HistoricTaskInstance> taskInstances,
+      List<HistoricVariableInstanceEntity> variableInstances, List<HistoricIdentityLinkEntity> identityLinks) {
+
+    JSONObject record = new JSONObject();
+    record.putOpt(ID, processInstance.getId());
+    record.putOpt(BUSINESS_KEY, processInstance.getBusinessKey());
+    record.putOpt(PROCESS_DEFINITION_ID, processInstance.getProcessDefinitionId());
+    record.putOpt(PROCESS_DEFINITION_KEY, processInstance.getProcessDefinitionKey());
+    record.putOpt("processDefinitionName", processInstance.getProcessDefinitionName());
+    record.putOpt("processDefinitionVersion", processInstance.getProcessDefinitionVersion());
+    record.putOpt("deploymentId", processInstance.getDeploymentId());
+    putDate(record, "startTime", processInstance.getStartTime());
+    putDate(record, END_TIME, processInstance.getEndTime());
+    record.putOpt("durationInMillis", processInstance.getDurationInMillis());
+    record.putOpt("startActivityId", processInstance.getStartActivityId());
+    record.putOpt("endActivityId", processInstance.getEndActivityId());
+    record.putOpt(START_USER_ID, processInstance.getStartUserId());
+    record.putOpt("deleteReason", processInstance.getDeleteReason());
+    record.putOpt(SUPER_PROCESS_INSTANCE_ID, processInstance.getSuperProcessInstanceId());
+    record.putOpt(TENANT_ID, processInstance.getTenantId());
+    record.putOpt("name", processInstance.getName());
+    record.putOpt("description", processInstance.getDescription());
+
+    JSONArray activityRecords = new JSONArray();
+    for (HistoricActivityInstance activityInstance : activityInstances) {
+      activityRecords.put(toRecord(activityInstance));
+    }
+    record.put(ACTIVITY_INSTANCES, activityRecords);
+
+    JSONArray taskRecords = new JSONArray();
+    for (HistoricTaskInstance taskInstance : taskInstances) {
+      taskRecords.put(toRecord(taskInstance));
+    }
+    record.put(TASK_INSTANCES, taskRecords);
+
+    JSONArray variableRecords = new JSONArray();
+    for (HistoricVariableInstanceEntity variableInstance : variableInstances) {
+      variableRecords.put(toRecord(variableInstance));
+    }
+    record.put(VARIABLE_INSTANCES, variableRecords);
+
+    JSONArray identityLinkRecords = new JSONArray();
+    for (HistoricIdentityLinkEntity identityLink : identityLinks) {
+      identityLinkRecords.put(toRecord(identityLink));
+    }
+    record.put(IDENTITY_LINKS, identityLinkRecords);
+
+    return record;
+  }
+
+  protected static JSONObject toRecord(HistoricActivityInstance activityInstance) {
+    JSONObject record = new JSONObject();
+    record.putOpt(ID, activityInstance.getId());
+    record.putOpt("activityId", activityInstance.getActivityId());
+    record.putOpt("activityName", activityInstance.getActivityName());
+    record.putOpt("activityType", activityInstance.getActivityType());
+    record.putOpt(PROCESS_DEFINITION_ID, activityInstance.getProcessDefinitionId());
+    record.putOpt(PROCESS_INSTANCE_ID, activityInstance.getProcessInstanceId());
+    record.putOpt("executionId", activityInstance.getExecutionId());
+    record.putOpt("taskId", activityInstance.getTaskId());
+    record.putOpt("calledProcessInstanceId", activityInstance.getCalledProcessInstanceId());
+    record.putOpt("assignee", activityInstance.getAssignee());
+    putDate(record, "startTime", activityInstance.getStartTime());
+    putDate(record, END_TIME, activityInstance.getEndTime());
+    record.putOpt("durationInMillis", activityInstance.getDurationInMillis());
+    record.putOpt("deleteReason", activityInstance.getDeleteReason());
+    record.putOpt(TENANT_ID, activityInstance.getTenantId());
+    return record;
+  }
+
+  protected static JSONObject toRecord(HistoricTaskInstance taskInstance) {
+    JSONObject record = new JSONObject();
+    record.putOpt(ID, taskInstance.getId());
+    record.putOpt("name", taskInstance.getName());
+    record.putOpt("description", taskInstance.getDescription());
+    record.put("priority", taskInstance.getPriority());
+    record.putOpt("owner", taskInstance.getOwner());
+    record.putOpt("assignee", taskInstance.getAssignee());
+    record.putOpt(PROCESS_DEFINITION_ID, taskInstance.getProcessDefinitionId());
+    record.putOpt(PROCESS_INSTANCE_ID, taskInstance.getProcessInstanceId());
+    record.putOpt("executionId", taskInstance.getExecutionId());
+    record.putOpt("taskDefinitionKey", taskInstance.getTaskDefinitionKey());
+    record.putOpt("formKey", taskInstance.getFormKey());
+    record.putOpt("category", taskInstance.getCategory());
+    record.putOpt("parentTaskId", taskInstance.getParentTaskId());
+    record.putOpt(BUSINESS_KEY, taskInstance.getBusinessKey());
+    putDate(record, "startTime", taskInstance.getStartTime());
+    putDate(record, END_TIME, taskInstance.getEndTime());
+    putDate(record, "claimTime", taskInstance.getClaimTime());
+    putDate(record, "dueDate", taskInstance.getDueDate());
+    record.putOpt("durationInMillis", taskInstance.getDurationInMillis());
+    record.putOpt("deleteReason", taskInstance.getDeleteReason());
+    record.putOpt(TENANT_ID, taskInstance.getTenantId());
+    return record;
+  }
+
+  protected static JSONObject toRecord(HistoricVariableInstanceEntity variableInstance) {
+    JSONObject record = new JSONObject();
+    record.putOpt(ID, variableInstance.getId());
+    record.putOpt("name", variableInstance.getName());
+    record.putOpt("type", variableInstance.getVariableTypeName());
+    record.putOpt(PROCESS_INSTANCE_ID, variableInstance.getProcessInstanceId());
+    record.putOpt("executionId", variableInstance.getExecutionId());
+    record.putOpt("taskId", variableInstance.getTaskId());
+    putDate(record, "createTime", variableInstance.getCreateTime());
+    putDate(record, "lastUpdatedTime", variableInstance.getLastUpdatedTime());
+    record.putOpt("longValue", variableInstance.getLongValue());
+    record.putOpt("doubleValue", variableInstance.getDoubleValue());
+    record.putOpt("textValue", variableInstance.getTextValue());
+    record.putOpt("textValue2", variableInstance.getTextValue2());
+    putBytes(record, "bytes", variableInstance.getBytes());
+    return record;
+  }
+
+  protected static JSONObject toRecord(HistoricIdentityLinkEntity identityLink) {
+    JSONObject record = new JSONObject();
+    record.putOpt(ID, identityLink.getId());
+    record.putOpt("type", identityLink.getType());
+    record.putOpt("userId", identityLink.getUserId());
+    record.putOpt("groupId", identityLink.getGroupId());
+    record.putOpt("taskId", identityLink.getTaskId());
+    record.putOpt(PROCESS_INSTANCE_ID, identityLink.getProcessInstanceId());
+    putBytes(record, "details", identityLink.getDetails());
+    return record;
+  }
+
+  public static ArchivedHistoricProcessInstanceImpl fromRecord(JSONObject record, VariableTypes variableTypes) {
+    ArchivedHistoricProcessInstanceImpl processInstance = new ArchivedHistoricProcessInstanceImpl();
+    processInstance.setId(record.getString(ID));
+    processInstance.setProcessInstanceId(record.getString(ID));
+    processInstance.setBusinessKey(record.optString(BUSINESS_KEY, null));
+    processInstance.setProcessDefinitionId(record.optString(PROCESS_DEFINITION_ID, null));
+    processInstance.setProcessDefinitionKey(record.optString(PROCESS_DEFINITION_KEY, null));
+    processInstance.setProcessDefinitionName(record.optString("processDefinitionName", null));
+    processInstance.setProcessDefinitionVersion(record.has("processDefinitionVersion") ? record.getInt("processDefinitionVersion") : null);
+    processInstance.setDeploymentId(record.optString("deploymentId", null));
+    processInstance.setStartTime(getDate(record, "startTime"));
+    processInstance.setEndTime(getDate(record, END_TIME));
+    processInstance.setDurationInMillis(getLong(record, "durationInMillis"));
+    processInstance.setStartActivityId(record.optString("startActivityId", null));
+    processInstance.setEndActivityId(record.optString("endActivityId", null));
+    processInstance.setStartUserId(record.optString(START_USER_ID, null));
+    processInstance.setDeleteReason(record.optString("deleteReason", null));
+    processInstance.setSuperProcessInstanceId(record.optString(SUPER_PROCESS_INSTANCE_ID, null));
+    processInstance.setTenantId(record.optString(TENANT_ID, null));
+    processInstance.setName(record.optString("name", null));
+    processInstance.setDescription(record.optString("description", null));
+
+    JSONArray activityRecords = record.getJSONArray(ACTIVITY_INSTANCES);
+    for (int i = 0; i < activityRecords.length(); i++) {
+      processInstance.getActivityInstances().add(activityInstanceFromRecord(activityRecords.getJSONObject(i)));
+    }
+    JSONArray taskRecords = record.getJSONArray(TASK_INSTANCES);
+    for (int i = 0; i < taskRecords.length(); i++) {
+      processInstance.getTaskInstances().add(taskInstanceFromRecord(taskRecords.getJSONObject(i)));
+    }
+    JSONArray variableRecords = record.getJSONArray(VARIABLE_INSTANCES);
+    for (int i = 0; i < variableRecords.length(); i++) {
+      processInstance.addVariableInstance(variableInstanceFromRecord(variableRecords.getJSONObject(i), variableTypes));
+    }
+    JSONArray identityLinkRecords = record.getJSONArray(IDENTITY_LINKS);
+    for (int i = 0; i < identityLinkRecords.length(); i++) {
+      processInstance.getIdentityLinks().add(identityLinkFromRecord(identityLinkRecords.getJSONObject(i)));
+    }
+    return processInstance;
+  }
+
+  protected static HistoricActivityInstanceEntityImpl activityInstanceFromRecord(JSONObject record) {
+    HistoricActivityInstanceEntityImpl activityInstance = new HistoricActivityInstanceEntityImpl();
+    activityInstance.setId(record.getString(ID));
+    activityInstance.setActivityId(record.optString("activityId", null));
+    activityInstance.setActivityName(record.optString("activityName", null));
+    activityInstance.setActivityType(record.optString("activityType", null));
+    activityInstance.setProcessDefinitionId(record.optString(PROCESS_DEFINITION_ID, null));
+    activityInstance.setProcessInstanceId(record.optString(PROCESS_INSTANCE_ID, null));
+    activityInstance.setExecutionId(record.optString("executionId", null));
+    activityInstance.setTaskId(record.optString("taskId", null));
+    activityInstance.setCalledProcessInstanceId(record.optString("calledProcessInstanceId", null));
+    activityInstance.setAssignee(record.optString("assignee", null));
+    activityInstance.setStartTime(getDate(record, "startTime"));
+    activityInstance.setEndTime(getDate(record, END_TIME));
+    activityInstance.setDurationInMillis(getLong(record, "durationInMillis"));
+    activityInstance.setDeleteReason(record.optString("deleteReason", null));
+    activityInstance.setTenantId(record.optString(TENANT_ID, null));
+    return activityInstance;
+  }
+
+  protected static HistoricTaskInstanceEntityImpl taskInstanceFromRecord(JSONObject record) {
+    HistoricTaskInstanceEntityImpl taskInstance = new HistoricTaskInstanceEntityImpl();
+    taskInstance.setId(record.getString(ID));
+    taskInstance.setName(record.optString("name", null));
+    taskInstance.setDescription(record.optString("description", null));
+    taskInstance.setPriority(record.optInt("priority"));
+    taskInstance.setOwner(record.optString("owner", null));
+    taskInstance.setAssignee(record.optString("assignee", null));
+    taskInstance.setProcessDefinitionId(record.optString(PROCESS_DEFINITION_ID, null));
+    taskInstance.setProcessInstanceId(record.optString(PROCESS_INSTANCE_ID, null));
+    taskInstance.setExecutionId(record.optString("executionId", null));
+    taskInstance.setTaskDefinitionKey(record.optString("taskDefinitionKey", null));
+    taskInstance.setFormKey(record.optString("formKey", null));
+    taskInstance.setCategory(record.optString("category", null));
+    taskInstance.setParentTaskId(record.optString("parentTaskId", null));
+    taskInstance.setBusinessKey(record.optString(BUSINESS_KEY, null));
+    taskInstance.setStartTime(getDate(record, "startTime"));
+    taskInstance.setEndTime(getDate(record, END_TIME));
+    taskInstance.setClaimTime(getDate(record, "claimTime"));
+    taskInstance.setDueDate(getDate(record, "dueDate"));
+    taskInstance.setDurationInMillis(getLong(record, "durationInMillis"));
+    taskInstance.setDeleteReason(record.optString("deleteReason", null));
+    taskInstance.setTenantId(record.optString(TENANT_ID, null));
+    return taskInstance;
+  }
+
+  protected static ArchivedHistoricVariableInstanceImpl variableInstanceFromRecord(JSONObject record, VariableTypes variableTypes) {
+    ArchivedHistoricVariableInstanceImpl variableInstance = new ArchivedHistoricVariableInstanceImpl();
+    variableInstance.setId(record.getString(ID));
+    variableInstance.setName(record.optString("name", null));
+    if (record.has("type")) {
+      variableInstance.setVariableType(variableTypes.getVariableType(record.getString("type")));
+    }
+    variableInstance.setProcessInstanceId(record.optString(PROCESS_INSTANCE_ID, null));
+    variableInstance.setExecutionId(record.optString("executionId", null));
+    variableInstance.setTaskId(record.optString("taskId", null));
+    variableInstance.setCreateTime(getDate(record, "createTime"));
+    variableInstance.setLastUpdatedTime(getDate(record, "lastUpdatedTime"));
+    variableInstance.setLongValue(getLong(record, "longValue"));
+    variableInstance.setDoubleValue(record.has("doubleValue") ? record.getDouble("doubleValue") : null);
+    variableInstance.setTextValue(record.optString("textValue", null));
+    variableInstance.setTextValue2(record.optString("textValue2", null));
+    variableInstance.setBytes(getBytes(record, "bytes"));
+    return variableInstance;
+  }
+
+  protected static HistoricIdentityLinkEntityImpl identityLinkFromRecord(JSONObject record) {
+    HistoricIdentityLinkEntityImpl identityLink = new HistoricIdentityLinkEntityImpl();
+    identityLink.setId(record.getString(ID));
+    identityLink.setType(record.optString("type", null));
+    identityLink.setUserId(record.optString("userId", null));
+    identityLink.setGroupId(record.optString("groupId", null));
+    identityLink.setTaskId(record.optString("taskId", null));
+    identityLink.setProcessInstanceId(record.optString(PROCESS_INSTANCE_ID, null));
+    identityLink.setDetails(getBytes(record, "details"));
+    return identityLink;
+  }
+
+  public static Date getDate(JSONObject record, String key) {
+    return record.has(key) ? new Date(record.getLong(key)) : null;
+  }
+
+  protected static void putDate(JSONObject record, String key, Date date) {
+    if (date != null) {
+      record.put(key, date.getTime());
+    }
+  }
+
+  protected static Long getLong(JSONObject record, String key) {
+    return record.has(key) ? record.getLong(key) : null;
+  }
+
+  protected static byte[] getBytes(JSONObject record, String key) {
+    return record.has(key) ? Base64.getDecoder().decode(record.getString(key)) : null;
+  }
+
+  protected static void putBytes(JSONObject record, String key, byte[] bytes) {
+    if (bytes != null) {
+      record.put(key, Base64.getEncoder().encodeToString(bytes));
+    }
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history.async;
+
+import java.util.List;
+
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * The historic entities deferred by the flush of one command, and the id of the byte array they are buffered in
+ * when the {@link AsyncHistoryWriter} is durable.
+ */
+public class AsyncHistoryBatch {
+
+  protected List<Entity> entities;
+  protected String bufferId;
+
+  public AsyncHistoryBatch(List<Entity> entities, String bufferId) {
+    this.entities = entities;
+    this.bufferId = bufferId;
+  }
+
+  /**
+   * A batch only known by its buffer, of which the entities still need to be read.
+   */
+  public static AsyncHistoryBatch forBuffer(String bufferId) {
+    return new AsyncHistoryBatch(null, bufferId);
+  }
+
+  public List<Entity> getEntities() {
+    return entities;
+  }
+
+  public String getBufferId() {
+    return bufferId;
+  }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history.async;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.persistence.entity.ByteArrayRef;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricFormPropertyEntityImpl;
+import org.activiti.engine.impl.variable.VariableTypes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Converts the historic entities written by the {@link AsyncHistoryWriter} from and to the json stored in its durable
+ * buffer. Only the persistent fields of the entity types accepted by {@link AsyncHistoryWriter#isDeferrable(Entity)}
+ * are supported.
+ */
+public class AsyncHistorySerializer {
+
+  protected static final String TYPE = "type";
+  protected static final String TYPE_ACTIVITY_INSTANCE = "activityInstance";
+  protected static final String TYPE_VARIABLE_UPDATE = "variableUpdate";
+  protected static final String TYPE_FORM_PROPERTY = "formProperty";
+
+  protected ObjectMapper objectMapper;
+  protected VariableTypes variableTypes;
+
+  public AsyncHistorySerializer(ObjectMapper objectMapper, VariableTypes variableTypes) {
+    this.objectMapper = objectMapper;
+    this.variableTypes = variableTypes;
+  }
+
+  public byte[] serialize(List<Entity> entities) {
+    ArrayNode entitiesNode = objectMapper.createArrayNode();
+    for (Entity entity : entities) {
+      entitiesNode.add(serialize(entity));
+    }
+    try {
+      return objectMapper.writeValueAsBytes(entitiesNode);
+    } catch (IOException e) {
+      throw new ActivitiException("Could not serialize async history", e);
+    }
+  }
+
+  public List<Entity> deserialize(byte[] bytes) {
+    List<Entity> entities = new ArrayList<Entity>();
+    try {
+      for (JsonNode entityNode : objectMapper.readTree(bytes)) {
+        entities.add(deserialize(entityNode));
+      }
+    } catch (IOException e) {
+      throw new ActivitiException("Could not deserialize async history", e);
+    }
+    return entities;
+  }
+
+  protected ObjectNode serialize(Entity entity) {
+    ObjectNode entityNode = objectMapper.createObjectNode();
+    entityNode.put("id", entity.getId());
+
+    if (entity instanceof HistoricActivityInstanceEntityImpl) {
+      HistoricActivityInstanceEntityImpl activityInstance = (HistoricActivityInstanceEntityImpl) entity;
+      entityNode.put(TYPE, TYPE_ACTIVITY_INSTANCE);
+      entityNode.put("processDefinitionId", activityInstance.getProcessDefinitionId());
+      entityNode.put("processInstanceId", activityInstance.getProcessInstanceId());
+      entityNode.put("executionId", activityInstance.getExecutionId());
+      entityNode.put("activityId", activityInstance.getActivityId());
+      entityNode.put("taskId", activityInstance.getTaskId());
+      entityNode.put("calledProcessInstanceId", activityInstance.getCalledProcessInstanceId());
+      entityNode.put("activityName", activityInstance.getActivityName());
+      entityNode.put("activityType", activityInstance.getActivityType());
+      entityNode.put("assignee", activityInstance.getAssignee());
+      putDate(entityNode, "startTime", activityInstance.getStartTime());
+      putDate(entityNode, "endTime", activityInstance.getEndTime());
+      entityNode.put("durationInMillis", activityInstance.getDurationInMillis());
+      entityNode.put("deleteReason", activityInstance.getDeleteReason());
+      entityNode.put("tenantId", activityInstance.getTenantId());
+
+    } else if (entity instanceof HistoricDetailVariableInstanceUpdateEntityImpl) {
+      HistoricDetailVariableInstanceUpdateEntityImpl variableUpdate = (HistoricDetailVariableInstanceUpdateEntityImpl) entity;
+      entityNode.put(TYPE, TYPE_VARIABLE_UPDATE);
+      putDetail(entityNode, variableUpdate);
+      entityNode.put("name", variableUpdate.getName());
+      entityNode.put("revision", variableUpdate.getRevision());
+      entityNode.put("variableType", variableUpdate.getVariableTypeName());
+      if (variableUpdate.getByteArrayRef() != null) {
+        entityNode.put("byteArrayId", variableUpdate.getByteArrayRef().getId());
+      }
+      entityNode.put("doubleValue", variableUpdate.getDoubleValue());
+      entityNode.put("longValue", variableUpdate.getLongValue());
+      entityNode.put("textValue", variableUpdate.getTextValue());
+      entityNode.put("textValue2", variableUpdate.getTextValue2());
+
+    } else if (entity instanceof HistoricFormPropertyEntityImpl) {
+      HistoricFormPropertyEntityImpl formProperty = (HistoricFormPropertyEntityImpl) entity;
+      entityNode.put(TYPE, TYPE_FORM_PROPERTY);
+      putDetail(entityNode, formProperty);
+      entityNode.put("propertyId", formProperty.getPropertyId());
+      entityNode.put("propertyValue", formProperty.getPropertyValue());
+
+    } else {
+      throw new ActivitiException("Unsupported async history entity " + entity.getClass());
+    }
+    return entityNode;
+  }
+
+  protected Entity deserialize(JsonNode entityNode) {
+    String type = entityNode.path(TYPE).asText();
+    if (TYPE_ACTIVITY_INSTANCE.equals(type)) {
+      HistoricActivityInstanceEntityImpl activityInstance = new HistoricActivityInstanceEntityImpl();
+      activityInstance.setId(getString(entityNode, "id"));
+      activityInstance.setProcessDefinitionId(getString(entityNode, "processDefinitionId"));
+      activityInstance.setProcessInstanceId(getString(entityNode, "processInstanceId"));
+      activityInstance.setExecutionId(getString(entityNode, "executionId"));
+      activityInstance.setActivityId(getString(entityNode, "activityId"));
+      activityInstance.setTaskId(getString(entityNode, "taskId"));
+      activityInstance.setCalledProcessInstanceId(getString(entityNode, "calledProcessInstanceId"));
+      activityInstance.setActivityName(getString(entityNode, "activityName"));
+      activityInstance.setActivityType(getString(entityNode, "activityType"));
+      activityInstance.setAssignee(getString(entityNode, "assignee"));
+      activityInstance.setStartTime(getDate(entityNode, "startTime"));
+      activityInstance.setEndTime(getDate(entityNode, "endTime"));
+      activityInstance.setDurationInMillis(getLong(entityNode, "durationInMillis"));
+      activityInstance.setDeleteReason(getString(entityNode, "deleteReason"));
+      activityInstance.setTenantId(getString(entityNode, "tenantId"));
+      return activityInstance;
+
+    } else if (TYPE_VARIABLE_UPDATE.equals(type)) {
+      HistoricDetailVariableInstanceUpdateEntityImpl variableUpdate = new HistoricDetailVariableInstanceUpdateEntityImpl();
+      getDetail(entityNode, variableUpdate);
+      variableUpdate.setName(getString(entityNode, "name"));
+      variableUpdate.setRevision(entityNode.path("revision").asInt());
+      if (getString(entityNode, "variableType") != null) {
+        variableUpdate.setVariableType(variableTypes.getVariableType(getString(entityNode, "variableType")));
+      }
+      if (getString(entityNode, "byteArrayId") != null) {
+        variableUpdate.setByteArrayRef(new ByteArrayRef(getString(entityNode, "byteArrayId")));
+      }
+      if (!entityNode.path("doubleValue").isNull()) {
+        variableUpdate.setDoubleValue(entityNode.path("doubleValue").asDouble());
+      }
+      variableUpdate.setLongValue(getLong(entityNode, "longValue"));
+      variableUpdate.setTextValue(getString(entityNode, "textValue"));
+      variableUpdate.setTextValue2(getString(entityNode, "textValue2"));
+      return variableUpdate;
+
+    } else if (TYPE_FORM_PROPERTY.equals(type)) {
+      HistoricFormPropertyEntityImpl formProperty = new HistoricFormPropertyEntityImpl();
+      getDetail(entityNode, formProperty);
+      formProperty.setPropertyId(getString(entityNode, "propertyId"));
+      formProperty.setPropertyValue(getString(entityNode, "propertyValue"));
+      return formProperty;
+    }
+    throw new ActivitiException("Unsupported async history entity type " + type);
+  }
+
+  protected void putDetail(ObjectNode entityNode, HistoricDetailEntityImpl detail) {
+    entityNode.put("processInstanceId", detail.getProcessInstanceId());
+    entityNode.put("activityInstanceId", detail.getActivityInstanceId());
+    entityNode.put("taskId", detail.getTaskId());
+    entityNode.put("executionId", detail.getExecutionId());
+    putDate(entityNode, "time", detail.getTime());
+  }
+
+  protected void getDetail(JsonNode entityNode, HistoricDetailEntityImpl detail) {
+    detail.setId(getString(entityNode, "id"));
+    detail.setProcessInstanceId(getString(entityNode, "processInstanceId"));
+    detail.setActivityInstanceId(getString(entityNode, "activityInstanceId"));
+    detail.setTaskId(getString(entityNode, "taskId"));
+    detail.setExecutionId(getString(entityNode, "executionId"));
+    detail.setTime(getDate(entityNode, "time"));
+  }
+
+  protected void putDate(ObjectNode entityNode, String name, Date date) {
+    entityNode.put(name, date != null ? date.getTime() : null);
+  }
+
+  protected String getString(JsonNode entityNode, String name) {
+    JsonNode node = entityNode.get(name);
+    return node == null || node.isNull() ? null : node.asText();
+  }
+
+  protected Long getLong(JsonNode entityNode, String name) {
+    JsonNode node = entityNode.get(name);
+    return node == null || node.isNull() ? null : node.asLong();
+  }
+
+  protected Date getDate(JsonNode entityNode, String name) {
+    Long time = getLong(entityNode, name);
+    return time != null ? new Date(time) : null;
+  }
+
+}
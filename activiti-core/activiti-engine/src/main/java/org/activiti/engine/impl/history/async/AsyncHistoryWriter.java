@@ -0,0 +1,324 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.cmd.FindByteArrayIdsByNameCmd;
+import org.activiti.engine.impl.cmd.WriteAsyncHistoryCmd;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.db.DbSqlSession;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.interceptor.TransactionCommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricFormPropertyEntityImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes historic entities after the command that created them has committed, on a background thread, so that the
+ * flush of the command doesn't pay for them.
+ * <p>
+ * Only historic entities that the engine never reads back while executing processes are deferred: ended activity
+ * instances and historic details (variable updates and form properties). Running activity instances, task, process
+ * instance and variable instance history are looked up and updated by later commands and are still written by the
+ * command itself.
+ * <p>
+ * When durable, the deferred entities of a command are buffered as json in one byte array, inserted in the
+ * transaction of the command. The background thread inserts the entities and deletes the buffer in one transaction.
+ * Buffers left behind by a crash, or written by a transaction that committed after the background thread looked for
+ * it, are written by a recovery that runs at start and every recoveryIntervalInMillis. Without durability, deferred
+ * history is lost when the engine stops abruptly.
+ * <p>
+ * At most maxPendingBatches batches wait for the background thread. When it can't keep up, further batches are
+ * written by the thread that committed them, which slows the commands down instead of growing the queue.
+ */
+public class AsyncHistoryWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncHistoryWriter.class);
+
+  public static final String BUFFER_BYTE_ARRAY_NAME = "async-history-buffer";
+
+  protected CommandExecutor commandExecutor;
+  protected CommandConfig commandConfig;
+  protected AsyncHistorySerializer serializer;
+  protected boolean durable = true;
+  protected long recoveryIntervalInMillis = 60000L;
+  protected int maxBatchesPerTransaction = 50;
+  protected int maxPendingBatches = 10000;
+
+  protected BlockingQueue<AsyncHistoryBatch> pendingBatches = new LinkedBlockingQueue<AsyncHistoryBatch>(maxPendingBatches);
+  protected ScheduledExecutorService writerExecutor;
+
+  public AsyncHistoryWriter(CommandExecutor commandExecutor, AsyncHistorySerializer serializer) {
+    this.commandExecutor = commandExecutor;
+    this.commandConfig = commandExecutor.getDefaultConfig().transactionRequiresNew();
+    this.serializer = serializer;
+  }
+
+  public void start() {
+    writerExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "activiti-async-history-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    if (durable) {
+      writerExecutor.scheduleWithFixedDelay(this::recover, 0L, recoveryIntervalInMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Writes the batches that are still pending and stops the background thread.
+   */
+  public void stop() {
+    if (writerExecutor != null) {
+      writerExecutor.shutdown();
+      try {
+        if (!writerExecutor.awaitTermination(30L, TimeUnit.SECONDS)) {
+          logger.warn("Async history writer did not finish the pending history in time, {} batches left", pendingBatches.size());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      writerExecutor = null;
+    }
+  }
+
+  public boolean isDeferrable(Entity entity) {
+    if (entity instanceof HistoricDetailVariableInstanceUpdateEntityImpl || entity instanceof HistoricFormPropertyEntityImpl) {
+      return true;
+    }
+    return entity instanceof HistoricActivityInstanceEntityImpl && ((HistoricActivityInstanceEntity) entity).getEndTime() != null;
+  }
+
+  /**
+   * Called during the flush of a command with the entities taken out of its inserts. When durable, the buffer of the
+   * entities is added to the inserts of the given session. The entities are handed to the background thread once the
+   * transaction of the command has been committed, or once the command has been closed successfully when it doesn't
+   * run in a {@link TransactionContext}.
+   */
+  public void defer(DbSqlSession dbSqlSession, List<Entity> entities) {
+    CommandContext commandContext = Context.getCommandContext();
+    String bufferId = null;
+    if (durable) {
+      ByteArrayEntity buffer = commandContext.getByteArrayEntityManager().create();
+      buffer.setName(BUFFER_BYTE_ARRAY_NAME);
+      buffer.setBytes(serializer.serialize(entities));
+      dbSqlSession.insert(buffer);
+      bufferId = buffer.getId();
+    }
+
+    AsyncHistoryBatch batch = new AsyncHistoryBatch(entities, bufferId);
+    TransactionContext transactionContext = getTransactionContext(commandContext);
+    if (transactionContext != null) {
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+
+        @Override
+        public void execute(CommandContext commandContext) {
+          submit(batch);
+        }
+      });
+      return;
+    }
+
+    commandContext.addCloseListener(new CommandContextCloseListener() {
+
+      @Override
+      public void closing(CommandContext commandContext) {
+      }
+
+      @Override
+      public void afterSessionsFlush(CommandContext commandContext) {
+      }
+
+      @Override
+      public void closed(CommandContext commandContext) {
+        submit(batch);
+      }
+
+      @Override
+      public void closeFailure(CommandContext commandContext) {
+      }
+    });
+  }
+
+  /**
+   * The flush of a command happens after its transaction context has been removed from the {@link Context}, so the
+   * transaction context is looked up in the close listener that commits it.
+   */
+  protected TransactionContext getTransactionContext(CommandContext commandContext) {
+    TransactionContext transactionContext = Context.getTransactionContext();
+    if (transactionContext == null && commandContext.getCloseListeners() != null) {
+      for (CommandContextCloseListener closeListener : commandContext.getCloseListeners()) {
+        if (closeListener instanceof TransactionCommandContextCloseListener) {
+          return ((TransactionCommandContextCloseListener) closeListener).getTransactionContext();
+        }
+      }
+    }
+    return transactionContext;
+  }
+
+  protected void submit(AsyncHistoryBatch batch) {
+    if (!pendingBatches.offer(batch)) {
+      logger.debug("Async history writer has {} pending batches, writing the batch in the committing thread", maxPendingBatches);
+      write(Collections.singletonList(batch));
+      return;
+    }
+    ScheduledExecutorService executor = writerExecutor;
+    if (executor == null || executor.isShutdown()) {
+      // not started or already stopped
+      writePendingBatches();
+      return;
+    }
+    try {
+      executor.execute(this::writePendingBatches);
+    } catch (RejectedExecutionException e) {
+      // stopped concurrently
+      writePendingBatches();
+    }
+  }
+
+  /**
+   * Blocks until the batches submitted before this call have been written.
+   */
+  public void waitForPendingBatches() {
+    ScheduledExecutorService executor = writerExecutor;
+    if (executor == null || executor.isShutdown()) {
+      // batches are written by the submitting thread when the writer isn't running
+      return;
+    }
+    try {
+      executor.submit(() -> { }).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new ActivitiException("Could not wait for pending async history", e.getCause());
+    }
+  }
+
+  protected void writePendingBatches() {
+    List<AsyncHistoryBatch> batches = new ArrayList<AsyncHistoryBatch>();
+    pendingBatches.drainTo(batches, maxBatchesPerTransaction);
+    if (!batches.isEmpty()) {
+      write(batches);
+    }
+  }
+
+  protected void write(List<AsyncHistoryBatch> batches) {
+    try {
+      commandExecutor.execute(commandConfig, new WriteAsyncHistoryCmd(batches, serializer));
+
+    } catch (RuntimeException e) {
+      if (batches.size() > 1) {
+        // write the batches one by one, so one failing batch doesn't hold back the others
+        for (AsyncHistoryBatch batch : batches) {
+          write(Collections.singletonList(batch));
+        }
+      } else if (e instanceof ActivitiOptimisticLockingException) {
+        logger.debug("Async history buffer {} was written by another engine", batches.get(0).getBufferId());
+      } else if (batches.get(0).getBufferId() != null) {
+        logger.warn("Could not write async history buffer {}, the recovery will try again", batches.get(0).getBufferId(), e);
+      } else {
+        logger.error("Could not write async history, {} historic entities are lost", batches.get(0).getEntities().size(), e);
+      }
+    }
+  }
+
+  /**
+   * Writes the buffered history that was left behind by crashed engines, or that wasn't found yet when its batch
+   * was written.
+   */
+  public void recover() {
+    try {
+      List<String> bufferIds = commandExecutor.execute(commandConfig, new FindByteArrayIdsByNameCmd(BUFFER_BYTE_ARRAY_NAME));
+      if (!bufferIds.isEmpty()) {
+        logger.info("Writing {} buffered async history batches", bufferIds.size());
+      }
+      for (String bufferId : bufferIds) {
+        write(Collections.singletonList(AsyncHistoryBatch.forBuffer(bufferId)));
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Could not recover buffered async history", e);
+    }
+  }
+
+  public int getPendingBatchCount() {
+    return pendingBatches.size();
+  }
+
+  public AsyncHistorySerializer getSerializer() {
+    return serializer;
+  }
+
+  public boolean isDurable() {
+    return durable;
+  }
+
+  public void setDurable(boolean durable) {
+    this.durable = durable;
+  }
+
+  public long getRecoveryIntervalInMillis() {
+    return recoveryIntervalInMillis;
+  }
+
+  public void setRecoveryIntervalInMillis(long recoveryIntervalInMillis) {
+    this.recoveryIntervalInMillis = recoveryIntervalInMillis;
+  }
+
+  public int getMaxBatchesPerTransaction() {
+    return maxBatchesPerTransaction;
+  }
+
+  public void setMaxBatchesPerTransaction(int maxBatchesPerTransaction) {
+    this.maxBatchesPerTransaction = maxBatchesPerTransaction;
+  }
+
+  public int getMaxPendingBatches() {
+    return maxPendingBatches;
+  }
+
+  /**
+   * Sets the capacity of the queue of the background thread, which needs to be done before the writer is used.
+   */
+  public void setMaxPendingBatches(int maxPendingBatches) {
+    this.maxPendingBatches = maxPendingBatches;
+    this.pendingBatches = new LinkedBlockingQueue<AsyncHistoryBatch>(maxPendingBatches);
+  }
+
+}
@@ -30,6 +30,10 @@ public class TransactionCommandContextCloseListener implements CommandContextClo
     this.transactionContext = transactionContext;
   }
 
+  public TransactionContext getTransactionContext() {
+    return transactionContext;
+  }
+
   @Override
   public void closing(CommandContext commandContext) {
 
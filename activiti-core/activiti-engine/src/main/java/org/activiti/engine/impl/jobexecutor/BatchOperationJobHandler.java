@@ -0,0 +1,113 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.jobexecutor;
+
+import java.nio.charset.StandardCharsets;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.BatchImpl;
+import org.activiti.engine.impl.cmd.ActivateProcessInstanceCmd;
+import org.activiti.engine.impl.cmd.DeleteProcessInstanceCmd;
+import org.activiti.engine.impl.cmd.SuspendProcessInstanceCmd;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.SuspensionState;
+import org.activiti.engine.runtime.Batch;
+
+/**
+ * Processes one chunk of a {@link Batch}. The configuration of the job is the id of the {@link ByteArrayEntity} that
+ * holds the comma separated ids of the chunk; the byte array is deleted when the chunk has been processed.
+ *
+ * Process instances and jobs that have been changed or removed since the batch was created are skipped, so a chunk
+ * doesn't fail on them.
+ */
+public class BatchOperationJobHandler implements JobHandler {
+
+  public static final String TYPE = "batch-operation";
+
+  /**
+   * The name of the byte arrays that hold a {@link Batch}.
+   */
+  public static final String BATCH_BYTE_ARRAY_NAME = "batch-operation";
+
+  protected static final String CHUNK_BYTE_ARRAY_NAME_PREFIX = "batch-operation-chunk:";
+
+  public static String getChunkByteArrayName(String batchId) {
+    return CHUNK_BYTE_ARRAY_NAME_PREFIX + batchId;
+  }
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+    ByteArrayEntity chunk = byteArrayEntityManager.findById(configuration);
+    if (chunk == null) {
+      // the batch has been deleted
+      return;
+    }
+
+    String batchId = chunk.getName().substring(CHUNK_BYTE_ARRAY_NAME_PREFIX.length());
+    ByteArrayEntity batchByteArray = byteArrayEntityManager.findById(batchId);
+    if (batchByteArray != null) {
+      BatchImpl batch = BatchImpl.fromBytes(batchId, batchByteArray.getBytes());
+      for (String id : new String(chunk.getBytes(), StandardCharsets.UTF_8).split(",")) {
+        execute(batch, id, commandContext);
+      }
+    }
+
+    byteArrayEntityManager.delete(chunk);
+  }
+
+  protected void execute(BatchImpl batch, String id, CommandContext commandContext) {
+    if (Batch.TYPE_SUSPEND_PROCESS_INSTANCES.equals(batch.getType())) {
+      if (isProcessInstanceInOtherState(id, SuspensionState.SUSPENDED, commandContext)) {
+        new SuspendProcessInstanceCmd(id).execute(commandContext);
+      }
+
+    } else if (Batch.TYPE_ACTIVATE_PROCESS_INSTANCES.equals(batch.getType())) {
+      if (isProcessInstanceInOtherState(id, SuspensionState.ACTIVE, commandContext)) {
+        new ActivateProcessInstanceCmd(id).execute(commandContext);
+      }
+
+    } else if (Batch.TYPE_DELETE_PROCESS_INSTANCES.equals(batch.getType())) {
+      if (commandContext.getExecutionEntityManager().findById(id) != null) {
+        new DeleteProcessInstanceCmd(id, batch.getDeleteReason()).execute(commandContext);
+      }
+
+    } else if (Batch.TYPE_MOVE_DEAD_LETTER_JOBS.equals(batch.getType())) {
+      DeadLetterJobEntity deadLetterJob = commandContext.getDeadLetterJobEntityManager().findById(id);
+      if (deadLetterJob != null) {
+        commandContext.getJobManager().moveDeadLetterJobToExecutableJob(deadLetterJob, batch.getRetries());
+      }
+
+    } else {
+      throw new ActivitiException("Unknown batch type " + batch.getType());
+    }
+  }
+
+  protected boolean isProcessInstanceInOtherState(String processInstanceId, SuspensionState state, CommandContext commandContext) {
+    ExecutionEntity processInstance = commandContext.getExecutionEntityManager().findById(processInstanceId);
+    return processInstance != null && processInstance.getSuspensionState() != state.getStateCode();
+  }
+
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.Duration;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cmd.ArchiveHistoricProcessInstancesCmd;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.activiti.engine.runtime.Batch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes the history of process instances that have ended longer than their time to live ago, see
+ * {@link ProcessEngineConfigurationImpl#setHistoryTimeToLive(String)} and
+ * {@link ProcessEngineConfigurationImpl#setHistoryTimeToLives(Map)}.
+ *
+ * The historic process instances are deleted with set-based deletes. Every execution of the job deletes one batch of
+ * at most {@link ProcessEngineConfigurationImpl#getHistoryCleanupBatchSize()} process instances, in a transaction of
+ * its own, and schedules a follow-up timer job for the rest of the run, due
+ * {@link ProcessEngineConfigurationImpl#getHistoryCleanupBatchPause()} milliseconds later. So a run never holds locks
+ * on many rows, a failing batch doesn't roll back the batches before it, and no job holds its lock and connection for
+ * long. The follow-up jobs carry the state of the run in their configuration; a run stops after
+ * {@link ProcessEngineConfigurationImpl#getHistoryCleanupMaxBatchesPerRun()} batches.
+ *
+ * When a history archive directory is configured, the expired historic process instances are moved to the archive,
+ * see {@link ArchiveHistoricProcessInstancesCmd}.
+ *
+ * At the end of a run the completed {@link Batch}es are deleted.
+ */
+public class HistoryCleanupJobHandler implements JobHandler {
+
+  private static final Logger logger = LoggerFactory.getLogger(HistoryCleanupJobHandler.class);
+
+  public static final String TYPE = "history-cleanup";
+
+  protected static final String RUN_START = "runStart";
+  protected static final String TIME_TO_LIVE_INDEX = "timeToLiveIndex";
+  protected static final String BATCHES = "batches";
+  protected static final String REMOVED_PROCESS_INSTANCES = "removedProcessInstances";
+  protected static final String REMOVED_ROWS = "removedRows";
+
+  protected final LongAdder runs = new LongAdder();
+  protected final LongAdder removedProcessInstances = new LongAdder();
+  protected final LongAdder removedRows = new LongAdder();
+  protected volatile long lastRunRemovedProcessInstances;
+  protected volatile long lastRunRemovedRows;
+
+  public static String createJobHandlerConfiguration() {
+    return new JSONObject().toString();
+  }
+
+  /**
+   * @throws ActivitiIllegalArgumentException
+   *           when the time to live is null or not an ISO-8601 duration
+   */
+  public static Duration parseTimeToLive(String timeToLive) {
+    if (timeToLive == null) {
+      throw new ActivitiIllegalArgumentException("History time to live is null");
+    }
+    try {
+      return DatatypeFactory.newInstance().newDuration(timeToLive);
+    } catch (DatatypeConfigurationException e) {
+      throw new ActivitiException("Could not create a datatype factory", e);
+    } catch (IllegalArgumentException e) {
+      throw new ActivitiIllegalArgumentException("Invalid history time to live '" + timeToLive + "', expected an ISO-8601 duration", e);
+    }
+  }
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.isHistoryCleanupEnabled()) {
+      return;
+    }
+    if (!commandContext.getHistoryManager().isHistoryEnabled()) {
+      deleteCompletedBatches(commandContext);
+      return;
+    }
+
+    JSONObject run = new JSONObject(configuration != null ? configuration : createJobHandlerConfiguration());
+    if (!run.has(RUN_START)) {
+      run.put(RUN_START, processEngineConfiguration.getClock().getCurrentTime().getTime());
+    }
+    Calendar runStart = processEngineConfiguration.getClock().getCurrentCalendar();
+    runStart.setTimeInMillis(run.getLong(RUN_START));
+
+    List<TimeToLive> timeToLives = getTimeToLives(processEngineConfiguration);
+    int timeToLiveIndex = run.optInt(TIME_TO_LIVE_INDEX, 0);
+    int batchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+    int deleted = 0;
+    while (timeToLiveIndex < timeToLives.size() && deleted < batchSize) {
+      // the remainder of a batch that used up the process instances of one time to live goes to the next one
+      TimeToLive timeToLive = timeToLives.get(timeToLiveIndex);
+      CleanupBatchCmd cmd = new CleanupBatchCmd(timeToLive.processDefinitionKey, timeToLive.processDefinitionKeysNotIn,
+          getEndedBefore(runStart, timeToLive.timeToLive), batchSize - deleted);
+      int deletedForTimeToLive = processEngineConfiguration.getCommandExecutor().execute(
+          processEngineConfiguration.getCommandExecutor().getDefaultConfig().transactionRequiresNew(), cmd);
+      if (deletedForTimeToLive < batchSize - deleted) {
+        timeToLiveIndex++;
+      }
+      deleted += deletedForTimeToLive;
+      removedProcessInstances.add(deletedForTimeToLive);
+      removedRows.add(cmd.removedRows);
+      run.put(REMOVED_PROCESS_INSTANCES, run.optLong(REMOVED_PROCESS_INSTANCES, 0L) + deletedForTimeToLive);
+      run.put(REMOVED_ROWS, run.optLong(REMOVED_ROWS, 0L) + cmd.removedRows);
+    }
+    int batches = run.optInt(BATCHES, 0) + 1;
+
+    if (timeToLiveIndex < timeToLives.size() && batches < processEngineConfiguration.getHistoryCleanupMaxBatchesPerRun()) {
+      run.put(TIME_TO_LIVE_INDEX, timeToLiveIndex);
+      run.put(BATCHES, batches);
+      scheduleNextBatch(commandContext, run.toString());
+      return;
+    }
+
+    int removedBatches = deleteCompletedBatches(commandContext);
+
+    runs.increment();
+    lastRunRemovedProcessInstances = run.optLong(REMOVED_PROCESS_INSTANCES, 0L);
+    lastRunRemovedRows = run.optLong(REMOVED_ROWS, 0L);
+    logger.info("History cleanup removed {} historic process instances ({} rows) and {} completed batches",
+        lastRunRemovedProcessInstances, lastRunRemovedRows, removedBatches);
+  }
+
+  /**
+   * Deletes the {@link Batch}es that have no chunks left. A chunk is deleted when it has been processed, but a chunk
+   * whose job has become a dead letter job is kept, so a failed batch stays until it is deleted explicitly.
+   */
+  protected int deleteCompletedBatches(CommandContext commandContext) {
+    ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+    int removedBatches = 0;
+    for (String batchId : byteArrayEntityManager.findByteArrayIdsByName(BatchOperationJobHandler.BATCH_BYTE_ARRAY_NAME)) {
+      if (byteArrayEntityManager.findByteArrayIdsByName(BatchOperationJobHandler.getChunkByteArrayName(batchId)).isEmpty()) {
+        byteArrayEntityManager.deleteByteArrayById(batchId);
+        removedBatches++;
+      }
+    }
+    return removedBatches;
+  }
+
+  /**
+   * The times to live by process definition key, in a stable order, followed by the default time to live.
+   */
+  protected List<TimeToLive> getTimeToLives(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    List<TimeToLive> timeToLives = new ArrayList<TimeToLive>();
+    Map<String, String> timeToLivesByKey = processEngineConfiguration.getHistoryTimeToLives();
+    List<String> keys = timeToLivesByKey != null ? new ArrayList<String>(new TreeSet<String>(timeToLivesByKey.keySet())) : null;
+    if (keys != null) {
+      for (String key : keys) {
+        timeToLives.add(new TimeToLive(key, null, timeToLivesByKey.get(key)));
+      }
+    }
+    if (processEngineConfiguration.getHistoryTimeToLive() != null) {
+      timeToLives.add(new TimeToLive(null, keys, processEngineConfiguration.getHistoryTimeToLive()));
+    }
+    return timeToLives;
+  }
+
+  protected void scheduleNextBatch(CommandContext commandContext, String configuration) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    TimerJobEntity timer = commandContext.getTimerJobEntityManager().create();
+    timer.setJobType(JobEntity.JOB_TYPE_TIMER);
+    timer.setRevision(1);
+    timer.setRetries(processEngineConfiguration.getAsyncExecutorNumberOfRetries());
+    timer.setDuedate(new Date(processEngineConfiguration.getClock().getCurrentTime().getTime()
+        + Math.max(0L, processEngineConfiguration.getHistoryCleanupBatchPause())));
+    timer.setJobHandlerType(TYPE);
+    timer.setJobHandlerConfiguration(configuration);
+    commandContext.getJobManager().scheduleTimerJob(timer);
+  }
+
+  protected Date getEndedBefore(Calendar now, String timeToLive) {
+    Calendar endedBefore = (Calendar) now.clone();
+    parseTimeToLive(timeToLive).negate().addTo(endedBefore);
+    return endedBefore.getTime();
+  }
+
+  /**
+   * The number of runs of this handler since the process engine was built.
+   */
+  public long getRuns() {
+    return runs.sum();
+  }
+
+  /**
+   * The number of historic process instances deleted by all runs, without the sub process instances that were deleted
+   * with them.
+   */
+  public long getRemovedProcessInstances() {
+    return removedProcessInstances.sum();
+  }
+
+  /**
+   * The number of history rows (process instances, activity instances, variables, details, ...) deleted by all runs.
+   */
+  public long getRemovedRows() {
+    return removedRows.sum();
+  }
+
+  public long getLastRunRemovedProcessInstances() {
+    return lastRunRemovedProcessInstances;
+  }
+
+  public long getLastRunRemovedRows() {
+    return lastRunRemovedRows;
+  }
+
+  protected static class TimeToLive {
+
+    protected String processDefinitionKey;
+    protected List<String> processDefinitionKeysNotIn;
+    protected String timeToLive;
+
+    public TimeToLive(String processDefinitionKey, List<String> processDefinitionKeysNotIn, String timeToLive) {
+      this.processDefinitionKey = processDefinitionKey;
+      this.processDefinitionKeysNotIn = processDefinitionKeysNotIn;
+      this.timeToLive = timeToLive;
+    }
+  }
+
+  /**
+   * Deletes one batch of expired historic process instances. The number of deleted rows is only known after the
+   * session has been flushed, so it is read by a close listener.
+   */
+  protected static class CleanupBatchCmd implements Command<Integer> {
+
+    protected String processDefinitionKey;
+    protected List<String> processDefinitionKeysNotIn;
+    protected Date endedBefore;
+    protected int batchSize;
+    protected long removedRows;
+
+    public CleanupBatchCmd(String processDefinitionKey, List<String> processDefinitionKeysNotIn, Date endedBefore, int batchSize) {
+      this.processDefinitionKey = processDefinitionKey;
+      this.processDefinitionKeysNotIn = processDefinitionKeysNotIn;
+      this.endedBefore = endedBefore;
+      this.batchSize = batchSize;
+    }
+
+    public Integer execute(CommandContext commandContext) {
+      HistoricProcessInstanceQueryImpl query = new HistoricProcessInstanceQueryImpl(commandContext);
+      query.finished().finishedBefore(endedBefore);
+      if (processDefinitionKey != null) {
+        query.processDefinitionKey(processDefinitionKey);
+      }
+      if (processDefinitionKeysNotIn != null && !processDefinitionKeysNotIn.isEmpty()) {
+        query.processDefinitionKeyNotIn(processDefinitionKeysNotIn);
+      }
+      query.orderByProcessInstanceEndTime().asc();
+
+      List<String> processInstanceIds = new ArrayList<String>();
+      for (HistoricProcessInstance historicProcessInstance : query.listPage(0, batchSize)) {
+        processInstanceIds.add(historicProcessInstance.getId());
+      }
+      if (processInstanceIds.isEmpty()) {
+        return 0;
+      }
+
+      if (commandContext.getProcessEngineConfiguration().getHistoryArchiveDirectory() != null) {
+        new ArchiveHistoricProcessInstancesCmd(processInstanceIds).execute(commandContext);
+      } else {
+        commandContext.getHistoricProcessInstanceEntityManager().deleteHistoricProcessInstances(processInstanceIds);
+      }
+      commandContext.addCloseListener(new CommandContextCloseListener() {
+
+        public void closing(CommandContext commandContext) {
+        }
+
+        public void afterSessionsFlush(CommandContext commandContext) {
+          removedRows = commandContext.getDbSqlSession().getBulkDeletedRowCount();
+        }
+
+        public void closed(CommandContext commandContext) {
+        }
+
+        public void closeFailure(CommandContext commandContext) {
+          removedRows = 0;
+        }
+      });
+      return processInstanceIds.size();
+    }
+  }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence;
+
+import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.impl.persistence.cache.EntityCache;
+
+/**
+ * Implemented by cached entity matchers that only retain entities having a given value for an attribute that the
+ * {@link EntityCache} indexes. Only the cached entities found through the index are then passed to the matcher,
+ * instead of all cached entities of the type.
+ */
+@Internal
+public interface IndexedCachedEntityMatcher {
+
+  String getIndexName();
+
+  /**
+   * @return the attribute value every retained entity has for the given query parameter.
+   */
+  String getIndexValue(Object param);
+
+}
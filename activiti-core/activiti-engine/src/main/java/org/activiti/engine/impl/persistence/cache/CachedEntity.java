@@ -16,7 +16,10 @@
 
 package org.activiti.engine.impl.persistence.cache;
 
+import java.util.Map;
+
 import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.PersistentStateComparable;
 
 /**
 
@@ -59,7 +62,12 @@ public class CachedEntity {
   }
 
   public boolean hasChanged() {
-    return entity.getPersistentState() != null && !entity.getPersistentState().equals(originalPersistentState);
+    if (originalPersistentState instanceof Map && entity instanceof PersistentStateComparable) {
+      // Compares the current values against the original state without building a new persistent state
+      return ((PersistentStateComparable) entity).hasPersistentStateChanged(originalPersistentState);
+    }
+    Object persistentState = entity.getPersistentState();
+    return persistentState != null && !persistentState.equals(originalPersistentState);
   }
 
 }
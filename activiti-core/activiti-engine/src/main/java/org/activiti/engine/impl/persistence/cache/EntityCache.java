@@ -66,6 +66,15 @@ public interface EntityCache extends Session {
    */
   <T> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass);
 
+  /**
+   * Returns the {@link CachedEntity} instances of the given type whose indexed attribute has the given value.
+   * Returns null if the cache has no index with the given name for the type, in which case all cached instances
+   * (see {@link #findInCacheAsCachedObjects(Class)}) need to be checked.
+   */
+  default <T> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass, String indexName, String indexValue) {
+    return null;
+  }
+
   /**
    * Removes the {@link Entity} of the given type with the given id from the cache.
    */
@@ -25,14 +25,26 @@ import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class EntityCacheImpl implements EntityCache {
+public class EntityCacheImpl implements EntityCache, IndexChangeListener {
+
+  public static final String PROCESS_INSTANCE_ID_INDEX = "processInstanceId";
+  public static final String PARENT_ID_INDEX = "parentId";
+  public static final String ACTIVITY_ID_INDEX = "activityId";
 
   protected Map<Class<?>, Map<String, CachedEntity>> cachedObjects = new HashMap<Class<?>, Map<String,CachedEntity>>();
 
+  /**
+   * Secondary indexes, so that cached entity matchers don't need to check every cached entity of a type.
+   * Only {@link IndexedEntity} types can be indexed, the indexes of a type are created when the first
+   * entity of that type is cached.
+   */
+  protected Map<Class<?>, List<EntityCacheIndex>> indexes = new HashMap<Class<?>, List<EntityCacheIndex>>();
+
   @Override
   public CachedEntity put(Entity entity, boolean storeState) {
     Map<String, CachedEntity> classCache = cachedObjects.get(entity.getClass());
@@ -42,9 +54,45 @@ public class EntityCacheImpl implements EntityCache {
     }
     CachedEntity cachedObject = new CachedEntity(entity, storeState);
     classCache.put(entity.getId(), cachedObject);
+
+    if (entity instanceof IndexedEntity) {
+      for (EntityCacheIndex index : getIndexes(entity.getClass())) {
+        index.add(cachedObject);
+      }
+      ((IndexedEntity) entity).setIndexChangeListener(this);
+    }
     return cachedObject;
   }
 
+  protected List<EntityCacheIndex> getIndexes(Class<?> entityClass) {
+    List<EntityCacheIndex> classIndexes = indexes.get(entityClass);
+    if (classIndexes == null) {
+      classIndexes = createIndexes(entityClass);
+      indexes.put(entityClass, classIndexes);
+    }
+    return classIndexes;
+  }
+
+  protected List<EntityCacheIndex> createIndexes(Class<?> entityClass) {
+    List<EntityCacheIndex> classIndexes = new ArrayList<EntityCacheIndex>();
+    if (ExecutionEntity.class.isAssignableFrom(entityClass)) {
+      classIndexes.add(new EntityCacheIndex(PROCESS_INSTANCE_ID_INDEX, entity -> ((ExecutionEntity) entity).getProcessInstanceId()));
+      classIndexes.add(new EntityCacheIndex(PARENT_ID_INDEX, entity -> ((ExecutionEntity) entity).getParentId()));
+      classIndexes.add(new EntityCacheIndex(ACTIVITY_ID_INDEX, entity -> ((ExecutionEntity) entity).getActivityId()));
+    }
+    return classIndexes;
+  }
+
+  @Override
+  public void indexedAttributeChanged(IndexedEntity entity) {
+    List<EntityCacheIndex> classIndexes = indexes.get(entity.getClass());
+    if (classIndexes != null) {
+      for (EntityCacheIndex index : classIndexes) {
+        index.update(entity);
+      }
+    }
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> T findInCache(Class<T> entityClass, String id) {
@@ -81,7 +129,17 @@ public class EntityCacheImpl implements EntityCache {
     if (classCache == null) {
       return;
     }
-    classCache.remove(entityId);
+    CachedEntity cachedObject = classCache.remove(entityId);
+
+    List<EntityCacheIndex> classIndexes = indexes.get(entityClass);
+    if (classIndexes != null) {
+      for (EntityCacheIndex index : classIndexes) {
+        index.remove(entityId);
+      }
+    }
+    if (cachedObject != null && cachedObject.getEntity() instanceof IndexedEntity) {
+      ((IndexedEntity) cachedObject.getEntity()).setIndexChangeListener(null);
+    }
   }
 
   @Override
@@ -93,6 +151,20 @@ public class EntityCacheImpl implements EntityCache {
     return null;
   }
 
+  @Override
+  public <T> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass, String indexName, String indexValue) {
+    List<EntityCacheIndex> classIndexes = indexes.get(entityClass);
+    if (classIndexes == null) {
+      return null;
+    }
+    for (EntityCacheIndex index : classIndexes) {
+      if (index.getName().equals(indexName)) {
+        return index.get(indexValue);
+      }
+    }
+    return null;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> List<T> findInCache(Class<T> entityClass) {
@@ -119,7 +191,14 @@ public class EntityCacheImpl implements EntityCache {
 
   @Override
   public void close() {
-
+    for (Class<?> entityClass : indexes.keySet()) {
+      Map<String, CachedEntity> classCache = cachedObjects.get(entityClass);
+      if (classCache != null) {
+        for (CachedEntity cachedObject : classCache.values()) {
+          ((IndexedEntity) cachedObject.getEntity()).setIndexChangeListener(null);
+        }
+      }
+    }
   }
 
   @Override
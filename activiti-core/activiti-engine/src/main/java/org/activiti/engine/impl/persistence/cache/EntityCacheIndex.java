@@ -0,0 +1,119 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.cache;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * Secondary index of the cached entities of one type on one attribute: maps an attribute value to the cached entities
+ * having that value.
+ */
+public class EntityCacheIndex {
+
+  protected String name;
+  protected Function<Entity, String> keyFunction;
+
+  protected Map<String, Map<String, CachedEntity>> cachedEntitiesByKey = new HashMap<String, Map<String, CachedEntity>>();
+  protected Map<String, IndexEntry> entriesByEntityId = new HashMap<String, IndexEntry>();
+
+  public EntityCacheIndex(String name, Function<Entity, String> keyFunction) {
+    this.name = name;
+    this.keyFunction = keyFunction;
+  }
+
+  public void add(CachedEntity cachedEntity) {
+    String entityId = cachedEntity.getEntity().getId();
+    remove(entityId);
+    IndexEntry entry = new IndexEntry(cachedEntity, keyFunction.apply(cachedEntity.getEntity()));
+    entriesByEntityId.put(entityId, entry);
+    addToKey(entry);
+  }
+
+  public void update(Entity entity) {
+    IndexEntry entry = entriesByEntityId.get(entity.getId());
+    if (entry == null) {
+      return;
+    }
+
+    String newKey = keyFunction.apply(entity);
+    if (!Objects.equals(entry.key, newKey)) {
+      removeFromKey(entry);
+      entry.key = newKey;
+      addToKey(entry);
+    }
+  }
+
+  public void remove(String entityId) {
+    IndexEntry entry = entriesByEntityId.remove(entityId);
+    if (entry != null) {
+      removeFromKey(entry);
+    }
+  }
+
+  /**
+   * Returns a snapshot of the cached entities having the given attribute value.
+   */
+  public Collection<CachedEntity> get(String key) {
+    Map<String, CachedEntity> cachedEntities = key != null ? cachedEntitiesByKey.get(key) : null;
+    if (cachedEntities == null) {
+      return emptyList();
+    }
+    return new ArrayList<CachedEntity>(cachedEntities.values());
+  }
+
+  protected void addToKey(IndexEntry entry) {
+    if (entry.key != null) {
+      cachedEntitiesByKey.computeIfAbsent(entry.key, key -> new HashMap<String, CachedEntity>())
+          .put(entry.cachedEntity.getEntity().getId(), entry.cachedEntity);
+    }
+  }
+
+  protected void removeFromKey(IndexEntry entry) {
+    Map<String, CachedEntity> cachedEntities = entry.key != null ? cachedEntitiesByKey.get(entry.key) : null;
+    if (cachedEntities != null) {
+      cachedEntities.remove(entry.cachedEntity.getEntity().getId());
+      if (cachedEntities.isEmpty()) {
+        cachedEntitiesByKey.remove(entry.key);
+      }
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  protected static class IndexEntry {
+
+    protected CachedEntity cachedEntity;
+    protected String key;
+
+    protected IndexEntry(CachedEntity cachedEntity, String key) {
+      this.cachedEntity = cachedEntity;
+      this.key = key;
+    }
+  }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.cache;
+
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * An {@link Entity} that can be found through the secondary indexes of the {@link EntityCacheImpl}.
+ *
+ * While the entity is cached, the cache registers itself as {@link IndexChangeListener}: the entity must notify it
+ * every time one of its indexed attributes changes, so that the entity can be moved to the right index entries.
+ */
+public interface IndexedEntity extends Entity {
+
+  /**
+   * @param indexChangeListener the listener to notify of changes of indexed attributes, or null when the entity is
+   *                            no longer cached.
+   */
+  void setIndexChangeListener(IndexChangeListener indexChangeListener);
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Size-bounded cache for concurrent use, with a W-TinyLFU style eviction policy.
+ * <p>
+ * Reads never take a lock: a lookup is a {@link ConcurrentHashMap} get, a timestamp write on the entry and an
+ * increment of a {@link FrequencySketch}. Only writes (add, remove, clear) are serialized, as they are the only
+ * operations that change the eviction state.
+ * <p>
+ * New entries are added to a small admission window (1% of the maximum weight). Entries leaving the window are
+ * only admitted into the main region when they have been requested more often recently than the main region entry
+ * that would be evicted for them. The victim in the main region is the least recently used entry of a small random
+ * sample. This keeps frequently used definitions cached even when many rarely used versions are loaded once.
+ * The entry being added is always kept, as the caller reads it back from the cache right away: when it leaves the
+ * window at once (because it weighs more than the window), main region entries are evicted to make room for it.
+ * <p>
+ * The size of an entry is given by a {@link DeploymentCacheWeigher}; by default every entry weighs 1, so the
+ * maximum weight is a maximum number of entries.
+ */
+public class ConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrentDeploymentCache.class);
+
+  protected static final int EVICTION_SAMPLE_SIZE = 8;
+
+  protected final long maximumWeight;
+  protected final long windowMaximumWeight;
+  protected final DeploymentCacheWeigher<T> weigher;
+
+  protected final ConcurrentMap<String, Node<T>> cache = new ConcurrentHashMap<>();
+  protected final FrequencySketch frequencySketch;
+
+  // guarded by evictionLock
+  protected final ReentrantLock evictionLock = new ReentrantLock();
+  protected final LinkedHashMap<String, Node<T>> window = new LinkedHashMap<>();
+  protected final List<Node<T>> main = new ArrayList<>();
+  protected long windowWeight;
+  protected long mainWeight;
+
+  protected final LongAdder hitCount = new LongAdder();
+  protected final LongAdder missCount = new LongAdder();
+  protected final LongAdder evictionCount = new LongAdder();
+  protected final LongAdder evictionWeight = new LongAdder();
+
+  /**
+   * Cache holding at most the given number of entries.
+   */
+  public ConcurrentDeploymentCache(long maximumSize) {
+    this(maximumSize, (id, value) -> 1);
+  }
+
+  /**
+   * Cache whose entries, weighed by the given weigher, do not weigh more than the given maximum weight together.
+   */
+  public ConcurrentDeploymentCache(long maximumWeight, DeploymentCacheWeigher<T> weigher) {
+    if (maximumWeight <= 0) {
+      throw new IllegalArgumentException("maximum weight must be positive");
+    }
+    this.maximumWeight = maximumWeight;
+    this.windowMaximumWeight = Math.max(1, maximumWeight / 100);
+    this.weigher = weigher;
+    this.frequencySketch = new FrequencySketch(maximumWeight);
+  }
+
+  @Override
+  public T get(String id) {
+    frequencySketch.increment(id);
+    Node<T> node = cache.get(id);
+    if (node == null) {
+      missCount.increment();
+      return null;
+    }
+    hitCount.increment();
+    node.lastAccessTime = System.nanoTime();
+    return node.value;
+  }
+
+  @Override
+  public boolean contains(String id) {
+    return cache.containsKey(id);
+  }
+
+  @Override
+  public void add(String id, T object) {
+    Node<T> node = new Node<>(id, object, Math.max(1, weigher.weigh(id, object)));
+    evictionLock.lock();
+    try {
+      Node<T> previous = cache.put(id, node);
+      if (previous != null) {
+        unlink(previous);
+      }
+      window.put(id, node);
+      windowWeight += node.weight;
+      evict(node);
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void remove(String id) {
+    evictionLock.lock();
+    try {
+      Node<T> node = cache.remove(id);
+      if (node != null) {
+        unlink(node);
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    evictionLock.lock();
+    try {
+      cache.clear();
+      window.clear();
+      main.clear();
+      windowWeight = 0;
+      mainWeight = 0;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  protected void evict(Node<T> added) {
+    Iterator<Node<T>> windowIterator = window.values().iterator();
+    while (windowWeight > windowMaximumWeight && windowIterator.hasNext()) {
+      Node<T> candidate = windowIterator.next();
+      windowIterator.remove();
+      windowWeight -= candidate.weight;
+      admit(candidate, candidate == added);
+    }
+    // an entry heavier than the whole cache, kept when it was added, is evicted once other entries come in
+    while (windowWeight + mainWeight > maximumWeight) {
+      Node<T> victim = sampleVictim(added);
+      if (victim == null) {
+        break;
+      }
+      removeFromMain(victim);
+      evictNode(victim);
+    }
+  }
+
+  /**
+   * Moves a candidate leaving the window into the main region, evicting main region entries that are used less
+   * often than the candidate. When the candidate is the entry being added it is always admitted; if it weighs more
+   * than the whole cache it is kept alone until the next entry is added.
+   */
+  protected void admit(Node<T> candidate, boolean added) {
+    while (windowWeight + mainWeight + candidate.weight > maximumWeight) {
+      if (main.isEmpty()) {
+        if (added) {
+          break;
+        }
+        evictNode(candidate);
+        return;
+      }
+      Node<T> victim = sampleVictim(candidate);
+      if (added || frequencySketch.frequency(candidate.key) > frequencySketch.frequency(victim.key)) {
+        removeFromMain(victim);
+        evictNode(victim);
+      } else {
+        evictNode(candidate);
+        return;
+      }
+    }
+    candidate.mainIndex = main.size();
+    main.add(candidate);
+    mainWeight += candidate.weight;
+  }
+
+  /**
+   * Least recently used entry of a random sample of the main region, never the given entry. Returns null when the
+   * main region holds no other entry.
+   */
+  protected Node<T> sampleVictim(Node<T> excluded) {
+    if (main.isEmpty() || (main.size() == 1 && main.get(0) == excluded)) {
+      return null;
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Node<T> victim = null;
+    int samples = Math.min(EVICTION_SAMPLE_SIZE, main.size());
+    for (int i = 0; i < samples || victim == null; i++) {
+      Node<T> node = main.get(random.nextInt(main.size()));
+      if (node != excluded && (victim == null || node.lastAccessTime < victim.lastAccessTime)) {
+        victim = node;
+      }
+    }
+    return victim;
+  }
+
+  protected void evictNode(Node<T> node) {
+    cache.remove(node.key, node);
+    evictionCount.increment();
+    evictionWeight.add(node.weight);
+    if (logger.isTraceEnabled()) {
+      logger.trace("Cache limit is reached, {} will be evicted", node.key);
+    }
+  }
+
+  protected void unlink(Node<T> node) {
+    if (node.mainIndex >= 0) {
+      removeFromMain(node);
+    } else if (window.remove(node.key, node)) {
+      windowWeight -= node.weight;
+    }
+  }
+
+  protected void removeFromMain(Node<T> node) {
+    // swap with the last element, so that removal does not shift the list
+    Node<T> last = main.remove(main.size() - 1);
+    if (last != node) {
+      main.set(node.mainIndex, last);
+      last.mainIndex = node.mainIndex;
+    }
+    node.mainIndex = -1;
+    mainWeight -= node.weight;
+  }
+
+  // For testing purposes only
+  public int size() {
+    return cache.size();
+  }
+
+  public long getWeightedSize() {
+    evictionLock.lock();
+    try {
+      return windowWeight + mainWeight;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  public long getMaximumWeight() {
+    return maximumWeight;
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public double getHitRate() {
+    long hits = getHitCount();
+    long requests = hits + getMissCount();
+    return requests == 0 ? 1.0 : (double) hits / requests;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  public long getEvictionWeight() {
+    return evictionWeight.sum();
+  }
+
+  protected static class Node<T> {
+
+    protected final String key;
+    protected final T value;
+    protected final int weight;
+    protected volatile long lastAccessTime;
+    protected int mainIndex = -1;
+
+    protected Node(String key, T value, int weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+      this.lastAccessTime = System.nanoTime();
+    }
+  }
+
+}
@@ -18,9 +18,9 @@ package org.activiti.engine.impl.persistence.deploy;
 
 import static java.util.Collections.synchronizedMap;
 
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +38,7 @@ public class DefaultDeploymentCache<T> implements DeploymentCache<T> {
 
   /** Cache with no limit */
   public DefaultDeploymentCache() {
-    this.cache = synchronizedMap(new HashMap<String, T>());
+    this.cache = new ConcurrentHashMap<String, T>();
   }
 
   /**
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.deploy;
+
+/**
+ * Propagates changes of cached process definition data (suspension state, category, tenant, info json, removed
+ * deployments) between the process engines of a cluster, so that every node can keep serving its deployment caches
+ * from memory and only reloads the entries that were actually changed.
+ * <p>
+ * {@link #publishInvalidation(String)} and {@link #publishInvalidationOfAll()} are called once the transaction that
+ * made the change has been committed. Implementations must deliver them to the {@link DeploymentCacheInvalidationListener}
+ * of the other nodes; delivering them to the publishing node as well is harmless. A message broker based implementation
+ * can deliver single invalidations, {@link VersionCounterDeploymentCacheInvalidationChannel} is the default
+ * implementation that only needs the database.
+ */
+public interface DeploymentCacheInvalidationChannel {
+
+  void start(DeploymentCacheInvalidationListener listener);
+
+  void publishInvalidation(String processDefinitionId);
+
+  void publishInvalidationOfAll();
+
+  void stop();
+
+}
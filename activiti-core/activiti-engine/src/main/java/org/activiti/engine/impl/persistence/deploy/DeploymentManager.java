@@ -29,8 +29,12 @@ import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.ProcessDefinitionQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntityManager;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
@@ -42,12 +46,13 @@ import org.activiti.engine.repository.ProcessDefinition;
 
 
  */
-public class DeploymentManager {
+public class DeploymentManager implements DeploymentCacheInvalidationListener {
 
   protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
   protected ProcessDefinitionInfoCache processDefinitionInfoCache;
   protected DeploymentCache<Object> knowledgeBaseCache; // Needs to be object to avoid an import to Drools in this core class
   protected List<Deployer> deployers;
+  protected DeploymentCacheInvalidationChannel cacheInvalidationChannel;
 
   protected ProcessEngineConfigurationImpl processEngineConfiguration;
   protected ProcessDefinitionEntityManager processDefinitionEntityManager;
@@ -171,9 +176,88 @@ public class DeploymentManager {
 
       for (ProcessDefinition processDefinition : processDefinitions) {
           processDefinitionCache.remove(processDefinition.getId());
+          publishCacheInvalidation(processDefinition.getId());
       }
   }
 
+  /**
+   * Makes the other nodes of the cluster drop their cached data of the given process definition once the transaction of
+   * the current command has been committed, so they can't reload the data that is being replaced. Runs immediately
+   * when there is no current command. Does nothing when no {@link DeploymentCacheInvalidationChannel} is configured.
+   */
+  public void publishCacheInvalidation(final String processDefinitionId) {
+    if (cacheInvalidationChannel != null) {
+      afterCommit(new Runnable() {
+        public void run() {
+          invalidate(processDefinitionId);
+          cacheInvalidationChannel.publishInvalidation(processDefinitionId);
+        }
+      });
+    }
+  }
+
+  public void publishCacheInvalidationOfAll() {
+    if (cacheInvalidationChannel != null) {
+      afterCommit(new Runnable() {
+        public void run() {
+          invalidateAll();
+          cacheInvalidationChannel.publishInvalidationOfAll();
+        }
+      });
+    }
+  }
+
+  protected void afterCommit(final Runnable runnable) {
+    CommandContext commandContext = Context.getCommandContext();
+    TransactionContext transactionContext = Context.getTransactionContext();
+    if (commandContext != null && transactionContext != null) {
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+
+        public void execute(CommandContext commandContext) {
+          runnable.run();
+        }
+      });
+    } else if (commandContext != null) {
+      // no transaction context is configured, the transaction is committed when the command context is closed
+      commandContext.addCloseListener(new CommandContextCloseListener() {
+
+        public void closing(CommandContext commandContext) {
+        }
+
+        public void afterSessionsFlush(CommandContext commandContext) {
+        }
+
+        public void closed(CommandContext commandContext) {
+          runnable.run();
+        }
+
+        public void closeFailure(CommandContext commandContext) {
+        }
+      });
+    } else {
+      runnable.run();
+    }
+  }
+
+  @Override
+  public void invalidate(String processDefinitionId) {
+    processDefinitionCache.remove(processDefinitionId);
+    if (processDefinitionInfoCache != null) {
+      processDefinitionInfoCache.remove(processDefinitionId);
+    }
+  }
+
+  @Override
+  public void invalidateAll() {
+    processDefinitionCache.clear();
+    if (processDefinitionInfoCache != null) {
+      processDefinitionInfoCache.clear();
+    }
+    if (knowledgeBaseCache != null) {
+      knowledgeBaseCache.clear();
+    }
+  }
+
   // getters and setters
   // //////////////////////////////////////////////////////
 
@@ -193,6 +277,14 @@ public class DeploymentManager {
     this.processDefinitionCache = processDefinitionCache;
   }
 
+  public DeploymentCacheInvalidationChannel getCacheInvalidationChannel() {
+    return cacheInvalidationChannel;
+  }
+
+  public void setCacheInvalidationChannel(DeploymentCacheInvalidationChannel cacheInvalidationChannel) {
+    this.cacheInvalidationChannel = cacheInvalidationChannel;
+  }
+
   public ProcessDefinitionInfoCache getProcessDefinitionInfoCache() {
     return processDefinitionInfoCache;
   }
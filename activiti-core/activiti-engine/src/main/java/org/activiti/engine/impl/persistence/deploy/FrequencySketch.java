@@ -0,0 +1,97 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.deploy;
+
+/**
+ * Probabilistic estimate of how often a key has been accessed recently, used as the admission filter of
+ * {@link ConcurrentDeploymentCache}.
+ * <p>
+ * This is a count-min sketch with four 4-bit counters per key, packed sixteen to a long. Once the number of
+ * recorded accesses reaches ten times the table width, all counters are halved, so that the estimate reflects
+ * recent popularity instead of the whole history (the "aging" step of TinyLFU).
+ * <p>
+ * Updates are deliberately not synchronized: a lost increment under contention only makes an estimate marginally
+ * lower, which is acceptable for an admission heuristic and keeps cache reads free of locks and CAS loops.
+ */
+public class FrequencySketch {
+
+  protected static final long RESET_MASK = 0x7777777777777777L;
+  protected static final int[] SEEDS = {0x97cb3127, 0xb4d6c9a1, 0x6c2e7b8d, 0xe35f1a43};
+
+  protected final long[] table;
+  protected final int tableMask;
+  protected final int sampleSize;
+  protected int size;
+
+  public FrequencySketch(long expectedEntries) {
+    int width = (int) Math.min(1 << 24, Math.max(64, Long.highestOneBit(Math.max(1, expectedEntries - 1)) << 1));
+    this.table = new long[width];
+    this.tableMask = width - 1;
+    this.sampleSize = 10 * width;
+  }
+
+  public void increment(Object key) {
+    int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int counterHash = rehash(hash, i);
+      int index = counterHash & tableMask;
+      int offset = ((counterHash >>> 28) & 15) << 2;
+      long value = table[index];
+      if (((value >>> offset) & 15L) < 15L) {
+        table[index] = value + (1L << offset);
+        added = true;
+      }
+    }
+    if (added && ++size >= sampleSize) {
+      reset();
+    }
+  }
+
+  public int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int counterHash = rehash(hash, i);
+      int offset = ((counterHash >>> 28) & 15) << 2;
+      int count = (int) ((table[counterHash & tableMask] >>> offset) & 15L);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  protected void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = size / 2;
+  }
+
+  protected int spread(int hash) {
+    hash ^= hash >>> 17;
+    hash *= 0xed5ad4bb;
+    hash ^= hash >>> 11;
+    hash *= 0xac4c1b51;
+    return hash ^ (hash >>> 15);
+  }
+
+  protected int rehash(int hash, int i) {
+    int rehashed = (hash + SEEDS[i]) * SEEDS[i];
+    return rehashed ^ (rehashed >>> 16);
+  }
+
+}
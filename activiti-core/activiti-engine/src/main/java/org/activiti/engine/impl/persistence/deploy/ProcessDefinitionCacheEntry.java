@@ -17,9 +17,12 @@
 package org.activiti.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Set;
 
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.bpmn.model.Process;
+import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.repository.ProcessDefinition;
 
 /**
@@ -33,6 +36,17 @@ public class ProcessDefinitionCacheEntry implements Serializable {
   protected BpmnModel bpmnModel;
   protected Process process;
 
+  /**
+   * The history level of the process definition, resolved at deploy time. <code>null</code> when the process definition
+   * doesn't define one, in which case the history level of the engine is used.
+   */
+  protected HistoryLevel historyLevel;
+
+  /**
+   * The activity types (e.g. <code>exclusiveGateway</code>) for which no historic activity instances are recorded.
+   */
+  protected Set<String> historyExcludedActivityTypes = Collections.emptySet();
+
   public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
     this.processDefinition = processDefinition;
     this.bpmnModel = bpmnModel;
@@ -63,4 +77,20 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     this.process = process;
   }
 
+  public HistoryLevel getHistoryLevel() {
+    return historyLevel;
+  }
+
+  public void setHistoryLevel(HistoryLevel historyLevel) {
+    this.historyLevel = historyLevel;
+  }
+
+  public Set<String> getHistoryExcludedActivityTypes() {
+    return historyExcludedActivityTypes;
+  }
+
+  public void setHistoryExcludedActivityTypes(Set<String> historyExcludedActivityTypes) {
+    this.historyExcludedActivityTypes = historyExcludedActivityTypes;
+  }
+
 }
@@ -47,6 +47,9 @@ public class ProcessDefinitionInfoCache {
   protected Map<String, ProcessDefinitionInfoCacheObject> cache;
   protected CommandExecutor commandExecutor;
 
+  // when false, cached objects are only reloaded after an invalidation through a DeploymentCacheInvalidationChannel
+  protected boolean checkRevisionOnAccess = true;
+
   /** Cache with no limit */
   public ProcessDefinitionInfoCache(CommandExecutor commandExecutor) {
     this.commandExecutor = commandExecutor;
@@ -113,10 +116,12 @@ public class ProcessDefinitionInfoCache {
     ProcessDefinitionInfoEntityManager infoEntityManager = commandContext.getProcessDefinitionInfoEntityManager();
     ObjectMapper objectMapper = commandContext.getProcessEngineConfiguration().getObjectMapper();
 
-    ProcessDefinitionInfoCacheObject cacheObject = null;
-    if (cache.containsKey(processDefinitionId)) {
-      cacheObject = cache.get(processDefinitionId);
-    } else {
+    ProcessDefinitionInfoCacheObject cacheObject = cache.get(processDefinitionId);
+    if (cacheObject != null && !checkRevisionOnAccess) {
+      return cacheObject;
+    }
+
+    if (cacheObject == null) {
       cacheObject = new ProcessDefinitionInfoCacheObject();
       cacheObject.setRevision(0);
       cacheObject.setInfoNode(objectMapper.createObjectNode());
@@ -139,7 +144,19 @@ public class ProcessDefinitionInfoCache {
       cacheObject.setInfoNode(objectMapper.createObjectNode());
     }
 
+    if (!checkRevisionOnAccess) {
+      cache.put(processDefinitionId, cacheObject);
+    }
+
     return cacheObject;
   }
 
+  public boolean isCheckRevisionOnAccess() {
+    return checkRevisionOnAccess;
+  }
+
+  public void setCheckRevisionOnAccess(boolean checkRevisionOnAccess) {
+    this.checkRevisionOnAccess = checkRevisionOnAccess;
+  }
+
 }
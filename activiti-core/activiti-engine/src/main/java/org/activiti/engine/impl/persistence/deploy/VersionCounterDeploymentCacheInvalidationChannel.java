@@ -0,0 +1,132 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.activiti.engine.impl.cmd.GetPropertyVersionCounterCmd;
+import org.activiti.engine.impl.cmd.IncrementPropertyVersionCounterCmd;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link DeploymentCacheInvalidationChannel} based on a version counter in the property table.
+ * <p>
+ * Every published invalidation increments the counter. Each node reads the counter at a fixed interval and clears its
+ * deployment caches when the value differs from the last one it has seen. The counter carries no information about
+ * what changed, so all cached entries are dropped; changes to deployed definitions are rare enough for this to be
+ * cheaper than checking the database on every cache access. Increments made by the node itself do not trigger a
+ * second invalidation on that node, as the publishing node already invalidates its own caches.
+ * <p>
+ * Nodes may serve stale entries for at most the check interval after a change made on another node.
+ */
+public class VersionCounterDeploymentCacheInvalidationChannel implements DeploymentCacheInvalidationChannel {
+
+  private static final Logger logger = LoggerFactory.getLogger(VersionCounterDeploymentCacheInvalidationChannel.class);
+
+  public static final String VERSION_PROPERTY_NAME = "deployment.cache.version";
+
+  protected static final int MAX_INCREMENT_ATTEMPTS = 5;
+
+  protected CommandExecutor commandExecutor;
+  protected CommandConfig commandConfig;
+  protected long checkIntervalInMillis;
+
+  protected DeploymentCacheInvalidationListener listener;
+  protected ScheduledExecutorService checkExecutor;
+  protected final AtomicLong knownVersion = new AtomicLong();
+
+  public VersionCounterDeploymentCacheInvalidationChannel(CommandExecutor commandExecutor, long checkIntervalInMillis) {
+    this.commandExecutor = commandExecutor;
+    this.commandConfig = commandExecutor.getDefaultConfig().transactionRequiresNew();
+    this.checkIntervalInMillis = checkIntervalInMillis;
+  }
+
+  @Override
+  public void start(DeploymentCacheInvalidationListener listener) {
+    this.listener = listener;
+    knownVersion.set(readVersion());
+    checkExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "activiti-deployment-cache-invalidation");
+      thread.setDaemon(true);
+      return thread;
+    });
+    checkExecutor.scheduleWithFixedDelay(this::checkVersion, checkIntervalInMillis, checkIntervalInMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void publishInvalidation(String processDefinitionId) {
+    incrementVersion();
+  }
+
+  @Override
+  public void publishInvalidationOfAll() {
+    incrementVersion();
+  }
+
+  @Override
+  public void stop() {
+    if (checkExecutor != null) {
+      checkExecutor.shutdownNow();
+      checkExecutor = null;
+    }
+  }
+
+  protected void checkVersion() {
+    try {
+      long version = readVersion();
+      long previousVersion = knownVersion.getAndSet(version);
+      if (version != previousVersion) {
+        logger.debug("Deployment cache version changed from {} to {}, invalidating deployment caches", previousVersion, version);
+        listener.invalidateAll();
+      }
+    } catch (Exception e) {
+      logger.warn("Could not check deployment cache version", e);
+    }
+  }
+
+  protected long readVersion() {
+    return commandExecutor.execute(commandConfig, new GetPropertyVersionCounterCmd(VERSION_PROPERTY_NAME));
+  }
+
+  protected void incrementVersion() {
+    for (int attempt = 1; attempt <= MAX_INCREMENT_ATTEMPTS; attempt++) {
+      try {
+        long version = commandExecutor.execute(commandConfig, new IncrementPropertyVersionCounterCmd(VERSION_PROPERTY_NAME));
+        // our own change is already applied locally; only skip it if no other change happened in between
+        knownVersion.compareAndSet(version - 1, version);
+        return;
+      } catch (RuntimeException e) {
+        // concurrent increments fail with an optimistic locking exception, concurrent creations of the counter with a
+        // constraint violation: in both cases the counter has been changed by another node and a retry will succeed
+        logger.debug("Could not increment deployment cache version (attempt {}), retrying", attempt, e);
+      }
+    }
+    logger.warn("Could not increment deployment cache version after {} attempts, other nodes will not see the change",
+        MAX_INCREMENT_ATTEMPTS);
+  }
+
+  public long getCheckIntervalInMillis() {
+    return checkIntervalInMillis;
+  }
+
+}
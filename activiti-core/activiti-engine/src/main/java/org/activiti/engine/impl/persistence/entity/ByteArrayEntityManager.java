@@ -18,6 +18,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import org.activiti.engine.api.internal.Internal;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -31,6 +32,17 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
    */
   List<ByteArrayEntity> findAll();
 
+  /**
+   * Returns the ids of the {@link ByteArrayEntity} instances with the given name that don't belong to a deployment.
+   */
+  List<String> findByteArrayIdsByName(String name);
+
+  /**
+   * Returns the bytes of the {@link ByteArrayEntity} with the given id as a stream read from the database, without
+   * loading them in memory. The stream is closed when the current command context closes.
+   */
+  InputStream findBytesAsStream(String byteArrayEntityId);
+
   /**
    * Deletes the {@link ByteArrayEntity} with the given id from the database.
    * Important: this operation will NOT do any optimistic locking, to avoid loading the bytes in memory. So use this method
@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -47,6 +48,16 @@ public class ByteArrayEntityManagerImpl extends AbstractEntityManager<ByteArrayE
     return byteArrayDataManager.findAll();
   }
 
+  @Override
+  public List<String> findByteArrayIdsByName(String name) {
+    return byteArrayDataManager.findByteArrayIdsByName(name);
+  }
+
+  @Override
+  public InputStream findBytesAsStream(String byteArrayEntityId) {
+    return byteArrayDataManager.findBytesAsStream(byteArrayEntityId);
+  }
+
   @Override
   public void deleteByteArrayById(String byteArrayEntityId) {
     byteArrayDataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
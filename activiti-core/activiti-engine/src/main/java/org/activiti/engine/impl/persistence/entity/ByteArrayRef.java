@@ -15,14 +15,22 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.Serializable;
 
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
 
 /**
  * <p>
  * Encapsulates the logic for transparently working with {@link ByteArrayEntity} .
  * </p>
+ * <p>
+ * The bytes are only loaded when they are read. A reference loaded by a query can still load them once the command
+ * of the query has closed, in a command of its own.
+ * </p>
  *
 
  */
@@ -34,6 +42,7 @@ public class ByteArrayRef implements Serializable {
   private String name;
   private ByteArrayEntity entity;
   protected boolean deleted;
+  private transient CommandExecutor commandExecutor;
 
   public ByteArrayRef() {
   }
@@ -41,6 +50,10 @@ public class ByteArrayRef implements Serializable {
   // Only intended to be used by ByteArrayRefTypeHandler
   public ByteArrayRef(String id) {
     this.id = id;
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      this.commandExecutor = processEngineConfiguration.getCommandExecutor();
+    }
   }
 
   public String getId() {
@@ -56,6 +69,22 @@ public class ByteArrayRef implements Serializable {
     return (entity != null ? entity.getBytes() : null);
   }
 
+  /**
+   * Returns the bytes as a stream. When they aren't loaded yet and a command context is active, they are streamed from
+   * the database instead of being loaded in memory; such a stream can only be read while that command context is open.
+   */
+  public InputStream getInputStream() {
+    if (entity != null || id == null || Context.getCommandContext() == null) {
+      byte[] bytes = getBytes();
+      return bytes != null ? new ByteArrayInputStream(bytes) : null;
+    }
+    return Context.getCommandContext().getByteArrayEntityManager().findBytesAsStream(id);
+  }
+
+  public boolean isLoaded() {
+    return id == null || entity != null;
+  }
+
   public void setValue(String name, byte[] bytes) {
     this.name = name;
     setBytes(bytes);
@@ -99,7 +128,11 @@ public class ByteArrayRef implements Serializable {
 
   private void ensureInitialized() {
     if (id != null && entity == null) {
-      entity = Context.getCommandContext().getByteArrayEntityManager().findById(id);
+      if (Context.getCommandContext() == null && commandExecutor != null) {
+        entity = commandExecutor.execute(commandContext -> commandContext.getByteArrayEntityManager().findById(id));
+      } else {
+        entity = Context.getCommandContext().getByteArrayEntityManager().findById(id);
+      }
       name = entity.getName();
     }
   }
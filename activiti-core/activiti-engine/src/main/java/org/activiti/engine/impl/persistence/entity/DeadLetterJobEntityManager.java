@@ -35,6 +35,11 @@ public interface DeadLetterJobEntityManager extends EntityManager<DeadLetterJobE
    */
   List<DeadLetterJobEntity> findJobsByExecutionId(String id);
 
+  /**
+   * Returns all {@link DeadLetterJobEntity} instances with the given job handler type.
+   */
+  List<DeadLetterJobEntity> findJobsByType(String type);
+
   /**
    * Executes a {@link JobQueryImpl} and returns the matching {@link DeadLetterJobEntity} instances.
    */
@@ -46,6 +51,18 @@ public interface DeadLetterJobEntityManager extends EntityManager<DeadLetterJobE
    */
   long findJobCountByQueryCriteria(DeadLetterJobQueryImpl jobQuery);
 
+  /**
+   * Same as {@link #findJobsByQueryCriteria(DeadLetterJobQueryImpl, Page)}, but only returns the ids
+   * and not the instances itself.
+   */
+  List<String> findJobIdsByQueryCriteria(DeadLetterJobQueryImpl jobQuery);
+
+  /**
+   * Returns the number of {@link DeadLetterJobEntity} instances with the given job handler type whose
+   * configuration is the id of a {@link ByteArrayEntity} with the given name.
+   */
+  long findJobCountByTypeAndByteArrayName(String jobHandlerType, String byteArrayName);
+
   /**
    * Changes the tenantId for all jobs related to a given {@link DeploymentEntity}.
    */
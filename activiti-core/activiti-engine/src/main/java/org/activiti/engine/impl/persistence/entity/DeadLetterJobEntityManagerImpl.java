@@ -45,6 +45,11 @@ public class DeadLetterJobEntityManagerImpl extends AbstractEntityManager<DeadLe
         return jobDataManager.findJobsByExecutionId(id);
     }
 
+    @Override
+    public List<DeadLetterJobEntity> findJobsByType(String jobHandlerType) {
+        return jobDataManager.findJobsByType(jobHandlerType);
+    }
+
     @Override
     public List<Job> findJobsByQueryCriteria(DeadLetterJobQueryImpl jobQuery,
                                              Page page) {
@@ -57,6 +62,18 @@ public class DeadLetterJobEntityManagerImpl extends AbstractEntityManager<DeadLe
         return jobDataManager.findJobCountByQueryCriteria(jobQuery);
     }
 
+    @Override
+    public List<String> findJobIdsByQueryCriteria(DeadLetterJobQueryImpl jobQuery) {
+        return jobDataManager.findJobIdsByQueryCriteria(jobQuery);
+    }
+
+    @Override
+    public long findJobCountByTypeAndByteArrayName(String jobHandlerType,
+                                                   String byteArrayName) {
+        return jobDataManager.findJobCountByTypeAndByteArrayName(jobHandlerType,
+                                                                 byteArrayName);
+    }
+
     @Override
     public void updateJobTenantIdForDeployment(String deploymentId,
                                                String newTenantId) {
@@ -23,6 +23,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.activiti.bpmn.model.ActivitiListener;
 import org.activiti.bpmn.model.FlowElement;
@@ -33,9 +34,11 @@ import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
+import org.activiti.engine.impl.persistence.cache.IndexChangeListener;
+import org.activiti.engine.impl.persistence.cache.IndexedEntity;
 import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 
-public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity {
+public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity, IndexedEntity, PersistentStateComparable {
 
   private static final long serialVersionUID = 1L;
 
@@ -152,6 +155,9 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
    */
   protected String activityId;
 
+  // the entity cache of the current command, while this execution is cached
+  protected transient IndexChangeListener indexChangeListener;
+
   /**
    * The name of the current activity position
    */
@@ -225,33 +231,44 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
  public Object getPersistentState() {
    Map<String, Object> persistentState = new HashMap<String, Object>();
-   persistentState.put("processDefinitionId", this.processDefinitionId);
-   persistentState.put("businessKey", this.businessKey);
-   persistentState.put("activityId", this.activityId);
-   persistentState.put("isActive", this.isActive);
-   persistentState.put("isConcurrent", this.isConcurrent);
-   persistentState.put("isScope", this.isScope);
-   persistentState.put("isEventScope", this.isEventScope);
-   persistentState.put("parentId", parentId);
-   persistentState.put("name", name);
-   persistentState.put("lockTime", lockTime);
-   persistentState.put("superExecution", this.superExecutionId);
-   persistentState.put("rootProcessInstanceId", this.rootProcessInstanceId);
+   visitPersistentState(persistentState::put);
+   return persistentState;
+ }
+
+ @SuppressWarnings("unchecked")
+ public boolean hasPersistentStateChanged(Object originalPersistentState) {
+   PersistentStateChangeDetector changeDetector = new PersistentStateChangeDetector((Map<String, Object>) originalPersistentState);
+   visitPersistentState(changeDetector);
+   return changeDetector.hasChanged();
+ }
+
+ protected void visitPersistentState(BiConsumer<String, Object> persistentState) {
+   persistentState.accept("processDefinitionId", this.processDefinitionId);
+   persistentState.accept("businessKey", this.businessKey);
+   persistentState.accept("activityId", this.activityId);
+   persistentState.accept("isActive", this.isActive);
+   persistentState.accept("isConcurrent", this.isConcurrent);
+   persistentState.accept("isScope", this.isScope);
+   persistentState.accept("isEventScope", this.isEventScope);
+   persistentState.accept("parentId", parentId);
+   persistentState.accept("name", name);
+   persistentState.accept("lockTime", lockTime);
+   persistentState.accept("superExecution", this.superExecutionId);
+   persistentState.accept("rootProcessInstanceId", this.rootProcessInstanceId);
    if (forcedUpdate) {
-     persistentState.put("forcedUpdate", Boolean.TRUE);
+     persistentState.accept("forcedUpdate", Boolean.TRUE);
    }
-   persistentState.put("suspensionState", this.suspensionState);
-   persistentState.put("startTime", this.startTime);
-   persistentState.put("startUserId", this.startUserId);
-   persistentState.put("eventSubscriptionCount", eventSubscriptionCount);
-   persistentState.put("taskCount", taskCount);
-   persistentState.put("jobCount", jobCount);
-   persistentState.put("timerJobCount", timerJobCount);
-   persistentState.put("suspendedJobCount", suspendedJobCount);
-   persistentState.put("deadLetterJobCount", deadLetterJobCount);
-   persistentState.put("variableCount", variableCount);
-   persistentState.put("identityLinkCount", identityLinkCount);
-   return persistentState;
+   persistentState.accept("suspensionState", this.suspensionState);
+   persistentState.accept("startTime", this.startTime);
+   persistentState.accept("startUserId", this.startUserId);
+   persistentState.accept("eventSubscriptionCount", eventSubscriptionCount);
+   persistentState.accept("taskCount", taskCount);
+   persistentState.accept("jobCount", jobCount);
+   persistentState.accept("timerJobCount", timerJobCount);
+   persistentState.accept("suspendedJobCount", suspendedJobCount);
+   persistentState.accept("deadLetterJobCount", deadLetterJobCount);
+   persistentState.accept("variableCount", variableCount);
+   persistentState.accept("identityLinkCount", identityLinkCount);
  }
 
   // The current flow element, will be filled during operation execution
@@ -274,6 +291,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     } else {
       this.activityId = null;
     }
+    notifyIndexChangeListener();
   }
 
   public ActivitiListener getCurrentActivitiListener() {
@@ -379,6 +397,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     this.processInstance = (ExecutionEntityImpl) processInstance;
     if (processInstance != null) {
       this.processInstanceId = this.processInstance.getId();
+      notifyIndexChangeListener();
     }
   }
 
@@ -408,6 +427,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     } else {
       this.parentId = null;
     }
+    notifyIndexChangeListener();
   }
 
   // parent process instance id      /////////////////////////////////////////
@@ -666,6 +686,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
   public void setProcessInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
+    notifyIndexChangeListener();
   }
 
   public String getParentId() {
@@ -674,6 +695,17 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
   public void setParentId(String parentId) {
     this.parentId = parentId;
+    notifyIndexChangeListener();
+  }
+
+  public void setIndexChangeListener(IndexChangeListener indexChangeListener) {
+    this.indexChangeListener = indexChangeListener;
+  }
+
+  protected void notifyIndexChangeListener() {
+    if (indexChangeListener != null) {
+      indexChangeListener.indexedAttributeChanged(this);
+    }
   }
 
   public String getActivityId() {
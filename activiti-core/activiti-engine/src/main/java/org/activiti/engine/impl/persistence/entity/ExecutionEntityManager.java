@@ -27,6 +27,7 @@ import org.activiti.engine.impl.ProcessInstanceQueryImpl;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.runtime.ProcessInstanceProjection;
 
 /**
 
@@ -62,6 +63,10 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
   List<ProcessInstance> findProcessInstanceByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
 
+  List<ProcessInstanceProjection> findProcessInstanceProjectionsByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
+
+  List<String> findProcessInstanceIdsByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
+
   List<ProcessInstance> findProcessInstanceAndVariablesByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
 
   Collection<ExecutionEntity> findInactiveExecutionsByProcessInstanceId(String processInstanceId);
@@ -50,6 +50,7 @@ import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.runtime.ProcessInstanceProjection;
 import org.activiti.engine.task.IdentityLinkType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -129,6 +130,16 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     return executionDataManager.findProcessInstanceByQueryCriteria(executionQuery);
   }
 
+  @Override
+  public List<ProcessInstanceProjection> findProcessInstanceProjectionsByQueryCriteria(ProcessInstanceQueryImpl executionQuery) {
+    return executionDataManager.findProcessInstanceProjectionsByQueryCriteria(executionQuery);
+  }
+
+  @Override
+  public List<String> findProcessInstanceIdsByQueryCriteria(ProcessInstanceQueryImpl executionQuery) {
+    return executionDataManager.findProcessInstanceIdsByQueryCriteria(executionQuery);
+  }
+
   @Override
   public ExecutionEntity findByRootProcessInstanceId(String rootProcessInstanceId) {
     List<ExecutionEntity> executions = executionDataManager.findExecutionsByRootProcessInstanceId(rootProcessInstanceId);
@@ -373,8 +384,12 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
   public void deleteProcessInstancesByProcessDefinition(String processDefinitionId, String deleteReason, boolean cascade) {
     List<String> processInstanceIds = executionDataManager.findProcessInstanceIdsByProcessDefinitionId(processDefinitionId);
 
-    for (String processInstanceId : processInstanceIds) {
-      deleteProcessInstance(processInstanceId, deleteReason, cascade);
+    if (cascade && getProcessEngineConfiguration().isBulkDeleteEnabled()) {
+      bulkDeleteProcessInstances(processInstanceIds, deleteReason);
+    } else {
+      for (String processInstanceId : processInstanceIds) {
+        deleteProcessInstance(processInstanceId, deleteReason, cascade);
+      }
     }
 
     if (cascade) {
@@ -382,6 +397,28 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     }
   }
 
+  /**
+   * Deletes the process instances with set-based deletes of at most {@link ProcessEngineConfigurationImpl#getBulkDeleteChunkSize()}
+   * process instances each. The process instances that have called a sub process instance are deleted one by one, as the sub
+   * process instance needs to be deleted too.
+   */
+  protected void bulkDeleteProcessInstances(List<String> processInstanceIds, String deleteReason) {
+    int chunkSize = getProcessEngineConfiguration().getBulkDeleteChunkSize();
+    for (int i = 0; i < processInstanceIds.size(); i += chunkSize) {
+      List<String> chunk = new ArrayList<String>(processInstanceIds.subList(i, Math.min(processInstanceIds.size(), i + chunkSize)));
+
+      List<String> processInstanceIdsWithSubProcessInstances = executionDataManager.findProcessInstanceIdsWithSubProcessInstances(chunk);
+      for (String processInstanceId : processInstanceIdsWithSubProcessInstances) {
+        deleteProcessInstance(processInstanceId, deleteReason, true);
+      }
+      chunk.removeAll(processInstanceIdsWithSubProcessInstances);
+
+      if (!chunk.isEmpty()) {
+        executionDataManager.deleteProcessInstancesByIds(chunk);
+      }
+    }
+  }
+
   @Override
   public void deleteProcessInstance(String processInstanceId, String deleteReason, boolean cascade) {
     ExecutionEntity execution = findById(processInstanceId);
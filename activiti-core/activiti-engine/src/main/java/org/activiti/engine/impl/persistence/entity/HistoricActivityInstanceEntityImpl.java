@@ -20,6 +20,7 @@ package org.activiti.engine.impl.persistence.entity;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.activiti.engine.ProcessEngineConfiguration;
 
@@ -27,7 +28,7 @@ import org.activiti.engine.ProcessEngineConfiguration;
 
 
  */
-public class HistoricActivityInstanceEntityImpl extends HistoricScopeInstanceEntityImpl implements HistoricActivityInstanceEntity {
+public class HistoricActivityInstanceEntityImpl extends HistoricScopeInstanceEntityImpl implements HistoricActivityInstanceEntity, PersistentStateComparable {
 
   private static final long serialVersionUID = 1L;
 
@@ -45,15 +46,26 @@ public class HistoricActivityInstanceEntityImpl extends HistoricScopeInstanceEnt
   }
 
   public Object getPersistentState() {
-    Map<String, Object> persistentState = (Map<String, Object>) new HashMap<String, Object>();
-    persistentState.put("endTime", endTime);
-    persistentState.put("durationInMillis", durationInMillis);
-    persistentState.put("deleteReason", deleteReason);
-    persistentState.put("executionId", executionId);
-    persistentState.put("assignee", assignee);
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    visitPersistentState(persistentState::put);
     return persistentState;
   }
 
+  @SuppressWarnings("unchecked")
+  public boolean hasPersistentStateChanged(Object originalPersistentState) {
+    PersistentStateChangeDetector changeDetector = new PersistentStateChangeDetector((Map<String, Object>) originalPersistentState);
+    visitPersistentState(changeDetector);
+    return changeDetector.hasChanged();
+  }
+
+  protected void visitPersistentState(BiConsumer<String, Object> persistentState) {
+    persistentState.accept("endTime", endTime);
+    persistentState.accept("durationInMillis", durationInMillis);
+    persistentState.accept("deleteReason", deleteReason);
+    persistentState.accept("executionId", executionId);
+    persistentState.accept("assignee", assignee);
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
   public String getActivityId() {
@@ -18,6 +18,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.history.HistoricActivityInstance;
@@ -38,6 +39,8 @@ public interface HistoricActivityInstanceEntityManager extends EntityManager<His
 
   List<HistoricActivityInstance> findHistoricActivityInstancesByQueryCriteria(HistoricActivityInstanceQueryImpl historicActivityInstanceQuery, Page page);
 
+  Stream<HistoricActivityInstance> streamHistoricActivityInstancesByQueryCriteria(HistoricActivityInstanceQueryImpl historicActivityInstanceQuery);
+
   List<HistoricActivityInstance> findHistoricActivityInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   long findHistoricActivityInstanceCountByNativeQuery(Map<String, Object> parameterMap);
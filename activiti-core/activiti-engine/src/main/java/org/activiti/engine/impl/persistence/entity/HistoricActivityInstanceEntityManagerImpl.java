@@ -19,6 +19,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.history.HistoricActivityInstance;
 import org.activiti.engine.impl.HistoricActivityInstanceQueryImpl;
@@ -74,6 +75,11 @@ public class HistoricActivityInstanceEntityManagerImpl extends AbstractEntityMan
     return historicActivityInstanceDataManager.findHistoricActivityInstancesByQueryCriteria(historicActivityInstanceQuery, page);
   }
 
+  @Override
+  public Stream<HistoricActivityInstance> streamHistoricActivityInstancesByQueryCriteria(HistoricActivityInstanceQueryImpl historicActivityInstanceQuery) {
+    return historicActivityInstanceDataManager.streamHistoricActivityInstancesByQueryCriteria(historicActivityInstanceQuery);
+  }
+
   @Override
   public List<HistoricActivityInstance> findHistoricActivityInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return historicActivityInstanceDataManager.findHistoricActivityInstancesByNativeQuery(parameterMap, firstResult, maxResults);
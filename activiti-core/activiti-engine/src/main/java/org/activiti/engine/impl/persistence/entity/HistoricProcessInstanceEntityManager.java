@@ -16,12 +16,15 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 
 /**
 
@@ -35,6 +38,8 @@ public interface HistoricProcessInstanceEntityManager extends EntityManager<Hist
 
   List<HistoricProcessInstance> findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
+  Stream<HistoricProcessInstance> streamHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
+
   List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
   List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
@@ -43,4 +48,10 @@ public interface HistoricProcessInstanceEntityManager extends EntityManager<Hist
 
   void deleteHistoricProcessInstanceByProcessDefinitionId(String processDefinitionId);
 
+  /**
+   * Deletes the given historic process instances and their historic sub process instances, together with all their historic data,
+   * using set-based deletes of at most {@link ProcessEngineConfigurationImpl#getBulkDeleteChunkSize()} instances each.
+   */
+  void deleteHistoricProcessInstances(Collection<String> historicProcessInstanceIds);
+
 }
@@ -19,8 +19,13 @@ package org.activiti.engine.impl.persistence.entity;
 
 import static java.util.Collections.emptyList;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
@@ -53,12 +58,39 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
   public void deleteHistoricProcessInstanceByProcessDefinitionId(String processDefinitionId) {
     if (getHistoryManager().isHistoryEnabled()) {
       List<String> historicProcessInstanceIds = historicProcessInstanceDataManager.findHistoricProcessInstanceIdsByProcessDefinitionId(processDefinitionId);
+      if (getProcessEngineConfiguration().isBulkDeleteEnabled()) {
+        deleteHistoricProcessInstances(historicProcessInstanceIds);
+        return;
+      }
       for (String historicProcessInstanceId : historicProcessInstanceIds) {
         delete(historicProcessInstanceId);
       }
     }
   }
 
+  @Override
+  public void deleteHistoricProcessInstances(Collection<String> historicProcessInstanceIds) {
+    if (!getHistoryManager().isHistoryEnabled()) {
+      return;
+    }
+
+    int chunkSize = getProcessEngineConfiguration().getBulkDeleteChunkSize();
+    Set<String> seenIds = new HashSet<String>(historicProcessInstanceIds);
+    List<String> pendingIds = new ArrayList<String>(seenIds);
+    for (int i = 0; i < pendingIds.size(); i += chunkSize) {
+      List<String> chunk = new ArrayList<String>(pendingIds.subList(i, Math.min(pendingIds.size(), i + chunkSize)));
+
+      // Sub process instances are appended, so they are deleted by one of the next chunks
+      for (String subProcessInstanceId : historicProcessInstanceDataManager.findHistoricProcessInstanceIdsBySuperProcessInstanceIds(chunk)) {
+        if (seenIds.add(subProcessInstanceId)) {
+          pendingIds.add(subProcessInstanceId);
+        }
+      }
+
+      historicProcessInstanceDataManager.deleteHistoricProcessInstancesByIds(chunk);
+    }
+  }
+
   @Override
   public void delete(String historicProcessInstanceId) {
     if (getHistoryManager().isHistoryEnabled()) {
@@ -99,6 +131,14 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
     return emptyList();
   }
 
+  @Override
+  public Stream<HistoricProcessInstance> streamHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
+    if (getHistoryManager().isHistoryEnabled()) {
+      return historicProcessInstanceDataManager.streamHistoricProcessInstancesByQueryCriteria(historicProcessInstanceQuery);
+    }
+    return Stream.empty();
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
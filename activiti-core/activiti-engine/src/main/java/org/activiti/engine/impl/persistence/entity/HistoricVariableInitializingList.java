@@ -67,6 +67,9 @@ public class HistoricVariableInitializingList extends ArrayList<HistoricVariable
    */
   protected void initializeVariable(HistoricVariableInstanceEntity e) {
     if (Context.getCommandContext() != null && e != null && e.getVariableType() != null) {
+      if (isLazilyLoaded(e.getByteArrayRef())) {
+        return;
+      }
       e.getValue();
 
       // make sure JPA entities are cached for later retrieval
@@ -75,4 +78,12 @@ public class HistoricVariableInitializingList extends ArrayList<HistoricVariable
       }
     }
   }
+
+  /**
+   * Byte array values that aren't loaded yet are left to be loaded when read, if the engine is configured to do so.
+   */
+  protected boolean isLazilyLoaded(ByteArrayRef byteArrayRef) {
+    return byteArrayRef != null && !byteArrayRef.isLoaded()
+        && Context.getCommandContext().getProcessEngineConfiguration().isLazyQueryVariableBytesEnabled();
+  }
 }
@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.InputStream;
 import java.util.Date;
 
 import org.activiti.engine.api.internal.Internal;
@@ -52,4 +53,10 @@ public interface HistoricVariableInstanceEntity extends ValueFields, HistoricVar
 
   ByteArrayRef getByteArrayRef();
 
+  /**
+   * Returns the stored bytes of the value as a stream, without loading them in memory when they haven't been loaded
+   * yet. Streams read from the database can only be read while the current command context is open.
+   */
+  InputStream getBytesAsStream();
+
 }
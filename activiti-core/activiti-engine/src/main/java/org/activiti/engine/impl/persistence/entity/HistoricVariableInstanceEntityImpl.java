@@ -17,9 +17,12 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.InputStream;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.activiti.engine.impl.db.BulkDeleteable;
 import org.activiti.engine.impl.variable.VariableType;
@@ -29,7 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 
 
  */
-public class HistoricVariableInstanceEntityImpl extends AbstractEntity implements HistoricVariableInstanceEntity, BulkDeleteable, Serializable {
+public class HistoricVariableInstanceEntityImpl extends AbstractEntity implements HistoricVariableInstanceEntity, BulkDeleteable, Serializable, PersistentStateComparable {
 
   private static final long serialVersionUID = 1L;
 
@@ -56,21 +59,30 @@ public class HistoricVariableInstanceEntityImpl extends AbstractEntity implement
   }
 
   public Object getPersistentState() {
-    HashMap<String, Object> persistentState = new HashMap<String, Object>();
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    visitPersistentState(persistentState::put);
+    return persistentState;
+  }
+
+  @SuppressWarnings("unchecked")
+  public boolean hasPersistentStateChanged(Object originalPersistentState) {
+    PersistentStateChangeDetector changeDetector = new PersistentStateChangeDetector((Map<String, Object>) originalPersistentState);
+    visitPersistentState(changeDetector);
+    return changeDetector.hasChanged();
+  }
 
-    persistentState.put("textValue", textValue);
-    persistentState.put("textValue2", textValue2);
-    persistentState.put("doubleValue", doubleValue);
-    persistentState.put("longValue", longValue);
+  protected void visitPersistentState(BiConsumer<String, Object> persistentState) {
+    persistentState.accept("textValue", textValue);
+    persistentState.accept("textValue2", textValue2);
+    persistentState.accept("doubleValue", doubleValue);
+    persistentState.accept("longValue", longValue);
 
     if (byteArrayRef != null) {
-      persistentState.put("byteArrayRef", byteArrayRef.getId());
+      persistentState.accept("byteArrayRef", byteArrayRef.getId());
     }
 
-    persistentState.put("createTime", createTime);
-    persistentState.put("lastUpdatedTime", lastUpdatedTime);
-
-    return persistentState;
+    persistentState.accept("createTime", createTime);
+    persistentState.accept("lastUpdatedTime", lastUpdatedTime);
   }
 
   public Object getValue() {
@@ -90,6 +102,14 @@ public class HistoricVariableInstanceEntityImpl extends AbstractEntity implement
     return null;
   }
 
+  @Override
+  public InputStream getBytesAsStream() {
+    if (byteArrayRef != null) {
+      return byteArrayRef.getInputStream();
+    }
+    return null;
+  }
+
   @Override
   public void setBytes(byte[] bytes) {
     if (byteArrayRef == null) {
@@ -18,6 +18,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.history.HistoricVariableInstance;
@@ -36,6 +37,8 @@ public interface HistoricVariableInstanceEntityManager extends EntityManager<His
 
   List<HistoricVariableInstance> findHistoricVariableInstancesByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery, Page page);
 
+  Stream<HistoricVariableInstance> streamHistoricVariableInstancesByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery);
+
   HistoricVariableInstanceEntity findHistoricVariableInstanceByVariableInstanceId(String variableInstanceId);
 
   long findHistoricVariableInstanceCountByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery);
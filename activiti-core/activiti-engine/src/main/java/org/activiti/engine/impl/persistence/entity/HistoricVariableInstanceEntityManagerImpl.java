@@ -20,6 +20,7 @@ package org.activiti.engine.impl.persistence.entity;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.history.HistoricVariableInstance;
 import org.activiti.engine.impl.HistoricVariableInstanceQueryImpl;
@@ -113,6 +114,11 @@ public class HistoricVariableInstanceEntityManagerImpl extends AbstractEntityMan
     return historicVariableInstanceDataManager.findHistoricVariableInstancesByQueryCriteria(historicProcessVariableQuery, page);
   }
 
+  @Override
+  public Stream<HistoricVariableInstance> streamHistoricVariableInstancesByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery) {
+    return historicVariableInstanceDataManager.streamHistoricVariableInstancesByQueryCriteria(historicProcessVariableQuery);
+  }
+
   @Override
   public HistoricVariableInstanceEntity findHistoricVariableInstanceByVariableInstanceId(String variableInstanceId) {
     return historicVariableInstanceDataManager.findHistoricVariableInstanceByVariableInstanceId(variableInstanceId);
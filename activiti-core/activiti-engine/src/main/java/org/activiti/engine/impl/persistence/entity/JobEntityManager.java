@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
@@ -68,6 +69,11 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    */
   List<JobEntity> findJobsByProcessInstanceId(String processInstanceId);
 
+  /**
+   * Returns all {@link JobEntity} instances with the given job handler type.
+   */
+  List<JobEntity> findJobsByType(String type);
+
   /**
    * Returns all {@link JobEntity} instance which are expired, which means
    * that the lock time of the {@link JobEntity} is past a certain configurable
@@ -92,6 +98,15 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    */
   void resetExpiredJob(String jobId);
 
+  /**
+   * Locks the given {@link JobEntity} instances for the given lock owner with one single update statement.
+   *
+   * Jobs that were locked concurrently by another async executor are not locked
+   * and are not part of the returned list. The returned {@link JobEntity} instances
+   * reflect the state of the database, so they won't be updated again when flushing.
+   */
+  List<JobEntity> bulkLockJobs(List<JobEntity> jobs, String lockOwner, Date lockExpirationTime);
+
   /**
    * Changes the tenantId for all jobs related to a given {@link DeploymentEntity}.
    */
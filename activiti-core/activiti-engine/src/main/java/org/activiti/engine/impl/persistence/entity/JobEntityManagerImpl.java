@@ -17,7 +17,11 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
@@ -25,6 +29,7 @@ import org.activiti.engine.impl.JobQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
+import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.JobDataManager;
 import org.activiti.engine.runtime.Job;
@@ -112,6 +117,11 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
         return jobDataManager.findJobsByProcessInstanceId(processInstanceId);
     }
 
+    @Override
+    public List<JobEntity> findJobsByType(String jobHandlerType) {
+        return jobDataManager.findJobsByType(jobHandlerType);
+    }
+
     @Override
     public List<JobEntity> findExpiredJobs(Page page) {
         return jobDataManager.findExpiredJobs(page);
@@ -122,6 +132,46 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
         jobDataManager.resetExpiredJob(jobId);
     }
 
+    @Override
+    public List<JobEntity> bulkLockJobs(List<JobEntity> jobs,
+                                        String lockOwner,
+                                        Date lockExpirationTime) {
+        List<String> jobIds = new ArrayList<String>(jobs.size());
+        for (JobEntity job : jobs) {
+            jobIds.add(job.getId());
+        }
+
+        int nrOfLockedJobs = jobDataManager.bulkLockJobs(jobIds,
+                                                         lockOwner,
+                                                         lockExpirationTime);
+
+        // Only when another executor locked some of the jobs in the meantime,
+        // the jobs that were actually locked by this update need to be looked up
+        Set<String> lockedJobIds;
+        if (nrOfLockedJobs == jobIds.size()) {
+            lockedJobIds = new HashSet<String>(jobIds);
+        } else {
+            lockedJobIds = new HashSet<String>(jobDataManager.findJobIdsByLockOwner(jobIds,
+                                                                                    lockOwner));
+        }
+
+        EntityCache entityCache = getSession(EntityCache.class);
+        List<JobEntity> lockedJobs = new ArrayList<JobEntity>(lockedJobIds.size());
+        for (JobEntity job : jobs) {
+            if (lockedJobIds.contains(job.getId())) {
+                job.setLockOwner(lockOwner);
+                job.setLockExpirationTime(lockExpirationTime);
+                job.setRevision(job.getRevisionNext());
+
+                // The entity now matches the row in the database, storing its state avoids another update at flush time
+                entityCache.put(job,
+                                true);
+                lockedJobs.add(job);
+            }
+        }
+        return lockedJobs;
+    }
+
     @Override
     public List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery,
                                              Page page) {
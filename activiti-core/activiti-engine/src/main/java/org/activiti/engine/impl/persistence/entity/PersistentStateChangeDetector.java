@@ -0,0 +1,51 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Compares the values of a persistent state, as they are visited one by one, with a persistent state map captured
+ * earlier. Lets entities implement {@link PersistentStateComparable} with the same code that builds their persistent
+ * state map, so both can't drift apart.
+ */
+public class PersistentStateChangeDetector implements BiConsumer<String, Object> {
+
+  protected Map<String, Object> originalPersistentState;
+  protected int visitedCount;
+  protected boolean changed;
+
+  public PersistentStateChangeDetector(Map<String, Object> originalPersistentState) {
+    this.originalPersistentState = originalPersistentState;
+  }
+
+  @Override
+  public void accept(String name, Object value) {
+    visitedCount++;
+    if (!changed && !Objects.equals(value, originalPersistentState.get(name))) {
+      changed = true;
+    }
+  }
+
+  public boolean hasChanged() {
+    // a different number of values means an optional value has been added or removed
+    return changed || visitedCount != originalPersistentState.size();
+  }
+
+}
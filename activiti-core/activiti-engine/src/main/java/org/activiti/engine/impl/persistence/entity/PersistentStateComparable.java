@@ -0,0 +1,30 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.entity;
+
+import org.activiti.engine.impl.persistence.cache.CachedEntity;
+
+/**
+ * {@link Entity} that can tell whether its persistent state differs from a persistent state captured earlier without
+ * building a new persistent state object. Used by {@link CachedEntity#hasChanged()} when determining the entities to
+ * update at flush, so that unchanged entities don't cost an allocation of their whole persistent state.
+ */
+public interface PersistentStateComparable {
+
+  boolean hasPersistentStateChanged(Object originalPersistentState);
+
+}
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import org.activiti.bpmn.model.ActivitiListener;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ProcessEngineConfiguration;
@@ -43,7 +44,7 @@ import org.activiti.engine.task.IdentityLinkType;
 
 
  */
-public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Serializable, BulkDeleteable {
+public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Serializable, BulkDeleteable, PersistentStateComparable {
 
   public static final String DELETE_REASON_COMPLETED = "completed";
   public static final String DELETE_REASON_DELETED = "deleted";
@@ -105,46 +106,56 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
 
   public Object getPersistentState() {
     Map<String, Object> persistentState = new HashMap<String, Object>();
-    persistentState.put("assignee", this.assignee);
-    persistentState.put("owner", this.owner);
-    persistentState.put("name", this.name);
-    persistentState.put("priority", this.priority);
+    visitPersistentState(persistentState::put);
+    return persistentState;
+  }
+
+  @SuppressWarnings("unchecked")
+  public boolean hasPersistentStateChanged(Object originalPersistentState) {
+    PersistentStateChangeDetector changeDetector = new PersistentStateChangeDetector((Map<String, Object>) originalPersistentState);
+    visitPersistentState(changeDetector);
+    return changeDetector.hasChanged();
+  }
+
+  protected void visitPersistentState(BiConsumer<String, Object> persistentState) {
+    persistentState.accept("assignee", this.assignee);
+    persistentState.accept("owner", this.owner);
+    persistentState.accept("name", this.name);
+    persistentState.accept("priority", this.priority);
     if (businessKey != null) {
-      persistentState.put("businessKey", this.businessKey);
+      persistentState.accept("businessKey", this.businessKey);
     }
     if (executionId != null) {
-      persistentState.put("executionId", this.executionId);
+      persistentState.accept("executionId", this.executionId);
     }
     if (processDefinitionId != null) {
-      persistentState.put("processDefinitionId", this.processDefinitionId);
+      persistentState.accept("processDefinitionId", this.processDefinitionId);
     }
     if (createTime != null) {
-      persistentState.put("createTime", this.createTime);
+      persistentState.accept("createTime", this.createTime);
     }
     if (description != null) {
-      persistentState.put("description", this.description);
+      persistentState.accept("description", this.description);
     }
     if (dueDate != null) {
-      persistentState.put("dueDate", this.dueDate);
+      persistentState.accept("dueDate", this.dueDate);
     }
     if (parentTaskId != null) {
-      persistentState.put("parentTaskId", this.parentTaskId);
+      persistentState.accept("parentTaskId", this.parentTaskId);
     }
     if (delegationState != null) {
-      persistentState.put("delegationState", this.delegationState);
+      persistentState.accept("delegationState", this.delegationState);
     }
 
-    persistentState.put("suspensionState", this.suspensionState);
+    persistentState.accept("suspensionState", this.suspensionState);
 
     if (forcedUpdate) {
-      persistentState.put("forcedUpdate", Boolean.TRUE);
+      persistentState.accept("forcedUpdate", Boolean.TRUE);
     }
 
     if (claimTime != null) {
-      persistentState.put("claimTime", this.claimTime);
+      persistentState.accept("claimTime", this.claimTime);
     }
-
-    return persistentState;
   }
 
   public int getRevisionNext() {
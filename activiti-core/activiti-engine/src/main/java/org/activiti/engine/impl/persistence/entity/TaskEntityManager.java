@@ -18,10 +18,12 @@ package org.activiti.engine.impl.persistence.entity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.task.Task;
+import org.activiti.engine.task.TaskProjection;
 @Internal
 public interface TaskEntityManager extends EntityManager<TaskEntity> {
 
@@ -39,8 +41,12 @@ public interface TaskEntityManager extends EntityManager<TaskEntity> {
 
   List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery);
 
+  Stream<Task> streamTasksByQueryCriteria(TaskQueryImpl taskQuery);
+
   List<Task> findTasksAndVariablesByQueryCriteria(TaskQueryImpl taskQuery);
 
+  List<TaskProjection> findTaskProjectionsByQueryCriteria(TaskQueryImpl taskQuery);
+
   long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery);
 
   List<Task> findTasksByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
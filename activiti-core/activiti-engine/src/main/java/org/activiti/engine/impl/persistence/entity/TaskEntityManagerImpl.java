@@ -19,6 +19,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.delegate.TaskListener;
@@ -31,6 +32,7 @@ import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.TaskDataManager;
 import org.activiti.engine.task.IdentityLinkType;
 import org.activiti.engine.task.Task;
+import org.activiti.engine.task.TaskProjection;
 
 /**
 
@@ -264,11 +266,21 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
     return taskDataManager.findTasksByQueryCriteria(taskQuery);
   }
 
+  @Override
+  public Stream<Task> streamTasksByQueryCriteria(TaskQueryImpl taskQuery) {
+    return taskDataManager.streamTasksByQueryCriteria(taskQuery);
+  }
+
   @Override
   public List<Task> findTasksAndVariablesByQueryCriteria(TaskQueryImpl taskQuery) {
     return taskDataManager.findTasksAndVariablesByQueryCriteria(taskQuery);
   }
 
+  @Override
+  public List<TaskProjection> findTaskProjectionsByQueryCriteria(TaskQueryImpl taskQuery) {
+    return taskDataManager.findTaskProjectionsByQueryCriteria(taskQuery);
+  }
+
   @Override
   public long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery) {
     return taskDataManager.findTaskCountByQueryCriteria(taskQuery);
@@ -54,6 +54,12 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
    */
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String type, String processDefinitionId);
 
+  /**
+   * Returns all {@link TimerJobEntity} instances with the given job handler type,
+   * eg to find the timer of a job that is scheduled once per engine.
+   */
+  List<TimerJobEntity> findJobsByType(String type);
+
   /**
    * The same as {@link #findJobsByTypeAndProcessDefinitionId(String, String)}, but
    * by key and for a specific tenantId.
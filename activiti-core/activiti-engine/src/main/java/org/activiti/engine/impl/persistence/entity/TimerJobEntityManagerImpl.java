@@ -81,6 +81,11 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
                                                                    processDefinitionId);
     }
 
+    @Override
+    public List<TimerJobEntity> findJobsByType(String jobHandlerType) {
+        return jobDataManager.findJobsByType(jobHandlerType);
+    }
+
     @Override
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionKeyNoTenantId(String jobHandlerType,
                                                                                 String processDefinitionKey) {
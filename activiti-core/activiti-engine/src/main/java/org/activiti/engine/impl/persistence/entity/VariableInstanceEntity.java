@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.InputStream;
+
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.impl.variable.VariableType;
 
@@ -37,6 +39,12 @@ public interface VariableInstanceEntity extends VariableInstance {
 
   ByteArrayRef getByteArrayRef();
 
+  /**
+   * Returns the stored bytes of the value as a stream, without loading them in memory when they haven't been loaded
+   * yet. Streams read from the database can only be read while the current command context is open.
+   */
+  InputStream getBytesAsStream();
+
   VariableType getType();
 
   void setType(VariableType type);
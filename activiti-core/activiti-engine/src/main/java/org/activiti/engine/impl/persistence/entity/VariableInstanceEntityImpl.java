@@ -16,9 +16,11 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.InputStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.activiti.engine.impl.db.BulkDeleteable;
 import org.activiti.engine.impl.variable.ValueFields;
@@ -30,7 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 
 
  */
-public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, BulkDeleteable, Serializable {
+public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, BulkDeleteable, Serializable, PersistentStateComparable {
 
   private static final long serialVersionUID = 1L;
 
@@ -58,25 +60,36 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
   public Object getPersistentState() {
     Map<String, Object> persistentState = new HashMap<String, Object>();
+    visitPersistentState(persistentState::put);
+    return persistentState;
+  }
+
+  @SuppressWarnings("unchecked")
+  public boolean hasPersistentStateChanged(Object originalPersistentState) {
+    PersistentStateChangeDetector changeDetector = new PersistentStateChangeDetector((Map<String, Object>) originalPersistentState);
+    visitPersistentState(changeDetector);
+    return changeDetector.hasChanged();
+  }
+
+  protected void visitPersistentState(BiConsumer<String, Object> persistentState) {
     if (longValue != null) {
-      persistentState.put("longValue", longValue);
+      persistentState.accept("longValue", longValue);
     }
     if (doubleValue != null) {
-      persistentState.put("doubleValue", doubleValue);
+      persistentState.accept("doubleValue", doubleValue);
     }
     if (textValue != null) {
-      persistentState.put("textValue", textValue);
+      persistentState.accept("textValue", textValue);
     }
     if (textValue2 != null) {
-      persistentState.put("textValue2", textValue2);
+      persistentState.accept("textValue2", textValue2);
     }
     if (byteArrayRef != null && byteArrayRef.getId() != null) {
-      persistentState.put("byteArrayValueId", byteArrayRef.getId());
+      persistentState.accept("byteArrayValueId", byteArrayRef.getId());
     }
     if (forcedUpdate) {
-      persistentState.put("forcedUpdate", Boolean.TRUE);
+      persistentState.accept("forcedUpdate", Boolean.TRUE);
     }
-    return persistentState;
   }
 
   public void setExecution(ExecutionEntity execution) {
@@ -111,6 +124,11 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     byteArrayRef.setValue("var-" + name, bytes);
   }
 
+  public InputStream getBytesAsStream() {
+    ensureByteArrayRefInitialized();
+    return byteArrayRef.getInputStream();
+  }
+
   public ByteArrayRef getByteArrayRef() {
     return byteArrayRef;
   }
@@ -35,10 +35,14 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
   List<VariableInstanceEntity> findVariableInstancesByTaskIds(Set<String> taskIds);
 
+  List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndNames(Set<String> taskIds, Collection<String> names);
+
   List<VariableInstanceEntity> findVariableInstancesByExecutionId(String executionId);
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
+  List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Set<String> executionIds, Collection<String> names);
+
   VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName);
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
@@ -83,6 +83,11 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
     return variableInstanceDataManager.findVariableInstancesByTaskIds(taskIds);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndNames(Set<String> taskIds, Collection<String> names) {
+    return variableInstanceDataManager.findVariableInstancesByTaskIdsAndNames(taskIds, names);
+  }
+
   @Override
   public List<VariableInstanceEntity> findVariableInstancesByExecutionId(final String executionId) {
     return variableInstanceDataManager.findVariableInstancesByExecutionId(executionId);
@@ -93,6 +98,11 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
     return variableInstanceDataManager.findVariableInstancesByExecutionIds(executionIds);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Set<String> executionIds, Collection<String> names) {
+    return variableInstanceDataManager.findVariableInstancesByExecutionIdsAndNames(executionIds, names);
+  }
+
   @Override
   public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
     return variableInstanceDataManager.findVariableInstanceByExecutionAndName(executionId, variableName);
@@ -26,6 +26,7 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.persistence.AbstractManager;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.SingleCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
@@ -94,9 +95,19 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
   @SuppressWarnings("unchecked")
   protected EntityImpl getEntity(String selectQuery, Object parameter, SingleCachedEntityMatcher<EntityImpl> cachedEntityMatcher, boolean checkDatabase) {
     // Cache
-    for (EntityImpl cachedEntity : getEntityCache().findInCache(getManagedEntityClass())) {
-      if (cachedEntityMatcher.isRetained(cachedEntity, parameter)) {
-        return cachedEntity;
+    Collection<CachedEntity> indexedCachedObjects = findIndexedCachedObjects(cachedEntityMatcher, parameter);
+    if (indexedCachedObjects != null) {
+      for (CachedEntity cachedObject : indexedCachedObjects) {
+        EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
+        if (cachedEntityMatcher.isRetained(cachedEntity, parameter)) {
+          return cachedEntity;
+        }
+      }
+    } else {
+      for (EntityImpl cachedEntity : getEntityCache().findInCache(getManagedEntityClass())) {
+        if (cachedEntityMatcher.isRetained(cachedEntity, parameter)) {
+          return cachedEntity;
+        }
       }
     }
 
@@ -127,7 +138,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
 
     if (checkCache) {
 
-      Collection<CachedEntity> cachedObjects = getEntityCache().findInCacheAsCachedObjects(getManagedEntityClass());
+      Collection<CachedEntity> cachedObjects = findCachedObjects(cachedEntityMatcher, parameter);
 
       if ( (cachedObjects != null && cachedObjects.size() > 0) || getManagedEntitySubClasses() != null) {
 
@@ -182,7 +193,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
   }
 
   protected List<EntityImpl> getListFromCache(CachedEntityMatcher<EntityImpl> entityMatcher, Object parameter) {
-    Collection<CachedEntity> cachedObjects = getEntityCache().findInCacheAsCachedObjects(getManagedEntityClass());
+    Collection<CachedEntity> cachedObjects = findCachedObjects(entityMatcher, parameter);
 
     DbSqlSession dbSqlSession = getDbSqlSession();
 
@@ -213,5 +224,24 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
     return result;
   }
 
+  /**
+   * Returns the cached entities of the managed type that can match the given matcher: only the ones found through
+   * a cache index when the matcher is an {@link IndexedCachedEntityMatcher}, all of them otherwise.
+   */
+  protected Collection<CachedEntity> findCachedObjects(Object cachedEntityMatcher, Object parameter) {
+    Collection<CachedEntity> indexedCachedObjects = findIndexedCachedObjects(cachedEntityMatcher, parameter);
+    if (indexedCachedObjects != null) {
+      return indexedCachedObjects;
+    }
+    return getEntityCache().findInCacheAsCachedObjects(getManagedEntityClass());
+  }
+
+  protected Collection<CachedEntity> findIndexedCachedObjects(Object cachedEntityMatcher, Object parameter) {
+    if (cachedEntityMatcher instanceof IndexedCachedEntityMatcher) {
+      IndexedCachedEntityMatcher indexedMatcher = (IndexedCachedEntityMatcher) cachedEntityMatcher;
+      return getEntityCache().findInCacheAsCachedObjects(getManagedEntityClass(), indexedMatcher.getIndexName(), indexedMatcher.getIndexValue(parameter));
+    }
+    return null;
+  }
 
 }
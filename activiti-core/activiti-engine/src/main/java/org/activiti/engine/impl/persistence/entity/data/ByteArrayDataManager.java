@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
@@ -27,6 +28,10 @@ public interface ByteArrayDataManager extends DataManager<ByteArrayEntity> {
 
   List<ByteArrayEntity> findAll();
 
+  List<String> findByteArrayIdsByName(String name);
+
+  InputStream findBytesAsStream(String byteArrayEntityId);
+
   void deleteByteArrayNoRevisionCheck(String byteArrayEntityId);
 
 }
@@ -30,9 +30,15 @@ public interface DeadLetterJobDataManager extends DataManager<DeadLetterJobEntit
 
   List<DeadLetterJobEntity> findJobsByExecutionId(String executionId);
 
+  List<DeadLetterJobEntity> findJobsByType(String jobHandlerType);
+
   List<Job> findJobsByQueryCriteria(DeadLetterJobQueryImpl jobQuery, Page page);
 
   long findJobCountByQueryCriteria(DeadLetterJobQueryImpl jobQuery);
 
+  List<String> findJobIdsByQueryCriteria(DeadLetterJobQueryImpl jobQuery);
+
+  long findJobCountByTypeAndByteArrayName(String jobHandlerType, String byteArrayName);
+
   void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
 }
@@ -27,6 +27,7 @@ import org.activiti.engine.impl.ProcessInstanceQueryImpl;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.runtime.ProcessInstanceProjection;
 
 /**
 
@@ -49,6 +50,10 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
 
   List<ProcessInstance> findProcessInstanceByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
 
+  List<ProcessInstanceProjection> findProcessInstanceProjectionsByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
+
+  List<String> findProcessInstanceIdsByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
+
   List<ExecutionEntity> findExecutionsByRootProcessInstanceId(String rootProcessInstanceId);
 
   List<ExecutionEntity> findExecutionsByProcessInstanceId(String processInstanceId);
@@ -61,6 +66,15 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
 
   List<String> findProcessInstanceIdsByProcessDefinitionId(String processDefinitionId);
 
+  List<String> findProcessInstanceIdsWithSubProcessInstances(List<String> processInstanceIds);
+
+  /**
+   * Deletes the given process instances, with all their executions, tasks, jobs, variables, event subscriptions and identity links,
+   * using set-based statements that are executed when the session is flushed. No entities are loaded, so the deleted data must not be
+   * in the entity cache of the current command. Process instances that have a running sub process instance must be deleted one by one.
+   */
+  void deleteProcessInstancesByIds(List<String> processInstanceIds);
+
   List<Execution> findExecutionsByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   List<ProcessInstance> findProcessInstanceByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
@@ -18,6 +18,7 @@ package org.activiti.engine.impl.persistence.entity.data;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
@@ -35,10 +36,21 @@ public interface HistoricProcessInstanceDataManager extends DataManager<Historic
 
   List<HistoricProcessInstanceEntity> findHistoricProcessInstancesBySuperProcessInstanceId(String superProcessInstanceId);
 
+  List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(List<String> superProcessInstanceIds);
+
+  /**
+   * Deletes the given historic process instances, with all their historic activities, tasks, variables, details, identity links,
+   * comments and attachments, using set-based statements that are executed when the session is flushed. Historic sub process
+   * instances are not deleted.
+   */
+  void deleteHistoricProcessInstancesByIds(List<String> historicProcessInstanceIds);
+
   long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
   List<HistoricProcessInstance> findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
+  Stream<HistoricProcessInstance> streamHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
+
   List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
   List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
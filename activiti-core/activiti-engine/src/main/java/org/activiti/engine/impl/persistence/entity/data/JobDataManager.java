@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.JobQueryImpl;
@@ -38,6 +40,8 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   List<JobEntity> findJobsByProcessInstanceId(final String processInstanceId);
 
+  List<JobEntity> findJobsByType(String jobHandlerType);
+
   List<JobEntity> findExpiredJobs(Page page);
 
   List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery, Page page);
@@ -48,4 +52,8 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   void resetExpiredJob(String jobId);
 
+  int bulkLockJobs(Collection<String> jobIds, String lockOwner, Date lockExpirationTime);
+
+  List<String> findJobIdsByLockOwner(Collection<String> jobIds, String lockOwner);
+
 }
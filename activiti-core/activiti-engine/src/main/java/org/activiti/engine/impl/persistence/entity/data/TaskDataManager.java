@@ -18,10 +18,12 @@ package org.activiti.engine.impl.persistence.entity.data;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.impl.persistence.entity.TaskEntity;
 import org.activiti.engine.task.Task;
+import org.activiti.engine.task.TaskProjection;
 
 /**
 
@@ -34,8 +36,12 @@ public interface TaskDataManager extends DataManager<TaskEntity> {
 
   List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery);
 
+  Stream<Task> streamTasksByQueryCriteria(TaskQueryImpl taskQuery);
+
   List<Task> findTasksAndVariablesByQueryCriteria(TaskQueryImpl taskQuery);
 
+  List<TaskProjection> findTaskProjectionsByQueryCriteria(TaskQueryImpl taskQuery);
+
   long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery);
 
   List<Task> findTasksByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
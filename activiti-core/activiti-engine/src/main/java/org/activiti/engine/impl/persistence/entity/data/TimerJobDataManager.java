@@ -33,6 +33,8 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
 
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId);
 
+  List<TimerJobEntity> findJobsByType(String jobHandlerType);
+
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionKeyNoTenantId(String jobHandlerType, String processDefinitionKey);
 
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionKeyAndTenantId(String jobHandlerType, String processDefinitionKey, String tenantId);
@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.List;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -49,6 +51,22 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
     return getDbSqlSession().selectList("selectByteArrays");
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findByteArrayIdsByName(String name) {
+    return getDbSqlSession().selectList("selectByteArrayIdsByName", name);
+  }
+
+  @Override
+  public InputStream findBytesAsStream(String byteArrayEntityId) {
+    ByteArrayEntity cachedByteArray = getEntityCache().findInCache(getManagedEntityClass(), byteArrayEntityId);
+    if (cachedByteArray != null) {
+      // inserted or updated bytes are only in the cache until the flush
+      return cachedByteArray.getBytes() != null ? new ByteArrayInputStream(cachedByteArray.getBytes()) : null;
+    }
+    return getDbSqlSession().selectBinaryStream("selectBytesOfByteArrayById", byteArrayEntityId);
+  }
+
   @Override
   public void deleteByteArrayNoRevisionCheck(String byteArrayEntityId) {
     getDbSqlSession().delete("deleteByteArrayNoRevisionCheck", byteArrayEntityId, ByteArrayEntityImpl.class);
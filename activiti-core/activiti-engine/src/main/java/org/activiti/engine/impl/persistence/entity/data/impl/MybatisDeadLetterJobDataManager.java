@@ -68,11 +68,31 @@ public class MybatisDeadLetterJobDataManager extends AbstractDataManager<DeadLet
     return (Long) getDbSqlSession().selectOne("selectDeadLetterJobCountByQueryCriteria", jobQuery);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findJobIdsByQueryCriteria(DeadLetterJobQueryImpl jobQuery) {
+    return getDbSqlSession().selectList("selectDeadLetterJobIdsByQueryCriteria", jobQuery);
+  }
+
+  @Override
+  public long findJobCountByTypeAndByteArrayName(String jobHandlerType, String byteArrayName) {
+    HashMap<String, Object> params = new HashMap<String, Object>();
+    params.put("handlerType", jobHandlerType);
+    params.put("byteArrayName", byteArrayName);
+    return (Long) getDbSqlSession().selectOne("selectDeadLetterJobCountByTypeAndByteArrayName", params);
+  }
+
   @Override
   public List<DeadLetterJobEntity> findJobsByExecutionId(String executionId) {
     return getList("selectDeadLetterJobsByExecutionId", executionId, deadLetterByExecutionIdMatcher, true);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<DeadLetterJobEntity> findJobsByType(String jobHandlerType) {
+    return getDbSqlSession().selectList("selectDeadLetterJobsByType", jobHandlerType);
+  }
+
   @Override
   public void updateJobTenantIdForDeployment(String deploymentId, String newTenantId) {
     HashMap<String, Object> params = new HashMap<String, Object>();
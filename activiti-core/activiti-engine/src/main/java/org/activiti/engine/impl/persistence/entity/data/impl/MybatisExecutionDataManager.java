@@ -18,6 +18,7 @@ package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import static java.util.Collections.emptyList;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -31,9 +32,19 @@ import org.activiti.engine.impl.ProcessInstanceQueryImpl;
 import org.activiti.engine.impl.cfg.PerformanceSettings;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
+import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.persistence.SingleCachedEntityMatcher;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl;
+import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntityImpl;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityImpl;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.IdentityLinkEntityImpl;
+import org.activiti.engine.impl.persistence.entity.JobEntityImpl;
+import org.activiti.engine.impl.persistence.entity.SuspendedJobEntityImpl;
+import org.activiti.engine.impl.persistence.entity.TaskEntityImpl;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntityImpl;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.ExecutionDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionByProcessInstanceMatcher;
@@ -47,8 +58,10 @@ import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.Inacti
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.InactiveExecutionsInActivityMatcher;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ProcessInstancesByProcessDefinitionMatcher;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.SubProcessInstanceExecutionBySuperExecutionIdMatcher;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntityImpl;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.runtime.ProcessInstanceProjection;
 
 /**
 
@@ -235,6 +248,41 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     return getDbSqlSession().selectList("selectProcessInstanceIdsByProcessDefinitionId", processDefinitionId, false);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findProcessInstanceIdsWithSubProcessInstances(List<String> processInstanceIds) {
+    return getDbSqlSession().selectList("selectProcessInstanceIdsWithSubProcessInstances", processInstanceIds, false);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void deleteProcessInstancesByIds(List<String> processInstanceIds) {
+    DbSqlSession dbSqlSession = getDbSqlSession();
+
+    // The byte arrays are referenced by the variables and jobs, so they can only be found before those are deleted
+    List<String> byteArrayIds = dbSqlSession.selectList("selectByteArrayIdsByProcessInstanceIds", processInstanceIds, false);
+
+    dbSqlSession.delete("deleteJobsByProcessInstanceIds", processInstanceIds, JobEntityImpl.class);
+    dbSqlSession.delete("deleteTimerJobsByProcessInstanceIds", processInstanceIds, TimerJobEntityImpl.class);
+    dbSqlSession.delete("deleteSuspendedJobsByProcessInstanceIds", processInstanceIds, SuspendedJobEntityImpl.class);
+    dbSqlSession.delete("deleteDeadLetterJobsByProcessInstanceIds", processInstanceIds, DeadLetterJobEntityImpl.class);
+    dbSqlSession.delete("deleteVariableInstancesByProcessInstanceIds", processInstanceIds, VariableInstanceEntityImpl.class);
+    int chunkSize = getProcessEngineConfiguration().getBulkDeleteChunkSize();
+    for (int i = 0; i < byteArrayIds.size(); i += chunkSize) {
+      dbSqlSession.delete("deleteByteArraysByIds",
+          new ArrayList<String>(byteArrayIds.subList(i, Math.min(byteArrayIds.size(), i + chunkSize))), ByteArrayEntityImpl.class);
+    }
+    dbSqlSession.delete("deleteEventSubscriptionsByProcessInstanceIds", processInstanceIds, EventSubscriptionEntityImpl.class);
+    dbSqlSession.delete("deleteIdentityLinksByProcessInstanceIds", processInstanceIds, IdentityLinkEntityImpl.class);
+    dbSqlSession.delete("deleteTasksByProcessInstanceIds", processInstanceIds, TaskEntityImpl.class);
+    dbSqlSession.delete("deleteIntegrationContextsByProcessInstanceIds", processInstanceIds, IntegrationContextEntityImpl.class);
+
+    // The parent and super execution references point to rows that are deleted by the same statement
+    dbSqlSession.update("clearExecutionReferencesByProcessInstanceIds", processInstanceIds);
+    dbSqlSession.delete("deleteChildExecutionsByProcessInstanceIds", processInstanceIds, ExecutionEntityImpl.class);
+    dbSqlSession.delete("deleteProcessInstancesByIds", processInstanceIds, ExecutionEntityImpl.class);
+  }
+
   @Override
   public long findExecutionCountByQueryCriteria(ExecutionQueryImpl executionQuery) {
     return (Long) getDbSqlSession().selectOne("selectExecutionCountByQueryCriteria", executionQuery);
@@ -257,6 +305,18 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     return getDbSqlSession().selectList("selectProcessInstanceByQueryCriteria", executionQuery, !performanceSettings.isEnableEagerExecutionTreeFetching()); // False -> executions should not be cached if using executionTreeFetching
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<ProcessInstanceProjection> findProcessInstanceProjectionsByQueryCriteria(ProcessInstanceQueryImpl executionQuery) {
+    return getDbSqlSession().selectList("selectProcessInstanceProjectionByQueryCriteria", executionQuery, false);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findProcessInstanceIdsByQueryCriteria(ProcessInstanceQueryImpl executionQuery) {
+    return getDbSqlSession().selectList("selectProcessInstanceIdsByQueryCriteria", executionQuery);
+  }
+
   @Override
   public List<ProcessInstance> findProcessInstanceAndVariablesByQueryCriteria(ProcessInstanceQueryImpl executionQuery) {
     // paging doesn't work for combining process instances and variables due
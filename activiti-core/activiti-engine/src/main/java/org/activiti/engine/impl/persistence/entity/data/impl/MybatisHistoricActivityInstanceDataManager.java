@@ -19,6 +19,7 @@ package org.activiti.engine.impl.persistence.entity.data.impl;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.history.HistoricActivityInstance;
 import org.activiti.engine.impl.HistoricActivityInstanceQueryImpl;
@@ -83,6 +84,11 @@ public class MybatisHistoricActivityInstanceDataManager extends AbstractDataMana
     return getDbSqlSession().selectList("selectHistoricActivityInstancesByQueryCriteria", historicActivityInstanceQuery, page);
   }
 
+  @Override
+  public Stream<HistoricActivityInstance> streamHistoricActivityInstancesByQueryCriteria(HistoricActivityInstanceQueryImpl historicActivityInstanceQuery) {
+    return getDbSqlSession().selectStream("selectHistoricActivityInstancesByQueryCriteria", historicActivityInstanceQuery);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<HistoricActivityInstance> findHistoricActivityInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
@@ -18,15 +18,26 @@ package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import static java.util.Collections.emptyList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.DbSqlSession;
+import org.activiti.engine.impl.persistence.entity.AttachmentEntityImpl;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl;
+import org.activiti.engine.impl.persistence.entity.CommentEntityImpl;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricIdentityLinkEntityImpl;
 import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.HistoricProcessInstanceDataManager;
 
@@ -66,6 +77,34 @@ public class MybatisHistoricProcessInstanceDataManager extends AbstractDataManag
     return getDbSqlSession().selectList("selectHistoricProcessInstanceIdsBySuperProcessInstanceId", superProcessInstanceId);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(List<String> superProcessInstanceIds) {
+    return getDbSqlSession().selectList("selectHistoricProcessInstanceIdsBySuperProcessInstanceIds", superProcessInstanceIds, false);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void deleteHistoricProcessInstancesByIds(List<String> historicProcessInstanceIds) {
+    DbSqlSession dbSqlSession = getDbSqlSession();
+
+    List<String> byteArrayIds = dbSqlSession.selectList("selectHistoricByteArrayIdsByProcessInstanceIds", historicProcessInstanceIds, false);
+    int chunkSize = getProcessEngineConfiguration().getBulkDeleteChunkSize();
+    for (int i = 0; i < byteArrayIds.size(); i += chunkSize) {
+      dbSqlSession.delete("deleteByteArraysByIds",
+          new ArrayList<String>(byteArrayIds.subList(i, Math.min(byteArrayIds.size(), i + chunkSize))), ByteArrayEntityImpl.class);
+    }
+
+    dbSqlSession.delete("deleteAttachmentsByProcessInstanceIds", historicProcessInstanceIds, AttachmentEntityImpl.class);
+    dbSqlSession.delete("deleteCommentsByProcessInstanceIds", historicProcessInstanceIds, CommentEntityImpl.class);
+    dbSqlSession.delete("deleteHistoricIdentityLinksByProcessInstanceIds", historicProcessInstanceIds, HistoricIdentityLinkEntityImpl.class);
+    dbSqlSession.delete("deleteHistoricActivityInstancesByProcessInstanceIds", historicProcessInstanceIds, HistoricActivityInstanceEntityImpl.class);
+    dbSqlSession.delete("deleteHistoricTaskInstancesByProcessInstanceIds", historicProcessInstanceIds, HistoricTaskInstanceEntityImpl.class);
+    dbSqlSession.delete("deleteHistoricVariableInstancesByProcessInstanceIds", historicProcessInstanceIds, HistoricVariableInstanceEntityImpl.class);
+    dbSqlSession.delete("deleteHistoricDetailsByProcessInstanceIds", historicProcessInstanceIds, HistoricDetailEntityImpl.class);
+    dbSqlSession.delete("deleteHistoricProcessInstancesByIds", historicProcessInstanceIds, HistoricProcessInstanceEntityImpl.class);
+  }
+
   @Override
   public long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     return (Long) getDbSqlSession().selectOne("selectHistoricProcessInstanceCountByQueryCriteria", historicProcessInstanceQuery);
@@ -77,6 +116,11 @@ public class MybatisHistoricProcessInstanceDataManager extends AbstractDataManag
     return getDbSqlSession().selectList("selectHistoricProcessInstancesByQueryCriteria", historicProcessInstanceQuery);
   }
 
+  @Override
+  public Stream<HistoricProcessInstance> streamHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
+    return getDbSqlSession().selectStream("selectHistoricProcessInstancesByQueryCriteria", historicProcessInstanceQuery);
+  }
+
   @Override
   public List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     // paging doesn't work for combining process instances and variables
@@ -18,6 +18,7 @@ package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.history.HistoricVariableInstance;
 import org.activiti.engine.impl.HistoricVariableInstanceQueryImpl;
@@ -80,6 +81,11 @@ public class MybatisHistoricVariableInstanceDataManager extends AbstractDataMana
     return getDbSqlSession().selectList("selectHistoricVariableInstanceByQueryCriteria", historicProcessVariableQuery, page);
   }
 
+  @Override
+  public Stream<HistoricVariableInstance> streamHistoricVariableInstancesByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery) {
+    return getDbSqlSession().selectStream("selectHistoricVariableInstanceByQueryCriteria", historicProcessVariableQuery);
+  }
+
   @Override
   public HistoricVariableInstanceEntity findHistoricVariableInstanceByVariableInstanceId(String variableInstanceId) {
     return (HistoricVariableInstanceEntity) getDbSqlSession().selectOne("selectHistoricVariableInstanceByVariableInstanceId", variableInstanceId);
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -23,6 +24,7 @@ import java.util.Map;
 
 import org.activiti.engine.impl.JobQueryImpl;
 import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.asyncexecutor.JobAcquisitionStrategy;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
@@ -57,7 +59,8 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
   @Override
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsToExecute(Page page) {
-    return getDbSqlSession().selectList("selectJobsToExecute", null, page);
+    String statement = isSkipLockedJobAcquisition() ? "selectJobsToExecuteSkipLocked" : "selectJobsToExecute";
+    return getDbSqlSession().selectList(statement, null, page);
   }
 
   @Override
@@ -86,6 +89,12 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     return getDbSqlSession().selectList("selectJobsByProcessInstanceId", processInstanceId);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByType(String jobHandlerType) {
+    return getDbSqlSession().selectList("selectJobsByType", jobHandlerType);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<JobEntity> findExpiredJobs(Page page) {
@@ -120,4 +129,26 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     getDbSqlSession().update("resetExpiredJob", params);
   }
 
+  @Override
+  public int bulkLockJobs(Collection<String> jobIds, String lockOwner, Date lockExpirationTime) {
+    Map<String, Object> params = new HashMap<String, Object>(3);
+    params.put("jobIds", jobIds);
+    params.put("lockOwner", lockOwner);
+    params.put("lockExpirationTime", lockExpirationTime);
+    return getDbSqlSession().update("bulkLockJobs", params);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findJobIdsByLockOwner(Collection<String> jobIds, String lockOwner) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("jobIds", jobIds);
+    params.put("lockOwner", lockOwner);
+    return getDbSqlSession().selectList("selectJobIdsByLockOwner", params);
+  }
+
+  protected boolean isSkipLockedJobAcquisition() {
+    return getProcessEngineConfiguration().getAsyncExecutorJobAcquisitionStrategy() == JobAcquisitionStrategy.SKIP_LOCKED;
+  }
+
 }
@@ -21,6 +21,7 @@ import static java.util.Collections.emptyList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -31,6 +32,7 @@ import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.TaskDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.TasksByExecutionIdMatcher;
 import org.activiti.engine.task.Task;
+import org.activiti.engine.task.TaskProjection;
 
 /**
 
@@ -71,6 +73,11 @@ public class MybatisTaskDataManager extends AbstractDataManager<TaskEntity> impl
     return getDbSqlSession().selectList(query, taskQuery);
   }
 
+  @Override
+  public Stream<Task> streamTasksByQueryCriteria(TaskQueryImpl taskQuery) {
+    return getDbSqlSession().selectStream("selectTaskByQueryCriteria", taskQuery);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<Task> findTasksAndVariablesByQueryCriteria(TaskQueryImpl taskQuery) {
@@ -110,6 +117,12 @@ public class MybatisTaskDataManager extends AbstractDataManager<TaskEntity> impl
     return emptyList();
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<TaskProjection> findTaskProjectionsByQueryCriteria(TaskQueryImpl taskQuery) {
+    return getDbSqlSession().selectList("selectTaskProjectionByQueryCriteria", taskQuery);
+  }
+
   @Override
   public long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery) {
     return (Long) getDbSqlSession().selectOne("selectTaskCountByQueryCriteria", taskQuery);
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.asyncexecutor.JobAcquisitionStrategy;
 import org.activiti.engine.impl.TimerJobQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
@@ -70,7 +71,8 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
   @SuppressWarnings("unchecked")
   public List<TimerJobEntity> findTimerJobsToExecute(Page page) {
     Date now = getClock().getCurrentTime();
-    return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
+    String statement = isSkipLockedJobAcquisition() ? "selectTimerJobsToExecuteSkipLocked" : "selectTimerJobsToExecute";
+    return getDbSqlSession().selectList(statement, now, page);
   }
 
   @Override
@@ -83,6 +85,12 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
 
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<TimerJobEntity> findJobsByType(String jobHandlerType) {
+    return getDbSqlSession().selectList("selectTimerJobsByType", jobHandlerType);
+  }
+
   @Override
   public List<TimerJobEntity> findJobsByExecutionId(final String executionId) {
     return getList("selectTimerJobsByExecutionId", executionId, timerJobsByExecutionIdMatcher, true);
@@ -121,4 +129,8 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
     getDbSqlSession().update("updateTimerJobTenantIdForDeployment", params);
   }
 
+  protected boolean isSkipLockedJobAcquisition() {
+    return getProcessEngineConfiguration().getAsyncExecutorJobAcquisitionStrategy() == JobAcquisitionStrategy.SKIP_LOCKED;
+  }
+
 }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -65,6 +66,11 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     return getDbSqlSession().selectList("selectVariablesByTaskIds", taskIds);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndNames(Set<String> taskIds, Collection<String> names) {
+    return selectListInChunks("selectVariablesByTaskIdsAndNames", "taskIds", taskIds, names);
+  }
+
   @Override
   public List<VariableInstanceEntity> findVariableInstancesByExecutionId(final String executionId) {
     return getList("selectVariablesByExecutionId", executionId, variableInstanceEntity, true);
@@ -76,6 +82,30 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     return getDbSqlSession().selectList("selectVariablesByExecutionIds", executionIds);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Set<String> executionIds, Collection<String> names) {
+    return selectListInChunks("selectVariablesByExecutionIdsAndNames", "executionIds", executionIds, names);
+  }
+
+  /**
+   * Selects the variables of the given ids with at most {@link ProcessEngineConfigurationImpl#getBulkDeleteChunkSize()}
+   * ids per statement, as some databases limit the size of an in list (Oracle to 1000 items, SQL Server to about 2100
+   * parameters).
+   */
+  @SuppressWarnings("unchecked")
+  protected List<VariableInstanceEntity> selectListInChunks(String statement, String idsParameter, Set<String> ids, Collection<String> names) {
+    List<String> idList = new ArrayList<String>(ids);
+    List<VariableInstanceEntity> variableInstances = new ArrayList<VariableInstanceEntity>();
+    int chunkSize = getProcessEngineConfiguration().getBulkDeleteChunkSize();
+    for (int i = 0; i < idList.size(); i += chunkSize) {
+      Map<String, Object> params = new HashMap<String, Object>(2);
+      params.put(idsParameter, new ArrayList<String>(idList.subList(i, Math.min(idList.size(), i + chunkSize))));
+      params.put("names", names);
+      variableInstances.addAll(getDbSqlSession().selectList(statement, params));
+    }
+    return variableInstances;
+  }
+
   @Override
   public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
     Map<String, String> params = new HashMap<String, String>(2);
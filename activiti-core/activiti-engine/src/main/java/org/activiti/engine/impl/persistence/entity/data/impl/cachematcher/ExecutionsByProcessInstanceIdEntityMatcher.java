@@ -17,12 +17,14 @@
 package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
+import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class ExecutionsByProcessInstanceIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class ExecutionsByProcessInstanceIdEntityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher {
 
   @Override
   public boolean isRetained(ExecutionEntity entity, Object parameter) {
@@ -32,4 +34,14 @@ public class ExecutionsByProcessInstanceIdEntityMatcher extends CachedEntityMatc
           && entity.getParentId() != null;
   }
 
+  @Override
+  public String getIndexName() {
+    return EntityCacheImpl.PROCESS_INSTANCE_ID_INDEX;
+  }
+
+  @Override
+  public String getIndexValue(Object parameter) {
+    return (String) parameter;
+  }
+
 }
@@ -19,12 +19,14 @@ package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 import java.util.Map;
 
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
+import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class InactiveExecutionsInActivityAndProcInstMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class InactiveExecutionsInActivityAndProcInstMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher {
 
   @Override
   public boolean isRetained(ExecutionEntity executionEntity, Object parameter) {
@@ -39,4 +41,15 @@ public class InactiveExecutionsInActivityAndProcInstMatcher extends CachedEntity
         && executionEntity.getActivityId().equals(activityId);
   }
 
+  @Override
+  public String getIndexName() {
+    return EntityCacheImpl.ACTIVITY_ID_INDEX;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public String getIndexValue(Object parameter) {
+    return (String) ((Map<String, Object>) parameter).get("activityId");
+  }
+
 }
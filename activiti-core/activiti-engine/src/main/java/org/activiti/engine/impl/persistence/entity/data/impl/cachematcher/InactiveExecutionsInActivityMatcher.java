@@ -19,12 +19,14 @@ package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
 import java.util.Map;
 
 import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.IndexedCachedEntityMatcher;
+import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
 
  */
-public class InactiveExecutionsInActivityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> {
+public class InactiveExecutionsInActivityMatcher extends CachedEntityMatcherAdapter<ExecutionEntity> implements IndexedCachedEntityMatcher {
 
   @Override
   public boolean isRetained(ExecutionEntity entity, Object parameter) {
@@ -33,4 +35,15 @@ public class InactiveExecutionsInActivityMatcher extends CachedEntityMatcherAdap
     return !entity.isActive() && entity.getActivityId() != null && entity.getActivityId().equals(activityId);
   }
 
+  @Override
+  public String getIndexName() {
+    return EntityCacheImpl.ACTIVITY_ID_INDEX;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public String getIndexValue(Object parameter) {
+    return (String) ((Map<String, Object>) parameter).get("activityId");
+  }
+
 }
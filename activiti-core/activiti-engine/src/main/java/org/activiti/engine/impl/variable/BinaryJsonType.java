@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.variable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.activiti.engine.ActivitiException;
+
+/**
+ * Stores json variables that don't fit in a text column as bytes written directly by an {@link ObjectMapper}, without
+ * going through a String. With an ObjectMapper for a binary json format (eg. CBOR or Smile) the variables are stored
+ * in that format.
+ *
+ * Variables of at least compressionThreshold bytes are gzipped. Gzipped and plain values are told apart by the gzip
+ * header, which none of the json formats can start with, so changing the threshold doesn't affect stored variables.
+ */
+public class BinaryJsonType extends SerializableType {
+
+  public static final String TYPE_NAME = "binaryJson";
+
+  protected ObjectMapper objectMapper;
+  protected boolean serializePOJOsInVariablesToJson;
+  protected JsonTypeConverter jsonTypeConverter;
+  protected int compressionThreshold;
+
+  /**
+   * @param objectMapper
+   *          the mapper writing and reading the stored bytes
+   * @param compressionThreshold
+   *          the minimum number of bytes from which values are compressed, or a negative number to never compress
+   */
+  public BinaryJsonType(ObjectMapper objectMapper,
+      boolean serializePOJOsInVariablesToJson,
+      JsonTypeConverter jsonTypeConverter,
+      int compressionThreshold) {
+    this.objectMapper = objectMapper;
+    this.serializePOJOsInVariablesToJson = serializePOJOsInVariablesToJson;
+    this.jsonTypeConverter = jsonTypeConverter;
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  public String getTypeName() {
+    return TYPE_NAME;
+  }
+
+  /**
+   * Accepts every json value, so this type is to be registered after the {@link JsonType} that stores the shorter ones.
+   */
+  public boolean isAbleToStore(Object value) {
+    if (value == null) {
+      return true;
+    }
+    return JsonNode.class.isAssignableFrom(value.getClass())
+        || (serializePOJOsInVariablesToJson && objectMapper.canSerialize(value.getClass()));
+  }
+
+  public byte[] serialize(Object value, ValueFields valueFields) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      byte[] bytes = objectMapper.writeValueAsBytes(value);
+      valueFields.setTextValue2(value.getClass().getName());
+      if (compressionThreshold >= 0 && bytes.length >= compressionThreshold) {
+        return compress(bytes);
+      }
+      return bytes;
+    } catch (IOException e) {
+      throw new ActivitiException("Couldn't serialize value '" + value + "' in variable '" + valueFields.getName() + "'", e);
+    }
+  }
+
+  public Object deserialize(byte[] bytes, ValueFields valueFields) {
+    try (InputStream inputStream = isCompressed(bytes)
+        ? new GZIPInputStream(new ByteArrayInputStream(bytes))
+        : new ByteArrayInputStream(bytes)) {
+      return jsonTypeConverter.convertToValue(objectMapper.readTree(inputStream), valueFields);
+    } catch (IOException e) {
+      throw new ActivitiException("Couldn't deserialize json in variable '" + valueFields.getName() + "'", e);
+    }
+  }
+
+  protected byte[] compress(byte[] bytes) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+      gzipOutputStream.write(bytes);
+    }
+    return compressed.toByteArray();
+  }
+
+  protected boolean isCompressed(byte[] bytes) {
+    return bytes.length > 1
+        && (bytes[0] & 0xff) == (GZIPInputStream.GZIP_MAGIC & 0xff)
+        && (bytes[1] & 0xff) == (GZIPInputStream.GZIP_MAGIC >> 8);
+  }
+
+}
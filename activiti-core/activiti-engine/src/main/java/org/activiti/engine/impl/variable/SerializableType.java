@@ -66,7 +66,7 @@ public class SerializableType extends ByteArrayType {
 	    Object deserializedObject = deserialize(bytes, valueFields);
       valueFields.setCachedValue(deserializedObject);
 
-      if (trackDeserializedObjects && valueFields instanceof VariableInstanceEntity) {
+      if (trackDeserializedObjects && valueFields instanceof VariableInstanceEntity && Context.getCommandContext() != null) {
         Context.getCommandContext().addCloseListener(new VerifyDeserializedObjectCommandContextCloseListener(
             new DeserializedObject(this, valueFields.getCachedValue(), bytes, (VariableInstanceEntity)valueFields)));
       }
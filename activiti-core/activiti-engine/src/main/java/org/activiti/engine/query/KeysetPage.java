@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.query;
+
+import java.util.List;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * A page of query results read with {@link Query#pageAfter(String, int)}, together with the cursor to read the next
+ * page with.
+ */
+@Internal
+public interface KeysetPage<U> {
+
+  /** The results of this page, in query order. */
+  List<U> getResults();
+
+  /**
+   * Opaque cursor to pass to {@link Query#pageAfter(String, int)} to read the page that comes after this one. It holds
+   * the sort value and the id of the last result, so it stays valid when that result is changed or deleted. When this
+   * page is empty, it is the cursor this page was read with.
+   */
+  String getNextCursor();
+
+}
@@ -18,6 +18,8 @@
 package org.activiti.engine.query;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.api.internal.Internal;
@@ -62,4 +64,44 @@ public interface Query<T extends Query<?, ?>, U> {
 
   /** Executes the query and get a list of entities as the result. */
   List<U> listPage(int firstResult, int maxResults);
+
+  /**
+   * Executes the query and returns at most maxResults entities that come after the given cursor. Unlike
+   * {@link #listPage(int, int)}, the database seeks to the cursor instead of skipping all rows before it, so deep pages
+   * are as fast as the first one. The query may be ordered by at most one property; ties are broken on the id. Results
+   * with a null value for that property come last, unless the query was ordered with nulls first.
+   *
+   * @param cursor
+   *          the {@link KeysetPage#getNextCursor() next cursor} of the previous page, read with the same query
+   *          criteria and order, or null to get the first page
+   * @throws ActivitiException
+   *           when this type of query does not support keyset paging.
+   */
+  default KeysetPage<U> pageAfter(String cursor, int maxResults) {
+    throw new ActivitiException(getClass().getSimpleName() + " does not support keyset paging");
+  }
+
+  /**
+   * Executes the query and returns the results as a stream, which reads them one at a time from a database cursor
+   * instead of loading them all in memory. The cursor uses a connection of its own, outside of the current
+   * transaction, which is released when the last result has been read or when the stream is closed: use a
+   * try-with-resources block when the stream may not be read to the end. The results are detached from the engine:
+   * they are not localized and changes to them are not persisted.
+   *
+   * @throws ActivitiException
+   *           when this type of query does not support streaming, or when transactions are managed externally and no
+   *           queryStreamDataSource is configured.
+   */
+  default Stream<U> stream() {
+    throw new ActivitiException(getClass().getSimpleName() + " does not support streaming");
+  }
+
+  /**
+   * Streams the results of the query, see {@link #stream()}, and passes each of them to the given action.
+   */
+  default void forEach(Consumer<? super U> action) {
+    try (Stream<U> results = stream()) {
+      results.forEach(action);
+    }
+  }
 }
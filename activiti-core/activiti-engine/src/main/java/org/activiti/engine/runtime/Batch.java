@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.runtime;
+
+import java.util.Date;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * An operation on all process instances or jobs matched by a query, eg
+ * {@link org.activiti.engine.RuntimeService#suspendProcessInstances(ProcessInstanceQuery)}.
+ *
+ * The matching ids are split in chunks, which are processed by async jobs. A chunk of which the job has failed all its
+ * retries stays in the batch and its job is a dead letter job, which can be retried with
+ * {@link org.activiti.engine.ManagementService#moveDeadLetterJobToExecutableJob(String, int)}.
+ */
+@Internal
+public interface Batch {
+
+  String TYPE_SUSPEND_PROCESS_INSTANCES = "suspend-process-instances";
+
+  String TYPE_ACTIVATE_PROCESS_INSTANCES = "activate-process-instances";
+
+  String TYPE_DELETE_PROCESS_INSTANCES = "delete-process-instances";
+
+  String TYPE_MOVE_DEAD_LETTER_JOBS = "move-dead-letter-jobs";
+
+  String getId();
+
+  /**
+   * One of the TYPE_ constants.
+   */
+  String getType();
+
+  Date getCreateTime();
+
+  /**
+   * The number of process instances or jobs the query matched when the batch was created.
+   */
+  int getTotal();
+
+  /**
+   * The number of chunks the matching ids were split in.
+   */
+  int getChunks();
+
+  /**
+   * The number of chunks that haven't been processed yet, including the failed chunks.
+   */
+  int getRemainingChunks();
+
+  /**
+   * The number of chunks of which the job has failed all its retries.
+   */
+  int getFailedChunks();
+
+  /**
+   * Whether all chunks have been processed.
+   */
+  boolean isCompleted();
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.runtime;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * The properties of a {@link ProcessInstance} selected by {@link ProcessInstanceQuery#listProjections()}. Properties
+ * that were not selected are null, except for the id and the process definition id and key, which are always
+ * selected.
+ */
+@Internal
+public interface ProcessInstanceProjection {
+
+  String getId();
+
+  String getName();
+
+  String getBusinessKey();
+
+  String getProcessDefinitionId();
+
+  String getProcessDefinitionKey();
+
+  Date getStartTime();
+
+  String getStartUserId();
+
+  String getTenantId();
+
+  /**
+   * The selected variables of the process instance.
+   */
+  Map<String, Object> getVariables();
+
+}
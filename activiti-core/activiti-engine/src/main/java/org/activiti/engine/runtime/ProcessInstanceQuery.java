@@ -24,6 +24,7 @@ import java.util.Set;
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.query.Query;
+import org.activiti.engine.query.QueryProperty;
 
 /**
  * Allows programmatic querying of {@link ProcessInstance}s.
@@ -343,4 +344,28 @@ public interface ProcessInstanceQuery extends Query<ProcessInstanceQuery, Proces
      * Select the process instances with which the given groups are involved.
      */
   ProcessInstanceQuery involvedGroupsIn(List<String> involvedGroups);
+
+  /**
+   * Only selects the given properties of the process instances when listing projections, eg.
+   * ProcessInstanceQueryProperty.BUSINESS_KEY. The id, the process definition id and key, and the properties the
+   * query is ordered by are always selected.
+   */
+  ProcessInstanceQuery projection(QueryProperty... properties);
+
+  /**
+   * Selects the process variables with the given names when listing projections.
+   */
+  ProcessInstanceQuery projectionVariables(String... variableNames);
+
+  /**
+   * Executes the query and returns the selected properties and variables of the process instances, without loading
+   * the process instances themselves. See {@link #projection(QueryProperty...)} and
+   * {@link #projectionVariables(String...)}.
+   */
+  List<ProcessInstanceProjection> listProjections();
+
+  /**
+   * Executes the query like {@link #listProjections()}, returning only a page of the results.
+   */
+  List<ProcessInstanceProjection> listProjectionsPage(int firstResult, int maxResults);
 }
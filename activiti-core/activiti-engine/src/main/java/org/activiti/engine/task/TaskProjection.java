@@ -0,0 +1,63 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.task;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * The properties of a {@link Task} selected by {@link TaskQuery#listProjections()}. Properties that were not selected
+ * are null. Unlike a {@link Task}, a projection is a plain value that can't be used to update the task.
+ */
+@Internal
+public interface TaskProjection {
+
+  String getId();
+
+  String getName();
+
+  String getDescription();
+
+  Integer getPriority();
+
+  String getAssignee();
+
+  String getOwner();
+
+  Date getCreateTime();
+
+  Date getDueDate();
+
+  String getProcessInstanceId();
+
+  String getExecutionId();
+
+  String getProcessDefinitionId();
+
+  String getTaskDefinitionKey();
+
+  String getTenantId();
+
+  /**
+   * The selected process variables and task local variables of the task. A task local variable hides a process
+   * variable with the same name.
+   */
+  Map<String, Object> getVariables();
+
+}
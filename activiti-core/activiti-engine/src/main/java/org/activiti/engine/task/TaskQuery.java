@@ -17,6 +17,7 @@
 package org.activiti.engine.task;
 
 import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.query.QueryProperty;
 
 import java.util.List;
 
@@ -57,4 +58,26 @@ public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task> {
    * Only selects tasks which are active (ie. not suspended)
    */
   TaskQuery active();
+
+  /**
+   * Only selects the given properties of the tasks when listing projections, eg. TaskQueryProperty.NAME. The id of
+   * the tasks and the properties the query is ordered by are always selected.
+   */
+  TaskQuery projection(QueryProperty... properties);
+
+  /**
+   * Selects the process variables and task local variables with the given names when listing projections.
+   */
+  TaskQuery projectionVariables(String... variableNames);
+
+  /**
+   * Executes the query and returns the selected properties and variables of the tasks, without loading the tasks
+   * themselves. See {@link #projection(QueryProperty...)} and {@link #projectionVariables(String...)}.
+   */
+  List<TaskProjection> listProjections();
+
+  /**
+   * Executes the query like {@link #listProjections()}, returning only a page of the results.
+   */
+  List<TaskProjection> listProjectionsPage(int firstResult, int maxResults);
 }
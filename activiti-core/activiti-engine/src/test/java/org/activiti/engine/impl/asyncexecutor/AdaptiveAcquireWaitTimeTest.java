@@ -0,0 +1,112 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+public class AdaptiveAcquireWaitTimeTest {
+
+    private final AdaptiveAcquireWaitTime adaptiveAcquireWaitTime = new AdaptiveAcquireWaitTime(100,
+                                                                                                 10000,
+                                                                                                 0);
+
+    @Test
+    public void should_notWait_when_fullPageAcquired() {
+        assertThat(adaptiveAcquireWaitTime.afterAcquisition(0, 10, 10, true, 0.0)).isEqualTo(0);
+        assertThat(adaptiveAcquireWaitTime.getAcquiredJobCount()).isEqualTo(10);
+    }
+
+    @Test
+    public void should_backOffExponentially_when_noJobsAcquired() {
+        assertThat(adaptiveAcquireWaitTime.afterAcquisition(0, 0, 10, true, 0.0)).isEqualTo(100);
+        assertThat(adaptiveAcquireWaitTime.afterAcquisition(100, 0, 10, true, 0.0)).isEqualTo(200);
+        assertThat(adaptiveAcquireWaitTime.afterAcquisition(300, 0, 10, true, 0.0)).isEqualTo(400);
+
+        long waitTime = 0;
+        for (int i = 0; i < 20; i++) {
+            waitTime = adaptiveAcquireWaitTime.afterAcquisition(1000 + i, 0, 10, true, 0.0);
+        }
+        assertThat(waitTime).isEqualTo(10000);
+        assertThat(adaptiveAcquireWaitTime.getEmptyAcquisitionCount()).isEqualTo(23);
+    }
+
+    @Test
+    public void should_resetBackOff_when_jobsArrive() {
+        adaptiveAcquireWaitTime.afterAcquisition(0, 0, 10, true, 0.0);
+        adaptiveAcquireWaitTime.afterAcquisition(1000, 0, 10, true, 0.0);
+        adaptiveAcquireWaitTime.afterAcquisition(2000, 0, 10, true, 0.0);
+
+        // 5 jobs in one second, about 1 job per second on average: wait for a full page to arrive
+        long waitTime = adaptiveAcquireWaitTime.afterAcquisition(3000, 5, 10, true, 0.0);
+        assertThat(adaptiveAcquireWaitTime.getJobArrivalRate()).isCloseTo(1.0, within(0.001));
+        assertThat(waitTime).isEqualTo(10000);
+
+        // Many jobs arriving: the wait time goes down
+        for (int i = 1; i <= 10; i++) {
+            waitTime = adaptiveAcquireWaitTime.afterAcquisition(3000 + i * 100, 9, 10, true, 0.0);
+        }
+        assertThat(waitTime).isLessThan(1000);
+        assertThat(waitTime).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    public void should_wait_when_queueAlmostFull() {
+        assertThat(adaptiveAcquireWaitTime.afterAcquisition(0, 10, 10, true, 0.9)).isEqualTo(100);
+        assertThat(adaptiveAcquireWaitTime.getQueueFillRatio()).isEqualTo(0.9);
+        assertThat(adaptiveAcquireWaitTime.afterAcquisition(100, 10, 10, false, 0.0)).isEqualTo(100);
+    }
+
+    @Test
+    public void should_useQueueFullWaitTime_when_configured() {
+        AdaptiveAcquireWaitTime waitTimeWithQueueFullWaitTime = new AdaptiveAcquireWaitTime(100,
+                                                                                             10000,
+                                                                                             2000);
+        assertThat(waitTimeWithQueueFullWaitTime.afterAcquisition(0, 10, 10, false, 1.0)).isEqualTo(2000);
+    }
+
+    @Test
+    public void should_backOffWithJitter_when_lockCollisions() {
+        long firstWaitTime = adaptiveAcquireWaitTime.afterLockCollision(0);
+        assertThat(firstWaitTime).isBetween(100L, 200L);
+
+        long thirdWaitTime = 0;
+        for (int i = 0; i < 2; i++) {
+            thirdWaitTime = adaptiveAcquireWaitTime.afterLockCollision(0);
+        }
+        assertThat(thirdWaitTime).isBetween(400L, 800L);
+        assertThat(adaptiveAcquireWaitTime.getLockCollisionCount()).isEqualTo(3);
+        assertThat(adaptiveAcquireWaitTime.getLockCollisionRate()).isGreaterThan(0.0);
+
+        for (int i = 0; i < 20; i++) {
+            adaptiveAcquireWaitTime.afterLockCollision(0);
+        }
+        assertThat(adaptiveAcquireWaitTime.afterLockCollision(0)).isBetween(5000L, 10000L);
+
+        // A successful acquisition resets the collision back-off
+        adaptiveAcquireWaitTime.afterAcquisition(0, 10, 10, true, 0.0);
+        assertThat(adaptiveAcquireWaitTime.afterLockCollision(0)).isBetween(100L, 200L);
+    }
+
+    @Test
+    public void should_waitMaxWaitTime_when_acquisitionFails() {
+        assertThat(adaptiveAcquireWaitTime.afterFailure()).isEqualTo(10000);
+        assertThat(adaptiveAcquireWaitTime.getCurrentWaitTimeInMillis()).isEqualTo(10000);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.junit.After;
+import org.junit.Test;
+
+public class BoundedVirtualThreadExecutorServiceTest {
+
+  private final BoundedVirtualThreadExecutorService executorService = new BoundedVirtualThreadExecutorService(2, "test-virtual-thread-");
+
+  @After
+  public void shutdown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void testRunTasksOnVirtualThreads() throws Exception {
+    AtomicBoolean virtual = new AtomicBoolean();
+    CountDownLatch done = new CountDownLatch(1);
+
+    executorService.execute(() -> {
+      virtual.set(Thread.currentThread().isVirtual());
+      done.countDown();
+    });
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(virtual).isTrue();
+  }
+
+  @Test
+  public void testRejectTasksWhenAllPermitsInUse() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(2);
+    Runnable blockingTask = () -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+
+    executorService.execute(blockingTask);
+    executorService.execute(blockingTask);
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(executorService.getActiveCount()).isEqualTo(2);
+
+    assertThatExceptionOfType(RejectedExecutionException.class)
+        .isThrownBy(() -> executorService.execute(() -> { }));
+
+    release.countDown();
+    executorService.shutdown();
+    assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(executorService.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testAcceptTasksAgainWhenPermitsReleased() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      CountDownLatch done = new CountDownLatch(2);
+      executorService.execute(done::countDown);
+      executorService.execute(done::countDown);
+      assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+      waitUntilNoActiveTasks();
+    }
+  }
+
+  @Test
+  public void testDefaultMaxConcurrentJobsIsHalfOfConnections() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+    asyncExecutor.setProcessEngineConfiguration(processEngineConfiguration);
+
+    processEngineConfiguration.setJdbcMaxActiveConnections(20);
+    assertThat(asyncExecutor.determineMaxConcurrentVirtualThreadJobs()).isEqualTo(10);
+
+    processEngineConfiguration.setJdbcMaxActiveConnections(1);
+    assertThat(asyncExecutor.determineMaxConcurrentVirtualThreadJobs()).isEqualTo(1);
+
+    asyncExecutor.setMaxConcurrentVirtualThreadJobs(5);
+    assertThat(asyncExecutor.determineMaxConcurrentVirtualThreadJobs()).isEqualTo(5);
+  }
+
+  protected void waitUntilNoActiveTasks() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (executorService.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(executorService.getActiveCount()).isEqualTo(0);
+  }
+
+}
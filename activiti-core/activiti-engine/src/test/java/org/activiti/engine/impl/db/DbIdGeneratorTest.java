@@ -0,0 +1,134 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.activiti.engine.impl.cmd.GetNextIdBlockCmd;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DbIdGeneratorTest {
+
+    private static final int ID_BLOCK_SIZE = 100;
+
+    private final AtomicLong nextDbId = new AtomicLong(1);
+
+    private final AtomicInteger fetchedIdBlocks = new AtomicInteger();
+
+    private DbIdGenerator idGenerator;
+
+    @Before
+    public void setUp() {
+        CommandExecutor commandExecutor = mock(CommandExecutor.class);
+        given(commandExecutor.execute(any(CommandConfig.class),
+                                      any(GetNextIdBlockCmd.class))).willAnswer(invocation -> {
+            fetchedIdBlocks.incrementAndGet();
+            long blockStart = nextDbId.getAndAdd(ID_BLOCK_SIZE);
+            return new IdBlock(blockStart,
+                               blockStart + ID_BLOCK_SIZE - 1);
+        });
+
+        idGenerator = new DbIdGenerator();
+        idGenerator.setIdBlockSize(ID_BLOCK_SIZE);
+        idGenerator.setCommandExecutor(commandExecutor);
+        idGenerator.setCommandConfig(new CommandConfig());
+    }
+
+    @Test
+    public void should_returnConsecutiveIds_when_usedByOneThread() {
+        for (long expectedId = 1; expectedId <= 3 * ID_BLOCK_SIZE; expectedId++) {
+            assertThat(idGenerator.getNextId()).isEqualTo(Long.toString(expectedId));
+        }
+    }
+
+    @Test
+    public void should_prefetchNextBlock_when_halfOfBlockUsed() {
+        idGenerator.setPrefetchExecutor(Runnable::run);
+
+        for (int i = 1; i < ID_BLOCK_SIZE / 2; i++) {
+            idGenerator.getNextId();
+        }
+        assertThat(fetchedIdBlocks.get()).isEqualTo(1);
+
+        assertThat(idGenerator.getNextId()).isEqualTo(Long.toString(ID_BLOCK_SIZE / 2));
+        assertThat(fetchedIdBlocks.get()).isEqualTo(2);
+
+        // Switching to the prefetched block doesn't fetch another block
+        for (int i = 0; i < ID_BLOCK_SIZE / 2; i++) {
+            idGenerator.getNextId();
+        }
+        assertThat(idGenerator.getNextId()).isEqualTo(Long.toString(ID_BLOCK_SIZE + 1));
+        assertThat(fetchedIdBlocks.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_fetchBlockWhenNeeded_when_prefetchDisabled() {
+        idGenerator.setPrefetchIdBlocks(false);
+
+        for (int i = 0; i < ID_BLOCK_SIZE; i++) {
+            idGenerator.getNextId();
+        }
+        assertThat(fetchedIdBlocks.get()).isEqualTo(1);
+
+        idGenerator.getNextId();
+        assertThat(fetchedIdBlocks.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_returnUniqueIds_when_usedConcurrently() throws Exception {
+        int threads = 16;
+        int idsPerThread = 5000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertThat(ids).hasSize(threads * idsPerThread);
+        // At most one prefetched block is not used yet
+        assertThat(fetchedIdBlocks.get()).isLessThanOrEqualTo(threads * idsPerThread / ID_BLOCK_SIZE + 1);
+    }
+}
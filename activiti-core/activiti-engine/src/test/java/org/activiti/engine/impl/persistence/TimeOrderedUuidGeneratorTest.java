@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    public void shouldGenerateVersion7Uuids() {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(42L);
+
+        UUID uuid = UUID.fromString(generator.getNextId());
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat((uuid.getLeastSignificantBits() >>> 14) & TimeOrderedUuidGenerator.NODE_ID_MASK).isEqualTo(42L);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isCloseTo(System.currentTimeMillis(),
+            within(5000L));
+    }
+
+    @Test
+    public void shouldGenerateStrictlyIncreasingIdsWithinTheSameMillisecond() {
+        TimeOrderedUuidGenerator generator = new FixedClockGenerator(1000L);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            ids.add(generator.getNextId());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void shouldStayMonotonicWhenClockMovesBackwards() {
+        FixedClockGenerator generator = new FixedClockGenerator(5000L);
+        String before = generator.getNextId();
+
+        generator.time = 4000L;
+        String after = generator.getNextId();
+
+        assertThat(after).isGreaterThan(before);
+    }
+
+    private static class FixedClockGenerator extends TimeOrderedUuidGenerator {
+
+        private long time;
+
+        FixedClockGenerator(long time) {
+            super(1L);
+            this.time = time;
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.activiti.bpmn.model.UserTask;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.TaskEntityImpl;
+import org.junit.Test;
+
+public class EntityCacheImplTest {
+
+    private final EntityCacheImpl entityCache = new EntityCacheImpl();
+
+    @Test
+    public void shouldFindExecutionsThroughIndexes() {
+        ExecutionEntityImpl parent = execution("parent", "processInstance", null);
+        ExecutionEntityImpl child1 = execution("child1", "processInstance", "parent");
+        ExecutionEntityImpl child2 = execution("child2", "processInstance", "parent");
+        ExecutionEntityImpl other = execution("other", "otherProcessInstance", null);
+        entityCache.put(parent, false);
+        entityCache.put(child1, false);
+        entityCache.put(child2, false);
+        entityCache.put(other, false);
+
+        assertThat(ids(EntityCacheImpl.PARENT_ID_INDEX, "parent")).containsExactlyInAnyOrder("child1", "child2");
+        assertThat(ids(EntityCacheImpl.PROCESS_INSTANCE_ID_INDEX, "processInstance")).containsExactlyInAnyOrder("parent", "child1", "child2");
+        assertThat(ids(EntityCacheImpl.PARENT_ID_INDEX, "unknown")).isEmpty();
+        assertThat(ids(EntityCacheImpl.PARENT_ID_INDEX, null)).isEmpty();
+    }
+
+    @Test
+    public void shouldFollowChangesOfIndexedAttributes() {
+        ExecutionEntityImpl child = execution("child", "processInstance", "parent");
+        entityCache.put(child, false);
+
+        child.setParentId("newParent");
+        UserTask userTask = new UserTask();
+        userTask.setId("task");
+        child.setCurrentFlowElement(userTask);
+
+        assertThat(ids(EntityCacheImpl.PARENT_ID_INDEX, "parent")).isEmpty();
+        assertThat(ids(EntityCacheImpl.PARENT_ID_INDEX, "newParent")).containsExactly("child");
+        assertThat(ids(EntityCacheImpl.ACTIVITY_ID_INDEX, "task")).containsExactly("child");
+    }
+
+    @Test
+    public void shouldRemoveExecutionsFromIndexes() {
+        ExecutionEntityImpl child = execution("child", "processInstance", "parent");
+        entityCache.put(child, false);
+
+        entityCache.cacheRemove(ExecutionEntityImpl.class, "child");
+        child.setParentId("parent");
+
+        assertThat(ids(EntityCacheImpl.PARENT_ID_INDEX, "parent")).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnNullForTypesWithoutIndex() {
+        TaskEntityImpl task = new TaskEntityImpl();
+        task.setId("task");
+        entityCache.put(task, false);
+
+        assertThat(entityCache.findInCacheAsCachedObjects(TaskEntityImpl.class, EntityCacheImpl.PARENT_ID_INDEX, "parent")).isNull();
+        assertThat(entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, "unknownIndex", "value")).isNull();
+    }
+
+    private ExecutionEntityImpl execution(String id, String processInstanceId, String parentId) {
+        ExecutionEntityImpl execution = new ExecutionEntityImpl();
+        execution.setId(id);
+        execution.setProcessInstanceId(processInstanceId);
+        execution.setParentId(parentId);
+        return execution;
+    }
+
+    private List<String> ids(String indexName, String indexValue) {
+        Collection<CachedEntity> cachedEntities = entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, indexName, indexValue);
+        return cachedEntities.stream().map(cachedEntity -> cachedEntity.getEntity().getId()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ConcurrentDeploymentCacheTest {
+
+  @Test
+  public void testNotExceedMaximumSize() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(10);
+
+    for (int i = 0; i < 100; i++) {
+      cache.add("key" + i, "value" + i);
+    }
+
+    assertThat(cache.size()).isLessThanOrEqualTo(10);
+    assertThat(cache.getWeightedSize()).isEqualTo(cache.size());
+    assertThat(cache.getEvictionCount()).isEqualTo(100 - cache.size());
+  }
+
+  @Test
+  public void testKeepFrequentlyUsedEntriesWhenScanningThroughRarelyUsedOnes() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(10);
+    for (int i = 0; i < 5; i++) {
+      cache.add("hot" + i, "value");
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      cache.get("hot" + (i % 5));
+      cache.get("cold" + i);
+      cache.add("cold" + i, "value");
+    }
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(cache.contains("hot" + i)).isTrue();
+    }
+  }
+
+  @Test
+  public void testBoundByWeight() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(100, (id, value) -> value.length());
+
+    for (int i = 0; i < 50; i++) {
+      cache.add("key" + i, "0123456789");
+    }
+
+    assertThat(cache.getWeightedSize()).isLessThanOrEqualTo(100);
+    assertThat(cache.getWeightedSize()).isEqualTo(10L * cache.size());
+    assertThat(cache.getEvictionWeight()).isEqualTo(10L * cache.getEvictionCount());
+  }
+
+  @Test
+  public void testRecordHitsAndMisses() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(10);
+    cache.add("a", "value");
+
+    assertThat(cache.get("a")).isEqualTo("value");
+    assertThat(cache.get("b")).isNull();
+
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  public void testReplaceRemoveAndClearEntries() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(10, (id, value) -> value.length());
+    cache.add("a", "1");
+    cache.add("a", "22");
+    cache.add("b", "333");
+
+    assertThat(cache.get("a")).isEqualTo("22");
+    assertThat(cache.getWeightedSize()).isEqualTo(5);
+
+    cache.remove("a");
+    assertThat(cache.contains("a")).isFalse();
+    assertThat(cache.getWeightedSize()).isEqualTo(3);
+
+    cache.clear();
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getWeightedSize()).isZero();
+  }
+
+  @Test
+  public void testKeepAddedEntryHeavierThanWindow() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(20, (id, value) -> value.length());
+    for (int i = 0; i < 10; i++) {
+      cache.get("key" + i);
+      cache.get("key" + i);
+    }
+
+    // rarely requested entries heavier than the admission window must still replace the frequent ones
+    for (int i = 0; i < 10; i++) {
+      cache.add("key" + i, "012345");
+      assertThat(cache.get("key" + i)).isEqualTo("012345");
+    }
+    for (int i = 0; i < 10; i++) {
+      cache.add("other" + i, "012345");
+      assertThat(cache.contains("other" + i)).isTrue();
+      assertThat(cache.getWeightedSize()).isLessThanOrEqualTo(20);
+    }
+  }
+
+  @Test
+  public void testKeepAddedEntryHeavierThanCache() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(5, (id, value) -> value.length());
+    cache.add("a", "1");
+    cache.add("b", "0123456789");
+
+    assertThat(cache.contains("a")).isFalse();
+    assertThat(cache.get("b")).isEqualTo("0123456789");
+
+    cache.add("c", "1");
+    assertThat(cache.contains("b")).isFalse();
+    assertThat(cache.contains("c")).isTrue();
+  }
+}
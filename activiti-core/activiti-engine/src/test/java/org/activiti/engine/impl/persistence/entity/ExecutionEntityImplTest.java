@@ -19,6 +19,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.junit.Test;
 
 public class ExecutionEntityImplTest {
@@ -52,4 +53,49 @@ public class ExecutionEntityImplTest {
 
         assertThat(executionEntity.isRootExecution()).isFalse();
     }
+
+    @Test
+    public void hasChanged_should_returnFalse_whenNothingChangedSinceCached() {
+        final ExecutionEntityImpl executionEntity = new ExecutionEntityImpl();
+        executionEntity.setId(ROOT_ID);
+        executionEntity.setBusinessKey("businessKey");
+        executionEntity.setActive(true);
+
+        CachedEntity cachedEntity = new CachedEntity(executionEntity, true);
+
+        assertThat(cachedEntity.hasChanged()).isFalse();
+        assertThat(executionEntity.hasPersistentStateChanged(executionEntity.getPersistentState())).isFalse();
+    }
+
+    @Test
+    public void hasChanged_should_returnTrue_whenPersistentFieldChanged() {
+        final ExecutionEntityImpl executionEntity = new ExecutionEntityImpl();
+        executionEntity.setId(ROOT_ID);
+        executionEntity.setBusinessKey("businessKey");
+
+        CachedEntity cachedEntity = new CachedEntity(executionEntity, true);
+        executionEntity.setBusinessKey("anotherBusinessKey");
+
+        assertThat(cachedEntity.hasChanged()).isTrue();
+        assertThat(executionEntity.getPersistentState()).isNotEqualTo(cachedEntity.getOriginalPersistentState());
+    }
+
+    @Test
+    public void hasChanged_should_returnTrue_whenOptionalStateWasAdded() {
+        final ExecutionEntityImpl executionEntity = new ExecutionEntityImpl();
+        executionEntity.setId(ROOT_ID);
+
+        CachedEntity cachedEntity = new CachedEntity(executionEntity, true);
+        executionEntity.forceUpdate();
+
+        assertThat(cachedEntity.hasChanged()).isTrue();
+    }
+
+    @Test
+    public void hasChanged_should_returnTrue_whenNoOriginalStateWasStored() {
+        final ExecutionEntityImpl executionEntity = new ExecutionEntityImpl();
+        executionEntity.setId(ROOT_ID);
+
+        assertThat(new CachedEntity(executionEntity, false).hasChanged()).isTrue();
+    }
 }
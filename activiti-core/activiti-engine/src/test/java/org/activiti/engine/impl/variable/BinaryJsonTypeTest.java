@@ -0,0 +1,102 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.zip.GZIPInputStream;
+import org.junit.Test;
+
+public class BinaryJsonTypeTest {
+
+    private static ObjectMapper objectMapper = new ObjectMapper();
+
+    private BinaryJsonType binaryJsonType = new BinaryJsonType(objectMapper,
+        false,
+        new JsonTypeConverter(objectMapper, "@class"),
+        1024);
+
+    @Test
+    public void should_storeSmallValueUncompressed() {
+        //given
+        ObjectNode order = objectMapper.createObjectNode().put("id", "order-1");
+        ValueFields valueFields = buildValueFields();
+
+        //when
+        byte[] bytes = binaryJsonType.serialize(order, valueFields);
+
+        //then
+        assertThat(bytes).isEqualTo("{\"id\":\"order-1\"}".getBytes());
+        verify(valueFields).setTextValue2(ObjectNode.class.getName());
+        assertThat(binaryJsonType.deserialize(bytes, valueFields)).isEqualTo(order);
+    }
+
+    @Test
+    public void should_compressLargeValue() throws Exception {
+        //given
+        ObjectNode order = objectMapper.createObjectNode().put("id", "order-1");
+        ArrayNode lines = order.putArray("lines");
+        for (int i = 0; i < 1000; i++) {
+            lines.addObject().put("product", "product-" + i).put("quantity", i);
+        }
+        ValueFields valueFields = buildValueFields();
+
+        //when
+        byte[] bytes = binaryJsonType.serialize(order, valueFields);
+
+        //then
+        assertThat(bytes.length).isLessThan(objectMapper.writeValueAsBytes(order).length / 4);
+        assertThat((bytes[0] & 0xff) | (bytes[1] & 0xff) << 8).isEqualTo(GZIPInputStream.GZIP_MAGIC);
+        assertThat(binaryJsonType.deserialize(bytes, valueFields)).isEqualTo(order);
+    }
+
+    @Test
+    public void should_readValueStoredWithOtherThreshold() {
+        //given
+        ObjectNode order = objectMapper.createObjectNode().put("id", "order-1");
+        BinaryJsonType alwaysCompressing = new BinaryJsonType(objectMapper,
+            false,
+            new JsonTypeConverter(objectMapper, "@class"),
+            0);
+        ValueFields valueFields = buildValueFields();
+
+        //when
+        byte[] bytes = alwaysCompressing.serialize(order, valueFields);
+
+        //then
+        assertThat(binaryJsonType.deserialize(bytes, valueFields)).isEqualTo(order);
+    }
+
+    @Test
+    public void should_storeJsonNodesOnly_when_notSerializingPOJOs() {
+        assertThat(binaryJsonType.isAbleToStore(objectMapper.createObjectNode())).isTrue();
+        assertThat(binaryJsonType.isAbleToStore(new StringBuilder("not json"))).isFalse();
+    }
+
+    private ValueFields buildValueFields() {
+        ValueFields valueFields = mock(ValueFields.class);
+        given(valueFields.getName()).willReturn("order");
+        given(valueFields.getTextValue2()).willReturn(ObjectNode.class.getName());
+        return valueFields;
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.test.AbstractActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Deletes process instances and their history with set-based deletes.
+ */
+public class BulkDeleteTest extends AbstractActivitiTestCase {
+
+  protected static ProcessEngine cachedProcessEngine;
+
+  protected void initializeProcessEngine() {
+    if (cachedProcessEngine == null) {
+      cachedProcessEngine = new StandaloneInMemProcessEngineConfiguration()
+          .setBulkDeleteEnabled(true)
+          .setBulkDeleteChunkSize(2)
+          .setProcessEngineName("bulk-delete-test")
+          .setJdbcUrl("jdbc:h2:mem:activiti-bulk-delete-test;DB_CLOSE_DELAY=1000")
+          .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE)
+          .setHistory("full")
+          .setAsyncExecutorActivate(false)
+          .buildProcessEngine();
+    }
+    processEngine = cachedProcessEngine;
+  }
+
+  public void testDeleteDeploymentWithCascade() {
+    String deploymentId = repositoryService.createDeployment()
+        .addClasspathResource("org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+        .deploy()
+        .getId();
+
+    List<String> processInstanceIds = startProcessInstances(5);
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.addCandidateUser(task.getId(), "kermit");
+      taskService.addComment(task.getId(), task.getProcessInstanceId(), "a comment");
+    }
+    taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceIds.get(0)).singleResult().getId());
+
+    repositoryService.deleteDeployment(deploymentId, true);
+
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(taskService.createTaskQuery().count()).isZero();
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricDetailQuery().count()).isZero();
+    assertThat(managementService.getTableCount().get("ACT_GE_BYTEARRAY")).isZero();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteHistoricProcessInstances() {
+    List<String> processInstanceIds = startProcessInstances(3);
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+
+    historyService.deleteHistoricProcessInstances(processInstanceIds);
+
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isZero();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteHistoricProcessInstancesOfRunningProcessInstance() {
+    List<String> processInstanceIds = startProcessInstances(1);
+
+    assertThatExceptionOfType(ActivitiException.class)
+        .isThrownBy(() -> historyService.deleteHistoricProcessInstances(processInstanceIds))
+        .withMessageContaining("still running");
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+  }
+
+  protected List<String> startProcessInstances(int count) {
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < count; i++) {
+      Map<String, Object> variables = new HashMap<String, Object>();
+      variables.put("amount", 100);
+      variables.put("document", "a document".getBytes());
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+      processInstanceIds.add(processInstance.getId());
+    }
+    return processInstanceIds;
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.history;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.ArchivedHistoricProcessInstance;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class HistoryArchiveTest extends PluggableActivitiTestCase {
+
+  protected File archiveDirectory;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    archiveDirectory = Files.createTempDirectory("history-archive").toFile();
+    processEngineConfiguration.setHistoryArchiveDirectory(archiveDirectory.getAbsolutePath());
+    processEngineConfiguration.setHistoryArchiveBatchSize(2);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setHistoryArchiveDirectory(null);
+    processEngineConfiguration.setHistoryArchiveBatchSize(1000);
+    File[] files = archiveDirectory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    archiveDirectory.delete();
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testArchiveFinishedProcessInstances() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("amount", 42L);
+    variables.put("items", new ArrayList<String>(asList("a", "b")));
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", "order-1", variables);
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.addCandidateUser(task.getId(), "kermit");
+    taskService.complete(task.getId());
+    completeProcessInstance("order-2");
+    completeProcessInstance("order-3");
+    String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    long archived = historyService.archiveHistoricProcessInstances(new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + 1000));
+
+    assertThat(archived).isEqualTo(3);
+    assertThat(archiveDirectory.list()).hasSize(4);
+    assertThat(historyService.createHistoricProcessInstanceQuery().list())
+        .extracting("id")
+        .containsExactly(runningProcessInstanceId);
+    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+
+    assertThat(historyService.createArchivedHistoricProcessInstanceQuery().count()).isEqualTo(3);
+    ArchivedHistoricProcessInstance archivedProcessInstance = historyService.createArchivedHistoricProcessInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+    assertThat(archivedProcessInstance.getBusinessKey()).isEqualTo("order-1");
+    assertThat(archivedProcessInstance.getProcessDefinitionKey()).isEqualTo("oneTaskProcess");
+    assertThat(archivedProcessInstance.getEndTime()).isNotNull();
+    assertThat(archivedProcessInstance.getActivityInstances())
+        .extracting("activityId")
+        .contains("theStart", "theTask", "theEnd");
+    assertThat(archivedProcessInstance.getTaskInstances())
+        .extracting("id")
+        .containsExactly(task.getId());
+    assertThat(archivedProcessInstance.getIdentityLinks())
+        .extracting("userId")
+        .contains("kermit");
+    assertThat(archivedProcessInstance.getProcessVariables())
+        .containsEntry("amount", 42L)
+        .containsEntry("items", asList("a", "b"));
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testQueryArchive() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    String first = completeProcessInstance("order-1");
+    String second = completeProcessInstance("order-2");
+    Date now = processEngineConfiguration.getClock().getCurrentTime();
+    historyService.archiveHistoricProcessInstances(new Date(now.getTime() + 1000));
+
+    assertThat(historyService.createArchivedHistoricProcessInstanceQuery().processDefinitionKey("oneTaskProcess").list())
+        .extracting("id")
+        .containsExactlyInAnyOrder(first, second);
+    assertThat(historyService.createArchivedHistoricProcessInstanceQuery().processInstanceBusinessKey("order-2").singleResult().getId())
+        .isEqualTo(second);
+    assertThat(historyService.createArchivedHistoricProcessInstanceQuery().processInstanceIds(singleton(first)).list())
+        .extracting("id")
+        .containsExactly(first);
+    assertThat(historyService.createArchivedHistoricProcessInstanceQuery().processDefinitionKey("unknown").count()).isZero();
+    assertThat(historyService.createArchivedHistoricProcessInstanceQuery().finishedAfter(new Date(now.getTime() + 1000)).count()).isZero();
+    assertThat(historyService.createArchivedHistoricProcessInstanceQuery().listPage(1, 5)).hasSize(1);
+  }
+
+  public void testArchiveWithoutDirectory() {
+    processEngineConfiguration.setHistoryArchiveDirectory(null);
+
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> historyService.archiveHistoricProcessInstances(new Date()));
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> historyService.createArchivedHistoricProcessInstanceQuery().list());
+  }
+
+  protected String completeProcessInstance(String businessKey) {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", businessKey);
+    taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+    return processInstance.getId();
+  }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.history;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Date;
+import java.util.HashMap;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.cmd.ScheduleHistoryCleanupJobCmd;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.jobexecutor.HistoryCleanupJobHandler;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.Batch;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+public class HistoryCleanupTest extends PluggableActivitiTestCase {
+
+  protected static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.setHistoryCleanupEnabled(true);
+    processEngineConfiguration.setHistoryCleanupBatchSize(2);
+    processEngineConfiguration.setHistoryCleanupBatchPause(0);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    for (Job timer : managementService.createTimerJobQuery().list()) {
+      managementService.deleteTimerJob(timer.getId());
+    }
+    processEngineConfiguration.setHistoryCleanupEnabled(false);
+    processEngineConfiguration.setHistoryCleanupBatchSize(100);
+    processEngineConfiguration.setHistoryCleanupBatchPause(500);
+    processEngineConfiguration.setHistoryTimeToLive(null);
+    processEngineConfiguration.setHistoryTimeToLives(new HashMap<String, String>());
+    super.tearDown();
+  }
+
+  public void testScheduleJobOnce() {
+    TimerJobEntity timer = managementService.executeCommand(new ScheduleHistoryCleanupJobCmd());
+    assertThat(timer.getRepeat()).isEqualTo(processEngineConfiguration.getHistoryCleanupCycle());
+    assertThat(timer.getJobHandlerType()).isEqualTo(HistoryCleanupJobHandler.TYPE);
+
+    assertThat(managementService.executeCommand(new ScheduleHistoryCleanupJobCmd()).getId()).isEqualTo(timer.getId());
+    assertThat(managementService.createTimerJobQuery().count()).isEqualTo(1);
+
+    processEngineConfiguration.setHistoryCleanupCycle("R/PT1H");
+    try {
+      assertThat(managementService.executeCommand(new ScheduleHistoryCleanupJobCmd()).getId()).isNotEqualTo(timer.getId());
+      assertThat(managementService.createTimerJobQuery().count()).isEqualTo(1);
+    } finally {
+      processEngineConfiguration.setHistoryCleanupCycle("0 0 1 * * ?");
+    }
+  }
+
+  public void testNoTimerScheduledWhileJobIsExecutable() {
+    TimerJobEntity timer = managementService.executeCommand(new ScheduleHistoryCleanupJobCmd());
+    assertThat(timer.getId()).isEqualTo(ScheduleHistoryCleanupJobCmd.getTimerId(processEngineConfiguration.getHistoryCleanupCycle()));
+    Job job = managementService.moveTimerToExecutableJob(timer.getId());
+
+    try {
+      assertThat(managementService.executeCommand(new ScheduleHistoryCleanupJobCmd())).isNull();
+      assertThat(managementService.createTimerJobQuery().count()).isZero();
+    } finally {
+      managementService.deleteJob(job.getId());
+    }
+  }
+
+  public void testInvalidTimeToLive() {
+    processEngineConfiguration.setHistoryTimeToLive("one day");
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> processEngineConfiguration.initHistoryCleanup());
+
+    processEngineConfiguration.setHistoryTimeToLive(null);
+    processEngineConfiguration.setHistoryTimeToLives(singletonMap("oneTaskProcess", (String) null));
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> processEngineConfiguration.initHistoryCleanup());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteExpiredHistory() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    processEngineConfiguration.setHistoryTimeToLives(singletonMap("oneTaskProcess", "P1D"));
+    HistoryCleanupJobHandler handler = (HistoryCleanupJobHandler) processEngineConfiguration.getJobHandlers().get(HistoryCleanupJobHandler.TYPE);
+    long removedProcessInstances = handler.getRemovedProcessInstances();
+
+    Date start = processEngineConfiguration.getClock().getCurrentTime();
+    for (int i = 0; i < 3; i++) {
+      completeProcessInstance();
+    }
+    processEngineConfiguration.getClock().setCurrentTime(new Date(start.getTime() + 2 * ONE_DAY));
+    String keptProcessInstanceId = completeProcessInstance();
+
+    runCleanupJob();
+
+    assertThat(historyService.createHistoricProcessInstanceQuery().list())
+        .extracting("id")
+        .containsExactly(keptProcessInstanceId);
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(keptProcessInstanceId).count())
+        .isEqualTo(historyService.createHistoricActivityInstanceQuery().count());
+    assertThat(handler.getRemovedProcessInstances() - removedProcessInstances).isEqualTo(3);
+    assertThat(handler.getLastRunRemovedProcessInstances()).isEqualTo(3);
+    assertThat(handler.getLastRunRemovedRows()).isGreaterThan(3);
+
+    // the next run is scheduled by the repeating timer
+    assertThat(managementService.createTimerJobQuery().count()).isEqualTo(1);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testOneBatchPerExecution() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    processEngineConfiguration.setHistoryTimeToLive("P1D");
+    HistoryCleanupJobHandler handler = (HistoryCleanupJobHandler) processEngineConfiguration.getJobHandlers().get(HistoryCleanupJobHandler.TYPE);
+    long runs = handler.getRuns();
+
+    Date start = processEngineConfiguration.getClock().getCurrentTime();
+    for (int i = 0; i < 3; i++) {
+      completeProcessInstance();
+    }
+    processEngineConfiguration.getClock().setCurrentTime(new Date(start.getTime() + 2 * ONE_DAY));
+
+    TimerJobEntity timer = managementService.executeCommand(new ScheduleHistoryCleanupJobCmd());
+    managementService.executeJob(managementService.moveTimerToExecutableJob(timer.getId()).getId());
+
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+    assertThat(handler.getRuns()).isEqualTo(runs);
+    TimerJobEntity followUpTimer = findFollowUpTimer();
+    assertThat(followUpTimer).isNotNull();
+    assertThat(followUpTimer.getDuedate().getTime()).isLessThanOrEqualTo(processEngineConfiguration.getClock().getCurrentTime().getTime());
+
+    // a follow-up timer doesn't keep the repeating timer from being scheduled, nor is it replaced by it
+    assertThat(managementService.executeCommand(new ScheduleHistoryCleanupJobCmd()).getRepeat()).isNotNull();
+    assertThat(managementService.createTimerJobQuery().count()).isEqualTo(2);
+
+    managementService.executeJob(managementService.moveTimerToExecutableJob(followUpTimer.getId()).getId());
+
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(findFollowUpTimer()).isNull();
+    assertThat(handler.getRuns()).isEqualTo(runs + 1);
+    assertThat(handler.getLastRunRemovedProcessInstances()).isEqualTo(3);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testTimeToLiveByKeyOverridesDefault() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    processEngineConfiguration.setHistoryTimeToLive("P1D");
+    processEngineConfiguration.setHistoryTimeToLives(singletonMap("oneTaskProcess", "P1Y"));
+
+    Date start = processEngineConfiguration.getClock().getCurrentTime();
+    completeProcessInstance();
+    processEngineConfiguration.getClock().setCurrentTime(new Date(start.getTime() + 2 * ONE_DAY));
+
+    runCleanupJob();
+
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteCompletedBatches() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Batch completedBatch = runtimeService.suspendProcessInstances(runtimeService.createProcessInstanceQuery().processDefinitionKey("unknown"));
+    Batch pendingBatch = runtimeService.suspendProcessInstances(runtimeService.createProcessInstanceQuery());
+
+    runCleanupJob();
+
+    assertThat(managementService.getBatch(completedBatch.getId())).isNull();
+    assertThat(managementService.getBatch(pendingBatch.getId()).isCompleted()).isFalse();
+    managementService.deleteBatch(pendingBatch.getId());
+    for (Job job : managementService.createJobQuery().list()) {
+      managementService.deleteJob(job.getId());
+    }
+  }
+
+  protected String completeProcessInstance() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+    return processInstance.getId();
+  }
+
+  protected void runCleanupJob() {
+    TimerJobEntity timer = managementService.executeCommand(new ScheduleHistoryCleanupJobCmd());
+    Job job = managementService.moveTimerToExecutableJob(timer.getId());
+    managementService.executeJob(job.getId());
+    for (TimerJobEntity followUpTimer = findFollowUpTimer(); followUpTimer != null; followUpTimer = findFollowUpTimer()) {
+      managementService.executeJob(managementService.moveTimerToExecutableJob(followUpTimer.getId()).getId());
+    }
+  }
+
+  protected TimerJobEntity findFollowUpTimer() {
+    for (Job timer : managementService.createTimerJobQuery().list()) {
+      if (((TimerJobEntity) timer).getRepeat() == null) {
+        return (TimerJobEntity) timer;
+      }
+    }
+    return null;
+  }
+
+}
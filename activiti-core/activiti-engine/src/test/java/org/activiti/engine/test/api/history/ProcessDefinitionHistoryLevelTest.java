@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Collections;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class ProcessDefinitionHistoryLevelTest extends PluggableActivitiTestCase {
+
+  @Deployment
+  public void testHistoryLevelNone() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("straightThroughProcess",
+        Collections.<String, Object>singletonMap("amount", 42L));
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.addCandidateUser(task.getId(), "kermit");
+    runtimeService.setVariable(processInstance.getId(), "amount", 43L);
+    taskService.complete(task.getId());
+
+    assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    assertThat(historyService.getHistoricIdentityLinksForProcessInstance(processInstance.getId())).isEmpty();
+  }
+
+  @Deployment
+  public void testExcludedActivityTypes() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("gatewayProcess");
+    taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getId());
+
+    assertProcessEnded(processInstance.getId());
+    assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).finished().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).list())
+        .extracting("activityId")
+        .containsExactlyInAnyOrder("theStart", "theTask", "theEnd");
+  }
+
+  public void testInvalidHistoryLevel() {
+    String bpmn = "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL' xmlns:activiti='http://activiti.org/bpmn' targetNamespace='Examples'>"
+        + "<process id='invalidHistoryLevel'><extensionElements><activiti:historyLevel>everything</activiti:historyLevel></extensionElements>"
+        + "<startEvent id='theStart' /><sequenceFlow id='flow1' sourceRef='theStart' targetRef='theEnd' /><endEvent id='theEnd' />"
+        + "</process></definitions>";
+
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> repositoryService.createDeployment().addString("invalidHistoryLevel.bpmn20.xml", bpmn).deploy());
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.ActivitiObjectNotFoundException;
+import org.activiti.engine.impl.jobexecutor.BatchOperationJobHandler;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.Batch;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstanceQuery;
+import org.activiti.engine.test.Deployment;
+
+public class BatchOperationTest extends PluggableActivitiTestCase {
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.setBatchOperationChunkSize(2);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setBatchOperationChunkSize(100);
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testSuspendAndActivateProcessInstances() {
+    startProcessInstances("oneTaskProcess", 5);
+
+    Batch batch = runtimeService.suspendProcessInstances(runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess"));
+    assertThat(batch.getType()).isEqualTo(Batch.TYPE_SUSPEND_PROCESS_INSTANCES);
+    assertThat(batch.getTotal()).isEqualTo(5);
+    assertThat(batch.getChunks()).isEqualTo(3);
+    assertThat(managementService.getBatch(batch.getId()).getRemainingChunks()).isEqualTo(3);
+
+    executeBatchJobs();
+
+    assertThat(runtimeService.createProcessInstanceQuery().suspended().count()).isEqualTo(5);
+    assertThat(managementService.getBatch(batch.getId()).isCompleted()).isTrue();
+    managementService.deleteBatch(batch.getId());
+
+    runtimeService.activateProcessInstanceById(runtimeService.createProcessInstanceQuery().list().get(0).getId());
+    batch = runtimeService.activateProcessInstances(runtimeService.createProcessInstanceQuery());
+    executeBatchJobs();
+
+    assertThat(runtimeService.createProcessInstanceQuery().active().count()).isEqualTo(5);
+    managementService.deleteBatch(batch.getId());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteProcessInstances() {
+    startProcessInstances("oneTaskProcess", 3);
+
+    Batch batch = runtimeService.deleteProcessInstances(runtimeService.createProcessInstanceQuery(), "cleanup");
+    executeBatchJobs();
+
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(taskService.createTaskQuery().count()).isZero();
+    managementService.deleteBatch(batch.getId());
+  }
+
+  @Deployment
+  public void testMoveDeadLetterJobs() {
+    startProcessInstances("asyncTaskProcess", 3);
+    for (Job job : managementService.createJobQuery().list()) {
+      managementService.moveJobToDeadLetterJob(job.getId());
+    }
+
+    Batch batch = managementService.moveDeadLetterJobsToExecutableJobs(managementService.createDeadLetterJobQuery(), 5);
+    assertThat(batch.getTotal()).isEqualTo(3);
+    executeBatchJobs();
+
+    assertThat(managementService.createDeadLetterJobQuery().count()).isZero();
+    assertThat(managementService.createJobQuery().list())
+        .hasSize(3)
+        .extracting("retries")
+        .containsOnly(5);
+    managementService.deleteBatch(batch.getId());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeletedBatchIsNotProcessed() {
+    startProcessInstances("oneTaskProcess", 3);
+
+    Batch batch = runtimeService.suspendProcessInstances(runtimeService.createProcessInstanceQuery());
+    managementService.deleteBatch(batch.getId());
+    executeBatchJobs();
+
+    assertThat(managementService.getBatch(batch.getId())).isNull();
+    assertThat(runtimeService.createProcessInstanceQuery().active().count()).isEqualTo(3);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testQueryIsNotChanged() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", "order-1");
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess");
+
+    Batch batch = runtimeService.suspendProcessInstances(query);
+
+    assertThat(query.listProjections())
+        .extracting("businessKey")
+        .containsExactly("order-1");
+    managementService.deleteBatch(batch.getId());
+  }
+
+  public void testEmptyBatchIsCompleted() {
+    Batch batch = runtimeService.suspendProcessInstances(runtimeService.createProcessInstanceQuery());
+
+    assertThat(batch.getChunks()).isZero();
+    assertThat(managementService.getBatch(batch.getId()).isCompleted()).isTrue();
+    managementService.deleteBatch(batch.getId());
+  }
+
+  public void testMoveDeadLetterJobsWithoutRetries() {
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> managementService.moveDeadLetterJobsToExecutableJobs(managementService.createDeadLetterJobQuery(), 0));
+  }
+
+  public void testDeleteUnknownBatch() {
+    assertThatExceptionOfType(ActivitiObjectNotFoundException.class)
+        .isThrownBy(() -> managementService.deleteBatch("unknown"));
+  }
+
+  protected void startProcessInstances(String processDefinitionKey, int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey(processDefinitionKey);
+    }
+  }
+
+  protected void executeBatchJobs() {
+    for (Job job : managementService.createJobQuery().list()) {
+      if (BatchOperationJobHandler.TYPE.equals(job.getJobHandlerType())) {
+        managementService.executeJob(job.getId());
+      }
+    }
+  }
+
+}
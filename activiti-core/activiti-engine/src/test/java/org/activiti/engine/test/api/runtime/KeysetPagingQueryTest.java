@@ -0,0 +1,183 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.query.KeysetPage;
+import org.activiti.engine.query.Query;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class KeysetPagingQueryTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testTasksAfterCursorOrderedById() {
+    startProcessInstances(5);
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (Task task : taskService.createTaskQuery().orderByTaskId().asc().list()) {
+      expectedIds.add(task.getId());
+    }
+
+    assertThat(pageThrough(taskService.createTaskQuery().orderByTaskId().asc(), 2)).isEqualTo(expectedIds);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testTasksAfterCursorOrderedByPriority() {
+    startProcessInstances(5);
+    List<Task> tasks = taskService.createTaskQuery().orderByTaskId().asc().list();
+    for (int i = 0; i < tasks.size(); i++) {
+      taskService.setPriority(tasks.get(i).getId(), i % 2);
+    }
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (Task task : taskService.createTaskQuery().orderByTaskPriority().desc().orderByTaskId().desc().list()) {
+      expectedIds.add(task.getId());
+    }
+
+    assertThat(pageThrough(taskService.createTaskQuery().orderByTaskPriority().desc(), 2)).isEqualTo(expectedIds);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testProcessInstancesAfterCursor() {
+    startProcessInstances(3);
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery().orderByProcessInstanceId().asc().list()) {
+      expectedIds.add(processInstance.getId());
+    }
+
+    assertThat(pageThrough(runtimeService.createProcessInstanceQuery(), 2)).isEqualTo(expectedIds);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testHistoricProcessInstancesAfterCursor() {
+    startProcessInstances(3);
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (HistoricProcessInstance processInstance : historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceStartTime().asc().orderByProcessInstanceId().asc().list()) {
+      expectedIds.add(processInstance.getId());
+    }
+
+    assertThat(pageThrough(historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceStartTime().asc(), 2))
+        .isEqualTo(expectedIds);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testTasksAfterDeletedCursor() {
+    startProcessInstances(5);
+    List<Task> tasks = taskService.createTaskQuery().orderByTaskId().asc().list();
+    for (int i = 0; i < tasks.size(); i++) {
+      taskService.setPriority(tasks.get(i).getId(), i % 2);
+    }
+
+    KeysetPage<Task> firstPage = taskService.createTaskQuery().orderByTaskPriority().desc().pageAfter(null, 2);
+    assertThat(firstPage.getResults()).hasSize(2);
+    List<String> expectedIds = new ArrayList<String>();
+    for (Task task : taskService.createTaskQuery().orderByTaskPriority().desc().orderByTaskId().desc().listPage(2, 10)) {
+      expectedIds.add(task.getId());
+    }
+
+    runtimeService.deleteProcessInstance(firstPage.getResults().get(1).getProcessInstanceId(), "deleted");
+
+    KeysetPage<Task> secondPage = taskService.createTaskQuery().orderByTaskPriority().desc().pageAfter(firstPage.getNextCursor(), 10);
+    List<String> ids = new ArrayList<String>();
+    for (Task task : secondPage.getResults()) {
+      ids.add(task.getId());
+    }
+    assertThat(ids).isEqualTo(expectedIds);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testTasksAfterCursorOrderedByNullableDueDate() {
+    startProcessInstances(6);
+    List<Task> tasks = taskService.createTaskQuery().orderByTaskId().asc().list();
+    for (int i = 0; i < tasks.size(); i += 2) {
+      taskService.setDueDate(tasks.get(i).getId(), new Date(1_000_000L * (tasks.size() - i)));
+    }
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (Task task : taskService.createTaskQuery().orderByDueDateNullsLast().asc().orderByTaskId().asc().list()) {
+      expectedIds.add(task.getId());
+    }
+    assertThat(pageThrough(taskService.createTaskQuery().orderByTaskDueDate().asc(), 2)).isEqualTo(expectedIds);
+
+    expectedIds.clear();
+    for (Task task : taskService.createTaskQuery().orderByDueDateNullsFirst().desc().orderByTaskId().desc().list()) {
+      expectedIds.add(task.getId());
+    }
+    assertThat(pageThrough(taskService.createTaskQuery().orderByDueDateNullsFirst().desc(), 2)).isEqualTo(expectedIds);
+  }
+
+  public void testInvalidCursor() {
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> taskService.createTaskQuery().pageAfter("not a cursor", 10));
+  }
+
+  public void testOrderingOnMoreThanOnePropertyIsNotSupported() {
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> taskService.createTaskQuery().orderByTaskName().asc().orderByTaskId().asc().pageAfter(null, 10));
+  }
+
+  public void testQueryWithoutKeysetSupport() {
+    assertThatExceptionOfType(ActivitiException.class)
+        .isThrownBy(() -> repositoryService.createDeploymentQuery().pageAfter(null, 10));
+  }
+
+  protected void startProcessInstances(int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+  }
+
+  protected List<String> pageThrough(Query<?, ?> query, int pageSize) {
+    List<String> ids = new ArrayList<String>();
+    String cursor = null;
+    KeysetPage<?> page;
+    do {
+      page = query.pageAfter(cursor, pageSize);
+      assertThat(page.getResults().size()).isLessThanOrEqualTo(pageSize);
+      for (Object result : page.getResults()) {
+        ids.add(getId(result));
+      }
+      cursor = page.getNextCursor();
+    } while (page.getResults().size() == pageSize);
+    return ids;
+  }
+
+  protected String getId(Object result) {
+    if (result instanceof Task) {
+      return ((Task) result).getId();
+    } else if (result instanceof ProcessInstance) {
+      return ((ProcessInstance) result).getId();
+    }
+    return ((HistoricProcessInstance) result).getId();
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.ProcessInstanceQueryProperty;
+import org.activiti.engine.impl.TaskQueryProperty;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.runtime.ProcessInstanceProjection;
+import org.activiti.engine.task.TaskProjection;
+import org.activiti.engine.test.Deployment;
+
+public class ProjectionQueryTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testTaskProjection() {
+    ProcessInstance processInstance = startProcessInstance("order-1");
+    taskService.setVariableLocal(taskService.createTaskQuery().singleResult().getId(), "approved", true);
+
+    List<TaskProjection> projections = taskService.createTaskQuery()
+        .projection(TaskQueryProperty.NAME, TaskQueryProperty.PROCESS_INSTANCE_ID)
+        .projectionVariables("amount", "approved")
+        .orderByTaskCreateTime().asc()
+        .listProjections();
+
+    assertThat(projections).hasSize(1);
+    TaskProjection projection = projections.get(0);
+    assertThat(projection.getId()).isNotNull();
+    assertThat(projection.getName()).isEqualTo("my task");
+    assertThat(projection.getProcessInstanceId()).isEqualTo(processInstance.getId());
+    assertThat(projection.getAssignee()).isNull();
+    assertThat(projection.getVariables())
+        .containsEntry("amount", 100)
+        .containsEntry("approved", true)
+        .doesNotContainKey("customer");
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testProcessInstanceProjectionPage() {
+    startProcessInstance("order-1");
+    startProcessInstance("order-2");
+    startProcessInstance("order-3");
+
+    List<ProcessInstanceProjection> projections = runtimeService.createProcessInstanceQuery()
+        .projection(ProcessInstanceQueryProperty.BUSINESS_KEY)
+        .projectionVariables("customer")
+        .orderByProcessInstanceId().asc()
+        .listProjectionsPage(1, 2);
+
+    assertThat(projections).hasSize(2);
+    for (ProcessInstanceProjection projection : projections) {
+      assertThat(projection.getBusinessKey()).startsWith("order-");
+      assertThat(projection.getProcessDefinitionKey()).isEqualTo("oneTaskProcess");
+      assertThat(projection.getStartTime()).isNull();
+      assertThat(projection.getVariables()).containsOnlyKeys("customer");
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testProjectionVariablesInChunks() {
+    for (int i = 0; i < 5; i++) {
+      startProcessInstance("order-" + i);
+    }
+    int chunkSize = processEngineConfiguration.getBulkDeleteChunkSize();
+    processEngineConfiguration.setBulkDeleteChunkSize(2);
+    try {
+      List<ProcessInstanceProjection> processInstanceProjections = runtimeService.createProcessInstanceQuery()
+          .projectionVariables("customer")
+          .listProjections();
+      assertThat(processInstanceProjections).hasSize(5);
+      for (ProcessInstanceProjection projection : processInstanceProjections) {
+        assertThat(projection.getVariables()).containsEntry("customer", "Kermit");
+      }
+
+      List<TaskProjection> taskProjections = taskService.createTaskQuery()
+          .projectionVariables("amount")
+          .listProjections();
+      assertThat(taskProjections).hasSize(5);
+      for (TaskProjection projection : taskProjections) {
+        assertThat(projection.getVariables()).containsEntry("amount", 100);
+      }
+    } finally {
+      processEngineConfiguration.setBulkDeleteChunkSize(chunkSize);
+    }
+  }
+
+  public void testUnknownProjectionProperty() {
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> taskService.createTaskQuery().projection(ProcessInstanceQueryProperty.BUSINESS_KEY));
+  }
+
+  protected ProcessInstance startProcessInstance(String businessKey) {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("amount", 100);
+    variables.put("customer", "Kermit");
+    return runtimeService.startProcessInstanceByKey("oneTaskProcess", businessKey, variables);
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.runtime;
+
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.history.HistoricVariableInstance;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class QueryStreamTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testStreamTasks() {
+    startProcessInstances(3);
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (Task task : taskService.createTaskQuery().orderByTaskId().asc().list()) {
+      expectedIds.add(task.getId());
+    }
+
+    try (Stream<Task> tasks = taskService.createTaskQuery().orderByTaskId().asc().stream()) {
+      assertThat(tasks.map(Task::getId).collect(toList())).isEqualTo(expectedIds);
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testStreamClosedBeforeLastResult() {
+    startProcessInstances(3);
+
+    try (Stream<Task> tasks = taskService.createTaskQuery().stream()) {
+      assertThat(tasks.findFirst()).isPresent();
+    }
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(3);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testForEachHistoricProcessInstance() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    startProcessInstances(3);
+
+    List<String> processInstanceIds = new ArrayList<String>();
+    historyService.createHistoricProcessInstanceQuery()
+        .processDefinitionKey("oneTaskProcess")
+        .forEach(processInstance -> processInstanceIds.add(processInstance.getId()));
+
+    assertThat(processInstanceIds).hasSize(3);
+    for (HistoricProcessInstance processInstance : historyService.createHistoricProcessInstanceQuery().list()) {
+      assertThat(processInstanceIds).contains(processInstance.getId());
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testStreamHistoricVariableInstances() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    startProcessInstances(2);
+
+    try (Stream<HistoricVariableInstance> variables = historyService.createHistoricVariableInstanceQuery().variableName("amount").stream()) {
+      assertThat(variables.map(HistoricVariableInstance::getValue).collect(toList())).containsExactly(100, 100);
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testStreamTasksWithVariablesIsNotSupported() {
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> taskService.createTaskQuery().includeProcessVariables().stream());
+  }
+
+  public void testQueryWithoutStreamSupport() {
+    assertThatExceptionOfType(ActivitiException.class)
+        .isThrownBy(() -> repositoryService.createDeploymentQuery().stream());
+  }
+
+  protected void startProcessInstances(int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("amount", (Object) 100));
+    }
+  }
+
+}
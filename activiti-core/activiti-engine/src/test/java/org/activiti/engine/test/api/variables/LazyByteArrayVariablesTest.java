@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.test.api.variables;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.persistence.entity.TaskEntityImpl;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.test.AbstractActivitiTestCase;
+import org.activiti.engine.impl.util.IoUtil;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Reads byte array variables lazily and as streams.
+ */
+public class LazyByteArrayVariablesTest extends AbstractActivitiTestCase {
+
+  protected static ProcessEngine cachedProcessEngine;
+
+  protected void initializeProcessEngine() {
+    if (cachedProcessEngine == null) {
+      cachedProcessEngine = new StandaloneInMemProcessEngineConfiguration()
+          .setLazyQueryVariableBytesEnabled(true)
+          .setProcessEngineName("lazy-byte-array-variables-test")
+          .setJdbcUrl("jdbc:h2:mem:activiti-lazy-byte-array-variables-test;DB_CLOSE_DELAY=1000")
+          .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE)
+          .setAsyncExecutorActivate(false)
+          .buildProcessEngine();
+    }
+    processEngine = cachedProcessEngine;
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testQueryVariableBytesAreLoadedWhenRead() {
+    byte[] document = "a large document".getBytes();
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("document", (Object) document));
+
+    Task task = taskService.createTaskQuery().includeProcessVariables().singleResult();
+
+    VariableInstanceEntity variable = ((TaskEntityImpl) task).getQueryVariables().get(0);
+    assertThat(variable.getByteArrayRef().isLoaded()).isFalse();
+    assertThat(task.getProcessVariables().get("document")).isEqualTo(document);
+    assertThat(variable.getByteArrayRef().isLoaded()).isTrue();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testVariableBytesAsStream() {
+    byte[] document = "a streamed document".getBytes();
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("document", (Object) document));
+
+    byte[] streamedBytes = managementService.executeCommand(commandContext -> {
+      VariableInstanceEntity variable = commandContext.getVariableInstanceEntityManager()
+          .findVariableInstanceByExecutionAndName(processInstance.getId(), "document");
+      InputStream inputStream = variable.getBytesAsStream();
+      assertThat(variable.getByteArrayRef().isLoaded()).isFalse();
+      return IoUtil.readInputStream(inputStream, "document");
+    });
+
+    assertThat(streamedBytes).isEqualTo(document);
+  }
+
+}
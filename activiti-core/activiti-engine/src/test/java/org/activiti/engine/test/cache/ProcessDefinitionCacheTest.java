@@ -30,6 +30,7 @@ import org.activiti.engine.TaskService;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
 import org.activiti.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.activiti.engine.impl.persistence.deploy.VersionCounterDeploymentCacheInvalidationChannel;
 import org.activiti.engine.impl.test.AbstractTestCase;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -167,4 +168,44 @@ public class ProcessDefinitionCacheTest extends AbstractTestCase {
         processEngine1.close();
         processEngine2.close();
     }
+
+    public void testSuspensionOnOtherProcessEngineInvalidatesCache() throws Exception {
+
+        ProcessEngine processEngine1 = new StandaloneProcessEngineConfiguration().setProcessEngineName("invalidation-test-1")
+                .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE).setJdbcUrl("jdbc:h2:mem:activiti-cache-invalidation-test;DB_CLOSE_DELAY=1000")
+                .setAsyncExecutorActivate(false).buildProcessEngine();
+
+        ProcessEngineConfigurationImpl processEngineConfiguration2 = (ProcessEngineConfigurationImpl) new StandaloneProcessEngineConfiguration()
+                .setProcessEngineName("invalidation-test-2").setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_FALSE)
+                .setJdbcUrl("jdbc:h2:mem:activiti-cache-invalidation-test;DB_CLOSE_DELAY=1000").setAsyncExecutorActivate(false);
+        processEngineConfiguration2.setEnableDeploymentCacheInvalidation(true);
+        processEngineConfiguration2.setDeploymentCacheInvalidationCheckInterval(50L);
+        ProcessEngine processEngine2 = processEngineConfiguration2.buildProcessEngine();
+
+        ProcessEngineConfigurationImpl processEngineConfiguration1 = (ProcessEngineConfigurationImpl) processEngine1.getProcessEngineConfiguration();
+        processEngineConfiguration1.getDeploymentManager().setCacheInvalidationChannel(
+            new VersionCounterDeploymentCacheInvalidationChannel(processEngineConfiguration1.getCommandExecutor(), 50L));
+
+        String deploymentId = processEngine1.getRepositoryService().createDeployment()
+            .addClasspathResource("org/activiti/engine/test/cache/originalProcess.bpmn20.xml").deploy().getId();
+        String processDefinitionId = processEngine2.getRepositoryService().createProcessDefinitionQuery().singleResult().getId();
+
+        // caches the process definition on the second engine
+        processEngine2.getRuntimeService().startProcessInstanceById(processDefinitionId);
+        assertThat(processEngineConfiguration2.getProcessDefinitionCache().contains(processDefinitionId)).isTrue();
+
+        processEngine1.getRepositoryService().suspendProcessDefinitionById(processDefinitionId);
+
+        long deadline = System.currentTimeMillis() + 10000L;
+        while (processEngineConfiguration2.getProcessDefinitionCache().contains(processDefinitionId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+        assertThat(processEngineConfiguration2.getProcessDefinitionCache().contains(processDefinitionId)).isFalse();
+        assertThat(processEngine2.getRepositoryService().getProcessDefinition(processDefinitionId).isSuspended()).isTrue();
+
+        // cleanup
+        processEngine1.getRepositoryService().deleteDeployment(deploymentId, true);
+        processEngine1.close();
+        processEngine2.close();
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.test.AbstractActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Runs processes with the updates and deletes of each flush sent as JDBC batches.
+ */
+public class BatchedFlushTest extends AbstractActivitiTestCase {
+
+  protected static ProcessEngine cachedProcessEngine;
+
+  protected void initializeProcessEngine() {
+    if (cachedProcessEngine == null) {
+      cachedProcessEngine = new StandaloneInMemProcessEngineConfiguration()
+          .setBatchedFlushEnabled(true)
+          .setProcessEngineName("batched-flush-test")
+          .setJdbcUrl("jdbc:h2:mem:activiti-batched-flush-test;DB_CLOSE_DELAY=1000")
+          .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE)
+          .setAsyncExecutorActivate(false)
+          .buildProcessEngine();
+    }
+    processEngine = cachedProcessEngine;
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+  public void testParallelMultiInstance() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelUserTasks");
+
+    List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+    assertThat(tasks).hasSize(3);
+
+    for (Task task : tasks) {
+      taskService.setVariable(task.getId(), "updated", task.getName());
+    }
+    for (Task task : tasks) {
+      taskService.complete(task.getId());
+    }
+
+    assertProcessEnded(processInstance.getId());
+  }
+
+  public void testOptimisticLockingForBatchedUpdates() {
+    Task task1 = taskService.newTask();
+    task1.setName("task1");
+    taskService.saveTask(task1);
+    Task task2 = taskService.newTask();
+    task2.setName("task2");
+    taskService.saveTask(task2);
+
+    assertThatExceptionOfType(ActivitiOptimisticLockingException.class).isThrownBy(() -> managementService.executeCommand(commandContext -> {
+      commandContext.getTaskEntityManager().findById(task1.getId()).setName("updated task1");
+      commandContext.getTaskEntityManager().findById(task2.getId()).setName("updated task2");
+
+      // Concurrent update of one of the batched tasks in a separate transaction
+      processEngineConfiguration.getCommandExecutor().execute(new CommandConfig().transactionRequiresNew(), newCommandContext -> {
+        newCommandContext.getTaskEntityManager().findById(task2.getId()).setName("concurrently updated task2");
+        return null;
+      });
+      return null;
+    }));
+
+    assertThat(taskService.createTaskQuery().taskId(task1.getId()).singleResult().getName()).isEqualTo("task1");
+    assertThat(taskService.createTaskQuery().taskId(task2.getId()).singleResult().getName()).isEqualTo("concurrently updated task2");
+
+    taskService.deleteTask(task1.getId(), true);
+    taskService.deleteTask(task2.getId(), true);
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.db.DbSqlSessionFactory;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class BulkInsertTest extends PluggableActivitiTestCase {
+
+  public void testMaxNrOfEntitiesInBulkInsertIsLimitedByParameters() {
+    DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+    try {
+      // 15 parameters per historic activity instance
+      dbSqlSessionFactory.setMaxNrOfParametersInStatement(100);
+      assertThat(dbSqlSessionFactory.getMaxNrOfEntitiesInBulkInsert(HistoricActivityInstanceEntityImpl.class,
+          "bulkInsertHistoricActivityInstance", new HistoricActivityInstanceEntityImpl())).isEqualTo(6);
+
+      dbSqlSessionFactory.setMaxNrOfParametersInStatement(10);
+      assertThat(dbSqlSessionFactory.getMaxNrOfEntitiesInBulkInsert(HistoricActivityInstanceEntityImpl.class,
+          "bulkInsertHistoricActivityInstance", new HistoricActivityInstanceEntityImpl())).isEqualTo(1);
+
+      dbSqlSessionFactory.setMaxNrOfParametersInStatement(100000);
+      assertThat(dbSqlSessionFactory.getMaxNrOfEntitiesInBulkInsert(HistoricActivityInstanceEntityImpl.class,
+          "bulkInsertHistoricActivityInstance", new HistoricActivityInstanceEntityImpl()))
+          .isEqualTo(dbSqlSessionFactory.getMaxNrOfStatementsInBulkInsert());
+    } finally {
+      dbSqlSessionFactory.setMaxNrOfParametersInStatement(0);
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+  public void testBulkInsertInChunksLimitedByParameters() {
+    DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+    try {
+      dbSqlSessionFactory.setMaxNrOfParametersInStatement(30);
+
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelUserTasks");
+      assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(3);
+      assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(5);
+
+      if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(4);
+      }
+
+      for (Task task : taskService.createTaskQuery().processInstanceId(processInstance.getId()).list()) {
+        taskService.complete(task.getId());
+      }
+      assertProcessEnded(processInstance.getId());
+    } finally {
+      dbSqlSessionFactory.setMaxNrOfParametersInStatement(0);
+    }
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.test.history;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.history.HistoricActivityInstance;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.history.async.AsyncHistoryWriter;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.activiti.engine.impl.test.AbstractActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Runs processes with ended activity instances and historic details written by the async history writer.
+ */
+public class AsyncHistoryTest extends AbstractActivitiTestCase {
+
+  protected static ProcessEngine cachedProcessEngine;
+
+  protected void initializeProcessEngine() {
+    if (cachedProcessEngine == null) {
+      cachedProcessEngine = new StandaloneInMemProcessEngineConfiguration()
+          .setAsyncHistoryEnabled(true)
+          .setProcessEngineName("async-history-test")
+          .setHistory("full")
+          .setJdbcUrl("jdbc:h2:mem:activiti-async-history-test;DB_CLOSE_DELAY=1000")
+          .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE)
+          .setAsyncExecutorActivate(false)
+          .buildProcessEngine();
+    }
+    processEngine = cachedProcessEngine;
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testHistoryIsWrittenAfterCommit() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("text", "value");
+    variables.put("number", 42L);
+    variables.put("bytes", "content".getBytes());
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.setVariable(task.getId(), "text", "updated value");
+    taskService.complete(task.getId());
+
+    getAsyncHistoryWriter().waitForPendingBatches();
+
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).list())
+        .extracting(HistoricActivityInstance::getActivityId)
+        .containsExactlyInAnyOrder("theStart", "theTask", "theEnd");
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).unfinished().count()).isZero();
+
+    assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).variableUpdates().count()).isEqualTo(4);
+    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).variableName("text").singleResult().getValue())
+        .isEqualTo("updated value");
+    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).variableName("bytes").singleResult().getValue())
+        .isEqualTo("content".getBytes());
+
+    assertThat(countBuffers()).isZero();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testBufferLeftBehindIsRecovered() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    getAsyncHistoryWriter().waitForPendingBatches();
+    insertBuffer(createActivityInstance("recovered-activity", processInstance.getId()));
+    assertThat(countBuffers()).isEqualTo(1);
+
+    getAsyncHistoryWriter().recover();
+
+    assertThat(countBuffers()).isZero();
+    HistoricActivityInstance recovered = historyService.createHistoricActivityInstanceQuery().activityInstanceId("recovered-activity").singleResult();
+    assertThat(recovered.getActivityId()).isEqualTo("recoveredActivity");
+    assertThat(recovered.getStartTime()).isEqualTo(new Date(1000L));
+    assertThat(recovered.getEndTime()).isEqualTo(new Date(3000L));
+    assertThat(recovered.getDurationInMillis()).isEqualTo(2000L);
+  }
+
+  public void testHistoryOfRemovedProcessInstanceIsSkipped() {
+    insertBuffer(createActivityInstance("orphan-activity", "removed-process-instance"));
+
+    getAsyncHistoryWriter().recover();
+
+    assertThat(countBuffers()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityInstanceId("orphan-activity").count()).isZero();
+  }
+
+  protected HistoricActivityInstanceEntityImpl createActivityInstance(String id, String processInstanceId) {
+    HistoricActivityInstanceEntityImpl activityInstance = new HistoricActivityInstanceEntityImpl();
+    activityInstance.setId(id);
+    activityInstance.setProcessDefinitionId("recovered-process:1:1");
+    activityInstance.setProcessInstanceId(processInstanceId);
+    activityInstance.setExecutionId(processInstanceId);
+    activityInstance.setActivityId("recoveredActivity");
+    activityInstance.setActivityType("serviceTask");
+    activityInstance.setStartTime(new Date(1000L));
+    activityInstance.setEndTime(new Date(3000L));
+    activityInstance.setDurationInMillis(2000L);
+    return activityInstance;
+  }
+
+  protected void insertBuffer(Entity entity) {
+    AsyncHistoryWriter asyncHistoryWriter = getAsyncHistoryWriter();
+    managementService.executeCommand(commandContext -> {
+      ByteArrayEntity buffer = commandContext.getByteArrayEntityManager().create();
+      buffer.setName(AsyncHistoryWriter.BUFFER_BYTE_ARRAY_NAME);
+      buffer.setBytes(asyncHistoryWriter.getSerializer().serialize(singletonList(entity)));
+      commandContext.getByteArrayEntityManager().insert(buffer);
+      return null;
+    });
+  }
+
+  protected AsyncHistoryWriter getAsyncHistoryWriter() {
+    return processEngineConfiguration.getAsyncHistoryWriter();
+  }
+
+  protected long countBuffers() {
+    return managementService.executeCommand(commandContext -> (long) commandContext.getByteArrayEntityManager()
+        .findByteArrayIdsByName(AsyncHistoryWriter.BUFFER_BYTE_ARRAY_NAME).size());
+  }
+
+}
@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ProcessEngine;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.BoundedVirtualThreadExecutorService;
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
@@ -167,6 +168,37 @@ public class AsyncExecutorTest {
 
   }
 
+  @Test
+  public void testAsyncScriptExecutionOnVirtualThreads() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+
+      processEngine = createProcessEngine(true, null, true);
+      assertThat(((DefaultAsyncJobExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor()).getExecutorService())
+          .isInstanceOf(BoundedVirtualThreadExecutorService.class);
+      setClockToCurrentTime(processEngine);
+      deploy(processEngine, "AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml");
+
+      ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+      waitForAllJobsBeingExecuted(processEngine);
+
+      assertThat(processEngine.getManagementService().createJobQuery().count()).isEqualTo(0);
+      assertThat(processEngine.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+      assertThat(processEngine.getTaskService().createTaskQuery().taskName("Task after script").count()).isEqualTo(1);
+
+      assertThat(getAsyncExecutorJobCount(processEngine)).isEqualTo(1);
+
+    } finally {
+
+      // Clean up
+      cleanup(processEngine);
+
+    }
+
+  }
+
   //TODO enable this test again: temporary disabled because it's randomly failing
   @Ignore
   @Test
@@ -267,6 +299,10 @@ public class AsyncExecutorTest {
   }
 
   private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time) {
+    return createProcessEngine(enableAsyncExecutor, time, false);
+  }
+
+  private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time, boolean useVirtualThreads) {
     ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
     processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
     processEngineConfiguration.setDatabaseSchemaUpdate("true");
@@ -277,6 +313,7 @@ public class AsyncExecutorTest {
       CountingAsyncExecutor countingAsyncExecutor = new CountingAsyncExecutor();
       countingAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(50); // To avoid waiting too long when a retry happens
       countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(50);
+      countingAsyncExecutor.setUseVirtualThreads(useVirtualThreads);
       processEngineConfiguration.setAsyncExecutor(countingAsyncExecutor);
     }
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.asyncexecutor.AcquiredJobEntities;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.test.Deployment;
+
+/**
+ */
+public class BulkLockJobsTest extends PluggableActivitiTestCase {
+
+  private boolean originalBulkLockJobs;
+  private int originalMaxAsyncJobsDuePerAcquisition;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    originalBulkLockJobs = processEngineConfiguration.isAsyncExecutorBulkLockJobs();
+    originalMaxAsyncJobsDuePerAcquisition = asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+    processEngineConfiguration.setAsyncExecutorBulkLockJobs(true);
+    asyncExecutor.setMaxAsyncJobsDuePerAcquisition(10);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setAsyncExecutorBulkLockJobs(originalBulkLockJobs);
+    processEngineConfiguration.getAsyncExecutor().setMaxAsyncJobsDuePerAcquisition(originalMaxAsyncJobsDuePerAcquisition);
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testBulkLockJobs() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("myProcess");
+    }
+    assertThat(managementService.createJobQuery().unlocked().count()).isEqualTo(3);
+
+    AcquiredJobEntities acquiredJobs = managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+    assertThat(acquiredJobs.size()).isEqualTo(3);
+
+    List<Job> lockedJobs = managementService.createJobQuery().locked().list();
+    assertThat(lockedJobs).hasSize(3);
+    for (Job job : lockedJobs) {
+      JobEntity jobEntity = (JobEntity) job;
+      assertThat(jobEntity.getLockOwner()).isEqualTo(processEngineConfiguration.getAsyncExecutor().getLockOwner());
+      assertThat(jobEntity.getLockExpirationTime()).isNotNull();
+      assertThat(jobEntity.getRevision()).isEqualTo(2);
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testBulkLockSkipsJobsLockedByOtherOwner() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("myProcess");
+    }
+
+    // Another executor locks one of the jobs between selecting and locking them
+    final String otherJobId = managementService.createJobQuery().list().get(0).getId();
+    List<JobEntity> lockedJobs = managementService.executeCommand(new Command<List<JobEntity>>() {
+      public List<JobEntity> execute(CommandContext commandContext) {
+        List<JobEntity> jobs = commandContext.getJobEntityManager().findJobsToExecute(new Page(0, 10));
+        Date lockExpirationTime = new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + 60000L);
+        processEngineConfiguration.getJobDataManager().bulkLockJobs(Collections.singletonList(otherJobId), "otherOwner", lockExpirationTime);
+        return commandContext.getJobEntityManager().bulkLockJobs(jobs, "myOwner", lockExpirationTime);
+      }
+    });
+
+    assertThat(lockedJobs).hasSize(2);
+    assertThat(lockedJobs).extracting(JobEntity::getId).doesNotContain(otherJobId);
+    assertThat(managementService.createJobQuery().locked().count()).isEqualTo(3);
+    JobEntity otherJob = (JobEntity) managementService.createJobQuery().jobId(otherJobId).singleResult();
+    assertThat(otherJob.getLockOwner()).isEqualTo("otherOwner");
+  }
+
+}
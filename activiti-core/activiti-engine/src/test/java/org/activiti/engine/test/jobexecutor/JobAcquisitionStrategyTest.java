@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.asyncexecutor.AcquiredJobEntities;
+import org.activiti.engine.impl.asyncexecutor.JobAcquisitionStrategy;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.test.Deployment;
+
+/**
+ */
+public class JobAcquisitionStrategyTest extends PluggableActivitiTestCase {
+
+  public void testSkipLockedFallsBackToOptimisticLockingWhenNotSupported() {
+    JobAcquisitionStrategy originalStrategy = processEngineConfiguration.getAsyncExecutorJobAcquisitionStrategy();
+    try {
+      processEngineConfiguration.setAsyncExecutorJobAcquisitionStrategy(JobAcquisitionStrategy.SKIP_LOCKED);
+      processEngineConfiguration.initAsyncExecutorJobAcquisitionStrategy();
+
+      if (!isSkipLockedDatabase()) {
+        assertThat(processEngineConfiguration.getAsyncExecutorJobAcquisitionStrategy()).isEqualTo(JobAcquisitionStrategy.OPTIMISTIC_LOCKING);
+      }
+
+    } finally {
+      processEngineConfiguration.setAsyncExecutorJobAcquisitionStrategy(originalStrategy);
+    }
+  }
+
+  public void testMySqlSkipLockedSupport() {
+    assertThat(ProcessEngineConfigurationImpl.isMySqlSkipLockedSupported("MySQL", "8.0.36", 8, 0)).isTrue();
+    assertThat(ProcessEngineConfigurationImpl.isMySqlSkipLockedSupported("MySQL", "5.7.44", 5, 7)).isFalse();
+
+    // MariaDB accessed with the MySQL driver
+    assertThat(ProcessEngineConfigurationImpl.isMySqlSkipLockedSupported("MySQL", "5.5.5-10.5.24-MariaDB-1:10.5.24+maria~ubu2004", 5, 5)).isFalse();
+    assertThat(ProcessEngineConfigurationImpl.isMySqlSkipLockedSupported("MySQL", "5.5.5-10.6.17-MariaDB", 5, 5)).isTrue();
+
+    // MariaDB accessed with the MariaDB driver
+    assertThat(ProcessEngineConfigurationImpl.isMySqlSkipLockedSupported("MariaDB", "10.4.32-MariaDB", 10, 4)).isFalse();
+    assertThat(ProcessEngineConfigurationImpl.isMySqlSkipLockedSupported("MariaDB", "11.2.3-MariaDB", 11, 2)).isTrue();
+    assertThat(ProcessEngineConfigurationImpl.isMySqlSkipLockedSupported("MariaDB", "10.11.6", 10, 11)).isTrue();
+    assertThat(ProcessEngineConfigurationImpl.isMySqlSkipLockedSupported("MariaDB", "10.3.39", 10, 3)).isFalse();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testAcquireJobsWithConfiguredStrategy() {
+    JobAcquisitionStrategy originalStrategy = processEngineConfiguration.getAsyncExecutorJobAcquisitionStrategy();
+    try {
+      processEngineConfiguration.setAsyncExecutorJobAcquisitionStrategy(JobAcquisitionStrategy.SKIP_LOCKED);
+      processEngineConfiguration.initAsyncExecutorJobAcquisitionStrategy();
+
+      runtimeService.startProcessInstanceByKey("myProcess");
+      AcquiredJobEntities acquiredJobs = managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+      assertThat(acquiredJobs.size()).isEqualTo(1);
+      assertThat(managementService.createJobQuery().locked().count()).isEqualTo(1);
+
+      // A locked job is not acquired again
+      acquiredJobs = managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+      assertThat(acquiredJobs.size()).isEqualTo(0);
+
+    } finally {
+      processEngineConfiguration.setAsyncExecutorJobAcquisitionStrategy(originalStrategy);
+    }
+  }
+
+  protected boolean isSkipLockedDatabase() {
+    String databaseType = processEngineConfiguration.getDatabaseType();
+    return ProcessEngineConfigurationImpl.DATABASE_TYPE_POSTGRES.equals(databaseType)
+        || ProcessEngineConfigurationImpl.DATABASE_TYPE_ORACLE.equals(databaseType)
+        || ProcessEngineConfigurationImpl.DATABASE_TYPE_MYSQL.equals(databaseType)
+        || ProcessEngineConfigurationImpl.DATABASE_TYPE_MARIADB.equals(databaseType);
+  }
+
+}
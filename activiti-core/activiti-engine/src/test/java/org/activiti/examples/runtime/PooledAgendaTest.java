@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.examples.runtime;
+
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs processes on the agenda that reuses its operations.
+ */
+public class PooledAgendaTest extends ResourceActivitiTestCase {
+
+    public PooledAgendaTest() {
+        super(PooledAgendaTest.class.getName().replace(".", File.separator)+".activiti.cfg.xml");
+    }
+
+    @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testOneTaskProcess() {
+        this.runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        Task task = this.taskService.createTaskQuery().singleResult();
+        this.taskService.complete(task.getId());
+        assertThat(this.runtimeService.createProcessInstanceQuery().count()).isEqualTo(0L);
+    }
+
+    @Deployment(resources = "org/activiti/engine/test/api/v6/Activiti6Test.testLongServiceTaskLoop.bpmn20.xml")
+    public void testLongServiceTaskLoop() {
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("counter", 0);
+        variables.put("maxCount", 500);
+        ProcessInstance processInstance = this.runtimeService.startProcessInstanceByKey("testLongServiceTaskLoop", variables);
+
+        assertThat(processInstance.isEnded()).isTrue();
+        assertThat(this.historyService.createHistoricActivityInstanceQuery()
+            .processInstanceId(processInstance.getId())
+            .activityId("serviceTask")
+            .count()).isEqualTo(500L);
+    }
+
+}
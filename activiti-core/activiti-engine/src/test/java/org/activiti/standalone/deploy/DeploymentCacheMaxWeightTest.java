@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.standalone.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.MessageFormat;
+
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.repository.Deployment;
+import org.activiti.engine.runtime.ProcessInstance;
+
+public class DeploymentCacheMaxWeightTest extends ResourceActivitiTestCase {
+
+  public DeploymentCacheMaxWeightTest() {
+    super("org/activiti/standalone/deploy/deployment.cache.max.weight.test.activiti.cfg.xml");
+  }
+
+  public void testStartProcessesWhenDefinitionsDoNotFitInCache() {
+    ConcurrentDeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = (ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>) processEngineConfiguration.getProcessDefinitionCache();
+    assertThat(processDefinitionCache.size()).isEqualTo(0);
+
+    String processDefinitionTemplate = DeploymentCacheTestUtil.readTemplateFile("/org/activiti/standalone/deploy/deploymentCacheTest.bpmn20.xml");
+    for (int i = 1; i <= 10; i++) {
+      repositoryService.createDeployment().addString("Process " + i + ".bpmn20.xml", MessageFormat.format(processDefinitionTemplate, i)).deploy();
+      assertThat(processDefinitionCache.getWeightedSize()).isLessThanOrEqualTo(20);
+    }
+
+    // every definition weighs more than the admission window, and most of them have been evicted by now
+    for (int round = 0; round < 2; round++) {
+      for (int i = 1; i <= 10; i++) {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("myProcess" + i);
+        assertThat(processInstance.getProcessDefinitionKey()).isEqualTo("myProcess" + i);
+        assertThat(processDefinitionCache.getWeightedSize()).isLessThanOrEqualTo(20);
+      }
+    }
+    assertThat(processDefinitionCache.getEvictionCount()).isGreaterThan(0);
+
+    // Cleanup
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+}
@@ -47,6 +47,7 @@ public class ActivitiProperties {
   private List<String> customMybatisMappers;
   private List<String> customMybatisXMLMappers;
   private boolean useStrongUuids = true;
+  private boolean useTimeOrderedIds = false;
   private boolean copyVariablesToLocalForTasks = true;
   private String deploymentMode = "default";
   private boolean serializePOJOsInVariablesToJson = true;
@@ -206,6 +207,14 @@ public class ActivitiProperties {
 	this.useStrongUuids = useStrongUuids;
   }
 
+  public boolean isUseTimeOrderedIds() {
+    return useTimeOrderedIds;
+  }
+
+  public void setUseTimeOrderedIds(boolean useTimeOrderedIds) {
+    this.useTimeOrderedIds = useTimeOrderedIds;
+  }
+
     public boolean isCopyVariablesToLocalForTasks() {
         return copyVariablesToLocalForTasks;
     }
@@ -15,6 +15,7 @@
  */
 package org.activiti.spring.boot;
 
+import org.activiti.engine.impl.asyncexecutor.JobAcquisitionStrategy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "spring.activiti.async-executor")
@@ -48,6 +49,26 @@ public class AsyncExecutorProperties {
      */
     private long keepAliveTime = 5000L;
 
+    /**
+     * When true, every job is executed on its own virtual thread instead of on
+     * the thread pool, so jobs blocking on I/O don't exhaust the pool. The core
+     * pool size, max pool size, keep alive time and queue size are not used then.
+     *
+     * Default value = false.
+     *
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * The maximum number of jobs executed concurrently on virtual threads. When
+     * 0, the maximum size of the DataSource connection pool is used, as every job
+     * execution needs a database connection.
+     *
+     * Default value = 0.
+     *
+     */
+    private int maxConcurrentVirtualThreadJobs = 0;
+
     /**
      * The size of the queue on which jobs to be executed are placed, before they
      * are actually executed. Default value = 100.
@@ -84,6 +105,26 @@ public class AsyncExecutorProperties {
      */
     private int maxAsyncJobsDuePerAcquisition = 1;
 
+    /**
+     * When true, the async jobs fetched during one acquisition are locked with one
+     * single update statement instead of one update per job. Jobs concurrently locked
+     * by another node are skipped instead of failing the whole acquisition.
+     *
+     * Default value = false.
+     *
+     */
+    private boolean bulkLockJobs = false;
+
+    /**
+     * How the async and timer jobs are acquired. With SKIP_LOCKED, concurrent nodes
+     * each acquire a distinct set of jobs using FOR UPDATE SKIP LOCKED. Only supported
+     * on PostgreSQL, MySQL 8 and Oracle, other databases use OPTIMISTIC_LOCKING.
+     *
+     * Default value = OPTIMISTIC_LOCKING.
+     *
+     */
+    private JobAcquisitionStrategy jobAcquisitionStrategy = JobAcquisitionStrategy.OPTIMISTIC_LOCKING;
+
     /**
      * The time (in milliseconds) the timer acquisition thread will wait to
      * execute the next acquirement query. This happens when no new timer jobs
@@ -103,6 +144,26 @@ public class AsyncExecutorProperties {
      */
     private int defaultAsyncJobAcquireWaitTimeInMillis = 10 * 1000;
 
+    /**
+     * When true, the async job acquisition thread adapts the time it waits between
+     * two acquirement queries to the observed job arrival rate, the fill level of the
+     * job queue and the lock collisions with other nodes. The wait time then varies
+     * between the min and the default async job acquire wait time.
+     *
+     * Default value = false.
+     *
+     */
+    private boolean adaptiveAcquireWaitTime = false;
+
+    /**
+     * The minimal time (in milliseconds) the async job acquisition thread will wait
+     * when the adaptive acquire wait time is enabled.
+     *
+     * Default value = 100 milliseconds.
+     *
+     */
+    private int minAsyncJobAcquireWaitTimeInMillis = 100;
+
     /**
      * The time (in milliseconds) the async job (both timer and async continuations) acquisition thread will
      * wait when the queueu is full to execute the next query. By default set to 0 (for backwards compatibility)
@@ -171,6 +232,22 @@ public class AsyncExecutorProperties {
         this.maxPoolSize = maxPoolSize;
     }
 
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxConcurrentVirtualThreadJobs() {
+        return maxConcurrentVirtualThreadJobs;
+    }
+
+    public void setMaxConcurrentVirtualThreadJobs(int maxConcurrentVirtualThreadJobs) {
+        this.maxConcurrentVirtualThreadJobs = maxConcurrentVirtualThreadJobs;
+    }
+
     public long getKeepAliveTime() {
         return keepAliveTime;
     }
@@ -219,6 +296,22 @@ public class AsyncExecutorProperties {
         this.maxAsyncJobsDuePerAcquisition = maxAsyncJobsDuePerAcquisition;
     }
 
+    public boolean isBulkLockJobs() {
+        return bulkLockJobs;
+    }
+
+    public void setBulkLockJobs(boolean bulkLockJobs) {
+        this.bulkLockJobs = bulkLockJobs;
+    }
+
+    public JobAcquisitionStrategy getJobAcquisitionStrategy() {
+        return jobAcquisitionStrategy;
+    }
+
+    public void setJobAcquisitionStrategy(JobAcquisitionStrategy jobAcquisitionStrategy) {
+        this.jobAcquisitionStrategy = jobAcquisitionStrategy;
+    }
+
     public int getDefaultTimerJobAcquireWaitTimeInMillis() {
         return defaultTimerJobAcquireWaitTimeInMillis;
     }
@@ -235,6 +328,22 @@ public class AsyncExecutorProperties {
         this.defaultAsyncJobAcquireWaitTimeInMillis = defaultAsyncJobAcquireWaitTimeInMillis;
     }
 
+    public boolean isAdaptiveAcquireWaitTime() {
+        return adaptiveAcquireWaitTime;
+    }
+
+    public void setAdaptiveAcquireWaitTime(boolean adaptiveAcquireWaitTime) {
+        this.adaptiveAcquireWaitTime = adaptiveAcquireWaitTime;
+    }
+
+    public int getMinAsyncJobAcquireWaitTimeInMillis() {
+        return minAsyncJobAcquireWaitTimeInMillis;
+    }
+
+    public void setMinAsyncJobAcquireWaitTimeInMillis(int minAsyncJobAcquireWaitTimeInMillis) {
+        this.minAsyncJobAcquireWaitTimeInMillis = minAsyncJobAcquireWaitTimeInMillis;
+    }
+
     public int getDefaultQueueSizeFullWaitTime() {
         return defaultQueueSizeFullWaitTime;
     }
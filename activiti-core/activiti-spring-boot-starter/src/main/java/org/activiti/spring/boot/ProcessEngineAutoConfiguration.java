@@ -41,6 +41,7 @@ import org.activiti.engine.impl.bpmn.behavior.VariablesPropagator;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.event.EventSubscriptionPayloadMappingProvider;
 import org.activiti.engine.impl.persistence.StrongUuidGenerator;
+import org.activiti.engine.impl.persistence.TimeOrderedUuidGenerator;
 import org.activiti.runtime.api.event.impl.StartMessageSubscriptionConverter;
 import org.activiti.runtime.api.impl.ExtensionsVariablesMappingProvider;
 import org.activiti.runtime.api.model.impl.APIDeploymentConverter;
@@ -58,12 +59,16 @@ import org.activiti.spring.resources.ResourceFinder;
 import org.activiti.spring.resources.ResourceFinderDescriptor;
 import org.activiti.validation.ProcessValidatorImpl;
 import org.activiti.validation.validator.ValidatorSet;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.metadata.CompositeDataSourcePoolMetadataProvider;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
 import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
@@ -150,7 +155,9 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
             conf.setCustomMybatisXMLMappers(new HashSet<>(activitiProperties.getCustomMybatisXMLMappers()));
         }
 
-        if (activitiProperties.isUseStrongUuids()) {
+        if (activitiProperties.isUseTimeOrderedIds()) {
+            conf.setIdGenerator(new TimeOrderedUuidGenerator());
+        } else if (activitiProperties.isUseStrongUuids()) {
             conf.setIdGenerator(new StrongUuidGenerator());
         }
 
@@ -265,19 +272,28 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
 
     @Bean
     @Order(Ordered.HIGHEST_PRECEDENCE)
-    public ProcessEngineConfigurationConfigurer asyncExecutorPropertiesConfigurer(AsyncExecutorProperties properties) {
+    public ProcessEngineConfigurationConfigurer asyncExecutorPropertiesConfigurer(AsyncExecutorProperties properties,
+                                                                                ObjectProvider<DataSourcePoolMetadataProvider> dataSourcePoolMetadataProviders) {
         return (configuration) -> {
             configuration.setAsyncExecutorMessageQueueMode(properties.isMessageQueueMode());
             configuration.setAsyncExecutorCorePoolSize(properties.getCorePoolSize());
             configuration.setAsyncExecutorAsyncJobLockTimeInMillis(properties.getAsyncJobLockTimeInMillis());
             configuration.setAsyncExecutorNumberOfRetries(properties.getNumberOfRetries());
+            configuration.setAsyncExecutorUseVirtualThreads(properties.isVirtualThreads());
+            configuration.setAsyncExecutorMaxConcurrentVirtualThreadJobs(getMaxConcurrentVirtualThreadJobs(properties,
+                                                                                                           configuration.getDataSource(),
+                                                                                                           dataSourcePoolMetadataProviders));
 
             configuration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(properties.getDefaultAsyncJobAcquireWaitTimeInMillis());
+            configuration.setAsyncExecutorAdaptiveAcquireWaitTime(properties.isAdaptiveAcquireWaitTime());
+            configuration.setAsyncExecutorMinAsyncJobAcquireWaitTime(properties.getMinAsyncJobAcquireWaitTimeInMillis());
             configuration.setAsyncExecutorDefaultTimerJobAcquireWaitTime(properties.getDefaultTimerJobAcquireWaitTimeInMillis());
             configuration.setAsyncExecutorDefaultQueueSizeFullWaitTime(properties.getDefaultQueueSizeFullWaitTime());
 
             configuration.setAsyncExecutorMaxAsyncJobsDuePerAcquisition(properties.getMaxAsyncJobsDuePerAcquisition());
             configuration.setAsyncExecutorMaxTimerJobsPerAcquisition(properties.getMaxTimerJobsPerAcquisition());
+            configuration.setAsyncExecutorBulkLockJobs(properties.isBulkLockJobs());
+            configuration.setAsyncExecutorJobAcquisitionStrategy(properties.getJobAcquisitionStrategy());
             configuration.setAsyncExecutorMaxPoolSize(properties.getMaxPoolSize());
 
             configuration.setAsyncExecutorResetExpiredJobsInterval(properties.getResetExpiredJobsInterval());
@@ -292,6 +308,22 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
         };
     }
 
+    private int getMaxConcurrentVirtualThreadJobs(AsyncExecutorProperties properties,
+                                                  DataSource dataSource,
+                                                  ObjectProvider<DataSourcePoolMetadataProvider> dataSourcePoolMetadataProviders) {
+        if (properties.getMaxConcurrentVirtualThreadJobs() > 0 || !properties.isVirtualThreads() || dataSource == null) {
+            return properties.getMaxConcurrentVirtualThreadJobs();
+        }
+
+        // Every job execution needs a connection, so by default the size of the connection pool limits the concurrent jobs
+        DataSourcePoolMetadata dataSourcePoolMetadata = new CompositeDataSourcePoolMetadataProvider(
+            dataSourcePoolMetadataProviders.orderedStream().toList()).getDataSourcePoolMetadata(dataSource);
+        if (dataSourcePoolMetadata != null && dataSourcePoolMetadata.getMax() != null && dataSourcePoolMetadata.getMax() > 0) {
+            return dataSourcePoolMetadata.getMax();
+        }
+        return properties.getMaxConcurrentVirtualThreadJobs();
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ApplicationDeployedEventProducer applicationDeployedEventProducer(RepositoryService repositoryService,
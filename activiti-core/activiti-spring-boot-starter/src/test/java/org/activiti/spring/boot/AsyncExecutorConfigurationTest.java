@@ -17,7 +17,9 @@ package org.activiti.spring.boot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.activiti.engine.impl.asyncexecutor.JobAcquisitionStrategy;
 import org.activiti.spring.SpringAsyncExecutor;
+import org.activiti.spring.SpringProcessEngineConfiguration;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -33,6 +35,9 @@ public class AsyncExecutorConfigurationTest {
     @Autowired
     private AsyncExecutorProperties properties;
 
+    @Autowired
+    private SpringProcessEngineConfiguration processEngineConfiguration;
+
     @Test
     public void shouldConfigureAsyncExecutorProperties() {
         assertThat(asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis()).isEqualTo(properties.getDefaultAsyncJobAcquireWaitTimeInMillis());
@@ -49,5 +54,13 @@ public class AsyncExecutorConfigurationTest {
         assertThat(asyncExecutor.getResetExpiredJobsPageSize()).isEqualTo(properties.getResetExpiredJobsPageSize());
         assertThat(asyncExecutor.getSecondsToWaitOnShutdown()).isEqualTo(properties.getSecondsToWaitOnShutdown());
         assertThat(asyncExecutor.getTimerLockTimeInMillis()).isEqualTo(properties.getTimerLockTimeInMillis());
+        assertThat(processEngineConfiguration.isAsyncExecutorBulkLockJobs()).isEqualTo(properties.isBulkLockJobs()).isTrue();
+        assertThat(processEngineConfiguration.isAsyncExecutorAdaptiveAcquireWaitTime()).isEqualTo(properties.isAdaptiveAcquireWaitTime()).isTrue();
+        assertThat(processEngineConfiguration.getAsyncExecutorMinAsyncJobAcquireWaitTime()).isEqualTo(properties.getMinAsyncJobAcquireWaitTimeInMillis());
+        assertThat(asyncExecutor.isUseVirtualThreads()).isEqualTo(properties.isVirtualThreads()).isTrue();
+        assertThat(asyncExecutor.getMaxConcurrentVirtualThreadJobs()).isEqualTo(properties.getMaxConcurrentVirtualThreadJobs());
+        assertThat(properties.getJobAcquisitionStrategy()).isEqualTo(JobAcquisitionStrategy.SKIP_LOCKED);
+        // SKIP LOCKED is not supported by H2, so the engine falls back to optimistic locking
+        assertThat(processEngineConfiguration.getAsyncExecutorJobAcquisitionStrategy()).isEqualTo(JobAcquisitionStrategy.OPTIMISTIC_LOCKING);
     }
 }
@@ -16,6 +16,7 @@
 
 package org.activiti.spring;
 
+import java.util.Collection;
 import java.util.concurrent.RejectedExecutionException;
 
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
@@ -76,6 +77,11 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
 
   @Override
   public boolean executeAsyncJob(Job job) {
+    if (useVirtualThreads) {
+      // The jobs are executed on virtual threads instead of on the Spring taskExecutor
+      return super.executeAsyncJob(job);
+    }
+
     try {
       taskExecutor.execute(new ExecuteAsyncRunnable((JobEntity) job, processEngineConfiguration));
       return true;
@@ -85,9 +91,28 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
     }
   }
 
+  @Override
+  public boolean executeAsyncJobs(Collection<? extends Job> jobs) {
+    if (useVirtualThreads) {
+      return super.executeAsyncJobs(jobs);
+    }
+
+    // Every job is offered to the task executor, so that rejected jobs are all handled by the rejectedJobsHandler
+    boolean allJobsSuccessfullyOffered = true;
+    for (Job job : jobs) {
+      if (!executeAsyncJob(job)) {
+        allJobsSuccessfullyOffered = false;
+      }
+    }
+    return allJobsSuccessfullyOffered;
+  }
+
   @Override
   protected void initAsyncJobExecutionThreadPool() {
-    // Do nothing, using the Spring taskExecutor
+    if (useVirtualThreads) {
+      initAsyncJobExecutionVirtualThreads();
+    }
+    // Otherwise do nothing, using the Spring taskExecutor
   }
 
 }
@@ -123,6 +123,11 @@ public class SpringProcessEngineConfiguration extends ProcessEngineConfiguration
 
   @Override
   public ProcessEngineConfiguration setDataSource(DataSource dataSource) {
+    if (queryStreamDataSource == null) {
+      // streamed query results outlive the spring transaction, so their cursors bypass the proxy
+      queryStreamDataSource = dataSource instanceof TransactionAwareDataSourceProxy ?
+          ((TransactionAwareDataSourceProxy) dataSource).getTargetDataSource() : dataSource;
+    }
     if (dataSource instanceof TransactionAwareDataSourceProxy) {
       return super.setDataSource(dataSource);
     } else {